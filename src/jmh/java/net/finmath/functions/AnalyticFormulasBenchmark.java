@@ -0,0 +1,53 @@
+/*
+ * (c) Copyright Christian P. Fries, Germany. Contact: email@christian-fries.de.
+ *
+ * Created on 16.10.2026
+ */
+package net.finmath.functions;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark of {@link AnalyticFormulas#blackScholesOptionValue(double, double, double, double, double)}.
+ *
+ * The inputs are fields of the state (not constants), such that the JIT cannot fold the calculation.
+ *
+ * @author Christian Fries
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class AnalyticFormulasBenchmark {
+
+	private double initialStockValue	= 100.0;
+	private double riskFreeRate			= 0.05;
+	private double volatility			= 0.30;
+	private double optionMaturity		= 2.0;
+	private double optionStrike			= 105.0;
+
+	@Benchmark
+	public double blackScholesOptionValue() {
+		return AnalyticFormulas.blackScholesOptionValue(initialStockValue, riskFreeRate, volatility, optionMaturity, optionStrike);
+	}
+
+	@Benchmark
+	public double blackScholesOptionImpliedVolatility() {
+		double optionValue = AnalyticFormulas.blackScholesOptionValue(initialStockValue, riskFreeRate, volatility, optionMaturity, optionStrike);
+		double forward = initialStockValue * Math.exp(riskFreeRate*optionMaturity);
+		return AnalyticFormulas.blackScholesOptionImpliedVolatility(forward, optionMaturity, optionStrike, Math.exp(-riskFreeRate*optionMaturity), optionValue);
+	}
+}
@@ -0,0 +1,105 @@
+/*
+ * (c) Copyright Christian P. Fries, Germany. Contact: email@christian-fries.de.
+ *
+ * Created on 16.10.2026
+ */
+package net.finmath.marketdata.calibration;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import net.finmath.marketdata.calibration.CalibratedCurves.CalibrationSpec;
+import net.finmath.marketdata.model.AnalyticModel;
+import net.finmath.marketdata.model.AnalyticModelInterface;
+import net.finmath.marketdata.model.curves.Curve;
+import net.finmath.marketdata.model.curves.Curve.ExtrapolationMethod;
+import net.finmath.marketdata.model.curves.Curve.InterpolationEntity;
+import net.finmath.marketdata.model.curves.Curve.InterpolationMethod;
+import net.finmath.marketdata.model.curves.CurveInterface;
+import net.finmath.marketdata.model.curves.DiscountCurve;
+import net.finmath.marketdata.model.curves.ForwardCurve;
+import net.finmath.marketdata.model.curves.ForwardCurveFromDiscountCurve;
+import net.finmath.marketdata.model.curves.ForwardCurveInterface;
+import net.finmath.optimizer.SolverException;
+import net.finmath.time.ScheduleGenerator;
+import net.finmath.time.ScheduleInterface;
+import net.finmath.time.businessdaycalendar.BusinessdayCalendarExcludingTARGETHolidays;
+import net.finmath.time.businessdaycalendar.BusinessdayCalendarInterface.DateRollConvention;
+
+/**
+ * Benchmark of the construction of {@link CalibratedCurves}: the calibration of an OIS discount curve
+ * (from deposits and swaps) and a 3M forward curve (from swaps), similar to <code>CalibrationMultiCurveTest</code>.
+ *
+ * @author Christian Fries
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CalibratedCurvesBenchmark {
+
+	private final LocalDate referenceDate = LocalDate.of(2012, 1, 10);
+
+	private CalibrationSpec[] calibrationSpecs;
+	private AnalyticModel model;
+
+	@Setup
+	public void setUp() {
+		List<CalibrationSpec> calibrationSpecList = new ArrayList<>();
+
+		String[] depositMaturities	= { "1W", "1M", "3M", "6M", "12M" };
+		double[] depositRates		= { 0.195, 0.191, 0.180, 0.156, 0.129 };
+		for(int i=0; i<depositMaturities.length; i++) {
+			ScheduleInterface schedule = ScheduleGenerator.createScheduleFromConventions(referenceDate, 2, "0D", depositMaturities[i], "tenor", "act/360", "first", "following", new BusinessdayCalendarExcludingTARGETHolidays(), 0, 0);
+			double calibrationTime = schedule.getPayment(schedule.getNumberOfPeriods()-1);
+			calibrationSpecList.add(new CalibrationSpec("EUR-OIS-" + depositMaturities[i], "Deposit", schedule, "", depositRates[i] / 100.0, "discount-EUR-OIS", null, null, 0.0, null, "discount-EUR-OIS", calibrationTime));
+		}
+
+		String[] swapMaturities	= { "2Y", "3Y", "5Y", "7Y", "10Y", "15Y", "20Y", "30Y" };
+		double[] swapRatesOIS	= { 0.101, 0.194, 0.534, 0.895, 1.310, 1.723, 1.826, 1.910 };
+		double[] swapRates3M	= { 0.380, 0.485, 0.812, 1.168, 1.557, 1.942, 2.029, 2.097 };
+		for(int i=0; i<swapMaturities.length; i++) {
+			ScheduleInterface scheduleOIS = ScheduleGenerator.createScheduleFromConventions(referenceDate, 2, "0D", swapMaturities[i], "annual", "act/360", "first", "modified_following", new BusinessdayCalendarExcludingTARGETHolidays(), 0, 1);
+			double calibrationTimeOIS = scheduleOIS.getPayment(scheduleOIS.getNumberOfPeriods() - 1);
+			calibrationSpecList.add(new CalibrationSpec("EUR-OIS-" + swapMaturities[i], "Swap", scheduleOIS, "forward-EUR-OIS", 0.0, "discount-EUR-OIS", scheduleOIS, "", swapRatesOIS[i] / 100.0, "discount-EUR-OIS", "discount-EUR-OIS", calibrationTimeOIS));
+		}
+		for(int i=0; i<swapMaturities.length; i++) {
+			ScheduleInterface scheduleRec = ScheduleGenerator.createScheduleFromConventions(referenceDate, 2, "0D", swapMaturities[i], "quarterly", "act/360", "first", "following", new BusinessdayCalendarExcludingTARGETHolidays(), 0, 0);
+			ScheduleInterface schedulePay = ScheduleGenerator.createScheduleFromConventions(referenceDate, 2, "0D", swapMaturities[i], "annual", "E30/360", "first", "following", new BusinessdayCalendarExcludingTARGETHolidays(), 0, 0);
+			double calibrationTime = scheduleRec.getFixing(scheduleRec.getNumberOfPeriods() - 1);
+			calibrationSpecList.add(new CalibrationSpec("EUR-3M" + swapMaturities[i], "Swap", scheduleRec, "forward-EUR-3M", 0.0, "discount-EUR-OIS", schedulePay, "", swapRates3M[i] / 100.0, "discount-EUR-OIS", "forward-EUR-3M", calibrationTime));
+		}
+
+		calibrationSpecs = calibrationSpecList.toArray(new CalibrationSpec[calibrationSpecList.size()]);
+
+		/*
+		 * Empty curve templates (cloned during calibration)
+		 */
+		DiscountCurve discountCurveOIS = DiscountCurve.createDiscountCurveFromDiscountFactors("discount-EUR-OIS", referenceDate, new double[] { 0.0 }, new double[] { 1.0 }, new boolean[] { false }, InterpolationMethod.LINEAR, ExtrapolationMethod.CONSTANT, InterpolationEntity.LOG_OF_VALUE);
+		ForwardCurveInterface forwardCurveOIS = new ForwardCurveFromDiscountCurve("forward-EUR-OIS", "discount-EUR-OIS", referenceDate, "3M");
+		ForwardCurveInterface forwardCurve3M = new ForwardCurve("forward-EUR-3M", referenceDate, "3M", new BusinessdayCalendarExcludingTARGETHolidays(), DateRollConvention.FOLLOWING, Curve.InterpolationMethod.LINEAR, Curve.ExtrapolationMethod.CONSTANT, Curve.InterpolationEntity.VALUE, ForwardCurve.InterpolationEntityForward.FORWARD, "discount-EUR-OIS");
+
+		model = new AnalyticModel(new CurveInterface[] { discountCurveOIS, forwardCurveOIS, forwardCurve3M });
+	}
+
+	@Benchmark
+	public AnalyticModelInterface calibrate() throws SolverException, CloneNotSupportedException {
+		return new CalibratedCurves(calibrationSpecs, model, 1E-15).getModel();
+	}
+}
@@ -0,0 +1,59 @@
+/*
+ * (c) Copyright Christian P. Fries, Germany. Contact: email@christian-fries.de.
+ *
+ * Created on 16.10.2026
+ */
+package net.finmath.montecarlo;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import net.finmath.time.TimeDiscretization;
+import net.finmath.time.TimeDiscretizationInterface;
+
+/**
+ * Benchmark of the generation of the Brownian increments of a {@link BrownianMotion}.
+ *
+ * @author Christian Fries
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BrownianMotionBenchmark {
+
+	@Param({ "10000", "100000" })
+	private int numberOfPaths;
+
+	@Param({ "1", "5" })
+	private int numberOfFactors;
+
+	private TimeDiscretizationInterface timeDiscretization;
+
+	@Setup
+	public void setUp() {
+		timeDiscretization = new TimeDiscretization(0.0, 40, 0.5);
+	}
+
+	@Benchmark
+	public double generateBrownianIncrements() {
+		BrownianMotion brownianMotion = new BrownianMotion(timeDiscretization, numberOfFactors, numberOfPaths, 3141);
+
+		// The increments are generated lazy (all at once) on the first request
+		return brownianMotion.getBrownianIncrement(timeDiscretization.getNumberOfTimeSteps()-1, numberOfFactors-1).getAverage();
+	}
+}
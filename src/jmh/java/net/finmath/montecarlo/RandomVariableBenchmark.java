@@ -0,0 +1,128 @@
+/*
+ * (c) Copyright Christian P. Fries, Germany. Contact: email@christian-fries.de.
+ *
+ * Created on 16.10.2026
+ */
+package net.finmath.montecarlo;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import net.finmath.stochastic.RandomVariableInterface;
+
+/**
+ * Benchmark of the elementary operators of {@link RandomVariable}, {@link RandomVariableLowMemory}
+ * and {@link RandomVariableLazyEvaluation}.
+ *
+ * Each benchmark returns the expectation of the result, such that lazy evaluation is forced
+ * and all implementations perform the same amount of work.
+ *
+ * @author Christian Fries
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class RandomVariableBenchmark {
+
+	@Param({ "RandomVariable", "RandomVariableLowMemory", "RandomVariableLazyEvaluation" })
+	private String implementation;
+
+	@Param({ "10000", "100000", "1000000" })
+	private int numberOfPaths;
+
+	private RandomVariableInterface x;
+	private RandomVariableInterface y;
+	private RandomVariableInterface z;
+
+	@Setup
+	public void setUp() {
+		Random random = new Random(3141);
+		x = createRandomVariable(random);
+		y = createRandomVariable(random);
+		z = createRandomVariable(random);
+	}
+
+	private RandomVariableInterface createRandomVariable(Random random) {
+		double[] realizations = new double[numberOfPaths];
+		for(int i=0; i<numberOfPaths; i++) {
+			realizations[i] = 1.0 + 0.2 * random.nextGaussian();
+		}
+
+		switch(implementation) {
+		case "RandomVariable":
+			return new RandomVariable(0.0, realizations);
+		case "RandomVariableLowMemory":
+			return new RandomVariableLowMemory(0.0, realizations);
+		case "RandomVariableLazyEvaluation":
+			return new RandomVariableLazyEvaluation(0.0, realizations);
+		default:
+			throw new IllegalArgumentException("Unknown implementation " + implementation);
+		}
+	}
+
+	@Benchmark
+	public double add() {
+		return x.add(y).getAverage();
+	}
+
+	@Benchmark
+	public double mult() {
+		return x.mult(y).getAverage();
+	}
+
+	@Benchmark
+	public double div() {
+		return x.div(y).getAverage();
+	}
+
+	@Benchmark
+	public double exp() {
+		return x.exp().getAverage();
+	}
+
+	@Benchmark
+	public double floor() {
+		return x.sub(1.0).floor(0.0).getAverage();
+	}
+
+	@Benchmark
+	public double addProduct() {
+		return x.addProduct(y, z).getAverage();
+	}
+
+	@Benchmark
+	public double discount() {
+		return x.discount(y, 0.5).getAverage();
+	}
+
+	@Benchmark
+	public double getAverage() {
+		return x.getAverage();
+	}
+
+	@Benchmark
+	public double getVariance() {
+		return x.getVariance();
+	}
+
+	@Benchmark
+	public double operatorChain() {
+		return x.sub(1.0).floor(0.0).mult(y).discount(z, 0.5).getAverage();
+	}
+}
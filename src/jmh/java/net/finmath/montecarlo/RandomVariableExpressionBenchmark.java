@@ -0,0 +1,85 @@
+/*
+ * (c) Copyright Christian P. Fries, Germany. Contact: email@christian-fries.de.
+ *
+ * Created on 16.10.2026
+ */
+package net.finmath.montecarlo;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import net.finmath.stochastic.RandomVariableInterface;
+
+/**
+ * Benchmark of a caplet payoff <code>(L - K)^+ * periodLength * notional / N</code>
+ * evaluated by chained operators on {@link RandomVariable}, on {@link RandomVariableLazyEvaluation}
+ * and as a fused {@link RandomVariableExpression}. Each benchmark returns the expectation of the payoff,
+ * such that lazy evaluation is forced.
+ *
+ * @author Christian Fries
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class RandomVariableExpressionBenchmark {
+
+	@Param({ "10000", "100000", "1000000" })
+	private int numberOfPaths;
+
+	private final double strike = 0.05;
+	private final double periodLength = 0.5;
+	private final double notional = 1.0E6;
+
+	private RandomVariableInterface libor;
+	private RandomVariableInterface numeraire;
+
+	private RandomVariableInterface liborLazy;
+	private RandomVariableInterface numeraireLazy;
+
+	@Setup
+	public void setUp() {
+		Random random = new Random(3141);
+		double[] liborRealizations = new double[numberOfPaths];
+		double[] numeraireRealizations = new double[numberOfPaths];
+		for(int i=0; i<numberOfPaths; i++) {
+			liborRealizations[i] = 0.05 * Math.exp(0.2 * random.nextGaussian());
+			numeraireRealizations[i] = Math.exp(0.03 * (1.0 + 0.2 * random.nextGaussian()));
+		}
+
+		libor = new RandomVariable(1.0, liborRealizations);
+		numeraire = new RandomVariable(1.0, numeraireRealizations);
+		liborLazy = new RandomVariableLazyEvaluation(1.0, liborRealizations);
+		numeraireLazy = new RandomVariableLazyEvaluation(1.0, numeraireRealizations);
+	}
+
+	@Benchmark
+	public double operatorChain() {
+		return libor.sub(strike).floor(0.0).mult(periodLength * notional).div(numeraire).getAverage();
+	}
+
+	@Benchmark
+	public double operatorChainLazyEvaluation() {
+		return liborLazy.sub(strike).floor(0.0).mult(periodLength * notional).div(numeraireLazy).getAverage();
+	}
+
+	@Benchmark
+	public double expression() {
+		return RandomVariableExpression.of(libor).sub(strike).floor(0.0).mult(periodLength * notional).div(numeraire).get().getAverage();
+	}
+}
@@ -0,0 +1,119 @@
+/*
+ * (c) Copyright Christian P. Fries, Germany. Contact: email@christian-fries.de.
+ *
+ * Created on 16.10.2026
+ */
+package net.finmath.montecarlo.automaticdifferentiation.backward;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import net.finmath.montecarlo.RandomVariableFactory;
+import net.finmath.montecarlo.automaticdifferentiation.RandomVariableDifferentiableInterface;
+import net.finmath.stochastic.RandomVariableInterface;
+
+/**
+ * Benchmark of the gradient calculation of {@link RandomVariableDifferentiableAAD} (operator tree)
+ * (also with the parallel backward sweep, see {@link RandomVariableDifferentiableAADFactory#isParallelAdjoint()})
+ * and {@link RandomVariableDifferentiableAADTape} (tape).
+ *
+ * The function is a sum of <code>numberOfOperations</code> terms of the form
+ * <code>(x * i + y).exp().mult(c_i)</code>, i.e., it creates an operator tree with
+ * about <code>4 * numberOfOperations</code> nodes and two independents.
+ *
+ * @author Christian Fries
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RandomVariableDifferentiableAADBenchmark {
+
+	@Param({ "RandomVariableDifferentiableAAD", "RandomVariableDifferentiableAADParallelAdjoint", "RandomVariableDifferentiableAADTape" })
+	private String implementation;
+
+	@Param({ "1000", "100000" })
+	private int numberOfPaths;
+
+	@Param({ "100", "1000" })
+	private int numberOfOperations;
+
+	private RandomVariableDifferentiableAADFactory randomVariableFactory;
+
+	private RandomVariableDifferentiableInterface x;
+	private RandomVariableDifferentiableInterface y;
+
+	private RandomVariableDifferentiableInterface value;
+
+	@Setup
+	public void setUp() {
+		switch(implementation) {
+		case "RandomVariableDifferentiableAAD":
+			randomVariableFactory = new RandomVariableDifferentiableAADFactory();
+			break;
+		case "RandomVariableDifferentiableAADParallelAdjoint":
+			Map<String, Object> properties = new HashMap<String, Object>();
+			properties.put("isParallelAdjoint", true);
+			randomVariableFactory = new RandomVariableDifferentiableAADFactory(new RandomVariableFactory(), properties);
+			break;
+		case "RandomVariableDifferentiableAADTape":
+			randomVariableFactory = new RandomVariableDifferentiableAADTapeFactory();
+			break;
+		default:
+			throw new IllegalArgumentException("Unknown implementation " + implementation);
+		}
+
+		Random random = new Random(3141);
+		double[] realizationsX = new double[numberOfPaths];
+		double[] realizationsY = new double[numberOfPaths];
+		for(int i=0; i<numberOfPaths; i++) {
+			realizationsX[i] = 0.01 * random.nextGaussian();
+			realizationsY[i] = 0.01 * random.nextGaussian();
+		}
+		x = randomVariableFactory.createRandomVariable(0.0, realizationsX);
+		y = randomVariableFactory.createRandomVariable(0.0, realizationsY);
+
+		value = (RandomVariableDifferentiableInterface)getValue();
+	}
+
+	private RandomVariableInterface getValue() {
+		RandomVariableInterface sum = randomVariableFactory.createRandomVariable(0.0);
+		for(int i=0; i<numberOfOperations; i++) {
+			sum = sum.add(x.mult(i % 10).add(y).exp().mult(1.0 / (i + 1)));
+		}
+		return sum;
+	}
+
+	@Benchmark
+	public Map<Long, RandomVariableInterface> getGradient() {
+		return value.getGradient();
+	}
+
+	@Benchmark
+	public Map<Long, RandomVariableInterface> getValueAndGradient() {
+		if(randomVariableFactory instanceof RandomVariableDifferentiableAADTapeFactory) {
+			// Valuation reusing the tape
+			((RandomVariableDifferentiableAADTapeFactory)randomVariableFactory).resetTape();
+			x = x.getCloneIndependent();
+			y = y.getCloneIndependent();
+		}
+		return ((RandomVariableDifferentiableInterface)getValue()).getGradient();
+	}
+}
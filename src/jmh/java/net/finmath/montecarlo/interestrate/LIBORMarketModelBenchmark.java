@@ -0,0 +1,113 @@
+/*
+ * (c) Copyright Christian P. Fries, Germany. Contact: email@christian-fries.de.
+ *
+ * Created on 16.10.2026
+ */
+package net.finmath.montecarlo.interestrate;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import net.finmath.exception.CalculationException;
+import net.finmath.montecarlo.RandomVariableFactory;
+import net.finmath.montecarlo.interestrate.products.BermudanSwaption;
+import net.finmath.montecarlo.process.ProcessEulerScheme;
+import net.finmath.stochastic.RandomVariableInterface;
+
+/**
+ * Benchmark of the {@link LIBORMarketModel}: the calculation of the drift, the simulation of the model
+ * and the valuation of a Bermudan swaption (which is dominated by the regression of the continuation value).
+ *
+ * The model is the one used in <code>LIBORMarketModelValuationTest</code>.
+ *
+ * @author Christian Fries
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LIBORMarketModelBenchmark {
+
+	@Param({ "1000", "10000" })
+	private int numberOfPaths;
+
+	@Param({ "1", "5" })
+	private int numberOfFactors;
+
+	private final int driftTimeIndex = 10;
+
+	private LIBORModelMonteCarloSimulationInterface simulation;
+	private LIBORMarketModel model;
+	private RandomVariableInterface[] liborsAtDriftTimeIndex;
+
+	private BermudanSwaption bermudanSwaption;
+
+	@Setup
+	public void setUp() throws CalculationException {
+		simulation = LIBORMarketModelValuationTest.createLIBORMarketModel(new RandomVariableFactory(), numberOfPaths, numberOfFactors, 0.1 /* Correlation */);
+		model = (LIBORMarketModel)simulation.getModel();
+
+		// The LIBORs which are not fixed at the drift time index (this also performs the simulation)
+		liborsAtDriftTimeIndex = new RandomVariableInterface[simulation.getNumberOfLibors()];
+		int firstLiborIndex = simulation.getLiborPeriodIndex(simulation.getTime(driftTimeIndex))+1;
+		for(int liborIndex=firstLiborIndex; liborIndex<simulation.getNumberOfLibors(); liborIndex++) {
+			liborsAtDriftTimeIndex[liborIndex] = simulation.getLIBOR(driftTimeIndex, liborIndex);
+		}
+
+		// A 5Y into 10Y Bermudan swaption with semi-annual exercise
+		int numberOfPeriods = 20;
+		double exerciseDate = 5.0;
+		double periodLength = 0.5;
+		double[] fixingDates = new double[numberOfPeriods];
+		double[] paymentDates = new double[numberOfPeriods];
+		for(int periodIndex=0; periodIndex<numberOfPeriods; periodIndex++) {
+			fixingDates[periodIndex] = exerciseDate + periodIndex * periodLength;
+			paymentDates[periodIndex] = exerciseDate + (periodIndex + 1) * periodLength;
+		}
+		double[] periodLengths = new double[numberOfPeriods];
+		Arrays.fill(periodLengths, periodLength);
+		double[] periodNotionals = new double[numberOfPeriods];
+		Arrays.fill(periodNotionals, 1.0);
+		double[] swaprates = new double[numberOfPeriods];
+		Arrays.fill(swaprates, 0.05);
+		boolean[] isPeriodStartDateExerciseDate = new boolean[numberOfPeriods];
+		Arrays.fill(isPeriodStartDateExerciseDate, true);
+
+		bermudanSwaption = new BermudanSwaption(isPeriodStartDateExerciseDate, fixingDates, periodLengths, paymentDates, periodNotionals, swaprates);
+	}
+
+	@Benchmark
+	public RandomVariableInterface[] getDrift() {
+		return model.getDrift(driftTimeIndex, liborsAtDriftTimeIndex, null);
+	}
+
+	@Benchmark
+	public double simulation() throws CalculationException {
+		// A new simulation of (a clone of) the model, using a Brownian motion with a different seed
+		ProcessEulerScheme process = ((ProcessEulerScheme)simulation.getProcess()).getCloneWithModifiedStochasticDriver(simulation.getBrownianMotion().getCloneWithModifiedSeed(3141));
+		LIBORModelMonteCarloSimulationInterface newSimulation = new LIBORModelMonteCarloSimulation(model.getCloneWithModifiedData(Collections.<String, Object>emptyMap()), process);
+		// The simulation of all time steps is performed on the first request of a process value
+		return newSimulation.getLIBOR(driftTimeIndex, newSimulation.getNumberOfLibors()-1).getAverage();
+	}
+
+	@Benchmark
+	public double bermudanSwaption() throws CalculationException {
+		return bermudanSwaption.getValue(simulation);
+	}
+}
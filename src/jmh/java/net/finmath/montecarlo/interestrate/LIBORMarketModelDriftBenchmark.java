@@ -0,0 +1,91 @@
+/*
+ * (c) Copyright Christian P. Fries, Germany. Contact: email@christian-fries.de.
+ *
+ * Created on 16.10.2026
+ */
+package net.finmath.montecarlo.interestrate;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import net.finmath.exception.CalculationException;
+import net.finmath.montecarlo.RandomVariableFactory;
+import net.finmath.montecarlo.process.ProcessEulerScheme;
+import net.finmath.stochastic.RandomVariableInterface;
+
+/**
+ * Benchmark of the calculation of the drift of the {@link LIBORMarketModel} for the different
+ * values of the property <code>driftComputation</code>.
+ *
+ * The model is the one used in <code>LIBORMarketModelValuationTest</code>.
+ *
+ * @author Christian Fries
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LIBORMarketModelDriftBenchmark {
+
+	@Param({ "10000", "50000" })
+	private int numberOfPaths;
+
+	@Param({ "1", "5" })
+	private int numberOfFactors;
+
+	@Param({ "SPOT", "TERMINAL" })
+	private String measure;
+
+	@Param({ "OPERATORS", "VECTORIZED", "VECTORIZED_PARALLEL" })
+	private String driftComputation;
+
+	private final int driftTimeIndex = 10;
+
+	private LIBORMarketModel model;
+	private RandomVariableInterface[] liborsAtDriftTimeIndex;
+
+	@Setup
+	public void setUp() throws CalculationException {
+		LIBORModelMonteCarloSimulationInterface simulation = LIBORMarketModelValuationTest.createLIBORMarketModel(new RandomVariableFactory(), numberOfPaths, numberOfFactors, 0.1 /* Correlation */);
+		LIBORMarketModel originalModel = (LIBORMarketModel)simulation.getModel();
+
+		// The LIBORs which are not fixed at the drift time index (this also performs the simulation)
+		liborsAtDriftTimeIndex = new RandomVariableInterface[simulation.getNumberOfLibors()];
+		int firstLiborIndex = simulation.getLiborPeriodIndex(simulation.getTime(driftTimeIndex))+1;
+		for(int liborIndex=firstLiborIndex; liborIndex<simulation.getNumberOfLibors(); liborIndex++) {
+			liborsAtDriftTimeIndex[liborIndex] = simulation.getLIBOR(driftTimeIndex, liborIndex);
+		}
+
+		Map<String, String> properties = new HashMap<>();
+		properties.put("measure", measure);
+		properties.put("stateSpace", LIBORMarketModel.StateSpace.LOGNORMAL.name());
+		properties.put("driftComputation", driftComputation);
+
+		model = new LIBORMarketModel(originalModel.getLiborPeriodDiscretization(), originalModel.getAnalyticModel(), originalModel.getForwardRateCurve(), originalModel.getDiscountCurve(),
+				new RandomVariableFactory(), originalModel.getCovarianceModel(), new LIBORMarketModel.CalibrationItem[0], properties);
+
+		// The model requires a process (providing the time discretization)
+		new LIBORModelMonteCarloSimulation(model, new ProcessEulerScheme(simulation.getBrownianMotion()));
+	}
+
+	@Benchmark
+	public RandomVariableInterface[] getDrift() {
+		return model.getDrift(driftTimeIndex, liborsAtDriftTimeIndex, null);
+	}
+}
@@ -0,0 +1,186 @@
+/*
+ * (c) Copyright Christian P. Fries, Germany. Contact: email@christian-fries.de.
+ *
+ * Created on 16.10.2026
+ */
+package net.finmath.functions;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * A real number together with its derivatives with respect to a vector of independent parameters (a dual number),
+ * providing forward mode algorithmic differentiation over <code>double</code>.
+ *
+ * The class is immutable. Each arithmetic operation returns a new object carrying the value of the operation
+ * and its derivatives (via the chain rule). A constant is represented without a derivative vector, i.e.,
+ * operations on constants are as cheap as operations on <code>double</code>.
+ *
+ * @author Christian Fries
+ * @version 1.0
+ */
+public class DualNumber implements Serializable {
+
+	private static final long serialVersionUID = -3096216361538813458L;
+
+	private final double	value;
+	private final double[]	derivatives;
+
+	/**
+	 * Create a constant, i.e., a number with vanishing derivatives.
+	 *
+	 * @param value The value.
+	 */
+	public DualNumber(double value) {
+		this(value, null);
+	}
+
+	/**
+	 * Create a number with given derivatives.
+	 *
+	 * @param value The value.
+	 * @param derivatives The derivatives with respect to the independent parameters, where derivatives[i] is d(value)/d(parameter(i)). May be null for a constant. The array is not copied.
+	 */
+	public DualNumber(double value, double[] derivatives) {
+		super();
+		this.value = value;
+		this.derivatives = derivatives;
+	}
+
+	/**
+	 * Create an independent parameter, i.e., a number whose derivative is 1 with respect to itself and 0 with respect to all other parameters.
+	 *
+	 * @param value The value.
+	 * @param parameterIndex The index of this parameter.
+	 * @param numberOfParameters The number of independent parameters.
+	 * @return The independent parameter.
+	 */
+	public static DualNumber getParameter(double value, int parameterIndex, int numberOfParameters) {
+		double[] derivatives = new double[numberOfParameters];
+		derivatives[parameterIndex] = 1.0;
+		return new DualNumber(value, derivatives);
+	}
+
+	/**
+	 * @return The value.
+	 */
+	public double getValue() {
+		return value;
+	}
+
+	/**
+	 * Returns the derivative with respect to a given parameter.
+	 *
+	 * @param parameterIndex The index of the parameter.
+	 * @return The derivative d(value)/d(parameter(parameterIndex)).
+	 */
+	public double getDerivative(int parameterIndex) {
+		return derivatives != null ? derivatives[parameterIndex] : 0.0;
+	}
+
+	/**
+	 * Returns the vector of derivatives, where derivatives[i] is d(value)/d(parameter(i)).
+	 *
+	 * @param numberOfParameters The number of independent parameters (the length of the returned array).
+	 * @return A (new) vector of the derivatives.
+	 */
+	public double[] getDerivatives(int numberOfParameters) {
+		return derivatives != null ? Arrays.copyOf(derivatives, numberOfParameters) : new double[numberOfParameters];
+	}
+
+	/**
+	 * @return True if this number is a constant, i.e., its derivatives vanish.
+	 */
+	public boolean isConstant() {
+		return derivatives == null;
+	}
+
+	public DualNumber add(double value) {
+		return new DualNumber(this.value + value, derivatives);
+	}
+
+	public DualNumber add(DualNumber number) {
+		return new DualNumber(value + number.value, getLinearCombination(1.0, derivatives, 1.0, number.derivatives));
+	}
+
+	public DualNumber sub(double value) {
+		return new DualNumber(this.value - value, derivatives);
+	}
+
+	public DualNumber sub(DualNumber number) {
+		return new DualNumber(value - number.value, getLinearCombination(1.0, derivatives, -1.0, number.derivatives));
+	}
+
+	public DualNumber mult(double value) {
+		return new DualNumber(this.value * value, getLinearCombination(value, derivatives, 0.0, null));
+	}
+
+	public DualNumber mult(DualNumber number) {
+		return new DualNumber(value * number.value, getLinearCombination(number.value, derivatives, value, number.derivatives));
+	}
+
+	public DualNumber div(double value) {
+		return new DualNumber(this.value / value, getLinearCombination(1.0 / value, derivatives, 0.0, null));
+	}
+
+	public DualNumber div(DualNumber number) {
+		double quotient = value / number.value;
+		return new DualNumber(quotient, getLinearCombination(1.0 / number.value, derivatives, -quotient / number.value, number.derivatives));
+	}
+
+	public DualNumber invert() {
+		double inverse = 1.0 / value;
+		return new DualNumber(inverse, getLinearCombination(-inverse * inverse, derivatives, 0.0, null));
+	}
+
+	public DualNumber exp() {
+		double exp = Math.exp(value);
+		return new DualNumber(exp, getLinearCombination(exp, derivatives, 0.0, null));
+	}
+
+	public DualNumber log() {
+		return new DualNumber(Math.log(value), getLinearCombination(1.0 / value, derivatives, 0.0, null));
+	}
+
+	public DualNumber pow(double exponent) {
+		double pow = Math.pow(value, exponent);
+		return new DualNumber(pow, getLinearCombination(exponent * Math.pow(value, exponent-1.0), derivatives, 0.0, null));
+	}
+
+	/**
+	 * Calculates a * x + b * y where null represents a zero vector.
+	 */
+	private static double[] getLinearCombination(double a, double[] x, double b, double[] y) {
+		if(x == null && y == null) {
+			return null;
+		}
+		else if(y == null || b == 0.0) {
+			if(x == null) {
+				return null;
+			}
+			double[] result = new double[x.length];
+			for(int i=0; i<x.length; i++) {
+				result[i] = a * x[i];
+			}
+			return result;
+		}
+		else if(x == null || a == 0.0) {
+			return getLinearCombination(b, y, 0.0, null);
+		}
+		else {
+			double[] result = new double[Math.max(x.length, y.length)];
+			for(int i=0; i<x.length; i++) {
+				result[i] = a * x[i];
+			}
+			for(int i=0; i<y.length; i++) {
+				result[i] += b * y[i];
+			}
+			return result;
+		}
+	}
+
+	@Override
+	public String toString() {
+		return "DualNumber [value=" + value + ", derivatives=" + Arrays.toString(derivatives) + "]";
+	}
+}
@@ -21,8 +21,12 @@ import java.util.function.BiFunction;
  * \]
  * where \( x_{k_{x}} \leq x \leq x_{k_{x}+1} \) and \( y_{k_{y}} \leq y \leq y_{k_{x}+1} \) and \( \alpha_{x} = (x_{k_{x}+1}-x)/(x_{k_{x}+1}-x_{k_{x}}) \) and \( \alpha_{y} = (x_{k_{y}+1}-x)/(x_{k_{y}+1}-x_{k_{y}}) \).
  *
+ * For the evaluation on a grid (or a row of a grid) see {@link #getValues(double[], double[])} and {@link #getValues(double, double[])}:
+ * here the indices \( k_{x} \), \( k_{y} \) and weights \( \alpha_{x} \), \( \alpha_{y} \) are calculated once per abscissa, walking
+ * sorted abscissas with a moving cursor.
+ *
  * @author Christian Fries
- * @version 1.0
+ * @version 1.1
  */
 public class BiLinearInterpolation implements BiFunction<Double, Double, Double> {
 
@@ -75,4 +79,101 @@ public class BiLinearInterpolation implements BiFunction<Double, Double, Double>
 
 		return interpolatedValue;
 	}
+
+	/**
+	 * Returns the interpolated values on the grid given by the vectors x and y, that is,
+	 * the value with index [i][j] is f(x[i],y[j]).
+	 *
+	 * The method is efficient if x and y are sorted in increasing order (which is not required).
+	 *
+	 * @param x The vector of the first coordinates.
+	 * @param y The vector of the second coordinates.
+	 * @return The matrix of interpolated values f(x[i],y[j]).
+	 */
+	public double[][] getValues(double[] x, double[] y) {
+		int[]		lowerIndicesX	= new int[x.length];
+		int[]		upperIndicesX	= new int[x.length];
+		double[]	alphasX			= new double[x.length];
+		setIndicesAndWeights(this.x, x, lowerIndicesX, upperIndicesX, alphasX);
+
+		int[]		lowerIndicesY	= new int[y.length];
+		int[]		upperIndicesY	= new int[y.length];
+		double[]	alphasY			= new double[y.length];
+		setIndicesAndWeights(this.y, y, lowerIndicesY, upperIndicesY, alphasY);
+
+		double[][] interpolatedValues = new double[x.length][];
+		for(int i=0; i<x.length; i++) {
+			interpolatedValues[i] = getValues(lowerIndicesX[i], upperIndicesX[i], alphasX[i], lowerIndicesY, upperIndicesY, alphasY);
+		}
+
+		return interpolatedValues;
+	}
+
+	/**
+	 * Returns the interpolated values f(x,y[j]) for a given x, that is, a row of a grid.
+	 *
+	 * The method is efficient if y is sorted in increasing order (which is not required).
+	 *
+	 * @param x The first coordinate.
+	 * @param y The vector of the second coordinates.
+	 * @return The vector of interpolated values f(x,y[j]).
+	 */
+	public double[] getValues(double x, double[] y) {
+		return getValues(new double[] { x }, y)[0];
+	}
+
+	private double[] getValues(int lowerIndexX, int upperIndexX, double alphaX, int[] lowerIndicesY, int[] upperIndicesY, double[] alphasY) {
+		double[] zLower = z[lowerIndexX];
+		double[] zUpper = z[upperIndexX];
+
+		double[] interpolatedValues = new double[alphasY.length];
+		for(int j=0; j<alphasY.length; j++) {
+			double alphaY = alphasY[j];
+			interpolatedValues[j] =
+					alphaX * alphaY * zLower[lowerIndicesY[j]] +
+					alphaX * (1.0-alphaY) * zLower[upperIndicesY[j]] +
+					(1-alphaX) * alphaY * zUpper[lowerIndicesY[j]] +
+					(1-alphaX) * (1-alphaY) * zUpper[upperIndicesY[j]];
+		}
+
+		return interpolatedValues;
+	}
+
+	/**
+	 * Calculate the indices of the interpolation interval and the interpolation weight for each given argument (as in {@link #getValue(double, double)}).
+	 * Increasing arguments are processed with a moving cursor over the points, otherwise a binary search is performed.
+	 *
+	 * @param points The sample points.
+	 * @param arguments The arguments.
+	 * @param lowerIndices Output value: the lower index of the interval for each argument.
+	 * @param upperIndices Output value: the upper index of the interval for each argument.
+	 * @param alphas Output value: the weight of the lower index for each argument.
+	 */
+	private static void setIndicesAndWeights(double[] points, double[] arguments, int[] lowerIndices, int[] upperIndices, double[] alphas) {
+		int indexGreaterOrEqual = 0;
+		for(int i=0; i<arguments.length; i++) {
+			double argument = arguments[i];
+			if(i == 0 || !(argument >= arguments[i-1])) {
+				indexGreaterOrEqual = Arrays.binarySearch(points, argument);
+				if(indexGreaterOrEqual < 0) {
+					indexGreaterOrEqual = -indexGreaterOrEqual-1;
+				}
+			}
+			else {
+				while(indexGreaterOrEqual < points.length && points[indexGreaterOrEqual] < argument) {
+					indexGreaterOrEqual++;
+				}
+			}
+
+			int upperIndex = Math.min(Math.max(indexGreaterOrEqual, 0), points.length-1);
+			int lowerIndex = Math.min(Math.max(upperIndex-1, 0), points.length-1);
+			if(upperIndex == lowerIndex) {
+				upperIndex++;
+			}
+
+			lowerIndices[i] = lowerIndex;
+			upperIndices[i] = upperIndex;
+			alphas[i] = (points[upperIndex]-argument)/(points[upperIndex]-points[lowerIndex]);
+		}
+	}
 }
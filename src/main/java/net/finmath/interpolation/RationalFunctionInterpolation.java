@@ -11,6 +11,8 @@ import java.util.Arrays;
 import java.util.function.DoubleUnaryOperator;
 
 import net.finmath.functions.LinearAlgebra;
+import net.finmath.montecarlo.RandomVariable;
+import net.finmath.stochastic.RandomVariableInterface;
 
 /**
  * This class provides methodologies to interpolate given sample points by
@@ -135,9 +137,9 @@ public class RationalFunctionInterpolation implements DoubleUnaryOperator, Seria
 		}
 	}
 
-	// The interpolated curve - a rational function for each interval (one less than number of points)
-	private RationalFunction[]	interpolatingRationalFunctions;
-	private transient Object		interpolatingRationalFunctionsLazyInitLock = new Object();
+	// The interpolated curve - a rational function for each interval (one less than number of points). Published after its creation, hence lock-free read.
+	private volatile RationalFunction[]	interpolatingRationalFunctions;
+	private transient Object			interpolatingRationalFunctionsLazyInitLock = new Object();
 
 	/**
 	 * Generate a rational function interpolation from a given set of points.
@@ -185,11 +187,7 @@ public class RationalFunctionInterpolation implements DoubleUnaryOperator, Seria
 	 */
 	public double getValue(double x)
 	{
-		synchronized(interpolatingRationalFunctionsLazyInitLock) {
-			if(interpolatingRationalFunctions == null) {
-				doCreateRationalFunctions();
-			}
-		}
+		RationalFunction[] interpolatingRationalFunctions = getInterpolatingRationalFunctions();
 
 		// Get interpolating rational function for the given point x
 		int pointIndex = java.util.Arrays.binarySearch(points, x);
@@ -197,8 +195,80 @@ public class RationalFunctionInterpolation implements DoubleUnaryOperator, Seria
 			return values[pointIndex];
 		}
 
-		int intervallIndex = -pointIndex-2;
+		return getValue(interpolatingRationalFunctions, -pointIndex-2, x);
+	}
+
+	/**
+	 * Get interpolated values for a given vector of arguments x.
+	 *
+	 * The arguments are processed with a moving cursor over the sample points, i.e., if the arguments are
+	 * sorted in increasing order (which is not required), the interval of each argument is found in (amortized) constant time.
+	 *
+	 * @param x The abscissas at which the interpolation should be performed.
+	 * @return The interpolated values (ordinates).
+	 */
+	public double[] getValues(double[] x)
+	{
+		RationalFunction[] interpolatingRationalFunctions = getInterpolatingRationalFunctions();
+
+		double[] interpolatedValues = new double[x.length];
+
+		// The index of the largest sample point less or equal to the argument (or -1)
+		int cursor = -1;
+		for(int i=0; i<x.length; i++) {
+			double argument = x[i];
+			if((cursor >= 0 && argument < points[cursor]) || Double.isNaN(argument)) {
+				// Argument not sorted, start a new search
+				int pointIndex = java.util.Arrays.binarySearch(points, argument);
+				cursor = pointIndex >= 0 ? pointIndex : -pointIndex-2;
+			}
+			else {
+				while(cursor < points.length-1 && points[cursor+1] <= argument) {
+					cursor++;
+				}
+			}
+
+			if(cursor >= 0 && points[cursor] == argument) {
+				interpolatedValues[i] = values[cursor];
+			}
+			else {
+				interpolatedValues[i] = getValue(interpolatingRationalFunctions, cursor, argument);
+			}
+		}
+
+		return interpolatedValues;
+	}
 
+	/**
+	 * Get the interpolated value for a random variable of arguments x, evaluated path-wise.
+	 *
+	 * The realizations are evaluated in a single batch via {@link #getValues(double[])}, such that the
+	 * interpolating rational functions are looked up once. Note that the result is a plain {@link RandomVariable},
+	 * i.e., automatic differentiation information of the argument is not propagated.
+	 *
+	 * @param x The random variable of abscissas at which the interpolation should be performed.
+	 * @return The random variable of interpolated values (ordinates).
+	 */
+	public RandomVariableInterface getValue(RandomVariableInterface x)
+	{
+		if(x.isDeterministic()) {
+			return new RandomVariable(x.getFiltrationTime(), getValue(x.get(0)));
+		}
+		else {
+			return new RandomVariable(x.getFiltrationTime(), getValues(x.getRealizations()));
+		}
+	}
+
+	/**
+	 * Get the interpolated value for an argument x which is not a sample point.
+	 *
+	 * @param interpolatingRationalFunctions The interpolating rational functions.
+	 * @param intervallIndex The index of the largest sample point less than x, or -1 if x is less than all sample points.
+	 * @param x The abscissa at which the interpolation should be performed.
+	 * @return The interpolated value (ordinate).
+	 */
+	private double getValue(RationalFunction[] interpolatingRationalFunctions, int intervallIndex, double x)
+	{
 		// Check for extrapolation
 		if(intervallIndex < 0) {
 			// Extrapolation
@@ -227,43 +297,57 @@ public class RationalFunctionInterpolation implements DoubleUnaryOperator, Seria
 		return rationalFunction.getValue(x-points[intervallIndex]);
 	}
 
-	private void doCreateRationalFunctions()
+	/**
+	 * Returns the interpolating rational functions, creating them upon the first call.
+	 * The creation is synchronized, the (volatile) read of the created functions is lock-free.
+	 *
+	 * @return The interpolating rational functions.
+	 */
+	private RationalFunction[] getInterpolatingRationalFunctions()
+	{
+		RationalFunction[] interpolatingRationalFunctions = this.interpolatingRationalFunctions;
+		if(interpolatingRationalFunctions == null) {
+			synchronized(interpolatingRationalFunctionsLazyInitLock) {
+				interpolatingRationalFunctions = this.interpolatingRationalFunctions;
+				if(interpolatingRationalFunctions == null) {
+					interpolatingRationalFunctions = doCreateRationalFunctions();
+					this.interpolatingRationalFunctions = interpolatingRationalFunctions;
+				}
+			}
+		}
+		return interpolatingRationalFunctions;
+	}
+
+	private RationalFunction[] doCreateRationalFunctions()
 	{
 		switch(interpolationMethod)
 		{
 		case PIECEWISE_CONSTANT:
 		case PIECEWISE_CONSTANT_LEFTPOINT:
 		case PIECEWISE_CONSTANT_RIGHTPOINT:
-			doCreateRationalFunctionsForPiecewiseConstantInterpolation();
-			break;
+			return doCreateRationalFunctionsForPiecewiseConstantInterpolation();
 		case LINEAR:
 		default:
-			doCreateRationalFunctionsForLinearInterpolation();
-			break;
+			return doCreateRationalFunctionsForLinearInterpolation();
 		case CUBIC_SPLINE:
-			doCreateRationalFunctionsForCubicSplineInterpolation();
-			break;
+			return doCreateRationalFunctionsForCubicSplineInterpolation();
 		case AKIMA:
-			doCreateRationalFunctionsForAkimaInterpolation();
-			break;
+			return doCreateRationalFunctionsForAkimaInterpolation();
 		case AKIMA_CONTINUOUS:
-			doCreateRationalFunctionsForAkimaInterpolation(1E-02);
-			break;
+			return doCreateRationalFunctionsForAkimaInterpolation(1E-02);
 		case HARMONIC_SPLINE:
-			doCreateRationalFunctionsForHarmonicSplineInterpolation();
-			break;
+			return doCreateRationalFunctionsForHarmonicSplineInterpolation();
 		case HARMONIC_SPLINE_WITH_MONOTONIC_FILTERING:
-			doCreateRationalFunctionsForHarmonicSplineInterpolation();
-			break;
+			return doCreateRationalFunctionsForHarmonicSplineInterpolation();
 		}
 	}
 
-	private void doCreateRationalFunctionsForPiecewiseConstantInterpolation()
+	private RationalFunction[] doCreateRationalFunctionsForPiecewiseConstantInterpolation()
 	{
 		/*
 		 * Generate a rational function for each given interval
 		 */
-		interpolatingRationalFunctions = new RationalFunction[points.length-1];
+		RationalFunction[] interpolatingRationalFunctions = new RationalFunction[points.length-1];
 
 		// create numerator polynomials (constant)
 		for(int pointIndex = 0; pointIndex < points.length-1; pointIndex++ ) {
@@ -275,14 +359,16 @@ public class RationalFunctionInterpolation implements DoubleUnaryOperator, Seria
 			}
 			interpolatingRationalFunctions[pointIndex] = new RationalFunction(numeratorPolynomCoeff);
 		}
+
+		return interpolatingRationalFunctions;
 	}
 
-	private void doCreateRationalFunctionsForLinearInterpolation()
+	private RationalFunction[] doCreateRationalFunctionsForLinearInterpolation()
 	{
 		/*
 		 * Generate a rational function for each given interval
 		 */
-		interpolatingRationalFunctions = new RationalFunction[points.length-1];
+		RationalFunction[] interpolatingRationalFunctions = new RationalFunction[points.length-1];
 
 		// create numerator polynomials (linear)
 		for(int pointIndex = 0; pointIndex < points.length-1; pointIndex++ ) {
@@ -299,9 +385,11 @@ public class RationalFunctionInterpolation implements DoubleUnaryOperator, Seria
 
 			interpolatingRationalFunctions[pointIndex] = new RationalFunction(numeratorPolynomCoeff);
 		}
+
+		return interpolatingRationalFunctions;
 	}
 
-	private void doCreateRationalFunctionsForCubicSplineInterpolation()
+	private RationalFunction[] doCreateRationalFunctionsForCubicSplineInterpolation()
 	{
 		int numberOfPoints = points.length;
 
@@ -346,7 +434,7 @@ public class RationalFunctionInterpolation implements DoubleUnaryOperator, Seria
 		/*
 		 * Generate a rational function for each given interval
 		 */
-		interpolatingRationalFunctions = new RationalFunction[numberOfPoints-1];
+		RationalFunction[] interpolatingRationalFunctions = new RationalFunction[numberOfPoints-1];
 
 		// create numerator polynomials (third order polynomial)
 		for(int i = 0; i < numberOfPoints-1; i++ ) {
@@ -359,20 +447,22 @@ public class RationalFunctionInterpolation implements DoubleUnaryOperator, Seria
 
 			interpolatingRationalFunctions[i] = new RationalFunction(numeratortorPolynomCoeff);
 		}
+
+		return interpolatingRationalFunctions;
 	}
 
-	private void doCreateRationalFunctionsForAkimaInterpolation()
+	private RationalFunction[] doCreateRationalFunctionsForAkimaInterpolation()
 	{
-		doCreateRationalFunctionsForAkimaInterpolation(0.0);
+		return doCreateRationalFunctionsForAkimaInterpolation(0.0);
 	}
 
-	private void doCreateRationalFunctionsForAkimaInterpolation(double minSlopeDifferenceWeight)
+	private RationalFunction[] doCreateRationalFunctionsForAkimaInterpolation(double minSlopeDifferenceWeight)
 	{
 		int numberOfPoints = points.length;
 
 		if(numberOfPoints < 4) {
 			// Akima interpolation not possible
-			doCreateRationalFunctionsForCubicSplineInterpolation();
+			return doCreateRationalFunctionsForCubicSplineInterpolation();
 		}
 		else {
 			// Calculate slopes
@@ -433,7 +523,7 @@ public class RationalFunctionInterpolation implements DoubleUnaryOperator, Seria
 			/*
 			 * Generate a rational function for each given interval
 			 */
-			interpolatingRationalFunctions = new RationalFunction[numberOfPoints-1];
+			RationalFunction[] interpolatingRationalFunctions = new RationalFunction[numberOfPoints-1];
 
 			// create numerator polynomials (third order polynomial)
 			for(int i = 0; i < numberOfPoints-1; i++ ) {
@@ -446,10 +536,12 @@ public class RationalFunctionInterpolation implements DoubleUnaryOperator, Seria
 
 				interpolatingRationalFunctions[i] = new RationalFunction(numeratorPolynomCoeff);
 			}
+
+			return interpolatingRationalFunctions;
 		}
 	}
 
-	private void doCreateRationalFunctionsForHarmonicSplineInterpolation(){
+	private RationalFunction[] doCreateRationalFunctionsForHarmonicSplineInterpolation(){
 		int numberOfPoints = points.length;
 
 		// Calculate parameters
@@ -510,7 +602,7 @@ public class RationalFunctionInterpolation implements DoubleUnaryOperator, Seria
 		/*
 		 * Generate a rational function for each given interval
 		 */
-		interpolatingRationalFunctions = new RationalFunction[numberOfPoints-1];
+		RationalFunction[] interpolatingRationalFunctions = new RationalFunction[numberOfPoints-1];
 
 		// create numerator polynomials (third order polynomial)
 		for(int i = 0; i < numberOfPoints-1; i++ ) {
@@ -524,6 +616,7 @@ public class RationalFunctionInterpolation implements DoubleUnaryOperator, Seria
 			interpolatingRationalFunctions[i] = new RationalFunction(numeratortorPolynomCoeff);
 		}
 
+		return interpolatingRationalFunctions;
 	}
 
 
@@ -6,12 +6,22 @@
 package net.finmath.marketdata.calibration;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.Vector;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
 import java.util.function.Predicate;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -43,6 +53,16 @@ import net.finmath.time.TimeDiscretization;
  * An object of this class provides a calibration of curves (using multi-curves, forward curve, discount curve).
  * Sometimes this is referred as curve bootstrapping, however the algorithm used here is not a bootstrap.
  *
+ * In the default mode ({@link CalibrationMode#GLOBAL}) all curves are calibrated in a single global optimization.
+ * In the mode {@link CalibrationMode#BOOTSTRAP} the curves are grouped by the dependency of their calibration products:
+ * curves which depend on each other (e.g. a forward curve calibrated to products depending on another forward curve,
+ * which is calibrated to products depending on the first one) form a group which is calibrated jointly, all other groups
+ * are calibrated separately, after the groups they depend on. Groups which do not depend on each other are calibrated in parallel.
+ *
+ * Calibrations to shifted market data (see {@link #getCloneShifted(String, double)}) start from the calibrated curves and the
+ * Jacobians of this calibration (warm start). Calibrations to many shifted market data (e.g. for bucketed sensitivities)
+ * may be performed in parallel via {@link #getClonesShifted(List)}.
+ *
  * The calibration products have to be provided via a vector of <code>CalibrationSpec</code>s.
  *
  * The products provides are
@@ -87,17 +107,38 @@ import net.finmath.time.TimeDiscretization;
  * For a demo spreadsheet using this class see <a href="http://finmath.net/topics/curvecalibration/">finmath.net/topics/curvecalibration/</a>.
  *
  * @author Christian Fries
- * @version 1.0
+ * @version 1.2
  */
 public class CalibratedCurves {
 
+	/**
+	 * The mode of the calibration.
+	 *
+	 * @author Christian Fries
+	 */
+	public enum CalibrationMode {
+		/**
+		 * All curves are calibrated in a single (global) optimization.
+		 */
+		GLOBAL,
+
+		/**
+		 * The curves are ordered by the dependency of their calibration products. Groups of curves depending on each other
+		 * are calibrated jointly, independent groups are calibrated separately (in parallel).
+		 */
+		BOOTSTRAP
+	}
+
 	private static final boolean isUseForwardCurve;
 	private static final boolean isCreateDefaultCurvesForMissingCurves;
+	private static final boolean isUseAnalyticJacobian;
 	static {
 		// Default value is true
 		isUseForwardCurve = Boolean.parseBoolean(System.getProperty("net.finmath.marketdata.calibration.CalibratedCurves.isUseForwardCurve","true"));
 		// Default value is false
 		isCreateDefaultCurvesForMissingCurves = Boolean.parseBoolean(System.getProperty("net.finmath.marketdata.calibration.CalibratedCurves.isCreateDefaultCurvesForMissingCurves","false"));
+		// Default value is false
+		isUseAnalyticJacobian = Boolean.parseBoolean(System.getProperty("net.finmath.marketdata.calibration.CalibratedCurves.isUseAnalyticJacobian","false"));
 	}
 
 	/**
@@ -297,8 +338,17 @@ public class CalibratedCurves {
 	private final double evaluationTime;
 	private final double calibrationAccuracy;
 
+	private final CalibrationMode	calibrationMode;
+	private final ExecutorService	executor;
+
+	// The Jacobians used to warm start the calibration of each group of curves (given by their names), may be null
+	private final Map<List<String>, double[][]>	initialJacobians;
+
 	private int lastNumberOfInterations;
+	private int lastNumberOfJacobianCalculations;
 	private double lastAccuracy;
+	private List<List<String>> lastCalibrationGroups;
+	private Map<List<String>, double[][]> lastJacobians;
 
 	/**
 	 * Generate a collection of calibrated curves (discount curves, forward curves)
@@ -318,21 +368,50 @@ public class CalibratedCurves {
 	 * @param calibrationModel A given model used to value the calibration products.
 	 * @param evaluationTime Evaluation time applied to the calibration products.
 	 * @param calibrationAccuracy Error tolerance of the solver. Set to 0 if you need machine precision.
+	 * @param calibrationMode The calibration mode (global optimization or bootstrap of dependency ordered curve groups).
+	 * @param executor The executor used to calibrate independent curve groups in parallel (only used in bootstrap mode). If null, the common <code>ForkJoinPool</code> is used.
 	 * @throws net.finmath.optimizer.SolverException May be thrown if the solver does not cannot find a solution of the calibration problem.
 	 * @throws CloneNotSupportedException Thrown, when a curve could not be cloned.
 	 */
-	public CalibratedCurves(List<CalibrationSpec> calibrationSpecs, AnalyticModelInterface calibrationModel, double evaluationTime, double calibrationAccuracy) throws SolverException, CloneNotSupportedException {
+	public CalibratedCurves(List<CalibrationSpec> calibrationSpecs, AnalyticModelInterface calibrationModel, double evaluationTime, double calibrationAccuracy, CalibrationMode calibrationMode, ExecutorService executor) throws SolverException, CloneNotSupportedException {
+		this(calibrationSpecs, calibrationModel, evaluationTime, calibrationAccuracy, calibrationMode, executor, null, null);
+	}
+
+	/**
+	 * Generate a collection of calibrated curves (discount curves, forward curves)
+	 * from a vector of calibration products, using a previous calibration as a warm start.
+	 *
+	 * The calibration starts from the calibrated curves of the previous calibration (the model of the previous calibration is used
+	 * as calibration model) and uses the Jacobians of the previous calibration instead of the first calculation of the Jacobians
+	 * (see {@link Solver#setInitialJacobian(double[][])}). The evaluation time, the calibration accuracy, the calibration mode and
+	 * the executor of the previous calibration are used.
+	 *
+	 * Use case: Calibration to modified market data, e.g., to shifted quotes, see also {@link #getCloneShifted(String, double)}.
+	 *
+	 * @param calibrationSpecs List of calibration specs.
+	 * @param previousCalibration A previous calibration, e.g., to unshifted market data.
+	 * @throws net.finmath.optimizer.SolverException May be thrown if the solver does not cannot find a solution of the calibration problem.
+	 * @throws CloneNotSupportedException Thrown, when a curve could not be cloned.
+	 */
+	public CalibratedCurves(List<CalibrationSpec> calibrationSpecs, CalibratedCurves previousCalibration) throws SolverException, CloneNotSupportedException {
+		this(calibrationSpecs, previousCalibration.model, previousCalibration.evaluationTime, previousCalibration.calibrationAccuracy, previousCalibration.calibrationMode, previousCalibration.executor, null, previousCalibration.lastJacobians);
+	}
+
+	private CalibratedCurves(List<CalibrationSpec> calibrationSpecs, AnalyticModelInterface calibrationModel, double evaluationTime, double calibrationAccuracy, CalibrationMode calibrationMode, ExecutorService executor, ExecutorService executorForJacobian, Map<List<String>, double[][]> initialJacobians) throws SolverException, CloneNotSupportedException {
 		if(calibrationModel != null) {
 			model	= calibrationModel.getCloneForParameter(null);
 		}
 		this.evaluationTime = evaluationTime;
 		this.calibrationAccuracy = calibrationAccuracy;
+		this.calibrationMode = calibrationMode != null ? calibrationMode : CalibrationMode.GLOBAL;
+		this.executor = executor;
+		this.initialJacobians = initialJacobians != null ? initialJacobians : Collections.<List<String>, double[][]>emptyMap();
 
 		for(CalibrationSpec calibrationSpec : calibrationSpecs) {
 			add(calibrationSpec);
 		}
 
-		lastNumberOfInterations = calibrate(calibrationAccuracy);
+		lastNumberOfInterations = calibrate(calibrationAccuracy, executorForJacobian);
 	}
 
 	/**
@@ -353,21 +432,62 @@ public class CalibratedCurves {
 	 * @param calibrationModel A given model used to value the calibration products.
 	 * @param evaluationTime Evaluation time applied to the calibration products.
 	 * @param calibrationAccuracy Error tolerance of the solver. Set to 0 if you need machine precision.
+	 * @param calibrationMode The calibration mode (global optimization or bootstrap of dependency ordered curve groups).
 	 * @throws net.finmath.optimizer.SolverException May be thrown if the solver does not cannot find a solution of the calibration problem.
 	 * @throws CloneNotSupportedException Thrown, when a curve could not be cloned.
 	 */
-	public CalibratedCurves(CalibrationSpec[] calibrationSpecs, AnalyticModel calibrationModel, double evaluationTime, double calibrationAccuracy) throws SolverException, CloneNotSupportedException {
-		if(calibrationModel != null) {
-			model	= calibrationModel.getCloneForParameter(null);
-		}
-		this.evaluationTime = evaluationTime;
-		this.calibrationAccuracy = calibrationAccuracy;
+	public CalibratedCurves(List<CalibrationSpec> calibrationSpecs, AnalyticModelInterface calibrationModel, double evaluationTime, double calibrationAccuracy, CalibrationMode calibrationMode) throws SolverException, CloneNotSupportedException {
+		this(calibrationSpecs, calibrationModel, evaluationTime, calibrationAccuracy, calibrationMode, null);
+	}
 
-		for(CalibrationSpec calibrationSpec : calibrationSpecs) {
-			add(calibrationSpec);
-		}
+	/**
+	 * Generate a collection of calibrated curves (discount curves, forward curves)
+	 * from a vector of calibration products and a given model.
+	 *
+	 * If the model already contains a curve referenced as calibration curve that
+	 * curve is replaced by a clone, retaining the given curve information and
+	 * adding a new calibration point.
+	 *
+	 * If the model does not contain the curve referenced as calibration curve, the
+	 * curve will be added to the model.
+	 *
+	 * Use case: You already have a discount curve as part of the model and like
+	 * to calibrate an additional curve to an additional set of instruments.
+	 *
+	 * @param calibrationSpecs Array of calibration specs.
+	 * @param calibrationModel A given model used to value the calibration products.
+	 * @param evaluationTime Evaluation time applied to the calibration products.
+	 * @param calibrationAccuracy Error tolerance of the solver. Set to 0 if you need machine precision.
+	 * @throws net.finmath.optimizer.SolverException May be thrown if the solver does not cannot find a solution of the calibration problem.
+	 * @throws CloneNotSupportedException Thrown, when a curve could not be cloned.
+	 */
+	public CalibratedCurves(List<CalibrationSpec> calibrationSpecs, AnalyticModelInterface calibrationModel, double evaluationTime, double calibrationAccuracy) throws SolverException, CloneNotSupportedException {
+		this(calibrationSpecs, calibrationModel, evaluationTime, calibrationAccuracy, CalibrationMode.GLOBAL, null);
+	}
 
-		lastNumberOfInterations = calibrate(calibrationAccuracy);
+	/**
+	 * Generate a collection of calibrated curves (discount curves, forward curves)
+	 * from a vector of calibration products and a given model.
+	 *
+	 * If the model already contains a curve referenced as calibration curve that
+	 * curve is replaced by a clone, retaining the given curve information and
+	 * adding a new calibration point.
+	 *
+	 * If the model does not contain the curve referenced as calibration curve, the
+	 * curve will be added to the model.
+	 *
+	 * Use case: You already have a discount curve as part of the model and like
+	 * to calibrate an additional curve to an additional set of instruments.
+	 *
+	 * @param calibrationSpecs Array of calibration specs.
+	 * @param calibrationModel A given model used to value the calibration products.
+	 * @param evaluationTime Evaluation time applied to the calibration products.
+	 * @param calibrationAccuracy Error tolerance of the solver. Set to 0 if you need machine precision.
+	 * @throws net.finmath.optimizer.SolverException May be thrown if the solver does not cannot find a solution of the calibration problem.
+	 * @throws CloneNotSupportedException Thrown, when a curve could not be cloned.
+	 */
+	public CalibratedCurves(CalibrationSpec[] calibrationSpecs, AnalyticModel calibrationModel, double evaluationTime, double calibrationAccuracy) throws SolverException, CloneNotSupportedException {
+		this(Arrays.asList(calibrationSpecs), calibrationModel, evaluationTime, calibrationAccuracy);
 	}
 
 	/**
@@ -544,6 +664,16 @@ public class CalibratedCurves {
 		return lastNumberOfInterations;
 	}
 
+	/**
+	 * Return the number of (full) calculations of the Jacobian needed to calibrate the model (summed over all calibration groups),
+	 * see {@link Solver#getNumberOfJacobianCalculations()}.
+	 *
+	 * @return The number of calculations of the Jacobian needed to calibrate the model.
+	 */
+	public int getLastNumberOfJacobianCalculations() {
+		return lastNumberOfJacobianCalculations;
+	}
+
 	/**
 	 * Returns the set curves calibrated to "shifted" market data, that is,
 	 * the market date of <code>this</code> object, modified by the shifts
@@ -567,7 +697,7 @@ public class CalibratedCurves {
 			}
 		}
 
-		return new CalibratedCurves(calibrationSpecsShifted, model, evaluationTime, calibrationAccuracy);
+		return new CalibratedCurves(calibrationSpecsShifted, this);
 	}
 
 	/**
@@ -581,18 +711,159 @@ public class CalibratedCurves {
 	 * @throws CloneNotSupportedException The likely cause of this exception is the inability to clone or modify a curve.
 	 */
 	public CalibratedCurves getCloneShifted(Map<String,Double> shifts) throws SolverException, CloneNotSupportedException {
-		// Clone calibration specs, shifting the desired symbol
+		return new CalibratedCurves(getCalibrationSpecsShifted(shifts), this);
+	}
+
+	/**
+	 * Returns a list of sets of curves calibrated to "shifted" market data, one for each given map of shifts,
+	 * that is, the result is the same as calling {@link #getCloneShifted(Map)} for each element of <code>shifts</code>.
+	 *
+	 * The calibrations are performed in parallel on a thread pool created (and shut down) by this method.
+	 * Each calibration starts from the calibrated curves and the Jacobians of this object (warm start).
+	 * The clones use the executor of this object (if given, otherwise the common <code>ForkJoinPool</code>) to calibrate their
+	 * independent curve groups (bootstrap mode), like {@link #getCloneShifted(Map)}. The Jacobians of all clones are calculated on a single
+	 * thread pool created (and shut down) by this method, instead of a thread pool for each calibration.
+	 * Hence, no task waits for another task of the same pool.
+	 *
+	 * To reuse thread pools (or to control the number of threads), see {@link #getClonesShifted(List, ExecutorService, ExecutorService)}.
+	 *
+	 * Use case: Bucketed sensitivities (one shift per symbol) or scenarios.
+	 *
+	 * @param shifts A list of maps of shifts, each associating symbols with a shift. Symbols which are not part of a map remain unshifted.
+	 * @return A list of new sets of calibrated curves, calibrated to the corresponding shifted market data.
+	 * @throws SolverException The likely cause of this exception is a failure of the solver used in the calibration.
+	 * @throws CloneNotSupportedException The likely cause of this exception is the inability to clone or modify a curve.
+	 */
+	public List<CalibratedCurves> getClonesShifted(List<Map<String,Double>> shifts) throws SolverException, CloneNotSupportedException {
+		return getClonesShifted(shifts, null, null);
+	}
+
+	/**
+	 * Returns a list of sets of curves calibrated to "shifted" market data, one for each given map of shifts,
+	 * that is, the result is the same as calling {@link #getCloneShifted(Map)} for each element of <code>shifts</code>.
+	 *
+	 * The calibrations are performed in parallel on the given executor for the clones. The Jacobians of all clones are
+	 * calculated on the given executor for the Jacobian. If an executor is null, a thread pool is created (and shut down) by this method.
+	 * The given executors are not shut down by this method.
+	 * The clones use the executor of this object (if given, otherwise the common <code>ForkJoinPool</code>) to calibrate their
+	 * independent curve groups (bootstrap mode).
+	 *
+	 * Since the calibration of a clone waits for the calibration of its curve groups and the calibration of a curve group waits for the calculation
+	 * of its Jacobian, the executor for the clones, the executor of this object and the executor for the Jacobian should be distinct
+	 * (unless they do not limit the number of threads).
+	 *
+	 * @param shifts A list of maps of shifts, each associating symbols with a shift. Symbols which are not part of a map remain unshifted.
+	 * @param executorForClones The executor used to calibrate the clones in parallel or null.
+	 * @param executorForJacobian The executor used by the solvers of all clones to calculate the Jacobians or null.
+	 * @return A list of new sets of calibrated curves, calibrated to the corresponding shifted market data.
+	 * @throws SolverException The likely cause of this exception is a failure of the solver used in the calibration.
+	 * @throws CloneNotSupportedException The likely cause of this exception is the inability to clone or modify a curve.
+	 */
+	public List<CalibratedCurves> getClonesShifted(List<Map<String,Double>> shifts, ExecutorService executorForClones, ExecutorService executorForJacobian) throws SolverException, CloneNotSupportedException {
+		int numberOfProcessors = Math.max(Runtime.getRuntime().availableProcessors(), 1);
+		final ExecutorService executorForClonesToUse	= executorForClones != null ? executorForClones : Executors.newFixedThreadPool(Math.max(Math.min(numberOfProcessors, shifts.size()), 1));
+		final ExecutorService executorForJacobianToUse	= executorForJacobian != null ? executorForJacobian : Executors.newFixedThreadPool(numberOfProcessors);
+
+		try {
+			List<Future<CalibratedCurves>> calibratedCurvesFutures = new ArrayList<>();
+			for(Map<String,Double> shiftsOfScenario : shifts) {
+				final List<CalibrationSpec> calibrationSpecsShifted = getCalibrationSpecsShifted(shiftsOfScenario);
+				calibratedCurvesFutures.add(executorForClonesToUse.submit(new Callable<CalibratedCurves>() {
+					@Override
+					public CalibratedCurves call() throws SolverException, CloneNotSupportedException {
+						return new CalibratedCurves(calibrationSpecsShifted, model, evaluationTime, calibrationAccuracy, calibrationMode, executor, executorForJacobianToUse, lastJacobians);
+					}
+				}));
+			}
+
+			List<CalibratedCurves> calibratedCurvesShifted = new ArrayList<>();
+			for(Future<CalibratedCurves> calibratedCurvesFuture : calibratedCurvesFutures) {
+				try {
+					calibratedCurvesShifted.add(calibratedCurvesFuture.get());
+				} catch (InterruptedException e) {
+					throw new SolverException(e);
+				} catch (ExecutionException e) {
+					if(e.getCause() instanceof SolverException) {
+						throw (SolverException)e.getCause();
+					}
+					if(e.getCause() instanceof CloneNotSupportedException) {
+						throw (CloneNotSupportedException)e.getCause();
+					}
+					throw new SolverException(e.getCause());
+				}
+			}
+
+			return calibratedCurvesShifted;
+		}
+		finally {
+			if(executorForClones == null) {
+				executorForClonesToUse.shutdown();
+			}
+			if(executorForJacobian == null) {
+				executorForJacobianToUse.shutdown();
+			}
+		}
+	}
+
+	/**
+	 * Returns the sets of curves calibrated to "shifted" market data, where each of the given symbols is shifted separately,
+	 * that is, the result is the same as calling {@link #getCloneShifted(String, double)} for each symbol.
+	 * The calibrations are performed in parallel, see {@link #getClonesShifted(List)}.
+	 *
+	 * Use case: Bucketed sensitivities.
+	 *
+	 * @param symbols The symbols to shift (one at a time).
+	 * @param shift The shift to apply to each symbol.
+	 * @return A map associating each symbol with the set of curves calibrated to market data where this symbol is shifted.
+	 * @throws SolverException The likely cause of this exception is a failure of the solver used in the calibration.
+	 * @throws CloneNotSupportedException The likely cause of this exception is the inability to clone or modify a curve.
+	 */
+	public Map<String, CalibratedCurves> getClonesShiftedForSymbols(Collection<String> symbols, double shift) throws SolverException, CloneNotSupportedException {
+		return getClonesShiftedForSymbols(symbols, shift, null, null);
+	}
+
+	/**
+	 * Returns the sets of curves calibrated to "shifted" market data, where each of the given symbols is shifted separately,
+	 * that is, the result is the same as calling {@link #getCloneShifted(String, double)} for each symbol.
+	 * The calibrations are performed in parallel on the given executors, see {@link #getClonesShifted(List, ExecutorService, ExecutorService)}.
+	 *
+	 * @param symbols The symbols to shift (one at a time).
+	 * @param shift The shift to apply to each symbol.
+	 * @param executorForClones The executor used to calibrate the clones in parallel or null.
+	 * @param executorForJacobian The executor used by the solvers of all clones to calculate the Jacobians or null.
+	 * @return A map associating each symbol with the set of curves calibrated to market data where this symbol is shifted.
+	 * @throws SolverException The likely cause of this exception is a failure of the solver used in the calibration.
+	 * @throws CloneNotSupportedException The likely cause of this exception is the inability to clone or modify a curve.
+	 */
+	public Map<String, CalibratedCurves> getClonesShiftedForSymbols(Collection<String> symbols, double shift, ExecutorService executorForClones, ExecutorService executorForJacobian) throws SolverException, CloneNotSupportedException {
+		List<Map<String,Double>> shifts = new ArrayList<>();
+		for(String symbol : symbols) {
+			shifts.add(Collections.singletonMap(symbol, shift));
+		}
+
+		List<CalibratedCurves> calibratedCurvesShifted = getClonesShifted(shifts, executorForClones, executorForJacobian);
+
+		Map<String, CalibratedCurves> calibratedCurvesShiftedForSymbol = new LinkedHashMap<>();
+		int scenarioIndex = 0;
+		for(String symbol : symbols) {
+			calibratedCurvesShiftedForSymbol.put(symbol, calibratedCurvesShifted.get(scenarioIndex++));
+		}
+
+		return calibratedCurvesShiftedForSymbol;
+	}
+
+	private List<CalibrationSpec> getCalibrationSpecsShifted(Map<String,Double> shifts) {
+		// Clone calibration specs, shifting the desired symbols
 		List<CalibrationSpec> calibrationSpecsShifted = new ArrayList<>();
 		for(CalibrationSpec calibrationSpec : calibrationSpecs) {
-			if(shifts.containsKey(calibrationSpec)) {
-				calibrationSpecsShifted.add(calibrationSpec.getCloneShifted(shifts.get(calibrationSpec)));
+			if(shifts.containsKey(calibrationSpec.symbol)) {
+				calibrationSpecsShifted.add(calibrationSpec.getCloneShifted(shifts.get(calibrationSpec.symbol)));
 			}
 			else {
 				calibrationSpecsShifted.add(calibrationSpec);
 			}
 		}
-
-		return new CalibratedCurves(calibrationSpecsShifted, model, evaluationTime, calibrationAccuracy);
+		return calibrationSpecsShifted;
 	}
 
 	/**
@@ -624,7 +895,7 @@ public class CalibratedCurves {
 			}
 		}
 
-		return new CalibratedCurves(calibrationSpecsShifted, model, evaluationTime, calibrationAccuracy);
+		return new CalibratedCurves(calibrationSpecsShifted, this);
 	}
 
 	/**
@@ -655,6 +926,16 @@ public class CalibratedCurves {
 		return lastAccuracy;
 	}
 
+	/**
+	 * Return the groups of curves (given by their names) in the order in which they have been calibrated in the last calibration.
+	 * The curves of a group are calibrated jointly. In the global calibration mode, there is a single group.
+	 *
+	 * @return The names of the curves of each calibration group.
+	 */
+	public List<List<String>> getLastCalibrationGroups() {
+		return lastCalibrationGroups;
+	}
+
 	/**
 	 * Returns the first product found in the vector of calibration products
 	 * which matches the given symbol, where symbol is the String set in
@@ -680,15 +961,295 @@ public class CalibratedCurves {
 		return null;
 	}
 
-	private int calibrate(double accuracy) throws SolverException {
-		Solver solver = new Solver(model, calibrationProducts, evaluationTime, accuracy);
+	/**
+	 * Calibrate the curves.
+	 *
+	 * @param accuracy Error tolerance of the solver.
+	 * @param executorForJacobian The executor used by the solvers to calculate the Jacobians. If null, each solver uses its own thread pool.
+	 * @return The total number of iterations.
+	 * @throws SolverException Thrown if the calibration fails.
+	 */
+	private int calibrate(double accuracy, ExecutorService executorForJacobian) throws SolverException {
+		if(calibrationMode == CalibrationMode.BOOTSTRAP) {
+			return calibrateBootstrap(accuracy, executorForJacobian);
+		}
+
+		List<String> curveNames = new ArrayList<>();
+		for(ParameterObjectInterface objectToCalibrate : objectsToCalibrate) {
+			curveNames.add(((CurveInterface)objectToCalibrate).getName());
+		}
+
+		Solver solver = new Solver(model, calibrationProducts, evaluationTime, accuracy)
+				.setUseAnalyticJacobian(isUseAnalyticJacobian)
+				.setInitialJacobian(initialJacobians.get(curveNames))
+				.setExecutor(executorForJacobian);
 		model = solver.getCalibratedModel(objectsToCalibrate);
 
 		lastAccuracy = solver.getAccuracy();
+		lastNumberOfJacobianCalculations = solver.getNumberOfJacobianCalculations();
+		lastCalibrationGroups = Collections.singletonList(curveNames);
+		lastJacobians = Collections.singletonMap(curveNames, solver.getLastJacobian());
 
 		return solver.getIterations();
 	}
 
+	/**
+	 * Calibrate the curves group by group: the curves are grouped into the strongly connected components of the graph
+	 * of their dependencies (a curve depends on another curve if one of its calibration products depends on that curve).
+	 * The groups are calibrated in the topological order of that graph, where independent groups are calibrated in parallel.
+	 *
+	 * @param accuracy Error tolerance of the solver.
+	 * @param executorForJacobian The executor used by the solvers to calculate the Jacobians. If null, each solver uses its own thread pool.
+	 * @return The total number of iterations of all groups.
+	 * @throws SolverException Thrown if the calibration of a group fails.
+	 */
+	private int calibrateBootstrap(final double accuracy, ExecutorService executorForJacobian) throws SolverException {
+		List<CurveInterface> curves = new ArrayList<>();
+		Map<String, Integer> curveIndexForName = new HashMap<>();
+		for(ParameterObjectInterface objectToCalibrate : objectsToCalibrate) {
+			CurveInterface curve = (CurveInterface)objectToCalibrate;
+			curveIndexForName.put(curve.getName(), curves.size());
+			curves.add(curve);
+		}
+
+		int[] curveOfProduct = new int[calibrationProducts.size()];
+		for(int productIndex=0; productIndex<calibrationProducts.size(); productIndex++) {
+			curveOfProduct[productIndex] = curveIndexForName.get(calibrationSpecs.get(productIndex).calibrationCurveName);
+		}
+
+		boolean[][] isCurveDependingOnCurve = getCurveDependencies(curves, curveOfProduct);
+		List<List<Integer>> groups = getStronglyConnectedComponents(isCurveDependingOnCurve);
+
+		/*
+		 * The groups are ordered such that a group only depends on previous groups.
+		 * The level of a group is the length of its longest chain of dependencies. Groups of the same level are independent.
+		 */
+		int[] groupOfCurve = new int[curves.size()];
+		int[] levelOfGroup = new int[groups.size()];
+		int numberOfLevels = 0;
+		for(int groupIndex=0; groupIndex<groups.size(); groupIndex++) {
+			for(int curveIndex : groups.get(groupIndex)) {
+				groupOfCurve[curveIndex] = groupIndex;
+			}
+			for(int curveIndex : groups.get(groupIndex)) {
+				for(int otherCurveIndex=0; otherCurveIndex<curves.size(); otherCurveIndex++) {
+					if(isCurveDependingOnCurve[curveIndex][otherCurveIndex] && groupOfCurve[otherCurveIndex] != groupIndex) {
+						levelOfGroup[groupIndex] = Math.max(levelOfGroup[groupIndex], levelOfGroup[groupOfCurve[otherCurveIndex]] + 1);
+					}
+				}
+			}
+			numberOfLevels = Math.max(numberOfLevels, levelOfGroup[groupIndex] + 1);
+		}
+
+		ExecutorService executor = this.executor != null ? this.executor : ForkJoinPool.commonPool();
+
+		int		numberOfIterations				= 0;
+		int		numberOfJacobianCalculations	= 0;
+		double	sumOfSquaredErrors				= 0.0;
+		List<List<String>> calibrationGroups = new ArrayList<>();
+		Map<List<String>, double[][]> jacobians = new HashMap<>();
+		for(int level=0; level<numberOfLevels; level++) {
+			List<Solver>							solvers					= new ArrayList<>();
+			List<Set<ParameterObjectInterface>>		curvesOfSolvers			= new ArrayList<>();
+			List<Integer>							numberOfProducts		= new ArrayList<>();
+			for(int groupIndex=0; groupIndex<groups.size(); groupIndex++) {
+				if(levelOfGroup[groupIndex] != level) {
+					continue;
+				}
+
+				Set<ParameterObjectInterface> curvesOfGroup = new LinkedHashSet<>();
+				List<String> curveNamesOfGroup = new ArrayList<>();
+				for(int curveIndex : groups.get(groupIndex)) {
+					curvesOfGroup.add(curves.get(curveIndex));
+					curveNamesOfGroup.add(curves.get(curveIndex).getName());
+				}
+
+				Vector<AnalyticProductInterface> productsOfGroup = new Vector<>();
+				for(int productIndex=0; productIndex<calibrationProducts.size(); productIndex++) {
+					if(groupOfCurve[curveOfProduct[productIndex]] == groupIndex) {
+						productsOfGroup.add(calibrationProducts.get(productIndex));
+					}
+				}
+
+				solvers.add(new Solver(model, productsOfGroup, evaluationTime, accuracy)
+						.setUseAnalyticJacobian(isUseAnalyticJacobian)
+						.setInitialJacobian(initialJacobians.get(curveNamesOfGroup))
+						.setExecutor(executorForJacobian));
+				curvesOfSolvers.add(curvesOfGroup);
+				numberOfProducts.add(productsOfGroup.size());
+				calibrationGroups.add(curveNamesOfGroup);
+			}
+
+			// Calibrate the groups of this level (in parallel, if there is more than one group)
+			List<AnalyticModelInterface> calibratedModels = new ArrayList<>();
+			if(solvers.size() == 1) {
+				calibratedModels.add(solvers.get(0).getCalibratedModel(curvesOfSolvers.get(0)));
+			}
+			else {
+				List<Future<AnalyticModelInterface>> calibratedModelFutures = new ArrayList<>();
+				for(int solverIndex=0; solverIndex<solvers.size(); solverIndex++) {
+					final Solver						solver			= solvers.get(solverIndex);
+					final Set<ParameterObjectInterface>	curvesOfSolver	= curvesOfSolvers.get(solverIndex);
+					calibratedModelFutures.add(executor.submit(new Callable<AnalyticModelInterface>() {
+						@Override
+						public AnalyticModelInterface call() throws SolverException {
+							return solver.getCalibratedModel(curvesOfSolver);
+						}
+					}));
+				}
+				for(Future<AnalyticModelInterface> calibratedModelFuture : calibratedModelFutures) {
+					try {
+						calibratedModels.add(calibratedModelFuture.get());
+					} catch (InterruptedException e) {
+						throw new SolverException(e);
+					} catch (ExecutionException e) {
+						if(e.getCause() instanceof SolverException) {
+							throw (SolverException)e.getCause();
+						}
+						throw new SolverException(e.getCause());
+					}
+				}
+			}
+
+			// Add the calibrated curves to the model used by the next levels
+			for(int solverIndex=0; solverIndex<solvers.size(); solverIndex++) {
+				for(ParameterObjectInterface curve : curvesOfSolvers.get(solverIndex)) {
+					model = model.addCurves(calibratedModels.get(solverIndex).getCurve(((CurveInterface)curve).getName()));
+				}
+
+				Solver solver = solvers.get(solverIndex);
+				jacobians.put(calibrationGroups.get(calibrationGroups.size() - solvers.size() + solverIndex), solver.getLastJacobian());
+				numberOfIterations += solver.getIterations();
+				numberOfJacobianCalculations += solver.getNumberOfJacobianCalculations();
+				sumOfSquaredErrors += solver.getAccuracy() * solver.getAccuracy() * numberOfProducts.get(solverIndex);
+			}
+		}
+
+		lastAccuracy = Math.sqrt(sumOfSquaredErrors / calibrationProducts.size());
+		lastNumberOfJacobianCalculations = numberOfJacobianCalculations;
+		lastCalibrationGroups = calibrationGroups;
+		lastJacobians = jacobians;
+
+		return numberOfIterations;
+	}
+
+	/**
+	 * Determine the dependency of the curves to calibrate: a curve depends on another curve, if one of its calibration products
+	 * depends on the other curve. A product depends on a curve if its value is affected by setting the parameters of that curve to NaN.
+	 * Note that the dependency cannot be derived from sensitivities, since a sensitivity may vanish at the initial guess.
+	 *
+	 * @param curves The curves to calibrate.
+	 * @param curveOfProduct For each calibration product the index of the curve it calibrates.
+	 * @return A matrix where element [i][j] is true if curve i depends on curve j.
+	 */
+	private boolean[][] getCurveDependencies(List<CurveInterface> curves, int[] curveOfProduct) {
+		double[] values = new double[calibrationProducts.size()];
+		for(int productIndex=0; productIndex<calibrationProducts.size(); productIndex++) {
+			try {
+				values[productIndex] = calibrationProducts.get(productIndex).getValue(evaluationTime, model);
+			}
+			catch(Exception e) {
+				values[productIndex] = Double.NaN;
+			}
+		}
+
+		boolean[][] isCurveDependingOnCurve = new boolean[curves.size()][curves.size()];
+		for(int curveIndex=0; curveIndex<curves.size(); curveIndex++) {
+			isCurveDependingOnCurve[curveIndex][curveIndex] = true;
+
+			CurveInterface curve = curves.get(curveIndex);
+			AnalyticModelInterface modelWithUndefinedCurve = null;
+			if(curve.getParameter() != null) {
+				double[] parameter = new double[curve.getParameter().length];
+				Arrays.fill(parameter, Double.NaN);
+				try {
+					modelWithUndefinedCurve = model.getCloneForParameter(Collections.<ParameterObjectInterface, double[]>singletonMap(curve, parameter));
+				}
+				catch(Exception e) {
+					// The dependency is unknown, all products are assumed to depend on the curve
+				}
+			}
+
+			for(int productIndex=0; productIndex<calibrationProducts.size(); productIndex++) {
+				boolean isDepending = true;
+				if(modelWithUndefinedCurve != null) {
+					try {
+						double value = calibrationProducts.get(productIndex).getValue(evaluationTime, modelWithUndefinedCurve);
+						isDepending = !(value == values[productIndex]);
+					}
+					catch(Exception e) {
+						// The product depends on the curve
+					}
+				}
+				if(isDepending) {
+					isCurveDependingOnCurve[curveOfProduct[productIndex]][curveIndex] = true;
+				}
+			}
+		}
+
+		return isCurveDependingOnCurve;
+	}
+
+	/**
+	 * Returns the strongly connected components of a dependency graph (Tarjan's algorithm).
+	 * The components are ordered such that a component only depends on previous components.
+	 *
+	 * @param isDepending A matrix where element [i][j] is true if node i depends on node j.
+	 * @return The list of strongly connected components, each given by the indices of its nodes.
+	 */
+	private static List<List<Integer>> getStronglyConnectedComponents(boolean[][] isDepending) {
+		int numberOfNodes = isDepending.length;
+		int[]		index		= new int[numberOfNodes];
+		int[]		lowLink		= new int[numberOfNodes];
+		boolean[]	isOnStack	= new boolean[numberOfNodes];
+		Arrays.fill(index, -1);
+
+		List<List<Integer>>	components	= new ArrayList<>();
+		List<Integer>		stack		= new ArrayList<>();
+		int[]				nextIndex	= new int[] { 0 };
+		for(int node=0; node<numberOfNodes; node++) {
+			if(index[node] < 0) {
+				addStronglyConnectedComponents(node, isDepending, index, lowLink, isOnStack, stack, nextIndex, components);
+			}
+		}
+
+		return components;
+	}
+
+	private static void addStronglyConnectedComponents(int node, boolean[][] isDepending, int[] index, int[] lowLink, boolean[] isOnStack, List<Integer> stack, int[] nextIndex, List<List<Integer>> components) {
+		index[node] = nextIndex[0];
+		lowLink[node] = nextIndex[0];
+		nextIndex[0]++;
+		stack.add(node);
+		isOnStack[node] = true;
+
+		for(int otherNode=0; otherNode<isDepending.length; otherNode++) {
+			if(!isDepending[node][otherNode]) {
+				continue;
+			}
+			if(index[otherNode] < 0) {
+				addStronglyConnectedComponents(otherNode, isDepending, index, lowLink, isOnStack, stack, nextIndex, components);
+				lowLink[node] = Math.min(lowLink[node], lowLink[otherNode]);
+			}
+			else if(isOnStack[otherNode]) {
+				lowLink[node] = Math.min(lowLink[node], index[otherNode]);
+			}
+		}
+
+		// If node is the root of a component, the component is on top of the stack. Its dependencies have been added before.
+		if(lowLink[node] == index[node]) {
+			List<Integer> component = new ArrayList<>();
+			int otherNode;
+			do {
+				otherNode = stack.remove(stack.size()-1);
+				isOnStack[otherNode] = false;
+				component.add(otherNode);
+			} while(otherNode != node);
+			Collections.sort(component);
+			components.add(component);
+		}
+	}
+
 	/**
 	 * Add a calibration product to the set of calibration instruments.
 	 *
@@ -0,0 +1,72 @@
+/*
+ * (c) Copyright Christian P. Fries, Germany. Contact: email@christian-fries.de.
+ *
+ * Created on 16.10.2026
+ */
+package net.finmath.marketdata.calibration;
+
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Maps the parameters of (named) curves to the indices of an aggregated parameter vector,
+ * such that the parameter <code>i</code> of the curve <code>name</code> has the index <code>getOffset(name) + i</code>.
+ *
+ * The index is used by the valuation methods providing derivatives with respect to the aggregated
+ * parameter vector (see {@link net.finmath.functions.DualNumber}), e.g., to calculate the Jacobian of a curve calibration.
+ * Curves not being part of the index are considered constant.
+ *
+ * @author Christian Fries
+ * @version 1.0
+ */
+public class ParameterIndex implements Serializable {
+
+	private static final long serialVersionUID = 2735447532470520516L;
+
+	private static final ParameterIndex	emptyParameterIndex = new ParameterIndex(Collections.<String, Integer>emptyMap(), 0);
+
+	private final Map<String, Integer>	offsets;
+	private final int					numberOfParameters;
+
+	/**
+	 * Create the parameter index.
+	 *
+	 * @param offsets A map from the name of a curve to the index of its first parameter in the aggregated parameter vector.
+	 * @param numberOfParameters The length of the aggregated parameter vector.
+	 */
+	public ParameterIndex(Map<String, Integer> offsets, int numberOfParameters) {
+		super();
+		this.offsets = Collections.unmodifiableMap(new HashMap<>(offsets));
+		this.numberOfParameters = numberOfParameters;
+	}
+
+	/**
+	 * Returns a parameter index without parameters, i.e., all curves are considered constant.
+	 * A valuation using this index provides the value only, without the cost of calculating derivatives.
+	 *
+	 * @return A parameter index without parameters.
+	 */
+	public static ParameterIndex getEmptyParameterIndex() {
+		return emptyParameterIndex;
+	}
+
+	/**
+	 * Returns the index of the first parameter of a given curve in the aggregated parameter vector.
+	 *
+	 * @param name The name of the curve.
+	 * @return The index of the first parameter of the curve or -1 if the curve is not part of the aggregated parameter vector.
+	 */
+	public int getOffset(String name) {
+		Integer offset = name != null ? offsets.get(name) : null;
+		return offset != null ? offset.intValue() : -1;
+	}
+
+	/**
+	 * @return The length of the aggregated parameter vector.
+	 */
+	public int getNumberOfParameters() {
+		return numberOfParameters;
+	}
+}
@@ -5,15 +5,25 @@
  */
 package net.finmath.marketdata.calibration;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.Vector;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import net.finmath.marketdata.model.AnalyticModelInterface;
+import net.finmath.marketdata.model.curves.CurveInterface;
 import net.finmath.marketdata.products.AnalyticProductInterface;
 import net.finmath.optimizer.OptimizerFactoryInterface;
-import net.finmath.optimizer.OptimizerFactoryLevenbergMarquardt;
+import net.finmath.optimizer.LevenbergMarquardt;
 import net.finmath.optimizer.OptimizerInterface;
 import net.finmath.optimizer.SolverException;
 
@@ -28,8 +38,26 @@ import net.finmath.optimizer.SolverException;
  * The calibration is performed as a multi-threaded global optimization.
  * I will greatly profit from a multi-core architecture.
  *
+ * If no optimizer factory is given, the solver uses a Levenberg-Marquardt optimizer with its own
+ * calculation of the Jacobian (finite differences):
+ * <ul>
+ * 	<li>The Jacobian is block-sparse: upon the first calculation the solver determines which calibration
+ * 	products depend on which of the calibrated objects (curves). A bumped parameter then only clones the curve it belongs to
+ * 	and only the products depending on that curve are revalued.
+ * 	(This is not possible for a non-trivial <code>ParameterTransformation</code>, where all products are revalued.)</li>
+ * 	<li>The columns of the Jacobian are calculated concurrently on an executor (which may be supplied via {@link #setExecutor(ExecutorService)}).</li>
+ * 	<li>Optionally, see {@link #setMaxNumberOfJacobianUpdates(int)}, the Jacobian is approximated by sparse Broyden (rank-one) updates
+ * 	between full calculations. A full calculation is performed if the last step did not reduce the error sufficiently.
+ * 	If the optimizer terminates on an approximated Jacobian, the calibration is continued with full Jacobians.</li>
+ * 	<li>Optionally, see {@link #setUseAnalyticJacobian(boolean)}, the Jacobian is calculated exactly in a single valuation of each product,
+ * 	via the forward mode differentiation of {@link AnalyticProductInterface#getValue(double, AnalyticModelInterface, ParameterIndex)}.
+ * 	The derivatives of a product which does not provide them (or which uses a calibrated curve not providing them) are calculated by finite differences.</li>
+ * 	<li>Optionally, see {@link #setInitialJacobian(double[][])}, the Jacobian of a previous calibration (e.g., of the unshifted market data)
+ * 	is used instead of the first calculation of the Jacobian (warm start), see also {@link #getLastJacobian()}.</li>
+ * </ul>
+ *
  * @author Christian Fries
- * @version 1.0
+ * @version 1.3
  */
 public class Solver {
 
@@ -46,6 +74,21 @@ public class Solver {
 
 	private 		int		iterations		= 0;
 	private 		double	accuracy		= Double.POSITIVE_INFINITY;
+	private 		int		numberOfJacobianCalculations	= 0;
+	private 		int		numberOfJacobianUpdates			= 0;
+
+	private ExecutorService	executor						= null;
+	private int				maxNumberOfJacobianUpdates		= 0;
+	private boolean			isUseSparseJacobian				= true;
+	private boolean			isUseAnalyticJacobian			= false;
+	private double[][]		initialJacobian					= null;
+	private double[][]		lastJacobian					= null;
+
+	/**
+	 * Required reduction of the root mean squared error of a step, such that the Jacobian may be updated by a Broyden update
+	 * (instead of a full calculation).
+	 */
+	private static final double	jacobianUpdateErrorReduction	= 0.5;
 
 	/**
 	 * Generate a solver for the given parameter objects (independents) and
@@ -129,6 +172,97 @@ public class Solver {
 		this(model, calibrationProducts, 0.0, 0.0);
 	}
 
+	/**
+	 * Set the executor used for the concurrent calculation of the Jacobian. If no executor is set, the solver
+	 * creates a thread pool for each calibration (and shuts it down afterwards).
+	 * The executor is not shut down by the solver.
+	 *
+	 * The executor is only used if no optimizer factory has been given.
+	 *
+	 * @param executor The executor used for the calculation of the Jacobian or null.
+	 * @return This solver.
+	 */
+	public Solver setExecutor(ExecutorService executor) {
+		this.executor = executor;
+		return this;
+	}
+
+	/**
+	 * Set the maximum number of successive (sparse) Broyden updates of the Jacobian, which are performed instead of a
+	 * full calculation of the Jacobian by finite differences. The default is 0, i.e., the Jacobian is calculated in each step.
+	 *
+	 * The Jacobian updates are only used if no optimizer factory has been given.
+	 *
+	 * @param maxNumberOfJacobianUpdates The maximum number of successive Broyden updates of the Jacobian.
+	 * @return This solver.
+	 */
+	public Solver setMaxNumberOfJacobianUpdates(int maxNumberOfJacobianUpdates) {
+		if(maxNumberOfJacobianUpdates < 0) {
+			throw new IllegalArgumentException("Maximum number of Jacobian updates must not be negative.");
+		}
+		this.maxNumberOfJacobianUpdates = maxNumberOfJacobianUpdates;
+		return this;
+	}
+
+	/**
+	 * Enable or disable the use of the block-sparse structure of the Jacobian, i.e., that a calibration product
+	 * only depends on some of the calibrated objects. The default is true.
+	 *
+	 * The sparse structure is only used if no optimizer factory and no parameter transformation have been given.
+	 *
+	 * @param isUseSparseJacobian If true, only the calibration products depending on a calibrated object are revalued if its parameters are shifted.
+	 * @return This solver.
+	 */
+	public Solver setUseSparseJacobian(boolean isUseSparseJacobian) {
+		this.isUseSparseJacobian = isUseSparseJacobian;
+		return this;
+	}
+
+	/**
+	 * Enable or disable the exact calculation of the Jacobian via the derivatives provided by the calibration products
+	 * (forward mode differentiation, see {@link AnalyticProductInterface#getValue(double, AnalyticModelInterface, ParameterIndex)}).
+	 * This replaces the revaluation of the products for each parameter by a single valuation of each product. The default is false.
+	 *
+	 * The analytic Jacobian is only used if no optimizer factory and no parameter transformation have been given and if
+	 * all calibrated objects are curves. Curves not being calibrated are considered constant. If a calibration product (or a calibrated curve it uses)
+	 * does not provide derivatives, the derivatives of this product are calculated by finite differences.
+	 *
+	 * @param isUseAnalyticJacobian If true, the Jacobian is calculated from the derivatives provided by the calibration products.
+	 * @return This solver.
+	 */
+	public Solver setUseAnalyticJacobian(boolean isUseAnalyticJacobian) {
+		this.isUseAnalyticJacobian = isUseAnalyticJacobian;
+		return this;
+	}
+
+	/**
+	 * Set a Jacobian at the initial parameters, where initialJacobian[i][j] is d(value(j)) / d(parameters(i)),
+	 * which is used instead of the first calculation of the Jacobian. This allows to warm start a calibration from a
+	 * previous calibration of the same objects to the same (or slightly modified) calibration products,
+	 * e.g., a calibration to shifted market data, where the model given to the solver contains the objects of the previous calibration
+	 * and the initial Jacobian is the Jacobian of the previous calibration (see {@link #getLastJacobian()}).
+	 *
+	 * The initial Jacobian is treated as an approximation: if the optimizer terminates on it, the calibration is continued with
+	 * a calculated Jacobian. The initial Jacobian is ignored if its dimensions do not match the calibration problem or if an optimizer factory has been given.
+	 *
+	 * @param initialJacobian The Jacobian at the initial parameters or null.
+	 * @return This solver.
+	 */
+	public Solver setInitialJacobian(double[][] initialJacobian) {
+		this.initialJacobian = initialJacobian;
+		return this;
+	}
+
+	/**
+	 * Returns the Jacobian used in the last step of the last calibration, where jacobian[i][j] is d(value(j)) / d(parameters(i)).
+	 * The Jacobian may be used to warm start another calibration, see {@link #setInitialJacobian(double[][])}.
+	 *
+	 * @return The Jacobian of the last calibration or null if it is not available (e.g., if an optimizer factory has been given).
+	 */
+	public double[][] getLastJacobian() {
+		return lastJacobian;
+	}
+
 	/**
 	 * Find the model such that the equation
 	 * <center>
@@ -163,44 +297,57 @@ public class Solver {
 		java.util.Arrays.fill(ones, 1.0);
 		java.util.Arrays.fill(lowerBound, Double.NEGATIVE_INFINITY);
 		java.util.Arrays.fill(upperBound, Double.POSITIVE_INFINITY);
-		OptimizerInterface.ObjectiveFunction objectiveFunction = new OptimizerInterface.ObjectiveFunction() {
-			@Override
-			public void setValues(double[] parameters, double[] values) throws SolverException {
-				double[] modelParameters = parameters;
-				try {
-					if(parameterTransformation != null) {
-						modelParameters = parameterTransformation.getParameter(parameters);
-						// Copy back the parameter constrain to inform the optimizer
-						System.arraycopy(parameterTransformation.getSolverParameter(modelParameters), 0, parameters, 0, parameters.length);
-					}
+		CalibrationObjectiveFunction objectiveFunction = new CalibrationObjectiveFunction(objectsToCalibrate, parameterAggregate);
 
-					Map<ParameterObjectInterface, double[]> curvesParameterPairs = parameterAggregate.getObjectsToModifyForParameter(modelParameters);
-					AnalyticModelInterface modelClone = model.getCloneForParameter(curvesParameterPairs);
-					for(int i=0; i<calibrationProducts.size(); i++) {
-						values[i] = calibrationProducts.get(i).getValue(evaluationTime, modelClone);
-					}
-					if(calibrationTargetValues != null) {
-						for(int i=0; i<calibrationTargetValues.size(); i++) {
-							values[i] -= calibrationTargetValues.get(i);
-						}
-					}
-				} catch (CloneNotSupportedException e) {
-					throw new SolverException(e);
-				}
-			}
-		};
+		double[] bestParameters;
+		if(optimizerFactory != null) {
+			OptimizerInterface optimizer = optimizerFactory.getOptimizer(objectiveFunction, initialParameters, lowerBound, upperBound, zeros);
+			optimizer.run();
 
-		if(optimizerFactory == null) {
-			int maxThreads		= Math.min(2 * Math.max(Runtime.getRuntime().availableProcessors(), 1), initialParameters.length);
-			optimizerFactory = new OptimizerFactoryLevenbergMarquardt(maxIterations, calibrationAccuracy, maxThreads);
+			iterations = optimizer.getIterations();
+			bestParameters = optimizer.getBestFitParameters();
 		}
+		else {
+			ExecutorService executorForJacobian = executor;
+			if(executorForJacobian == null) {
+				int maxThreads		= Math.max(Math.min(2 * Math.max(Runtime.getRuntime().availableProcessors(), 1), initialParameters.length), 1);
+				executorForJacobian = Executors.newFixedThreadPool(maxThreads);
+			}
+
+			try {
+				objectiveFunction.setExecutor(executorForJacobian);
+				objectiveFunction.setMaxNumberOfJacobianUpdates(maxNumberOfJacobianUpdates);
+				objectiveFunction.setInitialJacobian(initialJacobian);
+
+				OptimizerInterface optimizer = getOptimizer(objectiveFunction, initialParameters, zeros);
+				optimizer.run();
 
-		OptimizerInterface optimizer = optimizerFactory.getOptimizer(objectiveFunction, initialParameters, lowerBound, upperBound, zeros);
-		optimizer.run();
+				iterations = optimizer.getIterations();
+				bestParameters = optimizer.getBestFitParameters();
 
-		iterations = optimizer.getIterations();
+				// If the optimizer terminated on an approximated Jacobian, continue with full Jacobians
+				if(objectiveFunction.isJacobianApproximated()) {
+					objectiveFunction.setMaxNumberOfJacobianUpdates(0);
+
+					optimizer = getOptimizer(objectiveFunction, bestParameters, zeros);
+					optimizer.run();
+
+					iterations += optimizer.getIterations();
+					bestParameters = optimizer.getBestFitParameters();
+				}
+
+				lastJacobian = objectiveFunction.getJacobian();
+			}
+			finally {
+				if(executor == null) {
+					executorForJacobian.shutdown();
+				}
+			}
+		}
+
+		numberOfJacobianCalculations	= objectiveFunction.getNumberOfJacobianCalculations();
+		numberOfJacobianUpdates			= objectiveFunction.getNumberOfJacobianUpdates();
 
-		double[] bestParameters = optimizer.getBestFitParameters();
 		if(parameterTransformation != null) {
 			bestParameters = parameterTransformation.getParameter(bestParameters);
 		}
@@ -227,6 +374,29 @@ public class Solver {
 		return calibratedModel;
 	}
 
+	private OptimizerInterface getOptimizer(final CalibrationObjectiveFunction objectiveFunction, double[] initialParameters, double[] targetValues) {
+		return (new LevenbergMarquardt(
+				LevenbergMarquardt.RegularizationMethod.LEVENBERG_MARQUARDT,
+				initialParameters,
+				targetValues,
+				maxIterations,
+				null)
+		{
+			private static final long serialVersionUID = 5279546357325426946L;
+
+			@Override
+			public void setValues(double[] parameters, double[] values) throws SolverException {
+				objectiveFunction.setValues(parameters, values);
+			}
+
+			@Override
+			public void setDerivatives(double[] parameters, double[][] derivatives) throws SolverException {
+				objectiveFunction.setDerivatives(parameters, derivatives);
+			}
+		})
+				.setErrorTolerance(calibrationAccuracy);
+	}
+
 	/**
 	 * Returns the number of iterations required in the last solver step.
 	 *
@@ -244,4 +414,486 @@ public class Solver {
 	public double getAccuracy() {
 		return accuracy;
 	}
+
+	/**
+	 * Returns the number of full calculations of the Jacobian (analytic or by finite differences) in the last solver run.
+	 *
+	 * @return The number of full calculations of the Jacobian.
+	 */
+	public int getNumberOfJacobianCalculations() {
+		return numberOfJacobianCalculations;
+	}
+
+	/**
+	 * Returns the number of Broyden updates of the Jacobian in the last solver run, see {@link #setMaxNumberOfJacobianUpdates(int)}.
+	 *
+	 * @return The number of Broyden updates of the Jacobian.
+	 */
+	public int getNumberOfJacobianUpdates() {
+		return numberOfJacobianUpdates;
+	}
+
+	/**
+	 * The objective function of the calibration (the values of the calibration products minus their target values)
+	 * together with the calculation of its Jacobian.
+	 *
+	 * The Jacobian is calculated analytically (if enabled and supported), by finite differences (concurrently, using the block-sparse structure if possible)
+	 * or approximated by sparse Broyden updates of the previous Jacobian.
+	 */
+	private class CalibrationObjectiveFunction implements OptimizerInterface.ObjectiveFunction {
+
+		private final ParameterAggregation<ParameterObjectInterface>	parameterAggregate;
+
+		// For each (model) parameter the calibrated object it belongs to and the index of its first parameter
+		private final ParameterObjectInterface[]	objectOfParameter;
+		private final int[]							objectParameterOffset;
+
+		// The index of the curve parameters (null if a calibrated object is not a curve)
+		private final ParameterIndex	curveParameterIndex;
+
+		// For each value true if the product does not provide derivatives (determined upon the first analytic calculation of the Jacobian)
+		private final boolean[]			isValueWithoutDerivatives;
+
+		private ExecutorService	executor;
+		private int				maxNumberOfJacobianUpdates;
+		private double[][]		initialJacobian;
+
+		/*
+		 * The dependency of the values on the parameters: isValueDependingOnParameter[i][j] is true if value j depends on parameter i.
+		 * Determined upon the first calculation of the Jacobian; null if not known (or if the sparse structure is not used).
+		 */
+		private boolean[][]	isValueDependingOnParameter;
+
+		// Parameters and values of the last evaluation of setValues by the optimizer
+		private volatile double[][]	lastParametersAndValues;
+
+		// The last Jacobian, where jacobian[i][j] is d(value(j)) / d(parameters(i)), and its parameters and values
+		private double[][]	jacobian;
+		private double[]	jacobianParameters;
+		private double[]	jacobianValues;
+		private int			numberOfJacobianUpdates;
+		private boolean		isJacobianApproximated;
+
+		// Statistics: the total number of full calculations and of updates of the Jacobian
+		private int			totalNumberOfJacobianCalculations;
+		private int			totalNumberOfJacobianUpdates;
+
+		CalibrationObjectiveFunction(Set<ParameterObjectInterface> objectsToCalibrate, ParameterAggregation<ParameterObjectInterface> parameterAggregate) {
+			this.parameterAggregate = parameterAggregate;
+
+			// The order of the parameters is the order of the objects (see ParameterAggregation)
+			List<ParameterObjectInterface>	objects			= new ArrayList<>();
+			List<Integer>					offsets			= new ArrayList<>();
+			int parameterIndex = 0;
+			for(ParameterObjectInterface object : objectsToCalibrate) {
+				double[] objectParameter = object.getParameter();
+				if(objectParameter != null) {
+					for(int i=0; i<objectParameter.length; i++) {
+						objects.add(object);
+						offsets.add(parameterIndex);
+					}
+					parameterIndex += objectParameter.length;
+				}
+			}
+			objectOfParameter		= objects.toArray(new ParameterObjectInterface[objects.size()]);
+
+			Map<String, Integer> curveParameterOffsets = new HashMap<>();
+			boolean isAllObjectsNamedCurves = true;
+			for(int i=0; i<objects.size(); i++) {
+				if(objects.get(i) instanceof CurveInterface && ((CurveInterface)objects.get(i)).getName() != null) {
+					Integer previousOffset = curveParameterOffsets.put(((CurveInterface)objects.get(i)).getName(), offsets.get(i));
+					isAllObjectsNamedCurves &= previousOffset == null || previousOffset.equals(offsets.get(i));
+				}
+				else {
+					isAllObjectsNamedCurves = false;
+				}
+			}
+			curveParameterIndex = isAllObjectsNamedCurves ? new ParameterIndex(curveParameterOffsets, parameterIndex) : null;
+			isValueWithoutDerivatives = new boolean[calibrationProducts.size()];
+
+			objectParameterOffset	= new int[offsets.size()];
+			for(int i=0; i<objectParameterOffset.length; i++) {
+				objectParameterOffset[i] = offsets.get(i);
+			}
+		}
+
+		@Override
+		public void setValues(double[] parameters, double[] values) throws SolverException {
+			getValues(parameters, values);
+			lastParametersAndValues = new double[][] { parameters.clone(), values.clone() };
+		}
+
+		/**
+		 * Calculate the derivatives (Jacobian) of the values at the given parameters, either by a full calculation or
+		 * by a Broyden update of the previous Jacobian.
+		 *
+		 * @param parameters The parameter vector.
+		 * @param derivatives Output value, where derivatives[i][j] is d(value(j)) / d(parameters(i)).
+		 * @throws SolverException Thrown if the valuation fails.
+		 */
+		void setDerivatives(double[] parameters, double[][] derivatives) throws SolverException {
+			// The optimizer requests the derivatives at the parameters it has evaluated last
+			double[] values;
+			double[][] parametersAndValues = lastParametersAndValues;
+			if(parametersAndValues != null && Arrays.equals(parametersAndValues[0], parameters)) {
+				values = parametersAndValues[1];
+			}
+			else {
+				values = new double[calibrationProducts.size()];
+				getValues(parameters.clone(), values);
+			}
+
+			if(jacobian == null && initialJacobian != null) {
+				// Warm start: use the given Jacobian (at the initial parameters) as a first approximation
+				jacobian = initialJacobian;
+				initialJacobian = null;
+				numberOfJacobianUpdates = 0;
+				isJacobianApproximated = true;
+			}
+			else if(jacobian != null && numberOfJacobianUpdates < maxNumberOfJacobianUpdates && getNorm(values) <= jacobianUpdateErrorReduction * getNorm(jacobianValues)) {
+				updateJacobian(parameters, values);
+				numberOfJacobianUpdates++;
+				totalNumberOfJacobianUpdates++;
+				isJacobianApproximated = true;
+			}
+			else {
+				if(isUseAnalyticJacobian && curveParameterIndex != null && parameterTransformation == null) {
+					calculateJacobianAnalytic(parameters, values);
+				}
+				else {
+					calculateJacobian(parameters, values);
+				}
+				numberOfJacobianUpdates = 0;
+				totalNumberOfJacobianCalculations++;
+				isJacobianApproximated = false;
+			}
+			jacobianParameters	= parameters.clone();
+			jacobianValues		= values.clone();
+
+			for(int parameterIndex=0; parameterIndex<jacobian.length; parameterIndex++) {
+				System.arraycopy(jacobian[parameterIndex], 0, derivatives[parameterIndex], 0, jacobian[parameterIndex].length);
+			}
+		}
+
+		int getNumberOfJacobianCalculations() {
+			return totalNumberOfJacobianCalculations;
+		}
+
+		int getNumberOfJacobianUpdates() {
+			return totalNumberOfJacobianUpdates;
+		}
+
+		/**
+		 * @return True if the Jacobian of the last call of setDerivatives is an approximation (Broyden update).
+		 */
+		boolean isJacobianApproximated() {
+			return isJacobianApproximated;
+		}
+
+		void setExecutor(ExecutorService executor) {
+			this.executor = executor;
+		}
+
+		void setMaxNumberOfJacobianUpdates(int maxNumberOfJacobianUpdates) {
+			this.maxNumberOfJacobianUpdates = maxNumberOfJacobianUpdates;
+		}
+
+		/**
+		 * Set the Jacobian used for the first request of the derivatives. A (defensive) copy is used, since the Jacobian is modified by updates.
+		 * The Jacobian is ignored if its dimensions do not match the calibration problem.
+		 */
+		void setInitialJacobian(double[][] initialJacobian) {
+			this.initialJacobian = null;
+			if(initialJacobian == null || initialJacobian.length != objectOfParameter.length) {
+				return;
+			}
+			double[][] jacobian = new double[initialJacobian.length][];
+			for(int parameterIndex=0; parameterIndex<initialJacobian.length; parameterIndex++) {
+				if(initialJacobian[parameterIndex] == null || initialJacobian[parameterIndex].length != calibrationProducts.size()) {
+					return;
+				}
+				jacobian[parameterIndex] = initialJacobian[parameterIndex].clone();
+			}
+			this.initialJacobian = jacobian;
+		}
+
+		/**
+		 * @return The Jacobian of the last call of setDerivatives or null.
+		 */
+		double[][] getJacobian() {
+			return jacobian;
+		}
+
+		private void getValues(double[] parameters, double[] values) throws SolverException {
+			double[] modelParameters = parameters;
+			try {
+				if(parameterTransformation != null) {
+					modelParameters = parameterTransformation.getParameter(parameters);
+					// Copy back the parameter constrain to inform the optimizer
+					System.arraycopy(parameterTransformation.getSolverParameter(modelParameters), 0, parameters, 0, parameters.length);
+				}
+
+				Map<ParameterObjectInterface, double[]> curvesParameterPairs = parameterAggregate.getObjectsToModifyForParameter(modelParameters);
+				AnalyticModelInterface modelClone = model.getCloneForParameter(curvesParameterPairs);
+				for(int i=0; i<calibrationProducts.size(); i++) {
+					values[i] = calibrationProducts.get(i).getValue(evaluationTime, modelClone);
+				}
+				if(calibrationTargetValues != null) {
+					for(int i=0; i<calibrationTargetValues.size(); i++) {
+						values[i] -= calibrationTargetValues.get(i);
+					}
+				}
+			} catch (CloneNotSupportedException e) {
+				throw new SolverException(e);
+			}
+		}
+
+		/**
+		 * Calculate the Jacobian by finite differences. The columns are calculated concurrently. If there is no parameter
+		 * transformation, a shifted parameter only clones the object it belongs to, and (if the dependency is known)
+		 * only the values depending on that object are calculated.
+		 */
+		private void calculateJacobian(final double[] parameters, final double[] values) throws SolverException {
+			final AnalyticModelInterface modelForParameters;
+			if(parameterTransformation == null) {
+				try {
+					modelForParameters = model.getCloneForParameter(parameterAggregate.getObjectsToModifyForParameter(parameters));
+				} catch (CloneNotSupportedException e) {
+					throw new SolverException(e);
+				}
+			}
+			else {
+				modelForParameters = null;
+			}
+
+			if(isValueDependingOnParameter == null && isUseSparseJacobian && modelForParameters != null) {
+				setValueDependency(modelForParameters, values);
+			}
+
+			List<Future<double[]>> derivativeFutures = new ArrayList<>(parameters.length);
+			for(int parameterIndex=0; parameterIndex<parameters.length; parameterIndex++) {
+				final int workerParameterIndex = parameterIndex;
+				Callable<double[]> worker = new Callable<double[]>() {
+					@Override
+					public double[] call() {
+						double parameterFiniteDifference = (Math.abs(parameters[workerParameterIndex]) + 1) * 1E-8;
+
+						double[] parametersShifted = parameters.clone();
+						parametersShifted[workerParameterIndex] += parameterFiniteDifference;
+
+						// Values not depending on the parameter keep their value
+						double[] derivative = values.clone();
+						try {
+							if(modelForParameters == null) {
+								getValues(parametersShifted, derivative);
+							}
+							else {
+								ParameterObjectInterface object = objectOfParameter[workerParameterIndex];
+								int offset = objectParameterOffset[workerParameterIndex];
+								double[] objectParameter = Arrays.copyOfRange(parametersShifted, offset, offset + object.getParameter().length);
+								AnalyticModelInterface modelShifted = modelForParameters.getCloneForParameter(Collections.singletonMap(object, objectParameter));
+								for(int valueIndex=0; valueIndex<derivative.length; valueIndex++) {
+									if(isValueDependingOnParameter == null || isValueDependingOnParameter[workerParameterIndex][valueIndex]) {
+										derivative[valueIndex] = calibrationProducts.get(valueIndex).getValue(evaluationTime, modelShifted);
+										if(calibrationTargetValues != null && valueIndex < calibrationTargetValues.size()) {
+											derivative[valueIndex] -= calibrationTargetValues.get(valueIndex);
+										}
+									}
+								}
+							}
+						} catch (Exception e) {
+							// We signal an exception to calculate the derivative as NaN
+							Arrays.fill(derivative, Double.NaN);
+						}
+						for (int valueIndex = 0; valueIndex < values.length; valueIndex++) {
+							derivative[valueIndex] -= values[valueIndex];
+							derivative[valueIndex] /= parameterFiniteDifference;
+							if(Double.isNaN(derivative[valueIndex])) {
+								derivative[valueIndex] = 0.0;
+							}
+						}
+						return derivative;
+					}
+				};
+				derivativeFutures.add(executor.submit(worker));
+			}
+
+			double[][] jacobian = new double[parameters.length][];
+			for(int parameterIndex=0; parameterIndex<parameters.length; parameterIndex++) {
+				try {
+					jacobian[parameterIndex] = derivativeFutures.get(parameterIndex).get();
+				} catch (InterruptedException e) {
+					throw new SolverException(e);
+				} catch (ExecutionException e) {
+					throw new SolverException(e);
+				}
+			}
+			this.jacobian = jacobian;
+		}
+
+		/**
+		 * Calculate the Jacobian from the derivatives provided by the calibration products (forward mode differentiation).
+		 * The products are valued concurrently. The derivatives of a product which does not provide them are calculated by finite differences.
+		 */
+		private void calculateJacobianAnalytic(final double[] parameters, final double[] values) throws SolverException {
+			final AnalyticModelInterface modelForParameters;
+			try {
+				modelForParameters = model.getCloneForParameter(parameterAggregate.getObjectsToModifyForParameter(parameters));
+			} catch (CloneNotSupportedException e) {
+				throw new SolverException(e);
+			}
+
+			if(isValueDependingOnParameter == null && isUseSparseJacobian && maxNumberOfJacobianUpdates > 0) {
+				setValueDependency(modelForParameters, values);
+			}
+
+			final ParameterIndex parameterIndex = curveParameterIndex;
+			List<Future<double[]>> derivativeFutures = new ArrayList<>(values.length);
+			for(int valueIndex=0; valueIndex<values.length; valueIndex++) {
+				final int workerValueIndex = valueIndex;
+				derivativeFutures.add(executor.submit(new Callable<double[]>() {
+					@Override
+					public double[] call() throws CloneNotSupportedException {
+						if(!isValueWithoutDerivatives[workerValueIndex]) {
+							try {
+								return calibrationProducts.get(workerValueIndex).getValue(evaluationTime, modelForParameters, parameterIndex).getDerivatives(parameters.length);
+							}
+							catch(UnsupportedOperationException e) {
+								// The product does not provide derivatives, use finite differences for this product
+								isValueWithoutDerivatives[workerValueIndex] = true;
+							}
+						}
+						return getDerivativeByFiniteDifferences(modelForParameters, parameters, workerValueIndex);
+					}
+				}));
+			}
+
+			double[][] jacobian = new double[parameters.length][values.length];
+			for(int valueIndex=0; valueIndex<values.length; valueIndex++) {
+				double[] derivative;
+				try {
+					derivative = derivativeFutures.get(valueIndex).get();
+				} catch (InterruptedException e) {
+					throw new SolverException(e);
+				} catch (ExecutionException e) {
+					// We signal an exception to calculate the derivative as NaN
+					derivative = new double[parameters.length];
+					Arrays.fill(derivative, Double.NaN);
+				}
+				for(int i=0; i<parameters.length; i++) {
+					jacobian[i][valueIndex] = Double.isNaN(derivative[i]) ? 0.0 : derivative[i];
+				}
+			}
+			this.jacobian = jacobian;
+		}
+
+		/**
+		 * Calculate the derivatives of a single value by finite differences, where a shifted parameter only clones the object it belongs to.
+		 *
+		 * @return The vector of the derivatives of the value with respect to the parameters.
+		 */
+		private double[] getDerivativeByFiniteDifferences(AnalyticModelInterface modelForParameters, double[] parameters, int valueIndex) throws CloneNotSupportedException {
+			AnalyticProductInterface product = calibrationProducts.get(valueIndex);
+			double value = product.getValue(evaluationTime, modelForParameters);
+
+			double[] derivative = new double[parameters.length];
+			for(int parameterIndex=0; parameterIndex<parameters.length; parameterIndex++) {
+				if(isValueDependingOnParameter != null && !isValueDependingOnParameter[parameterIndex][valueIndex]) {
+					continue;
+				}
+				double parameterFiniteDifference = (Math.abs(parameters[parameterIndex]) + 1) * 1E-8;
+
+				ParameterObjectInterface object = objectOfParameter[parameterIndex];
+				int offset = objectParameterOffset[parameterIndex];
+				double[] objectParameter = Arrays.copyOfRange(parameters, offset, offset + object.getParameter().length);
+				objectParameter[parameterIndex-offset] += parameterFiniteDifference;
+				AnalyticModelInterface modelShifted = modelForParameters.getCloneForParameter(Collections.singletonMap(object, objectParameter));
+
+				derivative[parameterIndex] = (product.getValue(evaluationTime, modelShifted) - value) / parameterFiniteDifference;
+			}
+			return derivative;
+		}
+
+		/**
+		 * Determine the dependency of the values on the calibrated objects: a value depends on an object if it is
+		 * affected by setting the parameters of that object to NaN. Note that the dependency cannot be derived from a Jacobian,
+		 * since a sensitivity may vanish at a given point (e.g., the sensitivity of an at-the-money swap with respect to its discount curve).
+		 */
+		private void setValueDependency(AnalyticModelInterface modelForParameters, double[] values) {
+			Map<ParameterObjectInterface, boolean[]> isValueDependingOnObject = new HashMap<>();
+			for(int parameterIndex=0; parameterIndex<objectOfParameter.length; parameterIndex++) {
+				ParameterObjectInterface object = objectOfParameter[parameterIndex];
+				if(isValueDependingOnObject.containsKey(object)) {
+					continue;
+				}
+
+				boolean[] isValueDepending = new boolean[values.length];
+				Arrays.fill(isValueDepending, true);
+				try {
+					double[] objectParameter = new double[object.getParameter().length];
+					Arrays.fill(objectParameter, Double.NaN);
+					AnalyticModelInterface modelWithUndefinedObject = modelForParameters.getCloneForParameter(Collections.singletonMap(object, objectParameter));
+					for(int valueIndex=0; valueIndex<values.length; valueIndex++) {
+						try {
+							double value = calibrationProducts.get(valueIndex).getValue(evaluationTime, modelWithUndefinedObject);
+							if(calibrationTargetValues != null && valueIndex < calibrationTargetValues.size()) {
+								value -= calibrationTargetValues.get(valueIndex);
+							}
+							isValueDepending[valueIndex] = !(value == values[valueIndex]);
+						}
+						catch(Exception e) {
+							// The value depends on the object
+						}
+					}
+				}
+				catch(Exception e) {
+					// The dependency is unknown, all values are assumed to depend on the object
+				}
+				isValueDependingOnObject.put(object, isValueDepending);
+			}
+
+			boolean[][] isValueDependingOnParameter = new boolean[objectOfParameter.length][];
+			for(int parameterIndex=0; parameterIndex<objectOfParameter.length; parameterIndex++) {
+				isValueDependingOnParameter[parameterIndex] = isValueDependingOnObject.get(objectOfParameter[parameterIndex]);
+			}
+			this.isValueDependingOnParameter = isValueDependingOnParameter;
+		}
+
+		/**
+		 * Update the Jacobian by a sparse Broyden (Schubert) update: each row (value) is updated by a rank-one
+		 * correction restricted to the parameters the value depends on, such that the secant condition holds.
+		 */
+		private void updateJacobian(double[] parameters, double[] values) {
+			double[] parameterStep = new double[parameters.length];
+			for(int parameterIndex=0; parameterIndex<parameters.length; parameterIndex++) {
+				parameterStep[parameterIndex] = parameters[parameterIndex] - jacobianParameters[parameterIndex];
+			}
+
+			for(int valueIndex=0; valueIndex<values.length; valueIndex++) {
+				double residual = values[valueIndex] - jacobianValues[valueIndex];
+				double parameterStepNormSquared = 0.0;
+				for(int parameterIndex=0; parameterIndex<parameters.length; parameterIndex++) {
+					if(isValueDependingOnParameter == null || isValueDependingOnParameter[parameterIndex][valueIndex]) {
+						residual -= jacobian[parameterIndex][valueIndex] * parameterStep[parameterIndex];
+						parameterStepNormSquared += parameterStep[parameterIndex] * parameterStep[parameterIndex];
+					}
+				}
+				if(parameterStepNormSquared > 0.0) {
+					for(int parameterIndex=0; parameterIndex<parameters.length; parameterIndex++) {
+						if(isValueDependingOnParameter == null || isValueDependingOnParameter[parameterIndex][valueIndex]) {
+							jacobian[parameterIndex][valueIndex] += residual * parameterStep[parameterIndex] / parameterStepNormSquared;
+						}
+					}
+				}
+			}
+		}
+
+		private double getNorm(double[] values) {
+			double sumOfSquares = 0.0;
+			for(double value : values) {
+				sumOfSquares += value * value;
+			}
+			return Math.sqrt(sumOfSquares);
+		}
+	}
 }
@@ -17,7 +17,9 @@ import java.util.Locale;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
+import net.finmath.functions.DualNumber;
 import net.finmath.interpolation.RationalFunctionInterpolation;
+import net.finmath.marketdata.calibration.ParameterIndex;
 import net.finmath.marketdata.model.AnalyticModelInterface;
 import net.finmath.time.FloatingpointDate;
 
@@ -237,9 +239,20 @@ public class Curve extends AbstractCurve implements Serializable, Cloneable {
 	private ExtrapolationMethod	extrapolationMethod = ExtrapolationMethod.CONSTANT;
 	private InterpolationEntity interpolationEntity = InterpolationEntity.LOG_OF_VALUE;
 
-	private RationalFunctionInterpolation	rationalFunctionInterpolation =  null;
-	private transient Object					rationalFunctionInterpolationLazyInitLock = new Object();
-	private transient SoftReference<Map<Double, Double>> curveCacheReference = null;
+	/*
+	 * The interpolation is created upon first use and published via a volatile field, such that the read path is lock-free.
+	 * The creation of the interpolation and the modification of the points (including the invalidation of the interpolation)
+	 * are performed under a lock, such that an interpolation created from outdated points cannot be published.
+	 */
+	private volatile RationalFunctionInterpolation	rationalFunctionInterpolation =  null;
+	private transient Object						rationalFunctionInterpolationLazyInitLock = new Object();
+	private transient volatile SoftReference<Map<Double, Double>> curveCacheReference = null;
+
+	// The interpolations used to calculate the derivatives with respect to the parameters, created upon first use (see getParameterInterpolations)
+	private transient volatile RationalFunctionInterpolation[] parameterInterpolations = null;
+
+	// The shift of the interpolation entity used to approximate the derivatives of interpolations which are not linear in the values
+	private static final double	parameterInterpolationShift = 1E-6;
 
 	private static final long serialVersionUID = -4126228588123963885L;
 	static NumberFormat	formatterReal = NumberFormat.getInstance(Locale.US);
@@ -319,28 +332,187 @@ public class Curve extends AbstractCurve implements Serializable, Cloneable {
 		return value;
 	}
 
+	/**
+	 * Return a vector of values corresponding to a given vector of times.
+	 *
+	 * The values are calculated by a single pass of the interpolation over the given times (bypassing the cache of this curve),
+	 * which is efficient if the times are sorted in increasing order.
+	 *
+	 * @param times A given vector of times.
+	 * @return A vector of values corresponding to the given vector of times.
+	 */
+	@Override
+	public double[] getValues(double[] times)
+	{
+		double[] values = getRationalFunctionInterpolation().getValues(times);
+		for(int i=0; i<times.length; i++) {
+			values[i] = valueFromInterpolationEntity(values[i], times[i]);
+		}
+		return values;
+	}
+
+	/**
+	 * Returns the value for the time together with its derivatives with respect to the parameters of this curve,
+	 * if this curve is part of the given parameter index. Otherwise the value is returned as a constant.
+	 *
+	 * For the interpolation methods which are linear in the interpolated values (piecewise constant, linear and cubic spline interpolation),
+	 * the derivative of the interpolation with respect to the value of a point is the interpolation of the corresponding unit vector, i.e.,
+	 * the derivatives are exact. For the other interpolation methods (Akima and harmonic spline interpolation) the derivative of the interpolation
+	 * is approximated by a central finite difference of the interpolations of the shifted values.
+	 *
+	 * @param model An analytic model providing a context.
+	 * @param time Time for which the value should be returned.
+	 * @param parameterIndex The index of the parameters with respect to which the derivatives are calculated.
+	 * @return The value at the given time with its derivatives.
+	 */
+	@Override
+	public DualNumber getValue(AnalyticModelInterface model, double time, ParameterIndex parameterIndex)
+	{
+		double value = getValue(model, time);
+
+		int offset = parameterIndex.getOffset(getName());
+		if(offset < 0 || pointsBeingParameters.isEmpty()) {
+			return new DualNumber(value);
+		}
+
+		// The derivative of the value with respect to the interpolation entity
+		double valueDerivative;
+		switch(interpolationEntity) {
+		case VALUE:
+		default:
+			valueDerivative = 1.0;
+			break;
+		case LOG_OF_VALUE:
+			valueDerivative = value;
+			break;
+		case LOG_OF_VALUE_PER_TIME:
+			valueDerivative = value * time;
+			break;
+		}
+
+		RationalFunctionInterpolation[] parameterInterpolations = getParameterInterpolations();
+		boolean isInterpolationLinear = isInterpolationLinearInValues();
+		double[] derivatives = new double[parameterIndex.getNumberOfParameters()];
+		for(int i=0; i<pointsBeingParameters.size(); i++) {
+			double interpolationDerivative;
+			if(isInterpolationLinear) {
+				interpolationDerivative = parameterInterpolations[i].getValue(time);
+			}
+			else {
+				interpolationDerivative = (parameterInterpolations[2*i].getValue(time) - parameterInterpolations[2*i+1].getValue(time)) / (2 * parameterInterpolationShift);
+			}
+			if(interpolationDerivative != 0.0) {
+				Point point = pointsBeingParameters.get(i);
+				derivatives[offset+i] = valueDerivative * interpolationDerivative * interpolationEntityDerivativeFromValue(valueFromInterpolationEntity(point.value, point.time), point.time);
+			}
+		}
+
+		return new DualNumber(value, derivatives);
+	}
+
 	private double getInterpolationEntityValue(double time)
 	{
+		return getRationalFunctionInterpolation().getValue(time);
+	}
+
+	private RationalFunctionInterpolation getRationalFunctionInterpolation()
+	{
+		RationalFunctionInterpolation rationalFunctionInterpolation = this.rationalFunctionInterpolation;
+		if(rationalFunctionInterpolation != null) {
+			return rationalFunctionInterpolation;
+		}
+
 		synchronized(rationalFunctionInterpolationLazyInitLock) {
 			// Lazy initialization of interpolation function
-			if(rationalFunctionInterpolation == null) {
+			if(this.rationalFunctionInterpolation == null) {
+				double[] pointsArray = new double[points.size()];
+				double[] valuesArray = new double[points.size()];
+				for(int i=0; i<points.size(); i++) {
+					pointsArray[i] = points.get(i).time;
+					valuesArray[i] = points.get(i).value;
+				}
+				this.rationalFunctionInterpolation = getInterpolation(pointsArray, valuesArray);
+			}
+			return this.rationalFunctionInterpolation;
+		}
+	}
+
+	/**
+	 * Returns the interpolations used to calculate the derivatives of the interpolation with respect to the values of the parameter points.
+	 * If the interpolation is linear in the values, these are the interpolations of the unit vectors (depending on the times only).
+	 * Otherwise these are the interpolations of the values, where the value of the i-th parameter point is shifted
+	 * up (element 2*i) and down (element 2*i+1).
+	 *
+	 * @return The interpolations used to calculate the derivatives of the interpolation.
+	 */
+	private RationalFunctionInterpolation[] getParameterInterpolations()
+	{
+		RationalFunctionInterpolation[] parameterInterpolations = this.parameterInterpolations;
+		if(parameterInterpolations != null) {
+			return parameterInterpolations;
+		}
+
+		synchronized(rationalFunctionInterpolationLazyInitLock) {
+			// Lazy initialization of the interpolations of the unit vectors
+			if(this.parameterInterpolations == null) {
 				double[] pointsArray = new double[points.size()];
 				double[] valuesArray = new double[points.size()];
 				for(int i=0; i<points.size(); i++) {
 					pointsArray[i] = points.get(i).time;
 					valuesArray[i] = points.get(i).value;
 				}
-				rationalFunctionInterpolation = new RationalFunctionInterpolation(
-						pointsArray,
-						valuesArray,
-						RationalFunctionInterpolation.InterpolationMethod.valueOf(this.interpolationMethod.toString()),
-						RationalFunctionInterpolation.ExtrapolationMethod.valueOf(this.extrapolationMethod.toString())
-						);
+				if(isInterpolationLinearInValues()) {
+					parameterInterpolations = new RationalFunctionInterpolation[pointsBeingParameters.size()];
+					for(int i=0; i<pointsBeingParameters.size(); i++) {
+						double[] unitVector = new double[points.size()];
+						unitVector[getTimeIndex(pointsBeingParameters.get(i).time)] = 1.0;
+						parameterInterpolations[i] = getInterpolation(pointsArray, unitVector);
+					}
+				}
+				else {
+					parameterInterpolations = new RationalFunctionInterpolation[2*pointsBeingParameters.size()];
+					for(int i=0; i<pointsBeingParameters.size(); i++) {
+						int pointIndex = getTimeIndex(pointsBeingParameters.get(i).time);
+						double[] valuesShiftedUp = valuesArray.clone();
+						valuesShiftedUp[pointIndex] += parameterInterpolationShift;
+						double[] valuesShiftedDown = valuesArray.clone();
+						valuesShiftedDown[pointIndex] -= parameterInterpolationShift;
+						parameterInterpolations[2*i] = getInterpolation(pointsArray, valuesShiftedUp);
+						parameterInterpolations[2*i+1] = getInterpolation(pointsArray, valuesShiftedDown);
+					}
+				}
+				this.parameterInterpolations = parameterInterpolations;
 			}
+			return this.parameterInterpolations;
 		}
-		return rationalFunctionInterpolation.getValue(time);
 	}
 
+	private RationalFunctionInterpolation getInterpolation(double[] pointsArray, double[] valuesArray)
+	{
+		return new RationalFunctionInterpolation(
+				pointsArray,
+				valuesArray,
+				RationalFunctionInterpolation.InterpolationMethod.valueOf(this.interpolationMethod.toString()),
+				RationalFunctionInterpolation.ExtrapolationMethod.valueOf(this.extrapolationMethod.toString())
+				);
+	}
+
+	/**
+	 * @return True if the interpolation is a linear function of the interpolated values.
+	 */
+	private boolean isInterpolationLinearInValues()
+	{
+		switch(interpolationMethod) {
+		case PIECEWISE_CONSTANT:
+		case PIECEWISE_CONSTANT_LEFTPOINT:
+		case PIECEWISE_CONSTANT_RIGHTPOINT:
+		case LINEAR:
+		case CUBIC_SPLINE:
+			return true;
+		default:
+			return false;
+		}
+	}
 
 	/**
 	 * Add a point to this curve. The method will throw an exception if the point
@@ -351,7 +523,7 @@ public class Curve extends AbstractCurve implements Serializable, Cloneable {
 	 * @param isParameter If true, then this point is served via {@link #getParameter()} and changed via {@link #getCloneForParameter(double[])}, i.e., it can be calibrated.
 	 */
 	protected void addPoint(double time, double value, boolean isParameter) {
-		synchronized (rationalFunctionInterpolationLazyInitLock) {
+		synchronized(rationalFunctionInterpolationLazyInitLock) {
 			if(interpolationEntity == InterpolationEntity.LOG_OF_VALUE_PER_TIME && time == 0) {
 				if(value == 1.0 && isParameter == false) {
 					return;
@@ -388,6 +560,7 @@ public class Curve extends AbstractCurve implements Serializable, Cloneable {
 			}
 			this.rationalFunctionInterpolation = null;
 			this.curveCacheReference = null;
+			this.parameterInterpolations = null;
 		}
 	}
 
@@ -443,11 +616,17 @@ public class Curve extends AbstractCurve implements Serializable, Cloneable {
 	}
 
 	private void setParameterPrivate(double[] parameter) {
-		for(int i=0; i<pointsBeingParameters.size(); i++) {
-			pointsBeingParameters.get(i).value = interpolationEntityFromValue(parameter[i], pointsBeingParameters.get(i).time);
+		synchronized(rationalFunctionInterpolationLazyInitLock) {
+			for(int i=0; i<pointsBeingParameters.size(); i++) {
+				pointsBeingParameters.get(i).value = interpolationEntityFromValue(parameter[i], pointsBeingParameters.get(i).time);
+			}
+			this.rationalFunctionInterpolation = null;
+			this.curveCacheReference = null;
+			if(!isInterpolationLinearInValues()) {
+				// The interpolations of the shifted values depend on the values
+				this.parameterInterpolations = null;
+			}
 		}
-		this.rationalFunctionInterpolation = null;
-		this.curveCacheReference = null;
 	}
 
 	private double interpolationEntityFromValue(double value, double time) {
@@ -466,6 +645,18 @@ public class Curve extends AbstractCurve implements Serializable, Cloneable {
 		}
 	}
 
+	private double interpolationEntityDerivativeFromValue(double value, double time) {
+		switch(interpolationEntity) {
+		case VALUE:
+		default:
+			return 1.0;
+		case LOG_OF_VALUE:
+			return 1.0 / value;
+		case LOG_OF_VALUE_PER_TIME:
+			return 1.0 / (value * time);
+		}
+	}
+
 	private double valueFromInterpolationEntity(double interpolationEntityValue, double time) {
 		switch(interpolationEntity) {
 		case VALUE:
@@ -484,6 +675,7 @@ public class Curve extends AbstractCurve implements Serializable, Cloneable {
 
 		newCurve.points					= new ArrayList<>();
 		newCurve.pointsBeingParameters	= new ArrayList<>();
+		newCurve.rationalFunctionInterpolationLazyInitLock = new Object();
 		newCurve.rationalFunctionInterpolation = null;
 		newCurve.curveCacheReference = null;
 		for(Point point : points) {
@@ -8,6 +8,8 @@ package net.finmath.marketdata.model.curves;
 import java.io.Serializable;
 import java.time.LocalDate;
 
+import net.finmath.functions.DualNumber;
+import net.finmath.marketdata.calibration.ParameterIndex;
 import net.finmath.marketdata.model.AnalyticModelInterface;
 
 /**
@@ -37,10 +39,15 @@ public class CurveFromProductOfCurves extends AbstractCurve implements Serializa
 
 	@Override
 	public double getValue(AnalyticModelInterface model, double time) {
-		double value = 1.0;
+		return getValue(model, time, ParameterIndex.getEmptyParameterIndex()).getValue();
+	}
+
+	@Override
+	public DualNumber getValue(AnalyticModelInterface model, double time, ParameterIndex parameterIndex) {
+		DualNumber value = new DualNumber(1.0);
 
 		for(CurveInterface curve : curves) {
-			value *= curve.getValue(model, time);
+			value = value.mult(curve.getValue(model, time, parameterIndex));
 		}
 
 		return value;
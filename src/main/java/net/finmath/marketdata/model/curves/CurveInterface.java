@@ -8,6 +8,8 @@ package net.finmath.marketdata.model.curves;
 import java.io.Serializable;
 import java.time.LocalDate;
 
+import net.finmath.functions.DualNumber;
+import net.finmath.marketdata.calibration.ParameterIndex;
 import net.finmath.marketdata.calibration.ParameterObjectInterface;
 import net.finmath.marketdata.model.AnalyticModelInterface;
 
@@ -57,6 +59,28 @@ public interface CurveInterface extends ParameterObjectInterface, Serializable,
 	 */
 	double getValue(AnalyticModelInterface model, double time);
 
+	/**
+	 * Returns the value for the time together with its derivatives with respect to the parameters
+	 * of the curves given by a parameter index (forward mode differentiation). The derivatives are
+	 * exact, e.g., they may be used to calculate the Jacobian of a calibration.
+	 *
+	 * The default implementation considers the curve as constant if it is not part of the parameter index, i.e., it returns the value without derivatives.
+	 * Curves which are part of the parameter index or which depend on other curves have to override this method.
+	 *
+	 * @param model An analytic model providing a context.
+	 * @param time Time for which the value should be returned.
+	 * @param parameterIndex The index of the parameters with respect to which the derivatives are calculated.
+	 *
+	 * @return The value at the given time with its derivatives.
+	 * @throws UnsupportedOperationException Thrown if the curve is part of the parameter index and does not provide derivatives.
+	 */
+	default DualNumber getValue(AnalyticModelInterface model, double time, ParameterIndex parameterIndex) {
+		if(parameterIndex.getOffset(getName()) >= 0) {
+			throw new UnsupportedOperationException("The curve " + getName() + " (" + this.getClass().getSimpleName() + ") does not provide derivatives.");
+		}
+		return new DualNumber(getValue(model, time));
+	}
+
 	/**
 	 * Create a deep copied clone.
 	 *
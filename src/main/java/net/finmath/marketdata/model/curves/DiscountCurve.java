@@ -10,6 +10,8 @@ import java.time.LocalDate;
 import java.time.ZoneId;
 import java.util.Date;
 
+import net.finmath.functions.DualNumber;
+import net.finmath.marketdata.calibration.ParameterIndex;
 import net.finmath.marketdata.model.AnalyticModelInterface;
 import net.finmath.time.TimeDiscretizationInterface;
 
@@ -401,6 +403,30 @@ public class DiscountCurve extends Curve implements Serializable, DiscountCurveI
 		return getValue(model, maturity);
 	}
 
+	@Override
+	public DualNumber getDiscountFactor(AnalyticModelInterface model, double maturity, ParameterIndex parameterIndex)
+	{
+		return getValue(model, maturity, parameterIndex);
+	}
+
+	/**
+	 * Returns the discount factors for the corresponding maturities, calculated by a single pass of the interpolation
+	 * (efficient if the maturities are sorted in increasing order).
+	 *
+	 * @param maturities The maturities for which the discount factors are requested.
+	 * @return The discount factors.
+	 */
+	public double[] getDiscountFactors(double[] maturities)
+	{
+		return getDiscountFactors(null, maturities);
+	}
+
+	@Override
+	public double[] getDiscountFactors(AnalyticModelInterface model, double[] maturities)
+	{
+		return getValues(maturities);
+	}
+
 
 	/**
 	 * Returns the zero rate for a given maturity, i.e., -ln(df(T)) / T where T is the given maturity and df(T) is
@@ -426,10 +452,10 @@ public class DiscountCurve extends Curve implements Serializable, DiscountCurveI
 	 */
 	public double[] getZeroRates(double[] maturities)
 	{
-		double[] values = new double[maturities.length];
+		double[] values = getDiscountFactors(maturities);
 
 		for(int i=0; i<maturities.length; i++) {
-			values[i] = getZeroRate(maturities[i]);
+			values[i] = maturities[i] == 0 ? getZeroRate(maturities[i]) : -Math.log(values[i])/maturities[i];
 		}
 
 		return values;
@@ -7,6 +7,8 @@ package net.finmath.marketdata.model.curves;
 
 import java.io.Serializable;
 
+import net.finmath.functions.DualNumber;
+import net.finmath.marketdata.calibration.ParameterIndex;
 import net.finmath.marketdata.model.AnalyticModelInterface;
 
 /**
@@ -116,6 +118,11 @@ public class DiscountCurveFromForwardCurve extends AbstractCurve implements Seri
 	 */
 	@Override
 	public double getDiscountFactor(AnalyticModelInterface model, double maturity) {
+		return getDiscountFactor(model, maturity, ParameterIndex.getEmptyParameterIndex()).getValue();
+	}
+
+	@Override
+	public DualNumber getDiscountFactor(AnalyticModelInterface model, double maturity, ParameterIndex parameterIndex) {
 		ForwardCurveInterface	forwardCurve;
 		if(this.forwardCurve != null) {
 			forwardCurve = this.forwardCurve;
@@ -127,15 +134,15 @@ public class DiscountCurveFromForwardCurve extends AbstractCurve implements Seri
 			throw new IllegalArgumentException("No forward curve given and no forward curve found in the model under the name " + forwardCurveName + ".");
 		}
 
-		double	time			= 0;
-		double	discountFactor	= 1.0;
+		double		time			= 0;
+		DualNumber	discountFactor	= new DualNumber(1.0);
 		double paymentOffset = 0;
 		while(time < maturity) {
 			paymentOffset	= forwardCurve.getPaymentOffset(time);
 			if(paymentOffset <= 0) {
 				throw new RuntimeException("Trying to calculate a discount curve from a forward curve with non-positive payment offset.");
 			}
-			discountFactor /= 1.0 + forwardCurve.getForward(model, time) * Math.min(paymentOffset, maturity-time) * timeScaling;
+			discountFactor = discountFactor.div(forwardCurve.getForward(model, time, parameterIndex).mult(Math.min(paymentOffset, maturity-time)).mult(timeScaling).add(1.0));
 			time += paymentOffset;
 		}
 
@@ -150,6 +157,11 @@ public class DiscountCurveFromForwardCurve extends AbstractCurve implements Seri
 		return getDiscountFactor(model, time);
 	}
 
+	@Override
+	public DualNumber getValue(AnalyticModelInterface model, double time, ParameterIndex parameterIndex) {
+		return getDiscountFactor(model, time, parameterIndex);
+	}
+
 	@Override
 	public double[] getParameter() {
 		return null;
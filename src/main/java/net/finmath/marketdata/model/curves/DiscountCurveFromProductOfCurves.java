@@ -8,6 +8,8 @@ package net.finmath.marketdata.model.curves;
 import java.io.Serializable;
 import java.time.LocalDate;
 
+import net.finmath.functions.DualNumber;
+import net.finmath.marketdata.calibration.ParameterIndex;
 import net.finmath.marketdata.model.AnalyticModelInterface;
 
 /**
@@ -43,10 +45,15 @@ public class DiscountCurveFromProductOfCurves extends AbstractCurve implements S
 
 	@Override
 	public double getDiscountFactor(AnalyticModelInterface model, double maturity) {
-		double discountFactor = 1.0;
+		return getDiscountFactor(model, maturity, ParameterIndex.getEmptyParameterIndex()).getValue();
+	}
+
+	@Override
+	public DualNumber getDiscountFactor(AnalyticModelInterface model, double maturity, ParameterIndex parameterIndex) {
+		DualNumber discountFactor = new DualNumber(1.0);
 
 		for(DiscountCurveInterface curve : curves) {
-			discountFactor *= curve.getDiscountFactor(model, maturity);
+			discountFactor = discountFactor.mult(curve.getDiscountFactor(model, maturity, parameterIndex));
 		}
 
 		return discountFactor;
@@ -57,6 +64,11 @@ public class DiscountCurveFromProductOfCurves extends AbstractCurve implements S
 		return getDiscountFactor(model, time);
 	}
 
+	@Override
+	public DualNumber getValue(AnalyticModelInterface model, double time, ParameterIndex parameterIndex) {
+		return getDiscountFactor(model, time, parameterIndex);
+	}
+
 
 	@Override
 	public double[] getParameter() {
@@ -5,6 +5,8 @@
  */
 package net.finmath.marketdata.model.curves;
 
+import net.finmath.functions.DualNumber;
+import net.finmath.marketdata.calibration.ParameterIndex;
 import net.finmath.marketdata.model.AnalyticModelInterface;
 
 /**
@@ -34,4 +36,40 @@ public interface DiscountCurveInterface extends CurveInterface {
 	 */
 	double getDiscountFactor(AnalyticModelInterface model, double maturity);
 
+	/**
+	 * Returns the discount factor for the corresponding maturity together with its derivatives with respect to the parameters
+	 * of the curves given by a parameter index.
+	 *
+	 * The default implementation considers the curve as constant if it is not part of the parameter index, i.e., it returns the value without derivatives.
+	 * Curves which are part of the parameter index or which depend on other curves have to override this method.
+	 *
+	 * @param model An analytic model providing a context. Some curves do not need this (can be null).
+	 * @param maturity The maturity for which the discount factor is requested.
+	 * @param parameterIndex The index of the parameters with respect to which the derivatives are calculated.
+	 *
+	 * @return The discount factor with its derivatives.
+	 * @throws UnsupportedOperationException Thrown if the curve is part of the parameter index and does not provide derivatives.
+	 */
+	default DualNumber getDiscountFactor(AnalyticModelInterface model, double maturity, ParameterIndex parameterIndex) {
+		if(parameterIndex.getOffset(getName()) >= 0) {
+			throw new UnsupportedOperationException("The curve " + getName() + " (" + this.getClass().getSimpleName() + ") does not provide derivatives.");
+		}
+		return new DualNumber(getDiscountFactor(model, maturity));
+	}
+
+	/**
+	 * Returns the discount factors for the corresponding maturities.
+	 *
+	 * @param model An analytic model providing a context. Some curves do not need this (can be null).
+	 * @param maturities The maturities for which the discount factors are requested.
+	 *
+	 * @return The discount factors (i.e., prices of the zero coupon bonds with given maturities and notional 1.
+	 */
+	default double[] getDiscountFactors(AnalyticModelInterface model, double[] maturities) {
+		double[] discountFactors = new double[maturities.length];
+		for(int i=0; i<maturities.length; i++) {
+			discountFactors[i] = getDiscountFactor(model, maturities[i]);
+		}
+		return discountFactors;
+	}
 }
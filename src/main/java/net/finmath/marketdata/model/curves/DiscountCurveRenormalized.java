@@ -9,6 +9,8 @@ import java.io.IOException;
 import java.io.Serializable;
 import java.time.LocalDate;
 
+import net.finmath.functions.DualNumber;
+import net.finmath.marketdata.calibration.ParameterIndex;
 import net.finmath.marketdata.model.AnalyticModelInterface;
 import net.finmath.time.FloatingpointDate;
 
@@ -59,6 +61,11 @@ public class DiscountCurveRenormalized implements DiscountCurveInterface, Serial
 		return getDiscountFactor(model, time);
 	}
 
+	@Override
+	public DualNumber getValue(AnalyticModelInterface model, double time, ParameterIndex parameterIndex) {
+		return getDiscountFactor(model, time, parameterIndex);
+	}
+
 	@Override
 	public CurveBuilderInterface getCloneBuilder() {
 		throw new UnsupportedOperationException("Method not supported.");
@@ -86,8 +93,13 @@ public class DiscountCurveRenormalized implements DiscountCurveInterface, Serial
 
 	@Override
 	public double getDiscountFactor(AnalyticModelInterface model, double maturity) {
-		return model.getDiscountCurve(baseCurveName).getDiscountFactor(model, maturity)
-				/ model.getDiscountCurve(baseCurveName).getDiscountFactor(model, spotOffset);
+		return getDiscountFactor(model, maturity, ParameterIndex.getEmptyParameterIndex()).getValue();
+	}
+
+	@Override
+	public DualNumber getDiscountFactor(AnalyticModelInterface model, double maturity, ParameterIndex parameterIndex) {
+		return model.getDiscountCurve(baseCurveName).getDiscountFactor(model, maturity, parameterIndex)
+				.div(model.getDiscountCurve(baseCurveName).getDiscountFactor(model, spotOffset, parameterIndex));
 	}
 
 	@Override
@@ -11,6 +11,8 @@ import java.time.ZoneId;
 import java.util.Date;
 import java.util.logging.Logger;
 
+import net.finmath.functions.DualNumber;
+import net.finmath.marketdata.calibration.ParameterIndex;
 import net.finmath.marketdata.model.AnalyticModelInterface;
 import net.finmath.time.businessdaycalendar.BusinessdayCalendarExcludingWeekends;
 import net.finmath.time.businessdaycalendar.BusinessdayCalendarInterface;
@@ -296,10 +298,34 @@ public class ForwardCurve extends AbstractForwardCurve implements Serializable {
 
 	@Override
 	public double getForward(AnalyticModelInterface model, double fixingTime)
+	{
+		return getForward(model, fixingTime, ParameterIndex.getEmptyParameterIndex()).getValue();
+	}
+
+	/**
+	 * Returns the forward for the corresponding fixing time.
+	 *
+	 * <b>Note:</b> This implementation currently ignores the provided <code>paymentOffset</code>.
+	 * Instead it uses the payment offset calculate from the curve specification.
+	 *
+	 * @param model An analytic model providing a context. Some curves do not need this (can be null).
+	 * @param fixingTime The fixing time of the index associated with this forward curve.
+	 * @param paymentOffset The payment offset (as internal day count fraction) specifying the payment of this index. Used only as a fallback and/or consistency check.
+	 *
+	 * @return The forward.
+	 */
+	@Override
+	public double getForward(AnalyticModelInterface model, double fixingTime, double paymentOffset)
+	{
+		return getForward(model, fixingTime, paymentOffset, ParameterIndex.getEmptyParameterIndex()).getValue();
+	}
+
+	@Override
+	public DualNumber getForward(AnalyticModelInterface model, double fixingTime, ParameterIndex parameterIndex)
 	{
 		double paymentOffset = this.getPaymentOffset(fixingTime);
 
-		double interpolationEntityForwardValue = this.getValue(model, fixingTime);
+		DualNumber interpolationEntityForwardValue = this.getValue(model, fixingTime, parameterIndex);
 		switch(interpolationEntityForward) {
 		case FORWARD:
 		default:
@@ -308,39 +334,27 @@ public class ForwardCurve extends AbstractForwardCurve implements Serializable {
 			if(model==null) {
 				throw new IllegalArgumentException("model==null. Not allowed for interpolationEntityForward " + interpolationEntityForward);
 			}
-			return interpolationEntityForwardValue / model.getDiscountCurve(discountCurveName).getValue(model, fixingTime+paymentOffset);
+			return interpolationEntityForwardValue.div(model.getDiscountCurve(discountCurveName).getValue(model, fixingTime+paymentOffset, parameterIndex));
 		case ZERO:
 		{
-			double interpolationEntityForwardValue2 = this.getValue(model, fixingTime+paymentOffset);
-			return (Math.exp(interpolationEntityForwardValue2 * (fixingTime+paymentOffset) - interpolationEntityForwardValue * fixingTime) - 1.0) / (paymentOffset);
+			DualNumber interpolationEntityForwardValue2 = this.getValue(model, fixingTime+paymentOffset, parameterIndex);
+			return interpolationEntityForwardValue2.mult(fixingTime+paymentOffset).sub(interpolationEntityForwardValue.mult(fixingTime)).exp().sub(1.0).div(paymentOffset);
 		}
 		case DISCOUNTFACTOR:
 		{
-			double interpolationEntityForwardValue2 = this.getValue(model, fixingTime+paymentOffset);
-			return (interpolationEntityForwardValue / interpolationEntityForwardValue2 - 1.0) / (paymentOffset);
+			DualNumber interpolationEntityForwardValue2 = this.getValue(model, fixingTime+paymentOffset, parameterIndex);
+			return interpolationEntityForwardValue.div(interpolationEntityForwardValue2).sub(1.0).div(paymentOffset);
 		}
 		}
 	}
 
-	/**
-	 * Returns the forward for the corresponding fixing time.
-	 *
-	 * <b>Note:</b> This implementation currently ignores the provided <code>paymentOffset</code>.
-	 * Instead it uses the payment offset calculate from the curve specification.
-	 *
-	 * @param model An analytic model providing a context. Some curves do not need this (can be null).
-	 * @param fixingTime The fixing time of the index associated with this forward curve.
-	 * @param paymentOffset The payment offset (as internal day count fraction) specifying the payment of this index. Used only as a fallback and/or consistency check.
-	 *
-	 * @return The forward.
-	 */
 	@Override
-	public double getForward(AnalyticModelInterface model, double fixingTime, double paymentOffset)
+	public DualNumber getForward(AnalyticModelInterface model, double fixingTime, double paymentOffset, ParameterIndex parameterIndex)
 	{
-		double forward = this.getForward(model, fixingTime);
+		DualNumber forward = this.getForward(model, fixingTime, parameterIndex);
 		double curvePaymentOffset = this.getPaymentOffset(fixingTime);
 		if(paymentOffset != curvePaymentOffset) {
-			forward = (Math.exp(Math.log(1+forward*curvePaymentOffset) * paymentOffset/curvePaymentOffset)-1.0)/paymentOffset;
+			forward = forward.mult(curvePaymentOffset).add(1.0).log().mult(paymentOffset).div(curvePaymentOffset).exp().sub(1.0).div(paymentOffset);
 			// logger.warning("Requesting forward with paymentOffsets not agreeing with original calibration. Requested: " + paymentOffset +". Calibrated: " + curvePaymentOffset + ".");
 		}
 		return forward;
@@ -8,6 +8,8 @@ package net.finmath.marketdata.model.curves;
 import java.io.Serializable;
 import java.time.LocalDate;
 
+import net.finmath.functions.DualNumber;
+import net.finmath.marketdata.calibration.ParameterIndex;
 import net.finmath.marketdata.model.AnalyticModelInterface;
 import net.finmath.time.businessdaycalendar.BusinessdayCalendarExcludingWeekends;
 import net.finmath.time.businessdaycalendar.BusinessdayCalendarInterface;
@@ -133,6 +135,19 @@ public class ForwardCurveFromDiscountCurve extends AbstractForwardCurve implemen
 	 */
 	@Override
 	public double getForward(AnalyticModelInterface model, double fixingTime, double paymentOffset)
+	{
+		return getForward(model, fixingTime, paymentOffset, ParameterIndex.getEmptyParameterIndex()).getValue();
+	}
+
+	@Override
+	public DualNumber getForward(AnalyticModelInterface model, double fixingTime, ParameterIndex parameterIndex)
+	{
+		double paymentOffset = getPaymentOffset(fixingTime+periodOffset);
+		return getForward(model, fixingTime, paymentOffset, parameterIndex);
+	}
+
+	@Override
+	public DualNumber getForward(AnalyticModelInterface model, double fixingTime, double paymentOffset, ParameterIndex parameterIndex)
 	{
 		if(model == null) {
 			throw new IllegalArgumentException(this.getName() + ": model==null");
@@ -146,7 +161,7 @@ public class ForwardCurveFromDiscountCurve extends AbstractForwardCurve implemen
 		}
 
 		double daycount = paymentOffset * daycountScaling;
-		return (referenceDiscountCurveForForwards.getDiscountFactor(model, fixingTime+periodOffset) / referenceDiscountCurveForForwards.getDiscountFactor(model, fixingTime+paymentOffset+periodOffset) - 1.0) / daycount;
+		return referenceDiscountCurveForForwards.getDiscountFactor(model, fixingTime+periodOffset, parameterIndex).div(referenceDiscountCurveForForwards.getDiscountFactor(model, fixingTime+paymentOffset+periodOffset, parameterIndex)).sub(1.0).div(daycount);
 	}
 
 	/* (non-Javadoc)
@@ -165,6 +180,16 @@ public class ForwardCurveFromDiscountCurve extends AbstractForwardCurve implemen
 		return getForward(model, time);
 	}
 
+	@Override
+	public DualNumber getValue(AnalyticModelInterface model, double time, ParameterIndex parameterIndex) {
+		return getForward(model, time, parameterIndex);
+	}
+
+	@Override
+	public double[] getValues(double[] times) {
+		return getForwards(null, times);
+	}
+
 	@Override
 	public double[] getParameter() {
 		// TODO Auto-generated method stub
@@ -5,6 +5,8 @@
  */
 package net.finmath.marketdata.model.curves;
 
+import net.finmath.functions.DualNumber;
+import net.finmath.marketdata.calibration.ParameterIndex;
 import net.finmath.marketdata.model.AnalyticModelInterface;
 
 /**
@@ -34,6 +36,49 @@ public interface ForwardCurveInterface extends CurveInterface {
 	 */
 	double getForward(AnalyticModelInterface model, double fixingTime, double paymentOffset);
 
+	/**
+	 * Returns the forward for the corresponding fixing time together with its derivatives with respect to the parameters
+	 * of the curves given by a parameter index.
+	 *
+	 * The default implementation considers the curve as constant if it is not part of the parameter index, i.e., it returns the value without derivatives.
+	 * Curves which are part of the parameter index or which depend on other curves have to override this method.
+	 *
+	 * @param model An analytic model providing a context. Some curves do not need this (can be null).
+	 * @param fixingTime The fixing time of the index associated with this forward curve.
+	 * @param parameterIndex The index of the parameters with respect to which the derivatives are calculated.
+	 *
+	 * @return The forward with its derivatives.
+	 * @throws UnsupportedOperationException Thrown if the curve is part of the parameter index and does not provide derivatives.
+	 */
+	default DualNumber getForward(AnalyticModelInterface model, double fixingTime, ParameterIndex parameterIndex) {
+		if(parameterIndex.getOffset(getName()) >= 0) {
+			throw new UnsupportedOperationException("The curve " + getName() + " (" + this.getClass().getSimpleName() + ") does not provide derivatives.");
+		}
+		return new DualNumber(getForward(model, fixingTime));
+	}
+
+	/**
+	 * Returns the forward for the corresponding fixing time and paymentOffset together with its derivatives with respect to the parameters
+	 * of the curves given by a parameter index.
+	 *
+	 * The default implementation considers the curve as constant if it is not part of the parameter index, i.e., it returns the value without derivatives.
+	 * Curves which are part of the parameter index or which depend on other curves have to override this method.
+	 *
+	 * @param model An analytic model providing a context. Some curves do not need this (can be null).
+	 * @param fixingTime The fixing time of the index associated with this forward curve.
+	 * @param paymentOffset The payment offset (as internal day count fraction) specifying the payment of this index. Used only as a fallback and/or consistency check.
+	 * @param parameterIndex The index of the parameters with respect to which the derivatives are calculated.
+	 *
+	 * @return The forward with its derivatives.
+	 * @throws UnsupportedOperationException Thrown if the curve is part of the parameter index and does not provide derivatives.
+	 */
+	default DualNumber getForward(AnalyticModelInterface model, double fixingTime, double paymentOffset, ParameterIndex parameterIndex) {
+		if(parameterIndex.getOffset(getName()) >= 0) {
+			throw new UnsupportedOperationException("The curve " + getName() + " (" + this.getClass().getSimpleName() + ") does not provide derivatives.");
+		}
+		return new DualNumber(getForward(model, fixingTime, paymentOffset));
+	}
+
 	/**
 	 * @return The name of the discount curve associated with this forward curve (e.g. OIS for collateralized forwards)
 	 */
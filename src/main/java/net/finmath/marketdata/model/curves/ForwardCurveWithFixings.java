@@ -6,6 +6,8 @@
 
 package net.finmath.marketdata.model.curves;
 
+import net.finmath.functions.DualNumber;
+import net.finmath.marketdata.calibration.ParameterIndex;
 import net.finmath.marketdata.model.AnalyticModelInterface;
 
 /**
@@ -49,6 +51,26 @@ public class ForwardCurveWithFixings extends PiecewiseCurve implements ForwardCu
 		}
 	}
 
+	@Override
+	public DualNumber getForward(AnalyticModelInterface model, double fixingTime, ParameterIndex parameterIndex) {
+		if(fixingTime > this.getFixedPartStartTime() && fixingTime < this.getFixedPartEndTime()) {
+			return ((ForwardCurveInterface)getFixedPartCurve()).getForward(model, fixingTime, parameterIndex);
+		}
+		else {
+			return ((ForwardCurveInterface)getBaseCurve()).getForward(model, fixingTime, parameterIndex);
+		}
+	}
+
+	@Override
+	public DualNumber getForward(AnalyticModelInterface model, double fixingTime, double paymentOffset, ParameterIndex parameterIndex) {
+		if(fixingTime > this.getFixedPartStartTime() && fixingTime < this.getFixedPartEndTime()) {
+			return ((ForwardCurveInterface)getFixedPartCurve()).getForward(model, fixingTime, paymentOffset, parameterIndex);
+		}
+		else {
+			return ((ForwardCurveInterface)getBaseCurve()).getForward(model, fixingTime, paymentOffset, parameterIndex);
+		}
+	}
+
 	/**
 	 * Returns the forwards for a given vector fixing times.
 	 *
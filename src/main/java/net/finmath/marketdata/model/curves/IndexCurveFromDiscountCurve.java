@@ -6,6 +6,8 @@
 
 package net.finmath.marketdata.model.curves;
 
+import net.finmath.functions.DualNumber;
+import net.finmath.marketdata.calibration.ParameterIndex;
 import net.finmath.marketdata.model.AnalyticModelInterface;
 
 /**
@@ -45,7 +47,16 @@ public class IndexCurveFromDiscountCurve extends AbstractCurve implements CurveI
 
 	@Override
 	public double getValue(AnalyticModelInterface model, double time) {
-		return indexValue / discountCurve.getDiscountFactor(model, time);
+		return getValue(model, time, ParameterIndex.getEmptyParameterIndex()).getValue();
+	}
+
+	@Override
+	public DualNumber getValue(AnalyticModelInterface model, double time, ParameterIndex parameterIndex) {
+		if(parameterIndex.getOffset(getName()) >= 0) {
+			// The parameters of this curve are those of the discount curve, which are indexed under a different name
+			throw new UnsupportedOperationException("The curve " + getName() + " (" + this.getClass().getSimpleName() + ") does not provide derivatives with respect to its own parameters.");
+		}
+		return new DualNumber(indexValue).div(discountCurve.getDiscountFactor(model, time, parameterIndex));
 	}
 
 	@Override
@@ -8,6 +8,8 @@ package net.finmath.marketdata.model.curves;
 
 import java.time.LocalDate;
 
+import net.finmath.functions.DualNumber;
+import net.finmath.marketdata.calibration.ParameterIndex;
 import net.finmath.marketdata.model.AnalyticModelInterface;
 
 /**
@@ -133,6 +135,16 @@ public class PiecewiseCurve extends AbstractCurve implements CurveInterface {
 		}
 	}
 
+	@Override
+	public DualNumber getValue(AnalyticModelInterface model, double time, ParameterIndex parameterIndex) {
+		if(time >fixedPartStartTime && time < this.fixedPartEndTime) {
+			return fixedPartCurve.getValue(model, time, parameterIndex);
+		}
+		else {
+			return baseCurve.getValue(model, time, parameterIndex);
+		}
+	}
+
 	@Override
 	public CurveInterface getCloneForParameter(double[] value) throws CloneNotSupportedException {
 		PiecewiseCurve newCurve = clone();
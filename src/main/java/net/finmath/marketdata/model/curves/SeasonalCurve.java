@@ -13,6 +13,8 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 
+import net.finmath.functions.DualNumber;
+import net.finmath.marketdata.calibration.ParameterIndex;
 import net.finmath.marketdata.model.AnalyticModelInterface;
 import net.finmath.marketdata.model.curves.Curve.ExtrapolationMethod;
 import net.finmath.marketdata.model.curves.Curve.InterpolationEntity;
@@ -118,14 +120,26 @@ public class SeasonalCurve extends AbstractCurve implements CurveInterface {
 
 	@Override
 	public double getValue(AnalyticModelInterface model, double time) {
+		return baseCurve.getValue(model, getSeason(time));
+	}
+
+	@Override
+	public DualNumber getValue(AnalyticModelInterface model, double time, ParameterIndex parameterIndex) {
+		if(parameterIndex.getOffset(getName()) >= 0) {
+			// The parameters of this curve are those of the base curve, which are indexed under a different name
+			throw new UnsupportedOperationException("The curve " + getName() + " (" + this.getClass().getSimpleName() + ") does not provide derivatives with respect to its own parameters.");
+		}
+
+		return baseCurve.getValue(model, getSeason(time), parameterIndex);
+	}
+
+	private double getSeason(double time) {
 		LocalDate calendar = getReferenceDate().plusDays((int) Math.round(time*365));
 
 		int month = calendar.getMonthValue();				// Note: month = 1,2,3,...,12
 		int day   = calendar.getDayOfMonth(); 				// Note: day = 1,2,3,...,numberOfDays
 		int numberOfDays = calendar.lengthOfMonth();
-		double season = (month-1) / 12.0 + (day-1) / (double)numberOfDays / 12.0;
-
-		return baseCurve.getValue(model, season);
+		return (month-1) / 12.0 + (day-1) / (double)numberOfDays / 12.0;
 	}
 
 	@Override
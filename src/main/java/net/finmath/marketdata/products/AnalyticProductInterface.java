@@ -5,6 +5,8 @@
  */
 package net.finmath.marketdata.products;
 
+import net.finmath.functions.DualNumber;
+import net.finmath.marketdata.calibration.ParameterIndex;
 import net.finmath.marketdata.model.AnalyticModelInterface;
 import net.finmath.modelling.ProductInterface;
 
@@ -26,4 +28,25 @@ public interface AnalyticProductInterface extends ProductInterface {
 	 * @return The value of the product using the given model.
 	 */
 	double getValue(double evaluationTime, AnalyticModelInterface model);
+
+	/**
+	 * Return the valuation of the product using the given model together with its derivatives with respect to the
+	 * parameters of the curves given by a parameter index (forward mode differentiation).
+	 * The derivatives are exact, e.g., they may be used to calculate the Jacobian of a calibration in a single valuation.
+	 *
+	 * The default implementation returns the value as a constant if the parameter index does not have parameters
+	 * (see {@link ParameterIndex#getEmptyParameterIndex()}) and throws an <code>UnsupportedOperationException</code> otherwise.
+	 *
+	 * @param evaluationTime The evaluation time as double. Cash flows prior and including this time are not considered.
+	 * @param model The model under which the product is valued.
+	 * @param parameterIndex The index of the parameters with respect to which the derivatives are calculated.
+	 * @return The value of the product using the given model with its derivatives.
+	 * @throws UnsupportedOperationException Thrown if the product (or one of the curves it uses) does not provide derivatives.
+	 */
+	default DualNumber getValue(double evaluationTime, AnalyticModelInterface model, ParameterIndex parameterIndex) {
+		if(parameterIndex.getNumberOfParameters() == 0) {
+			return new DualNumber(getValue(evaluationTime, model));
+		}
+		throw new UnsupportedOperationException("The product " + this.getClass().getSimpleName() + " does not provide derivatives.");
+	}
 }
@@ -1,5 +1,7 @@
 package net.finmath.marketdata.products;
 
+import net.finmath.functions.DualNumber;
+import net.finmath.marketdata.calibration.ParameterIndex;
 import net.finmath.marketdata.model.AnalyticModelInterface;
 import net.finmath.marketdata.model.curves.DiscountCurveInterface;
 import net.finmath.time.ScheduleInterface;
@@ -49,6 +51,11 @@ public class Deposit extends AbstractAnalyticProduct implements AnalyticProductI
 
 	@Override
 	public double getValue(double evaluationTime, AnalyticModelInterface model) {
+		return getValue(evaluationTime, model, ParameterIndex.getEmptyParameterIndex()).getValue();
+	}
+
+	@Override
+	public DualNumber getValue(double evaluationTime, AnalyticModelInterface model, ParameterIndex parameterIndex) {
 		if(model==null) {
 			throw new IllegalArgumentException("model==null");
 		}
@@ -61,19 +68,19 @@ public class Deposit extends AbstractAnalyticProduct implements AnalyticProductI
 		double maturity = schedule.getPayment(0);
 
 		if (evaluationTime > maturity) {
-			return 0; // after maturity the contract is worth nothing
+			return new DualNumber(0.0); // after maturity the contract is worth nothing
 		}
 
 		double payoutDate	= schedule.getPeriodStart(0);
 		double periodLength = schedule.getPeriodLength(0);
-		double discountFactor = discountCurve.getDiscountFactor(model, maturity);
-		double discountFactorPayout = discountCurve.getDiscountFactor(model, payoutDate);
+		DualNumber discountFactor = discountCurve.getDiscountFactor(model, maturity, parameterIndex);
 
 		if (evaluationTime > payoutDate) {
-			return discountFactor * (1.0 + rate * periodLength);
+			return discountFactor.mult(1.0 + rate * periodLength);
 		}
 		else {
-			return discountFactor * (1.0 + rate * periodLength) - discountFactorPayout;
+			DualNumber discountFactorPayout = discountCurve.getDiscountFactor(model, payoutDate, parameterIndex);
+			return discountFactor.mult(1.0 + rate * periodLength).sub(discountFactorPayout);
 		}
 	}
 
@@ -1,5 +1,7 @@
 package net.finmath.marketdata.products;
 
+import net.finmath.functions.DualNumber;
+import net.finmath.marketdata.calibration.ParameterIndex;
 import net.finmath.marketdata.model.AnalyticModelInterface;
 import net.finmath.marketdata.model.curves.DiscountCurveInterface;
 import net.finmath.marketdata.model.curves.ForwardCurveInterface;
@@ -65,6 +67,11 @@ public class ForwardRateAgreement extends AbstractAnalyticProduct implements Ana
 
 	@Override
 	public double getValue(double evaluationTime, AnalyticModelInterface model) {
+		return getValue(evaluationTime, model, ParameterIndex.getEmptyParameterIndex()).getValue();
+	}
+
+	@Override
+	public DualNumber getValue(double evaluationTime, AnalyticModelInterface model, ParameterIndex parameterIndex) {
 		if(model==null) {
 			throw new IllegalArgumentException("model==null");
 		}
@@ -83,15 +90,15 @@ public class ForwardRateAgreement extends AbstractAnalyticProduct implements Ana
 		double paymentDate = schedule.getPayment(0);
 		double periodLength = schedule.getPeriodLength(0);
 
-		double forward = 0.0;
+		DualNumber forward = new DualNumber(0.0);
 		if(forwardCurve != null) {
-			forward += forwardCurve.getForward(model, fixingDate, paymentDate-fixingDate);
+			forward = forward.add(forwardCurve.getForward(model, fixingDate, paymentDate-fixingDate, parameterIndex));
 		}
 
 		// Valuation of the market FRA for payer and receiver direction, neglecting convexity adjustment
 		double notional = isPayer ? 1.0 : -1.0;
-		double discountFactorFixingDate = fixingDate > evaluationTime ? discountCurve.getDiscountFactor(model, fixingDate) : 0.0;
-		return notional * (forward - spread) / (1.0 + forward * periodLength) * discountFactorFixingDate * periodLength;
+		DualNumber discountFactorFixingDate = fixingDate > evaluationTime ? discountCurve.getDiscountFactor(model, fixingDate, parameterIndex) : new DualNumber(0.0);
+		return forward.sub(spread).mult(notional).div(forward.mult(periodLength).add(1.0)).mult(discountFactorFixingDate).mult(periodLength);
 	}
 
 	/**
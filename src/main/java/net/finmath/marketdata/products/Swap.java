@@ -5,6 +5,8 @@
  */
 package net.finmath.marketdata.products;
 
+import net.finmath.functions.DualNumber;
+import net.finmath.marketdata.calibration.ParameterIndex;
 import net.finmath.marketdata.model.AnalyticModel;
 import net.finmath.marketdata.model.AnalyticModelInterface;
 import net.finmath.marketdata.model.curves.CurveInterface;
@@ -116,11 +118,16 @@ public class Swap extends AbstractAnalyticProduct implements AnalyticProductInte
 
 	@Override
 	public double getValue(double evaluationTime, AnalyticModelInterface model) {
+		return getValue(evaluationTime, model, ParameterIndex.getEmptyParameterIndex()).getValue();
+	}
+
+	@Override
+	public DualNumber getValue(double evaluationTime, AnalyticModelInterface model, ParameterIndex parameterIndex) {
 
-		double valueReceiverLeg	= legReceiver.getValue(evaluationTime, model);
-		double valuePayerLeg	= legPayer.getValue(evaluationTime, model);
+		DualNumber valueReceiverLeg	= legReceiver.getValue(evaluationTime, model, parameterIndex);
+		DualNumber valuePayerLeg	= legPayer.getValue(evaluationTime, model, parameterIndex);
 
-		return valueReceiverLeg - valuePayerLeg;
+		return valueReceiverLeg.sub(valuePayerLeg);
 	}
 
 	public static double getForwardSwapRate(TimeDiscretizationInterface fixTenor, TimeDiscretizationInterface floatTenor, ForwardCurveInterface forwardCurve) {
@@ -7,6 +7,8 @@ package net.finmath.marketdata.products;
 
 import java.util.Arrays;
 
+import net.finmath.functions.DualNumber;
+import net.finmath.marketdata.calibration.ParameterIndex;
 import net.finmath.marketdata.model.AnalyticModelInterface;
 import net.finmath.marketdata.model.curves.DiscountCurveInterface;
 import net.finmath.marketdata.model.curves.ForwardCurveInterface;
@@ -113,6 +115,11 @@ public class SwapLeg extends AbstractAnalyticProduct implements AnalyticProductI
 
 	@Override
 	public double getValue(double evaluationTime, AnalyticModelInterface model) {
+		return getValue(evaluationTime, model, ParameterIndex.getEmptyParameterIndex()).getValue();
+	}
+
+	@Override
+	public DualNumber getValue(double evaluationTime, AnalyticModelInterface model, ParameterIndex parameterIndex) {
 		if(model==null) {
 			throw new IllegalArgumentException("model==null");
 		}
@@ -131,7 +138,7 @@ public class SwapLeg extends AbstractAnalyticProduct implements AnalyticProductI
 			throw new IllegalArgumentException("No forward curve with name '" + forwardCurveName + "' was found in the model:\n" + model.toString());
 		}
 
-		double value = 0.0;
+		DualNumber value = new DualNumber(0.0);
 		for(int periodIndex=0; periodIndex<legSchedule.getNumberOfPeriods(); periodIndex++) {
 			double fixingDate	= legSchedule.getFixing(periodIndex);
 			double periodStart	= legSchedule.getPeriodStart(periodIndex);
@@ -139,30 +146,35 @@ public class SwapLeg extends AbstractAnalyticProduct implements AnalyticProductI
 			double paymentDate	= legSchedule.getPayment(periodIndex);
 			double periodLength	= legSchedule.getPeriodLength(periodIndex);
 
-			double forward = spreads[periodIndex];
+			DualNumber forward = new DualNumber(spreads[periodIndex]);
 			if(forwardCurve != null) {
-				forward += forwardCurve.getForward(model, fixingDate, paymentDate-fixingDate);
+				forward = forward.add(forwardCurve.getForward(model, fixingDate, paymentDate-fixingDate, parameterIndex));
 			}
 
 			// note that notional=1 if discountCurveForNotionalReset=discountCurve
-			double notional;
+			DualNumber notional;
 			if(notionals != null) {
-				notional = notionals[periodIndex];
+				notional = new DualNumber(notionals[periodIndex]);
 			}
 			else {
-				notional = discountCurveForNotionalReset.getDiscountFactor(model,periodStart) / discountCurve.getDiscountFactor(model,periodStart);
+				notional = discountCurveForNotionalReset.getDiscountFactor(model, periodStart, parameterIndex).div(discountCurve.getDiscountFactor(model, periodStart, parameterIndex));
+			}
+			if(paymentDate > evaluationTime) {
+				value = value.add(notional.mult(forward).mult(periodLength).mult(discountCurve.getDiscountFactor(model, paymentDate, parameterIndex)));
 			}
-			double discountFactor = paymentDate > evaluationTime ? discountCurve.getDiscountFactor(model, paymentDate) : 0.0;
-			value += notional * forward * periodLength * discountFactor;
 
 			// Consider notional payments if required
 			if(isNotionalExchanged) {
-				value += periodEnd > evaluationTime ? notional * discountCurve.getDiscountFactor(model, periodEnd) : 0.0;
-				value -= periodStart > evaluationTime ? notional * discountCurve.getDiscountFactor(model, periodStart) : 0.0;
+				if(periodEnd > evaluationTime) {
+					value = value.add(notional.mult(discountCurve.getDiscountFactor(model, periodEnd, parameterIndex)));
+				}
+				if(periodStart > evaluationTime) {
+					value = value.sub(notional.mult(discountCurve.getDiscountFactor(model, periodStart, parameterIndex)));
+				}
 			}
 		}
 
-		return value / discountCurve.getDiscountFactor(model, evaluationTime);
+		return value.div(discountCurve.getDiscountFactor(model, evaluationTime, parameterIndex));
 	}
 
 	public ScheduleInterface getSchedule() {
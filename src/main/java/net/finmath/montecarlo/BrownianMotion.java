@@ -201,6 +201,13 @@ public class BrownianMotion implements BrownianMotionInterface, Serializable {
 		return seed;
 	}
 
+	/**
+	 * @return Returns the factory used to create the random variables.
+	 */
+	AbstractRandomVariableFactory getRandomVariableFactory() {
+		return randomVariableFactory;
+	}
+
 	@Override
 	public String toString() {
 		return super.toString()
@@ -0,0 +1,348 @@
+/*
+ * (c) Copyright Christian P. Fries, Germany. Contact: email@christian-fries.de.
+ *
+ * Created on 16.10.2026
+ */
+package net.finmath.montecarlo;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.stream.IntStream;
+
+import net.finmath.functions.NormalDistribution;
+import net.finmath.randomnumbers.Philox;
+import net.finmath.stochastic.RandomVariableInterface;
+import net.finmath.time.TimeDiscretizationInterface;
+
+/**
+ * Implementation of a time-discrete n-dimensional Brownian motion
+ * <i>W = (W<sub>1</sub>,...,W<sub>n</sub>)</i> where <i>W<sub>i</sub></i> is
+ * a Brownian motion and <i>W<sub>i</sub></i>, <i>W<sub>j</sub></i> are
+ * independent for <i>i</i> not equal <i>j</i>, generated by the counter-based random number generator {@link Philox}.
+ *
+ * The uniform random number used for the increment of (path, timeIndex, factor) is calculated directly from
+ * the counter (path, timeIndex, factor/2, 0) (each counter provides two numbers, used for two consecutive factors).
+ * Hence the paths are generated in parallel, the result does not depend on the number of threads, and
+ * any block of paths can be generated on demand via {@link #getPathBlock(int, int)}, with realizations
+ * identical to the corresponding paths of the full Brownian motion.
+ *
+ * The increments are generated per time index on first access (all factors of the time index at once),
+ * such that only the time steps required are generated. The access does not require a lock: if two threads
+ * request the same time index concurrently, both may generate it (with identical results) and one result is kept.
+ * Optionally, only the increments of the most recently generated time index are retained, such that the
+ * memory requirement is that of a single time step, if the increments are requested in increasing order
+ * of time (as by an Euler scheme). Increments which have been released are regenerated on request.
+ *
+ * The quadruppel (time discretization, number of factors, number of paths, seed)
+ * defines the state of an object of this class, i.e., BrownianMotionCounterBased for which
+ * there parameters agree, generate the same random numbers. Note that the random numbers differ
+ * from those of {@link BrownianMotion}.
+ *
+ * The class is immutable and thread safe. It uses lazy initialization.
+ *
+ * @author Christian Fries
+ * @version 1.2
+ */
+public class BrownianMotionCounterBased implements BrownianMotionInterface, Serializable {
+
+	private static final long serialVersionUID = -3620465185430276932L;
+
+	private final TimeDiscretizationInterface						timeDiscretization;
+
+	private final int			numberOfFactors;
+	private final int			firstPath;
+	private final int			numberOfPaths;
+	private final int			seed;
+
+	private final AbstractRandomVariableFactory randomVariableFactory;
+
+	private final boolean		isReleaseIncrementsOfPreviousTimeIndices;
+
+	private transient	AtomicReferenceArray<RandomVariableInterface[]>	brownianIncrements;
+	private transient	AtomicInteger									lastGeneratedTimeIndex;
+
+	/**
+	 * Construct a Brownian motion.
+	 *
+	 * @param timeDiscretization The time discretization used for the Brownian increments.
+	 * @param numberOfFactors Number of factors.
+	 * @param numberOfPaths Number of paths to simulate.
+	 * @param seed The seed of the random number generator.
+	 * @param randomVariableFactory Factory to be used to create random variable.
+	 * @param isReleaseIncrementsOfPreviousTimeIndices If true, only the increments of the most recently generated time index are retained.
+	 */
+	public BrownianMotionCounterBased(
+			TimeDiscretizationInterface timeDiscretization,
+			int numberOfFactors,
+			int numberOfPaths,
+			int seed,
+			AbstractRandomVariableFactory randomVariableFactory,
+			boolean isReleaseIncrementsOfPreviousTimeIndices) {
+		this(timeDiscretization, numberOfFactors, 0, numberOfPaths, seed, randomVariableFactory, isReleaseIncrementsOfPreviousTimeIndices);
+	}
+
+	/**
+	 * Construct a Brownian motion.
+	 *
+	 * @param timeDiscretization The time discretization used for the Brownian increments.
+	 * @param numberOfFactors Number of factors.
+	 * @param numberOfPaths Number of paths to simulate.
+	 * @param seed The seed of the random number generator.
+	 * @param randomVariableFactory Factory to be used to create random variable.
+	 */
+	public BrownianMotionCounterBased(
+			TimeDiscretizationInterface timeDiscretization,
+			int numberOfFactors,
+			int numberOfPaths,
+			int seed,
+			AbstractRandomVariableFactory randomVariableFactory) {
+		this(timeDiscretization, numberOfFactors, numberOfPaths, seed, randomVariableFactory, false);
+	}
+
+	/**
+	 * Construct a Brownian motion.
+	 *
+	 * @param timeDiscretization The time discretization used for the Brownian increments.
+	 * @param numberOfFactors Number of factors.
+	 * @param numberOfPaths Number of paths to simulate.
+	 * @param seed The seed of the random number generator.
+	 */
+	public BrownianMotionCounterBased(
+			TimeDiscretizationInterface timeDiscretization,
+			int numberOfFactors,
+			int numberOfPaths,
+			int seed) {
+		this(timeDiscretization, numberOfFactors, numberOfPaths, seed, new RandomVariableFactory());
+	}
+
+	private BrownianMotionCounterBased(
+			TimeDiscretizationInterface timeDiscretization,
+			int numberOfFactors,
+			int firstPath,
+			int numberOfPaths,
+			int seed,
+			AbstractRandomVariableFactory randomVariableFactory,
+			boolean isReleaseIncrementsOfPreviousTimeIndices) {
+		super();
+		this.timeDiscretization = timeDiscretization;
+		this.numberOfFactors	= numberOfFactors;
+		this.firstPath			= firstPath;
+		this.numberOfPaths		= numberOfPaths;
+		this.seed				= seed;
+
+		this.randomVariableFactory = randomVariableFactory;
+
+		this.isReleaseIncrementsOfPreviousTimeIndices = isReleaseIncrementsOfPreviousTimeIndices;
+
+		initializeTransients();
+	}
+
+	private void initializeTransients() {
+		this.brownianIncrements		= new AtomicReferenceArray<>(timeDiscretization.getNumberOfTimeSteps()); 	// Lazy initialization
+		this.lastGeneratedTimeIndex	= new AtomicInteger(-1);
+	}
+
+	/**
+	 * Returns a block of paths of this Brownian motion, that is, path <i>i</i> of the returned object has the same
+	 * realizations as path <code>firstPath + i</code> of this object. Only the paths of the block are generated.
+	 *
+	 * @param firstPath The index of the first path (of this Brownian motion) in the block.
+	 * @param numberOfPaths The number of paths in the block.
+	 * @return The block of paths.
+	 */
+	public BrownianMotionCounterBased getPathBlock(int firstPath, int numberOfPaths) {
+		if(firstPath < 0 || numberOfPaths <= 0 || firstPath + numberOfPaths > this.numberOfPaths) {
+			throw new IllegalArgumentException("Path block [" + firstPath + "," + (firstPath+numberOfPaths) + ") is not within the paths of the Brownian motion.");
+		}
+		return new BrownianMotionCounterBased(timeDiscretization, numberOfFactors, this.firstPath + firstPath, numberOfPaths, seed, randomVariableFactory, isReleaseIncrementsOfPreviousTimeIndices);
+	}
+
+	@Override
+	public BrownianMotionInterface getCloneWithModifiedSeed(int seed) {
+		return new BrownianMotionCounterBased(getTimeDiscretization(), getNumberOfFactors(), firstPath, getNumberOfPaths(), seed, randomVariableFactory, isReleaseIncrementsOfPreviousTimeIndices);
+	}
+
+	@Override
+	public BrownianMotionInterface getCloneWithModifiedTimeDiscretization(TimeDiscretizationInterface newTimeDiscretization) {
+		return new BrownianMotionCounterBased(newTimeDiscretization, getNumberOfFactors(), firstPath, getNumberOfPaths(), getSeed(), randomVariableFactory, isReleaseIncrementsOfPreviousTimeIndices);
+	}
+
+	@Override
+	public RandomVariableInterface getBrownianIncrement(int timeIndex, int factor) {
+		return getBrownianIncrements(timeIndex)[factor];
+	}
+
+	@Override
+	public RandomVariableInterface[] getIncrement(int timeIndex) {
+		return getBrownianIncrements(timeIndex).clone();
+	}
+
+	/**
+	 * Returns the increments of all factors for a given time index, generating them if required.
+	 *
+	 * @param timeIndex The time index.
+	 * @return The increments of all factors (the internal array, which must not be modified).
+	 */
+	private RandomVariableInterface[] getBrownianIncrements(int timeIndex) {
+		RandomVariableInterface[] brownianIncrementsAtTimeIndex = brownianIncrements.get(timeIndex);
+		if(brownianIncrementsAtTimeIndex == null) {
+			// Concurrent generation results in identical values, we keep the first one.
+			if(brownianIncrements.compareAndSet(timeIndex, null, doGenerateBrownianIncrements(timeIndex))) {
+				if(isReleaseIncrementsOfPreviousTimeIndices) {
+					// Atomic exchange, such that each previous time index is released by exactly one thread
+					int previousTimeIndex = lastGeneratedTimeIndex.getAndSet(timeIndex);
+					if(previousTimeIndex >= 0 && previousTimeIndex != timeIndex) {
+						brownianIncrements.set(previousTimeIndex, null);
+					}
+				}
+			}
+			brownianIncrementsAtTimeIndex = brownianIncrements.get(timeIndex);
+			if(brownianIncrementsAtTimeIndex == null) {
+				// Released by a concurrent thread
+				brownianIncrementsAtTimeIndex = doGenerateBrownianIncrements(timeIndex);
+			}
+		}
+
+		/*
+		 *  We return immutable objects which ensures that the receiver does not alter the data.
+		 */
+		return brownianIncrementsAtTimeIndex;
+	}
+
+	/**
+	 * Generates the increments of all factors for a given time index.
+	 *
+	 * @param timeIndex The time index.
+	 * @return The increments of all factors.
+	 */
+	private RandomVariableInterface[] doGenerateBrownianIncrements(int timeIndex) {
+		Philox philox = new Philox(seed);
+
+		double sqrtDeltaT = Math.sqrt(timeDiscretization.getTimeStep(timeIndex));
+
+		// Allocate memory
+		double[][] brownianIncrementsArray = new double[numberOfFactors][numberOfPaths];
+
+		/*
+		 * Generate normal distributed independent increments. Since the random numbers of a path only depend on
+		 * the index of the path, the paths are generated in parallel.
+		 */
+		IntStream.range(0, numberOfPaths).parallel().forEach(path -> {
+			double[] uniform = new double[2];
+			for(int factor=0; factor<numberOfFactors; factor++) {
+				if(factor % 2 == 0) {
+					philox.getUniform(firstPath + path, timeIndex, factor / 2, 0, uniform);
+				}
+				brownianIncrementsArray[factor][path] = NormalDistribution.inverseCumulativeDistribution(uniform[factor % 2]) * sqrtDeltaT;
+			}
+		});
+
+		// Wrap the values in RandomVariable objects
+		double time = timeDiscretization.getTime(timeIndex+1);
+		RandomVariableInterface[] brownianIncrementsAtTimeIndex = new RandomVariableInterface[numberOfFactors];
+		for(int factor=0; factor<numberOfFactors; factor++) {
+			brownianIncrementsAtTimeIndex[factor] = randomVariableFactory.createRandomVariable(time, brownianIncrementsArray[factor]);
+		}
+		return brownianIncrementsAtTimeIndex;
+	}
+
+	/**
+	 * @return True, if only the increments of the most recently generated time index are retained.
+	 */
+	public boolean isReleaseIncrementsOfPreviousTimeIndices() {
+		return isReleaseIncrementsOfPreviousTimeIndices;
+	}
+
+	@Override
+	public TimeDiscretizationInterface getTimeDiscretization() {
+		return timeDiscretization;
+	}
+
+	@Override
+	public int getNumberOfFactors() {
+		return numberOfFactors;
+	}
+
+	@Override
+	public int getNumberOfPaths() {
+		return numberOfPaths;
+	}
+
+	/**
+	 * @return Returns the index of the first path, i.e., the counter of the random number generator associated with path 0 of this object.
+	 */
+	public int getFirstPath() {
+		return firstPath;
+	}
+
+	@Override
+	public RandomVariableInterface getRandomVariableForConstant(double value) {
+		return randomVariableFactory.createRandomVariable(value);
+	}
+
+	/**
+	 * @return Returns the seed.
+	 */
+	public int getSeed() {
+		return seed;
+	}
+
+	@Override
+	public String toString() {
+		return super.toString()
+				+ "\n" + "timeDiscretization: " + timeDiscretization.toString()
+				+ "\n" + "firstPath: " + firstPath
+				+ "\n" + "numberOfPaths: " + numberOfPaths
+				+ "\n" + "numberOfFactors: " + numberOfFactors
+				+ "\n" + "seed: " + seed;
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if (this == o) {
+			return true;
+		}
+		if (o == null || getClass() != o.getClass()) {
+			return false;
+		}
+
+		BrownianMotionCounterBased that = (BrownianMotionCounterBased) o;
+
+		if (numberOfFactors != that.numberOfFactors) {
+			return false;
+		}
+		if (firstPath != that.firstPath) {
+			return false;
+		}
+		if (numberOfPaths != that.numberOfPaths) {
+			return false;
+		}
+		if (seed != that.seed) {
+			return false;
+		}
+		return timeDiscretization.equals(that.timeDiscretization);
+	}
+
+	@Override
+	public RandomVariableInterface getIncrement(int timeIndex, int factor) {
+		return getBrownianIncrement(timeIndex, factor);
+	}
+
+	@Override
+	public int hashCode() {
+		int result = timeDiscretization.hashCode();
+		result = 31 * result + numberOfFactors;
+		result = 31 * result + firstPath;
+		result = 31 * result + numberOfPaths;
+		result = 31 * result + seed;
+		return result;
+	}
+
+	private void readObject(java.io.ObjectInputStream in) throws ClassNotFoundException, IOException {
+		in.defaultReadObject();
+		// initialization of transients (the increments are regenerated on demand)
+		initializeTransients();
+	}
+}
@@ -0,0 +1,191 @@
+/*
+ * (c) Copyright Christian P. Fries, Germany. Contact: email@christian-fries.de.
+ *
+ * Created on 16.10.2026
+ */
+package net.finmath.montecarlo;
+
+import net.finmath.randomnumbers.MersenneTwister;
+import net.finmath.stochastic.RandomVariableInterface;
+import net.finmath.time.TimeDiscretizationInterface;
+
+/**
+ * A Brownian motion given by a block of consecutive paths of a {@link BrownianMotion}, that is,
+ * path <i>i</i> of this object has the same realizations as path <code>firstPath + i</code>
+ * of the underlying Brownian motion.
+ *
+ * The underlying Brownian motion is never generated. Instead, the random number sequence
+ * is advanced to the first path of the block (since <code>BrownianMotion</code> generates its paths
+ * sequentially, the block corresponds to a contiguous segment of the sequence) and only the paths
+ * of the block are generated. This allows to run a simulation in blocks of paths, bounding the
+ * memory requirement independently of the total number of paths.
+ *
+ * Consecutive blocks should be obtained via {@link #getNextPathBlock(int)}, which hands over the
+ * state of the random number generator and avoids advancing the sequence from its start.
+ *
+ * @author Christian Fries
+ * @version 1.0
+ */
+public class BrownianMotionPathBlock implements BrownianMotionInterface {
+
+	private final BrownianMotion	brownianMotion;
+	private final int				firstPath;
+	private final int				numberOfPaths;
+
+	private transient	MersenneTwister				mersenneTwister;
+	private transient	RandomVariableInterface[][]	brownianIncrements;
+	private final		Object						brownianIncrementsLazyInitLock = new Object();
+
+	/**
+	 * Create a block of paths of a given Brownian motion.
+	 *
+	 * @param brownianMotion The underlying Brownian motion.
+	 * @param firstPath The index of the first path (of the underlying Brownian motion) in this block.
+	 * @param numberOfPaths The number of paths in this block.
+	 */
+	public BrownianMotionPathBlock(BrownianMotion brownianMotion, int firstPath, int numberOfPaths) {
+		this(brownianMotion, firstPath, numberOfPaths, null);
+	}
+
+	private BrownianMotionPathBlock(BrownianMotion brownianMotion, int firstPath, int numberOfPaths, MersenneTwister mersenneTwister) {
+		super();
+		if(firstPath < 0 || numberOfPaths <= 0 || firstPath + numberOfPaths > brownianMotion.getNumberOfPaths()) {
+			throw new IllegalArgumentException("Path block [" + firstPath + "," + (firstPath+numberOfPaths) + ") is not within the paths of the Brownian motion.");
+		}
+		this.brownianMotion		= brownianMotion;
+		this.firstPath			= firstPath;
+		this.numberOfPaths		= numberOfPaths;
+		this.mersenneTwister	= mersenneTwister;
+	}
+
+	/**
+	 * Returns the block of paths following this block.
+	 *
+	 * If this method is called at most once, the random number generator is handed over to the new block,
+	 * otherwise the new block will advance its own random number sequence.
+	 *
+	 * @param numberOfPaths The number of paths of the next block (will be truncated to the remaining number of paths).
+	 * @return The block of paths following this block.
+	 */
+	public BrownianMotionPathBlock getNextPathBlock(int numberOfPaths) {
+		MersenneTwister mersenneTwisterForNextBlock;
+		synchronized(brownianIncrementsLazyInitLock) {
+			if(brownianIncrements == null) {
+				doGenerateBrownianMotion();
+			}
+			mersenneTwisterForNextBlock = mersenneTwister;
+			mersenneTwister = null;
+		}
+
+		int nextFirstPath = firstPath + this.numberOfPaths;
+		return new BrownianMotionPathBlock(brownianMotion, nextFirstPath, Math.min(numberOfPaths, brownianMotion.getNumberOfPaths() - nextFirstPath), mersenneTwisterForNextBlock);
+	}
+
+	@Override
+	public RandomVariableInterface getBrownianIncrement(int timeIndex, int factor) {
+
+		// Thread safe lazy initialization
+		synchronized(brownianIncrementsLazyInitLock) {
+			if(brownianIncrements == null) {
+				doGenerateBrownianMotion();
+			}
+		}
+
+		return brownianIncrements[timeIndex][factor];
+	}
+
+	/**
+	 * Lazy initialization of brownianIncrement. Synchronized to ensure thread safety of lazy init.
+	 * The generation follows the one of {@link BrownianMotion}.
+	 */
+	private void doGenerateBrownianMotion() {
+		TimeDiscretizationInterface timeDiscretization = getTimeDiscretization();
+		int numberOfTimeSteps	= timeDiscretization.getNumberOfTimeSteps();
+		int numberOfFactors		= getNumberOfFactors();
+
+		if(mersenneTwister == null) {
+			// Advance the random number sequence to the first path of this block
+			mersenneTwister = new MersenneTwister(brownianMotion.getSeed());
+			long numberOfNumbersToSkip = (long)firstPath * numberOfTimeSteps * numberOfFactors;
+			for(long i=0; i<numberOfNumbersToSkip; i++) {
+				mersenneTwister.nextDouble();
+			}
+		}
+
+		// Allocate memory
+		double[][][] brownianIncrementsArray = new double[numberOfTimeSteps][numberOfFactors][numberOfPaths];
+
+		// Pre-calculate square roots of deltaT
+		double[] sqrtOfTimeStep = new double[numberOfTimeSteps];
+		for(int timeIndex=0; timeIndex<sqrtOfTimeStep.length; timeIndex++) {
+			sqrtOfTimeStep[timeIndex] = Math.sqrt(timeDiscretization.getTimeStep(timeIndex));
+		}
+
+		for(int path=0; path<numberOfPaths; path++) {
+			for(int timeIndex=0; timeIndex<numberOfTimeSteps; timeIndex++) {
+				double sqrtDeltaT = sqrtOfTimeStep[timeIndex];
+				for(int factor=0; factor<numberOfFactors; factor++) {
+					double uniformIncrement = mersenneTwister.nextDouble();
+					brownianIncrementsArray[timeIndex][factor][path] = net.finmath.functions.NormalDistribution.inverseCumulativeDistribution(uniformIncrement) * sqrtDeltaT;
+				}
+			}
+		}
+
+		// Wrap the values in RandomVariable objects
+		AbstractRandomVariableFactory randomVariableFactory = brownianMotion.getRandomVariableFactory();
+		brownianIncrements = new RandomVariableInterface[numberOfTimeSteps][numberOfFactors];
+		for(int timeIndex=0; timeIndex<numberOfTimeSteps; timeIndex++) {
+			double time = timeDiscretization.getTime(timeIndex+1);
+			for(int factor=0; factor<numberOfFactors; factor++) {
+				brownianIncrements[timeIndex][factor] = randomVariableFactory.createRandomVariable(time, brownianIncrementsArray[timeIndex][factor]);
+			}
+		}
+	}
+
+	@Override
+	public RandomVariableInterface getIncrement(int timeIndex, int factor) {
+		return getBrownianIncrement(timeIndex, factor);
+	}
+
+	@Override
+	public TimeDiscretizationInterface getTimeDiscretization() {
+		return brownianMotion.getTimeDiscretization();
+	}
+
+	@Override
+	public int getNumberOfFactors() {
+		return brownianMotion.getNumberOfFactors();
+	}
+
+	@Override
+	public int getNumberOfPaths() {
+		return numberOfPaths;
+	}
+
+	/**
+	 * @return Returns the index of the first path (of the underlying Brownian motion) in this block.
+	 */
+	public int getFirstPath() {
+		return firstPath;
+	}
+
+	@Override
+	public RandomVariableInterface getRandomVariableForConstant(double value) {
+		return brownianMotion.getRandomVariableForConstant(value);
+	}
+
+	@Override
+	public BrownianMotionInterface getCloneWithModifiedSeed(int seed) {
+		return new BrownianMotionPathBlock((BrownianMotion)brownianMotion.getCloneWithModifiedSeed(seed), firstPath, numberOfPaths);
+	}
+
+	@Override
+	public BrownianMotionInterface getCloneWithModifiedTimeDiscretization(TimeDiscretizationInterface newTimeDiscretization) {
+		return new BrownianMotionPathBlock((BrownianMotion)brownianMotion.getCloneWithModifiedTimeDiscretization(newTimeDiscretization), firstPath, numberOfPaths);
+	}
+
+	@Override
+	public String toString() {
+		return "BrownianMotionPathBlock [brownianMotion=" + brownianMotion + ", firstPath=" + firstPath + ", numberOfPaths=" + numberOfPaths + "]";
+	}
+}
@@ -0,0 +1,304 @@
+/*
+ * (c) Copyright Christian P. Fries, Germany. Contact: email@christian-fries.de.
+ *
+ * Created on 16.10.2026
+ */
+package net.finmath.montecarlo;
+
+import java.io.Serializable;
+
+import net.finmath.functions.NormalDistribution;
+import net.finmath.randomnumbers.SobolSequence;
+import net.finmath.stochastic.RandomVariableInterface;
+import net.finmath.time.TimeDiscretizationInterface;
+
+/**
+ * Implementation of a time-discrete n-dimensional Brownian motion
+ * <i>W = (W<sub>1</sub>,...,W<sub>n</sub>)</i> generated from a Sobol sequence (quasi random numbers)
+ * using a Brownian bridge construction.
+ *
+ * The path of each factor is not constructed time step by time step. Instead, the first coordinate of the
+ * Sobol point determines <i>W(T)</i> at the final time <i>T</i>, the next coordinates determine the value at the
+ * mid point (conditional on the values at the end points of the interval), and so on, bisecting the time
+ * discretization (via its indices, such that non-uniform time discretizations are supported).
+ * The coordinates are interleaved across factors, i.e., coordinate <i>k n + i</i> is used for the <i>k</i>-th
+ * point of the Brownian bridge of factor <i>i</i>. Since the first coordinates of a Sobol sequence have the best
+ * uniformity properties, they are assigned to the large scale structure of the paths, which usually
+ * dominates the value of a product. This significantly reduces the number of paths required for a given accuracy
+ * (compared to {@link BrownianMotion}).
+ *
+ * The dimension of the Sobol sequence is the number of time steps times the number of factors. The Sobol sequence
+ * uses the direction numbers of Joe and Kuo, hence the dimension is limited to
+ * {@link SobolSequence#maximumDimensionOfBundledDirectionNumbers}.
+ * The number of paths should preferably be a power of two.
+ *
+ * The seed defines a random digital shift of the Sobol sequence. Different seeds give independent randomizations
+ * of the same quasi random point set, which may be used to estimate the Monte-Carlo error.
+ *
+ * The quadruppel (time discretization, number of factors, number of paths, seed)
+ * defines the state of an object of this class.
+ *
+ * The class is immutable and thread safe. It uses lazy initialization.
+ *
+ * @author Christian Fries
+ * @version 1.0
+ */
+public class BrownianMotionSobolBridge implements BrownianMotionInterface, Serializable {
+
+	private static final long serialVersionUID = 5468238733287604463L;
+
+	private final TimeDiscretizationInterface						timeDiscretization;
+
+	private final int			numberOfFactors;
+	private final int			numberOfPaths;
+	private final int			seed;
+
+	private final AbstractRandomVariableFactory randomVariableFactory;
+
+	private transient	RandomVariableInterface[][]	brownianIncrements;
+	private final		Object						brownianIncrementsLazyInitLock = new Object();
+
+	/**
+	 * Construct a Brownian motion generated from a Sobol sequence using a Brownian bridge construction.
+	 *
+	 * @param timeDiscretization The time discretization used for the Brownian increments.
+	 * @param numberOfFactors Number of factors.
+	 * @param numberOfPaths Number of paths to simulate.
+	 * @param seed The seed of the random digital shift of the Sobol sequence.
+	 * @param randomVariableFactory Factory to be used to create random variable.
+	 */
+	public BrownianMotionSobolBridge(
+			TimeDiscretizationInterface timeDiscretization,
+			int numberOfFactors,
+			int numberOfPaths,
+			int seed,
+			AbstractRandomVariableFactory randomVariableFactory) {
+		super();
+		this.timeDiscretization = timeDiscretization;
+		this.numberOfFactors	= numberOfFactors;
+		this.numberOfPaths		= numberOfPaths;
+		this.seed				= seed;
+
+		this.randomVariableFactory = randomVariableFactory;
+
+		this.brownianIncrements	= null; 	// Lazy initialization
+	}
+
+	/**
+	 * Construct a Brownian motion generated from a Sobol sequence using a Brownian bridge construction.
+	 *
+	 * @param timeDiscretization The time discretization used for the Brownian increments.
+	 * @param numberOfFactors Number of factors.
+	 * @param numberOfPaths Number of paths to simulate.
+	 * @param seed The seed of the random digital shift of the Sobol sequence.
+	 */
+	public BrownianMotionSobolBridge(
+			TimeDiscretizationInterface timeDiscretization,
+			int numberOfFactors,
+			int numberOfPaths,
+			int seed) {
+		this(timeDiscretization, numberOfFactors, numberOfPaths, seed, new RandomVariableFactory());
+	}
+
+	@Override
+	public BrownianMotionInterface getCloneWithModifiedSeed(int seed) {
+		return new BrownianMotionSobolBridge(getTimeDiscretization(), getNumberOfFactors(), getNumberOfPaths(), seed, randomVariableFactory);
+	}
+
+	@Override
+	public BrownianMotionInterface getCloneWithModifiedTimeDiscretization(TimeDiscretizationInterface newTimeDiscretization) {
+		return new BrownianMotionSobolBridge(newTimeDiscretization, getNumberOfFactors(), getNumberOfPaths(), getSeed(), randomVariableFactory);
+	}
+
+	@Override
+	public RandomVariableInterface getBrownianIncrement(int timeIndex, int factor) {
+
+		// Thread safe lazy initialization
+		synchronized(brownianIncrementsLazyInitLock) {
+			if(brownianIncrements == null) {
+				doGenerateBrownianMotion();
+			}
+		}
+
+		/*
+		 *  We return an immutable object which ensures that the receiver does not alter the data.
+		 */
+		return brownianIncrements[timeIndex][factor];
+	}
+
+	/**
+	 * Lazy initialization of brownianIncrement. Synchronized to ensure thread safety of lazy init.
+	 */
+	private void doGenerateBrownianMotion() {
+		if(brownianIncrements != null) {
+			return;	// Nothing to do
+		}
+
+		int numberOfTimeSteps = timeDiscretization.getNumberOfTimeSteps();
+
+		/*
+		 * Construction schedule of the Brownian bridge: in step k the point with time index bridgeIndex[k] is
+		 * W(t_m) = leftWeight[k] W(t_l) + rightWeight[k] W(t_r) + standardDeviation[k] Z_k,
+		 * where l = leftIndex[k], r = rightIndex[k] (r = -1 for the first step, which constructs W(T)).
+		 * The intervals are bisected breadth first, such that the first steps determine the coarse structure.
+		 */
+		int[]		bridgeIndex			= new int[numberOfTimeSteps];
+		int[]		leftIndex			= new int[numberOfTimeSteps];
+		int[]		rightIndex			= new int[numberOfTimeSteps];
+		double[]	leftWeight			= new double[numberOfTimeSteps];
+		double[]	rightWeight			= new double[numberOfTimeSteps];
+		double[]	standardDeviation	= new double[numberOfTimeSteps];
+
+		bridgeIndex[0]			= numberOfTimeSteps;
+		leftIndex[0]			= 0;
+		rightIndex[0]			= -1;
+		leftWeight[0]			= 1.0;
+		standardDeviation[0]	= Math.sqrt(timeDiscretization.getTime(numberOfTimeSteps) - timeDiscretization.getTime(0));
+
+		// Queue of intervals [left, right] (time indices) with known end points
+		int[] queueLeft		= new int[2*numberOfTimeSteps];
+		int[] queueRight	= new int[2*numberOfTimeSteps];
+		int queueStart = 0, queueEnd = 0;
+		queueLeft[queueEnd] = 0;
+		queueRight[queueEnd++] = numberOfTimeSteps;
+
+		int step = 1;
+		while(queueStart < queueEnd) {
+			int left	= queueLeft[queueStart];
+			int right	= queueRight[queueStart++];
+			if(right - left < 2) {
+				continue;
+			}
+
+			int middle = (left + right) / 2;
+			double timeLeft		= timeDiscretization.getTime(left);
+			double timeMiddle	= timeDiscretization.getTime(middle);
+			double timeRight	= timeDiscretization.getTime(right);
+
+			bridgeIndex[step]		= middle;
+			leftIndex[step]			= left;
+			rightIndex[step]		= right;
+			leftWeight[step]		= (timeRight - timeMiddle) / (timeRight - timeLeft);
+			rightWeight[step]		= (timeMiddle - timeLeft) / (timeRight - timeLeft);
+			standardDeviation[step]	= Math.sqrt((timeMiddle - timeLeft) * (timeRight - timeMiddle) / (timeRight - timeLeft));
+			step++;
+
+			queueLeft[queueEnd] = left;
+			queueRight[queueEnd++] = middle;
+			queueLeft[queueEnd] = middle;
+			queueRight[queueEnd++] = right;
+		}
+
+		// Create the quasi random number sequence
+		SobolSequence sobolSequence = new SobolSequence(numberOfTimeSteps * numberOfFactors, seed);
+
+		// Allocate memory
+		double[][][] brownianIncrementsArray = new double[numberOfTimeSteps][numberOfFactors][numberOfPaths];
+
+		double[] brownianMotionOnPath = new double[numberOfTimeSteps+1];
+		for(int path=0; path<numberOfPaths; path++) {
+			double[] uniform = sobolSequence.getNext();
+			for(int factor=0; factor<numberOfFactors; factor++) {
+				// Construct the path of W (W(t_0) = 0)
+				brownianMotionOnPath[0] = 0.0;
+				for(int k=0; k<numberOfTimeSteps; k++) {
+					double normal = NormalDistribution.inverseCumulativeDistribution(uniform[k * numberOfFactors + factor]);
+					double value = leftWeight[k] * brownianMotionOnPath[leftIndex[k]] + standardDeviation[k] * normal;
+					if(rightIndex[k] >= 0) {
+						value += rightWeight[k] * brownianMotionOnPath[rightIndex[k]];
+					}
+					brownianMotionOnPath[bridgeIndex[k]] = value;
+				}
+
+				for(int timeIndex=0; timeIndex<numberOfTimeSteps; timeIndex++) {
+					brownianIncrementsArray[timeIndex][factor][path] = brownianMotionOnPath[timeIndex+1] - brownianMotionOnPath[timeIndex];
+				}
+			}
+		}
+
+		// Allocate memory for RandomVariable wrapper objects.
+		brownianIncrements = new RandomVariableInterface[numberOfTimeSteps][numberOfFactors];
+
+		// Wrap the values in RandomVariable objects
+		for(int timeIndex=0; timeIndex<numberOfTimeSteps; timeIndex++) {
+			double time = timeDiscretization.getTime(timeIndex+1);
+			for(int factor=0; factor<numberOfFactors; factor++) {
+				brownianIncrements[timeIndex][factor] =
+						randomVariableFactory.createRandomVariable(time, brownianIncrementsArray[timeIndex][factor]);
+			}
+		}
+	}
+
+	@Override
+	public TimeDiscretizationInterface getTimeDiscretization() {
+		return timeDiscretization;
+	}
+
+	@Override
+	public int getNumberOfFactors() {
+		return numberOfFactors;
+	}
+
+	@Override
+	public int getNumberOfPaths() {
+		return numberOfPaths;
+	}
+
+	@Override
+	public RandomVariableInterface getRandomVariableForConstant(double value) {
+		return randomVariableFactory.createRandomVariable(value);
+	}
+
+	/**
+	 * @return Returns the seed.
+	 */
+	public int getSeed() {
+		return seed;
+	}
+
+	@Override
+	public String toString() {
+		return super.toString()
+				+ "\n" + "timeDiscretization: " + timeDiscretization.toString()
+				+ "\n" + "numberOfPaths: " + numberOfPaths
+				+ "\n" + "numberOfFactors: " + numberOfFactors
+				+ "\n" + "seed: " + seed;
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if (this == o) {
+			return true;
+		}
+		if (o == null || getClass() != o.getClass()) {
+			return false;
+		}
+
+		BrownianMotionSobolBridge that = (BrownianMotionSobolBridge) o;
+
+		if (numberOfFactors != that.numberOfFactors) {
+			return false;
+		}
+		if (numberOfPaths != that.numberOfPaths) {
+			return false;
+		}
+		if (seed != that.seed) {
+			return false;
+		}
+		return timeDiscretization.equals(that.timeDiscretization);
+	}
+
+	@Override
+	public RandomVariableInterface getIncrement(int timeIndex, int factor) {
+		return getBrownianIncrement(timeIndex, factor);
+	}
+
+	@Override
+	public int hashCode() {
+		int result = timeDiscretization.hashCode();
+		result = 31 * result + numberOfFactors;
+		result = 31 * result + numberOfPaths;
+		result = 31 * result + seed;
+		return result;
+	}
+}
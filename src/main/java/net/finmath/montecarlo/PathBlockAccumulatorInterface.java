@@ -0,0 +1,30 @@
+/*
+ * (c) Copyright Christian P. Fries, Germany. Contact: email@christian-fries.de.
+ *
+ * Created on 16.10.2026
+ */
+package net.finmath.montecarlo;
+
+import net.finmath.exception.CalculationException;
+
+/**
+ * Interface implemented by objects which accumulate results from a Monte-Carlo simulation
+ * performed in blocks of paths.
+ *
+ * The accumulator is called once for each block with a simulation representing only the paths of that block.
+ * The simulation of a block is released after all accumulators have been called, hence an accumulator
+ * should only keep aggregated (path independent) quantities.
+ *
+ * @author Christian Fries
+ * @version 1.0
+ */
+public interface PathBlockAccumulatorInterface {
+
+	/**
+	 * Accumulate the results for a block of paths.
+	 *
+	 * @param pathBlock A simulation representing the paths of the block.
+	 * @throws CalculationException Thrown if the valuation fails, specific cause may be available via the <code>cause()</code> method.
+	 */
+	void accumulate(MonteCarloSimulationInterface pathBlock) throws CalculationException;
+}
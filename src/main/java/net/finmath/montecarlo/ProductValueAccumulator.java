@@ -0,0 +1,93 @@
+/*
+ * (c) Copyright Christian P. Fries, Germany. Contact: email@christian-fries.de.
+ *
+ * Created on 16.10.2026
+ */
+package net.finmath.montecarlo;
+
+import net.finmath.exception.CalculationException;
+import net.finmath.stochastic.RandomVariableInterface;
+
+/**
+ * Accumulates the value of a product over blocks of paths.
+ *
+ * For each block the product is valued and the sum and the sum of squares of the realizations are accumulated,
+ * such that the Monte-Carlo value and its standard error over all blocks are available
+ * without keeping the realizations.
+ *
+ * @author Christian Fries
+ * @version 1.0
+ */
+public class ProductValueAccumulator implements PathBlockAccumulatorInterface {
+
+	private final AbstractMonteCarloProduct	product;
+	private final double					evaluationTime;
+
+	private double	sum;
+	private double	sumOfSquares;
+	private long	numberOfPaths;
+
+	/**
+	 * Create an accumulator for the value of a product.
+	 *
+	 * @param product The product to value.
+	 * @param evaluationTime The evaluation time passed to {@link AbstractMonteCarloProduct#getValue(double, MonteCarloSimulationInterface)}.
+	 */
+	public ProductValueAccumulator(AbstractMonteCarloProduct product, double evaluationTime) {
+		super();
+		this.product = product;
+		this.evaluationTime = evaluationTime;
+	}
+
+	/**
+	 * Create an accumulator for the value of a product at evaluation time 0.
+	 *
+	 * @param product The product to value.
+	 */
+	public ProductValueAccumulator(AbstractMonteCarloProduct product) {
+		this(product, 0.0);
+	}
+
+	@Override
+	public void accumulate(MonteCarloSimulationInterface pathBlock) throws CalculationException {
+		RandomVariableInterface value = product.getValue(evaluationTime, pathBlock);
+
+		int numberOfPathsOfBlock = pathBlock.getNumberOfPaths();
+		double sumOfBlock			= value.getAverage() * numberOfPathsOfBlock;
+		double sumOfSquaresOfBlock	= value.squared().getAverage() * numberOfPathsOfBlock;
+
+		synchronized(this) {
+			sum				+= sumOfBlock;
+			sumOfSquares	+= sumOfSquaresOfBlock;
+			numberOfPaths	+= numberOfPathsOfBlock;
+		}
+	}
+
+	/**
+	 * @return The Monte-Carlo value of the product, i.e., the average over all accumulated paths.
+	 */
+	public synchronized double getValue() {
+		return sum / numberOfPaths;
+	}
+
+	/**
+	 * @return The standard error of the Monte-Carlo value.
+	 */
+	public synchronized double getStandardError() {
+		double average = sum / numberOfPaths;
+		double variance = sumOfSquares / numberOfPaths - average * average;
+		return Math.sqrt(Math.max(variance, 0.0) / numberOfPaths);
+	}
+
+	/**
+	 * @return The number of paths accumulated so far.
+	 */
+	public synchronized long getNumberOfPaths() {
+		return numberOfPaths;
+	}
+
+	@Override
+	public String toString() {
+		return "ProductValueAccumulator [product=" + product + ", evaluationTime=" + evaluationTime + ", value=" + getValue() + ", numberOfPaths=" + getNumberOfPaths() + "]";
+	}
+}
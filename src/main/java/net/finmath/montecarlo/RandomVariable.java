@@ -607,6 +607,16 @@ public class RandomVariable implements RandomVariableInterface {
 		}
 	}
 
+	/**
+	 * Returns the internal array of realizations (without copying) or null if this random variable is deterministic.
+	 * The array must not be modified.
+	 *
+	 * @return The internal array of realizations or null.
+	 */
+	double[] getRealizationsArray() {
+		return realizations;
+	}
+
 	@Override
 	public double[] getRealizations() {
 		if(isDeterministic()) {
@@ -1414,11 +1424,72 @@ public class RandomVariable implements RandomVariableInterface {
 	@Override
 	public RandomVariableInterface addSumProduct(List<RandomVariableInterface> factor1, List<RandomVariableInterface> factor2)
 	{
-		RandomVariableInterface result = this;
-		for(int i=0; i<factor1.size(); i++) {
-			result = result.addProduct(factor1.get(i), factor2.get(i));
+		/*
+		 * If all factors are of this type (or deterministic), the sum product is calculated in a single pass
+		 * with a single result array, otherwise we use successive calls to addProduct.
+		 */
+		int numberOfTerms = factor1.size();
+		double newTime = time;
+		int newSize = size();
+		boolean isSinglePass = true;
+		for(int termIndex=0; termIndex<numberOfTerms && isSinglePass; termIndex++) {
+			RandomVariableInterface factor1OfTerm = factor1.get(termIndex);
+			RandomVariableInterface factor2OfTerm = factor2.get(termIndex);
+			isSinglePass = (factor1OfTerm instanceof RandomVariable || factor1OfTerm.isDeterministic()) && factor1OfTerm.getTypePriority() <= this.getTypePriority()
+					&& (factor2OfTerm instanceof RandomVariable || factor2OfTerm.isDeterministic()) && factor2OfTerm.getTypePriority() <= this.getTypePriority();
+			newTime = Math.max(newTime, Math.max(factor1OfTerm.getFiltrationTime(), factor2OfTerm.getFiltrationTime()));
+			newSize = Math.max(newSize, Math.max(factor1OfTerm.size(), factor2OfTerm.size()));
+		}
+
+		if(!isSinglePass) {
+			RandomVariableInterface result = this;
+			for(int i=0; i<numberOfTerms; i++) {
+				result = result.addProduct(factor1.get(i), factor2.get(i));
+			}
+			return result;
 		}
-		return result;
+
+		double[][]	factor1Realizations	= new double[numberOfTerms][];
+		double[][]	factor2Realizations	= new double[numberOfTerms][];
+		double[]	factor1Values		= new double[numberOfTerms];
+		double[]	factor2Values		= new double[numberOfTerms];
+		for(int termIndex=0; termIndex<numberOfTerms; termIndex++) {
+			RandomVariableInterface factor1OfTerm = factor1.get(termIndex);
+			RandomVariableInterface factor2OfTerm = factor2.get(termIndex);
+			if(factor1OfTerm.isDeterministic()) {
+				factor1Values[termIndex] = factor1OfTerm.get(0);
+			}
+			else {
+				factor1Realizations[termIndex] = ((RandomVariable)factor1OfTerm).realizations;
+			}
+			if(factor2OfTerm.isDeterministic()) {
+				factor2Values[termIndex] = factor2OfTerm.get(0);
+			}
+			else {
+				factor2Realizations[termIndex] = ((RandomVariable)factor2OfTerm).realizations;
+			}
+		}
+
+		if(newSize == 1) {
+			double newValueIfNonStochastic = valueIfNonStochastic;
+			for(int termIndex=0; termIndex<numberOfTerms; termIndex++) {
+				newValueIfNonStochastic += factor1Values[termIndex] * factor2Values[termIndex];
+			}
+			return new RandomVariable(newTime, newValueIfNonStochastic);
+		}
+
+		double[] newRealizations = new double[newSize];
+		for(int i=0; i<newSize; i++) {
+			double value = realizations != null ? realizations[i] : valueIfNonStochastic;
+			for(int termIndex=0; termIndex<numberOfTerms; termIndex++) {
+				double[] factor1RealizationsOfTerm = factor1Realizations[termIndex];
+				double[] factor2RealizationsOfTerm = factor2Realizations[termIndex];
+				value += (factor1RealizationsOfTerm != null ? factor1RealizationsOfTerm[i] : factor1Values[termIndex])
+						* (factor2RealizationsOfTerm != null ? factor2RealizationsOfTerm[i] : factor2Values[termIndex]);
+			}
+			newRealizations[i] = value;
+		}
+		return new RandomVariable(newTime, newRealizations);
 	}
 
 	@Override
@@ -0,0 +1,318 @@
+/*
+ * (c) Copyright Christian P. Fries, Germany. Contact: email@christian-fries.de.
+ *
+ * Created on 16.10.2026
+ */
+package net.finmath.montecarlo;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.DoubleBinaryOperator;
+import java.util.function.DoubleUnaryOperator;
+
+import net.finmath.stochastic.RandomVariableInterface;
+
+/**
+ * A chain of operations on a random variable which is evaluated in a single pass (fused)
+ * over the realizations, using a single result array.
+ *
+ * Typical payoff code like
+ * <code>value.sub(strike).floor(0.0).mult(periodLength).div(numeraire)</code>
+ * allocates a new array of realizations for each operator. Using
+ * <code>RandomVariableExpression.of(value).sub(strike).floor(0.0).mult(periodLength).div(numeraire).get()</code>
+ * the operations are recorded and evaluated in {@link #get()}: the realizations are processed in blocks
+ * (small enough to remain in the cache) and all operations are applied to a block before moving to the next one.
+ *
+ * The fused evaluation is performed if all (stochastic) arguments are of type {@link RandomVariable}.
+ * Otherwise (e.g. for random variables supporting automatic differentiation), the operations are applied
+ * one after another using the methods of <code>RandomVariableInterface</code>, such that the result
+ * (including its type) is the same as if the operators had been called directly.
+ *
+ * The class is mutable and not thread safe: each operator call appends an operation to this expression.
+ *
+ * @author Christian Fries
+ * @version 1.0
+ */
+public class RandomVariableExpression {
+
+	private static final int blockSize = 1024;
+
+	private enum OperatorType {
+		ADD, SUB, MULT, DIV, CAP, FLOOR, ACCRUE, DISCOUNT, ADDPRODUCT, UNARY, BINARY
+	}
+
+	private static class Operation {
+		private final OperatorType				type;
+		private final RandomVariableInterface	argument1;
+		private final RandomVariableInterface	argument2;
+		private final double					scalar;
+		private final DoubleUnaryOperator		unaryOperator;
+		private final DoubleBinaryOperator		binaryOperator;
+
+		private Operation(OperatorType type, RandomVariableInterface argument1, RandomVariableInterface argument2, double scalar, DoubleUnaryOperator unaryOperator, DoubleBinaryOperator binaryOperator) {
+			this.type = type;
+			this.argument1 = argument1;
+			this.argument2 = argument2;
+			this.scalar = scalar;
+			this.unaryOperator = unaryOperator;
+			this.binaryOperator = binaryOperator;
+		}
+	}
+
+	private final RandomVariableInterface	value;
+	private final List<Operation>			operations = new ArrayList<>();
+
+	private RandomVariableExpression(RandomVariableInterface value) {
+		super();
+		this.value = value;
+	}
+
+	/**
+	 * Start an expression with a given random variable.
+	 *
+	 * @param value The random variable to which the operations are applied.
+	 * @return A new expression.
+	 */
+	public static RandomVariableExpression of(RandomVariableInterface value) {
+		return new RandomVariableExpression(value);
+	}
+
+	public RandomVariableExpression add(double value) {
+		return addOperation(OperatorType.ADD, null, null, value);
+	}
+
+	public RandomVariableExpression add(RandomVariableInterface randomVariable) {
+		return addOperation(OperatorType.ADD, randomVariable, null, Double.NaN);
+	}
+
+	public RandomVariableExpression sub(double value) {
+		return addOperation(OperatorType.SUB, null, null, value);
+	}
+
+	public RandomVariableExpression sub(RandomVariableInterface randomVariable) {
+		return addOperation(OperatorType.SUB, randomVariable, null, Double.NaN);
+	}
+
+	public RandomVariableExpression mult(double value) {
+		return addOperation(OperatorType.MULT, null, null, value);
+	}
+
+	public RandomVariableExpression mult(RandomVariableInterface randomVariable) {
+		return addOperation(OperatorType.MULT, randomVariable, null, Double.NaN);
+	}
+
+	public RandomVariableExpression div(double value) {
+		return addOperation(OperatorType.DIV, null, null, value);
+	}
+
+	public RandomVariableExpression div(RandomVariableInterface randomVariable) {
+		return addOperation(OperatorType.DIV, randomVariable, null, Double.NaN);
+	}
+
+	public RandomVariableExpression cap(double cap) {
+		return addOperation(OperatorType.CAP, null, null, cap);
+	}
+
+	public RandomVariableExpression cap(RandomVariableInterface cap) {
+		return addOperation(OperatorType.CAP, cap, null, Double.NaN);
+	}
+
+	public RandomVariableExpression floor(double floor) {
+		return addOperation(OperatorType.FLOOR, null, null, floor);
+	}
+
+	public RandomVariableExpression floor(RandomVariableInterface floor) {
+		return addOperation(OperatorType.FLOOR, floor, null, Double.NaN);
+	}
+
+	public RandomVariableExpression accrue(RandomVariableInterface rate, double periodLength) {
+		return addOperation(OperatorType.ACCRUE, rate, null, periodLength);
+	}
+
+	public RandomVariableExpression discount(RandomVariableInterface rate, double periodLength) {
+		return addOperation(OperatorType.DISCOUNT, rate, null, periodLength);
+	}
+
+	public RandomVariableExpression addProduct(RandomVariableInterface factor1, double factor2) {
+		return addOperation(OperatorType.ADDPRODUCT, factor1, null, factor2);
+	}
+
+	public RandomVariableExpression addProduct(RandomVariableInterface factor1, RandomVariableInterface factor2) {
+		return addOperation(OperatorType.ADDPRODUCT, factor1, factor2, Double.NaN);
+	}
+
+	public RandomVariableExpression apply(DoubleUnaryOperator operator) {
+		operations.add(new Operation(OperatorType.UNARY, null, null, Double.NaN, operator, null));
+		return this;
+	}
+
+	public RandomVariableExpression apply(DoubleBinaryOperator operator, RandomVariableInterface argument) {
+		operations.add(new Operation(OperatorType.BINARY, argument, null, Double.NaN, null, operator));
+		return this;
+	}
+
+	private RandomVariableExpression addOperation(OperatorType type, RandomVariableInterface argument1, RandomVariableInterface argument2, double scalar) {
+		operations.add(new Operation(type, argument1, argument2, scalar, null, null));
+		return this;
+	}
+
+	/**
+	 * Evaluate the expression.
+	 *
+	 * @return The random variable resulting from applying all operations.
+	 */
+	public RandomVariableInterface get() {
+		if(!isFusable()) {
+			return getByOperators();
+		}
+
+		double time = value.getFiltrationTime();
+		int size = value.size();
+		for(Operation operation : operations) {
+			if(operation.argument1 != null) {
+				time = Math.max(time, operation.argument1.getFiltrationTime());
+				size = Math.max(size, operation.argument1.size());
+			}
+			if(operation.argument2 != null) {
+				time = Math.max(time, operation.argument2.getFiltrationTime());
+				size = Math.max(size, operation.argument2.size());
+			}
+		}
+
+		if(size == 1) {
+			double[] result = new double[] { value.get(0) };
+			applyOperations(result, 0, 1);
+			return new RandomVariable(time, result[0]);
+		}
+
+		double[] result = new double[size];
+		double[] valueRealizations = ((RandomVariable)value).getRealizationsArray();
+		for(int blockStart=0; blockStart<size; blockStart += blockSize) {
+			int blockEnd = Math.min(blockStart + blockSize, size);
+			if(valueRealizations != null) {
+				System.arraycopy(valueRealizations, blockStart, result, blockStart, blockEnd-blockStart);
+			}
+			else {
+				Arrays.fill(result, blockStart, blockEnd, value.get(0));
+			}
+			applyOperations(result, blockStart, blockEnd);
+		}
+
+		return new RandomVariable(time, result);
+	}
+
+	/**
+	 * Apply all operations to the elements <code>from</code> (inclusive) to <code>to</code> (exclusive) of the given array.
+	 */
+	private void applyOperations(double[] values, int from, int to) {
+		for(Operation operation : operations) {
+			double[]	argument1	= operation.argument1 != null ? ((RandomVariable)operation.argument1).getRealizationsArray() : null;
+			double		value1		= operation.argument1 != null && argument1 == null ? operation.argument1.get(0) : operation.scalar;
+
+			switch(operation.type) {
+			case ADD:
+				if(argument1 == null) { for(int i=from; i<to; i++) { values[i] = values[i] + value1; } }
+				else { for(int i=from; i<to; i++) { values[i] = values[i] + argument1[i]; } }
+				break;
+			case SUB:
+				if(argument1 == null) { for(int i=from; i<to; i++) { values[i] = values[i] - value1; } }
+				else { for(int i=from; i<to; i++) { values[i] = values[i] - argument1[i]; } }
+				break;
+			case MULT:
+				if(argument1 == null) { for(int i=from; i<to; i++) { values[i] = values[i] * value1; } }
+				else { for(int i=from; i<to; i++) { values[i] = values[i] * argument1[i]; } }
+				break;
+			case DIV:
+				if(argument1 == null) { for(int i=from; i<to; i++) { values[i] = values[i] / value1; } }
+				else { for(int i=from; i<to; i++) { values[i] = values[i] / argument1[i]; } }
+				break;
+			case CAP:
+				if(argument1 == null) { for(int i=from; i<to; i++) { values[i] = Math.min(values[i], value1); } }
+				else { for(int i=from; i<to; i++) { values[i] = Math.min(values[i], argument1[i]); } }
+				break;
+			case FLOOR:
+				if(argument1 == null) { for(int i=from; i<to; i++) { values[i] = Math.max(values[i], value1); } }
+				else { for(int i=from; i<to; i++) { values[i] = Math.max(values[i], argument1[i]); } }
+				break;
+			case ACCRUE: {
+				double periodLength = operation.scalar;
+				if(argument1 == null) { double rate = operation.argument1.get(0); for(int i=from; i<to; i++) { values[i] = values[i] * (1 + rate * periodLength); } }
+				else { for(int i=from; i<to; i++) { values[i] = values[i] * (1 + argument1[i] * periodLength); } }
+				break;
+			}
+			case DISCOUNT: {
+				double periodLength = operation.scalar;
+				if(argument1 == null) { double rate = operation.argument1.get(0); for(int i=from; i<to; i++) { values[i] = values[i] / (1.0 + rate * periodLength); } }
+				else { for(int i=from; i<to; i++) { values[i] = values[i] / (1.0 + argument1[i] * periodLength); } }
+				break;
+			}
+			case ADDPRODUCT: {
+				double[]	argument2	= operation.argument2 != null ? ((RandomVariable)operation.argument2).getRealizationsArray() : null;
+				double		value2		= operation.argument2 != null && argument2 == null ? operation.argument2.get(0) : operation.scalar;
+				double		factor1		= operation.argument1.get(0);
+				if(argument1 == null && argument2 == null)		{ for(int i=from; i<to; i++) { values[i] = values[i] + factor1 * value2; } }
+				else if(argument1 == null)						{ for(int i=from; i<to; i++) { values[i] = values[i] + factor1 * argument2[i]; } }
+				else if(argument2 == null)						{ for(int i=from; i<to; i++) { values[i] = values[i] + argument1[i] * value2; } }
+				else											{ for(int i=from; i<to; i++) { values[i] = values[i] + argument1[i] * argument2[i]; } }
+				break;
+			}
+			case UNARY: {
+				DoubleUnaryOperator operator = operation.unaryOperator;
+				for(int i=from; i<to; i++) { values[i] = operator.applyAsDouble(values[i]); }
+				break;
+			}
+			case BINARY: {
+				DoubleBinaryOperator operator = operation.binaryOperator;
+				if(argument1 == null) { for(int i=from; i<to; i++) { values[i] = operator.applyAsDouble(values[i], value1); } }
+				else { for(int i=from; i<to; i++) { values[i] = operator.applyAsDouble(values[i], argument1[i]); } }
+				break;
+			}
+			default:
+				throw new UnsupportedOperationException("Operator " + operation.type + " not supported.");
+			}
+		}
+	}
+
+	/**
+	 * Evaluate the expression by successive application of the operators of <code>RandomVariableInterface</code>.
+	 */
+	private RandomVariableInterface getByOperators() {
+		RandomVariableInterface result = value;
+		for(Operation operation : operations) {
+			RandomVariableInterface argument1 = operation.argument1;
+			switch(operation.type) {
+			case ADD:			result = argument1 != null ? result.add(argument1) : result.add(operation.scalar); break;
+			case SUB:			result = argument1 != null ? result.sub(argument1) : result.sub(operation.scalar); break;
+			case MULT:			result = argument1 != null ? result.mult(argument1) : result.mult(operation.scalar); break;
+			case DIV:			result = argument1 != null ? result.div(argument1) : result.div(operation.scalar); break;
+			case CAP:			result = argument1 != null ? result.cap(argument1) : result.cap(operation.scalar); break;
+			case FLOOR:			result = argument1 != null ? result.floor(argument1) : result.floor(operation.scalar); break;
+			case ACCRUE:		result = result.accrue(argument1, operation.scalar); break;
+			case DISCOUNT:		result = result.discount(argument1, operation.scalar); break;
+			case ADDPRODUCT:	result = operation.argument2 != null ? result.addProduct(argument1, operation.argument2) : result.addProduct(argument1, operation.scalar); break;
+			case UNARY:			result = result.apply(operation.unaryOperator); break;
+			case BINARY:		result = result.apply(operation.binaryOperator, argument1); break;
+			default:
+				throw new UnsupportedOperationException("Operator " + operation.type + " not supported.");
+			}
+		}
+		return result;
+	}
+
+	private boolean isFusable() {
+		if(!isFusable(value)) {
+			return false;
+		}
+		for(Operation operation : operations) {
+			if(!isFusable(operation.argument1) || !isFusable(operation.argument2)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static boolean isFusable(RandomVariableInterface randomVariable) {
+		return randomVariable == null || randomVariable.getClass() == RandomVariable.class;
+	}
+}
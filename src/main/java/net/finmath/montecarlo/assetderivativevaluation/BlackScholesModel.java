@@ -121,6 +121,12 @@ public class BlackScholesModel extends AbstractModel {
 		return factorLoadings;
 	}
 
+	@Override
+	public boolean isPathChunkingSupported() {
+		// Drift and factor loadings are deterministic
+		return true;
+	}
+
 	@Override
 	public RandomVariableInterface applyStateSpaceTransform(int componentIndex, RandomVariableInterface randomVariable) {
 		return randomVariable.exp();
@@ -0,0 +1,232 @@
+/*
+ * (c) Copyright Christian P. Fries, Germany. Contact: email@christian-fries.de.
+ *
+ * Created on 16.10.2026
+ */
+package net.finmath.montecarlo.automaticdifferentiation.backward;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import net.finmath.montecarlo.automaticdifferentiation.RandomVariableDifferentiableInterface;
+import net.finmath.montecarlo.automaticdifferentiation.backward.RandomVariableDifferentiableAAD.OperatorType;
+import net.finmath.stochastic.RandomVariableInterface;
+
+/**
+ * A tape recording the operations performed on {@link RandomVariableDifferentiableAADTape} objects.
+ *
+ * The operations are stored in creation order in index addressed arrays: the operator of entry <i>i</i>,
+ * the tape indices of its arguments (-1 for non-differentiable arguments) and the argument values required
+ * for the calculation of the partial derivatives. Since an argument is always recorded before its result,
+ * the gradient is calculated by a single reverse sweep over the tape, where the derivatives are kept
+ * in an array indexed by the tape index.
+ *
+ * The id of an entry is the index on the tape plus an offset. Resetting the tape removes all entries
+ * (keeping the allocated arrays for reuse) and increases the offset, such that ids remain unique and
+ * random variables recorded before the reset can be detected.
+ *
+ * The recording is thread safe (synchronized).
+ *
+ * @author Christian Fries
+ * @version 1.0
+ */
+final class AADTape implements Serializable {
+
+	private static final long serialVersionUID = 3087214396412750236L;
+
+	private static final int	initialCapacity = 1024;
+	private static final byte	independent = -1;
+
+	private static final OperatorType[] operatorTypes = OperatorType.values();
+
+	private long	idOfFirstEntry;
+	private int		numberOfEntries;
+	private int		numberOfArguments;
+
+	private byte[]						entryOperatorType		= new byte[initialCapacity];
+	private int[]						entryArgumentsStart		= new int[initialCapacity+1];
+	private Object[]					entryOperator			= new Object[initialCapacity];
+
+	private int[]						argumentIndex			= new int[initialCapacity];
+	private RandomVariableInterface[]	argumentValue			= new RandomVariableInterface[initialCapacity];
+
+	/**
+	 * Record an independent (a leaf node) on the tape.
+	 *
+	 * @return The id of the new entry.
+	 */
+	long recordIndependent() {
+		return record(null, null, null);
+	}
+
+	/**
+	 * Record an operation on the tape.
+	 *
+	 * @param operatorType The operator.
+	 * @param arguments The arguments of the operator (differentiable or not).
+	 * @param operator An operator object required for the differentiation (e.g. the estimator of a conditional expectation) or null.
+	 * @return The id of the new entry.
+	 */
+	synchronized long record(OperatorType operatorType, List<RandomVariableInterface> arguments, Object operator) {
+		int numberOfArgumentsOfEntry = arguments != null ? arguments.size() : 0;
+		ensureCapacity(numberOfEntries+1, numberOfArguments+numberOfArgumentsOfEntry);
+
+		int entry = numberOfEntries;
+		entryOperatorType[entry] = operatorType != null ? (byte)operatorType.ordinal() : independent;
+		entryOperator[entry] = operator;
+
+		if(arguments != null) {
+			int[] argumentIndices = new int[numberOfArgumentsOfEntry];
+			RandomVariableInterface[] argumentValues = new RandomVariableInterface[numberOfArgumentsOfEntry];
+			for(int i=0; i<numberOfArgumentsOfEntry; i++) {
+				RandomVariableInterface argument = arguments.get(i);
+				if(argument instanceof RandomVariableDifferentiableAADTape) {
+					RandomVariableDifferentiableAADTape argumentOnTape = (RandomVariableDifferentiableAADTape)argument;
+					if(argumentOnTape.getFactory().getTape() != this) {
+						throw new IllegalArgumentException("Argument has been recorded on a different tape (created by a different factory).");
+					}
+					argumentIndices[i] = getIndex(argumentOnTape.getID());
+					argumentValues[i] = argumentOnTape.getValues();
+				}
+				else if(argument instanceof RandomVariableDifferentiableInterface) {
+					// Treating the argument as a constant would silently drop its derivatives
+					throw new IllegalArgumentException("Argument is a differentiable random variable which is not recorded on a tape (" + argument.getClass().getSimpleName() + "). Differentiable random variables of different implementations cannot be combined.");
+				}
+				else {
+					argumentIndices[i] = -1;
+					argumentValues[i] = argument;
+				}
+			}
+
+			// Retain only the values which are required for the partial derivatives
+			List<RandomVariableInterface> argumentValuesRequired = RandomVariableDifferentiableAAD.getArgumentValuesRequiredForDifferentiation(operatorType, i -> argumentIndices[i] >= 0, Arrays.asList(argumentValues));
+			for(int i=0; i<numberOfArgumentsOfEntry; i++) {
+				argumentIndex[numberOfArguments+i] = argumentIndices[i];
+				argumentValue[numberOfArguments+i] = argumentValuesRequired != null ? argumentValuesRequired.get(i) : null;
+			}
+		}
+
+		numberOfArguments += numberOfArgumentsOfEntry;
+		numberOfEntries++;
+		entryArgumentsStart[numberOfEntries] = numberOfArguments;
+
+		return idOfFirstEntry + entry;
+	}
+
+	/**
+	 * Calculates the gradient of the entry with the given id with respect to the recorded entries
+	 * by a reverse sweep over the tape.
+	 *
+	 * @param id The id of the entry to differentiate.
+	 * @param independentIDs The ids of the entries with respect to which the derivative is calculated. If null, derivatives w.r.t. all leaf nodes (or all nodes, depending on the factory) are returned.
+	 * @param factory The factory providing the values and the settings for the differentiation.
+	 * @return The gradient map.
+	 */
+	synchronized Map<Long, RandomVariableInterface> getGradient(long id, Set<Long> independentIDs, RandomVariableDifferentiableAADTapeFactory factory) {
+		int rootIndex = getIndex(id);
+
+		// If the independents are known, the sweep may stop at the first independent
+		int lastIndex = 0;
+		if(independentIDs != null) {
+			lastIndex = rootIndex;
+			for(Long independentID : independentIDs) {
+				long index = independentID - idOfFirstEntry;
+				if(index >= 0 && index < lastIndex) {
+					lastIndex = (int)index;
+				}
+			}
+		}
+
+		boolean isGradientRetainsLeafNodesOnly = factory.isGradientRetainsLeafNodesOnly();
+
+		RandomVariableInterface[] derivatives = new RandomVariableInterface[rootIndex+1];
+		derivatives[rootIndex] = factory.createRandomVariableNonDifferentiable(Double.NEGATIVE_INFINITY, 1.0);
+
+		Map<Long, RandomVariableInterface> gradient = new HashMap<>();
+		for(int index = rootIndex; index >= lastIndex; index--) {
+			RandomVariableInterface derivative = derivatives[index];
+			if(derivative == null) {
+				continue;
+			}
+
+			// All dependents have been processed, the derivative of this entry is complete.
+			derivatives[index] = null;
+
+			boolean isLeaf = entryOperatorType[index] == independent;
+			if(!isLeaf) {
+				OperatorType operatorType = operatorTypes[entryOperatorType[index]];
+				int argumentsStart	= entryArgumentsStart[index];
+				int argumentsCount	= entryArgumentsStart[index+1] - argumentsStart;
+
+				RandomVariableInterface X = argumentsCount > 0 ? argumentValue[argumentsStart] : null;
+				RandomVariableInterface Y = argumentsCount > 1 ? argumentValue[argumentsStart+1] : null;
+				RandomVariableInterface Z = argumentsCount > 2 ? argumentValue[argumentsStart+2] : null;
+
+				for(int argumentNumber = 0; argumentNumber < argumentsCount; argumentNumber++) {
+					int argument = argumentIndex[argumentsStart+argumentNumber];
+					if(argument < 0) {
+						continue;
+					}
+
+					RandomVariableInterface partialDerivative	= RandomVariableDifferentiableAAD.getPartialDerivative(operatorType, X, Y, Z, argumentNumber, factory);
+					RandomVariableInterface derivativeOfResult	= RandomVariableDifferentiableAAD.getDerivativePropagatedToArgument(operatorType, entryOperator[index], argumentNumber, derivative, X, factory);
+
+					derivatives[argument] = RandomVariableDifferentiableAAD.getDerivativeAccumulated(derivatives[argument], partialDerivative, derivativeOfResult, factory);
+				}
+			}
+
+			boolean isRetained = independentIDs != null ? independentIDs.contains(idOfFirstEntry + index) : (isLeaf || !isGradientRetainsLeafNodesOnly);
+			if(isRetained) {
+				gradient.put(idOfFirstEntry + index, derivative);
+			}
+		}
+
+		return gradient;
+	}
+
+	/**
+	 * Removes all entries from the tape. The allocated memory is kept for reuse.
+	 * Random variables recorded before the reset cannot be used as arguments afterwards.
+	 */
+	synchronized void reset() {
+		Arrays.fill(entryOperator, 0, numberOfEntries, null);
+		Arrays.fill(argumentValue, 0, numberOfArguments, null);
+
+		idOfFirstEntry += numberOfEntries;
+		numberOfEntries = 0;
+		numberOfArguments = 0;
+	}
+
+	/**
+	 * @return The number of entries recorded on the tape.
+	 */
+	synchronized int size() {
+		return numberOfEntries;
+	}
+
+	private int getIndex(long id) {
+		long index = id - idOfFirstEntry;
+		if(index < 0 || index >= numberOfEntries) {
+			throw new IllegalStateException("Random variable with id " + id + " is not recorded on the current tape (the tape has been reset after its creation).");
+		}
+		return (int)index;
+	}
+
+	private void ensureCapacity(int requiredNumberOfEntries, int requiredNumberOfArguments) {
+		if(requiredNumberOfEntries > entryOperatorType.length) {
+			int newCapacity = Math.max(requiredNumberOfEntries, 2*entryOperatorType.length);
+			entryOperatorType	= Arrays.copyOf(entryOperatorType, newCapacity);
+			entryArgumentsStart	= Arrays.copyOf(entryArgumentsStart, newCapacity+1);
+			entryOperator		= Arrays.copyOf(entryOperator, newCapacity);
+		}
+		if(requiredNumberOfArguments > argumentIndex.length) {
+			int newCapacity = Math.max(requiredNumberOfArguments, 2*argumentIndex.length);
+			argumentIndex	= Arrays.copyOf(argumentIndex, newCapacity);
+			argumentValue	= Arrays.copyOf(argumentValue, newCapacity);
+		}
+	}
+}
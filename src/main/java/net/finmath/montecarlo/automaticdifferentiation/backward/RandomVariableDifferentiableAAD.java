@@ -14,9 +14,11 @@ import java.util.TreeMap;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.DoubleBinaryOperator;
 import java.util.function.DoubleUnaryOperator;
+import java.util.function.IntPredicate;
 import java.util.function.IntToDoubleFunction;
 import java.util.stream.Collectors;
 import java.util.stream.DoubleStream;
+import java.util.stream.IntStream;
 
 import net.finmath.functions.DoubleTernaryOperator;
 import net.finmath.montecarlo.RandomVariable;
@@ -56,7 +58,7 @@ public class RandomVariableDifferentiableAAD implements RandomVariableDifferenti
 
 	private static AtomicLong indexOfNextRandomVariable = new AtomicLong(0);
 
-	private enum OperatorType {
+	enum OperatorType {
 		ADD, MULT, DIV, SUB, SQUARED, SQRT, LOG, SIN, COS, EXP, INVERT, CAP, FLOOR, ABS,
 		ADDPRODUCT, ADDRATIO, SUBRATIO, CHOOSE, DISCOUNT, ACCRUE, POW, MIN, MAX, AVERAGE, VARIANCE,
 		STDEV, STDERROR, SVARIANCE, AVERAGE2, VARIANCE2,
@@ -94,60 +96,7 @@ public class RandomVariableDifferentiableAAD implements RandomVariableDifferenti
 			this.operator = operator;
 			this.factory = factory;
 			// This is the simple modification which reduces memory requirements.
-			if(operatorType != null && (operatorType.equals(OperatorType.ADD) || operatorType.equals(OperatorType.SUB))) {
-				// Addition does not need to retain arguments
-				argumentValues = null;
-			}
-			else if(operatorType != null && operatorType.equals(OperatorType.AVERAGE)) {
-				// Average does not need to retain arguments
-				argumentValues = null;
-			}
-			else if(operatorType != null && operatorType.equals(OperatorType.MULT)) {
-				// Product only needs to retain factors on differentiables
-				if(arguments.get(0) == null) {
-					argumentValues.set(1, null);
-				}
-				if(arguments.get(1) == null) {
-					argumentValues.set(0, null);
-				}
-			}
-			else if(operatorType != null && operatorType.equals(OperatorType.DIV)) {
-				// Division only needs to retain numerator if denominator is differentiable
-				if(arguments.get(1) == null) {
-					argumentValues.set(0, null);
-				}
-			}
-			else if(operatorType != null && operatorType.equals(OperatorType.ADDPRODUCT)) {
-				// Addition does not need to retain arguments
-				argumentValues.set(0, null);
-				// Addition of product only needs to retain factors on differentiables
-				if(arguments.get(1) == null) {
-					argumentValues.set(2, null);
-				}
-				if(arguments.get(2) == null) {
-					argumentValues.set(1, null);
-				}
-			}
-			else if(operatorType != null && operatorType.equals(OperatorType.ACCRUE)) {
-				// Addition of product only needs to retain factors on differentiables
-				if(arguments.get(1) == null && arguments.get(2) == null) {
-					argumentValues.set(0, null);
-				}
-				if(arguments.get(0) == null && arguments.get(1) == null) {
-					argumentValues.set(1, null);
-				}
-				if(arguments.get(0) == null && arguments.get(2) == null) {
-					argumentValues.set(2, null);
-				}
-			}
-			else if(operatorType != null && operatorType.equals(OperatorType.CHOOSE)) {
-				if(arguments.get(0) == null) {
-					argumentValues.set(1, null);
-					argumentValues.set(2, null);
-				}
-			}
-
-			this.argumentValues = argumentValues;
+			this.argumentValues = getArgumentValuesRequiredForDifferentiation(operatorType, argumentIndex -> arguments.get(argumentIndex) != null, argumentValues);
 		}
 
 		private void propagateDerivativesFromResultToArgument(Map<Long, RandomVariableInterface> derivatives) {
@@ -158,27 +107,8 @@ public class RandomVariableDifferentiableAAD implements RandomVariableDifferenti
 					Long argumentID = argument.id;
 
 					RandomVariableInterface partialDerivative	= getPartialDerivative(argument, argumentIndex);
-					RandomVariableInterface derivative			= derivatives.get(id);
-					RandomVariableInterface argumentDerivative	= derivatives.get(argumentID);
-
-					// Implementation of AVERAGE (see https://ssrn.com/abstract=2995695 for details).
-					if(operatorType == OperatorType.AVERAGE) {
-						derivative = derivative.average();
-					}
-					// Implementation of CONDITIONAL_EXPECTATION (see https://ssrn.com/abstract=2995695 for details).
-					if(operatorType == OperatorType.CONDITIONAL_EXPECTATION) {
-						ConditionalExpectationEstimatorInterface estimator = (ConditionalExpectationEstimatorInterface)operator;
-						derivative = estimator.getConditionalExpectation(derivative);
-					}
-					if(operatorType == OperatorType.CHOOSE && argumentIndex == 0 && (factory.getDiracDeltaApproximationMethod() == DiracDeltaApproximationMethod.REGRESSION_ON_DENSITY || factory.getDiracDeltaApproximationMethod() == DiracDeltaApproximationMethod.REGRESSION_ON_DISTRIBUITON)) {
-						derivative = getDiracDeltaRegression(derivative, argumentValues.get(0));
-					}
-					if(argumentDerivative == null) {
-						argumentDerivative = derivative.mult(partialDerivative);
-					}
-					else {
-						argumentDerivative = argumentDerivative.addProduct(partialDerivative, derivative);
-					}
+					RandomVariableInterface derivative			= getDerivativePropagatedToArgument(operatorType, operator, argumentIndex, derivatives.get(id), argumentValues != null ? argumentValues.get(0) : null, factory);
+					RandomVariableInterface argumentDerivative	= getDerivativeAccumulated(derivatives.get(argumentID), partialDerivative, derivative, factory);
 
 					derivatives.put(argumentID, argumentDerivative);
 				}
@@ -202,315 +132,494 @@ public class RandomVariableDifferentiableAAD implements RandomVariableDifferenti
 			RandomVariableInterface Y = arguments.size() > 1 && argumentValues != null ? argumentValues.get(1) : null;
 			RandomVariableInterface Z = arguments.size() > 2 && argumentValues != null ? argumentValues.get(2) : null;
 
-			RandomVariableInterface derivative = null;
-
-			switch(operatorType) {
-			/* functions with one argument  */
-			case SQUARED:
-				derivative = X.mult(2.0);
-				break;
-			case SQRT:
-				derivative = X.sqrt().invert().mult(0.5);
-				break;
-			case EXP:
-				derivative = X.exp();
-				break;
-			case LOG:
-				derivative = X.invert();
-				break;
-			case SIN:
-				derivative = X.cos();
-				break;
-			case COS:
-				derivative = X.sin().mult(-1.0);
-				break;
-			case INVERT:
-				derivative = X.invert().squared().mult(-1);
-				break;
-			case AVERAGE:
-				derivative = one;
-				break;
-			case CONDITIONAL_EXPECTATION:
-				derivative = one;
-				break;
-			case VARIANCE:
-				derivative = X.sub(X.getAverage()*(2.0*X.size()-1.0)/X.size()).mult(2.0/X.size());
-				break;
-			case STDEV:
-				derivative = X.sub(X.getAverage()*(2.0*X.size()-1.0)/X.size()).mult(2.0/X.size()).mult(0.5).div(Math.sqrt(X.getVariance()));
-				break;
-			case MIN:
-				double min = X.getMin();
-				derivative = X.apply(x -> (x == min) ? 1.0 : 0.0);
-				break;
-			case MAX:
-				double max = X.getMax();
-				derivative = X.apply(x -> (x == max) ? 1.0 : 0.0);
-				break;
-			case ABS:
-				derivative = X.choose(one, minusOne);
-				break;
-			case STDERROR:
-				derivative = X.sub(X.getAverage()*(2.0*X.size()-1.0)/X.size()).mult(2.0/X.size()).mult(0.5).div(Math.sqrt(X.getVariance() * X.size()));
-				break;
-			case SVARIANCE:
-				derivative = X.sub(X.getAverage()*(2.0*X.size()-1.0)/X.size()).mult(2.0/(X.size()-1));
-				break;
-			case ADD:
-				derivative = one;
-				break;
-			case SUB:
-				derivative = differentialIndex == 0 ? one : minusOne;
-				break;
-			case MULT:
-				derivative = differentialIndex == 0 ? Y : X;
-				break;
-			case DIV:
-				derivative = differentialIndex == 0 ? Y.invert() : X.div(Y.squared()).mult(-1);
-				break;
-			case CAP:
-				if(differentialIndex == 0) {
-					derivative = X.sub(Y).choose(zero, one);
-				}
-				else {
-					derivative = X.sub(Y).choose(one, zero);
-				}
-				break;
-			case FLOOR:
-				if(differentialIndex == 0) {
-					derivative = X.sub(Y).choose(one, zero);
-				}
-				else {
-					derivative = X.sub(Y).choose(zero, one);
-				}
-				break;
-			case AVERAGE2:
-				derivative = differentialIndex == 0 ? Y : X;
-				break;
-			case VARIANCE2:
-				derivative = differentialIndex == 0 ? Y.mult(2.0).mult(X.mult(Y.add(X.getAverage(Y)*(X.size()-1)).sub(X.getAverage(Y)))) :
-					X.mult(2.0).mult(Y.mult(X.add(Y.getAverage(X)*(X.size()-1)).sub(Y.getAverage(X))));
-				break;
-			case STDEV2:
-				derivative = differentialIndex == 0 ? Y.mult(2.0).mult(X.mult(Y.add(X.getAverage(Y)*(X.size()-1)).sub(X.getAverage(Y)))).div(Math.sqrt(X.getVariance(Y))) :
-					X.mult(2.0).mult(Y.mult(X.add(Y.getAverage(X)*(X.size()-1)).sub(Y.getAverage(X)))).div(Math.sqrt(Y.getVariance(X)));
-				break;
-			case STDERROR2:
-				derivative = differentialIndex == 0 ? Y.mult(2.0).mult(X.mult(Y.add(X.getAverage(Y)*(X.size()-1)).sub(X.getAverage(Y)))).div(Math.sqrt(X.getVariance(Y) * X.size())) :
-					X.mult(2.0).mult(Y.mult(X.add(Y.getAverage(X)*(X.size()-1)).sub(Y.getAverage(X)))).div(Math.sqrt(Y.getVariance(X) * Y.size()));
-				break;
-			case POW:
-				// second argument will always be deterministic and constant.
-				// @TODO: Optimize this part by making use of Y being scalar.
-				derivative = (differentialIndex == 0) ? X.pow(Y.getAverage() - 1.0).mult(Y) : zero;
-				break;
-			case ADDPRODUCT:
-				if(differentialIndex == 0) {
-					derivative = one;
-				} else if(differentialIndex == 1) {
-					derivative = Z;
-				} else {
-					derivative = Y;
-				}
-				break;
-			case ADDRATIO:
-				if(differentialIndex == 0) {
-					derivative = one;
-				} else if(differentialIndex == 1) {
-					derivative = Z.invert();
-				} else {
-					derivative = Y.div(Z.squared()).mult(-1.0);
-				}
-				break;
-			case SUBRATIO:
-				if(differentialIndex == 0) {
-					derivative = one;
-				} else if(differentialIndex == 1) {
-					derivative = Z.invert().mult(-1.0);
-				} else {
-					derivative = Y.div(Z.squared());
+			return RandomVariableDifferentiableAAD.getPartialDerivative(operatorType, X, Y, Z, differentialIndex, factory);
+		}
+
+		private static List<OperatorTreeNode> extractOperatorTreeNodes(List<RandomVariableInterface> arguments) {
+			return arguments != null ? arguments.stream().map((RandomVariableInterface x) -> {
+				if(x instanceof RandomVariableDifferentiableAADTape) {
+					// Treating the argument as a constant would silently drop its derivatives
+					throw new IllegalArgumentException("Argument is a differentiable random variable recorded on a tape. Differentiable random variables of different implementations cannot be combined.");
 				}
-				break;
-			case ACCRUE:
-				if(differentialIndex == 0) {
-					derivative = Y.mult(Z).add(1.0);
-				} else if(differentialIndex == 1) {
-					derivative = X.mult(Z);
-				} else {
-					derivative = X.mult(Y);
+				return (x != null && x instanceof RandomVariableDifferentiableAAD) ? ((RandomVariableDifferentiableAAD)x).getOperatorTreeNode() : null;
+			}
+					).collect(Collectors.toList()) : null;
+		}
+
+		private static List<RandomVariableInterface> extractOperatorValues(List<RandomVariableInterface> arguments) {
+			return arguments != null ? arguments.stream().map((RandomVariableInterface x) -> {
+				return (x != null && x instanceof RandomVariableDifferentiableAAD) ? ((RandomVariableDifferentiableAAD)x).getValues() : x;
+			}
+					).collect(Collectors.toList()) : null;
+		}
+	}
+
+	/**
+	 * Returns the list of argument values which need to be retained for the calculation of the partial derivatives
+	 * of an operator. Argument values which are not required (e.g. the arguments of an addition) are set to null.
+	 *
+	 * @param operatorType The operator.
+	 * @param isArgumentDifferentiable Predicate telling if the argument with a given index is differentiable.
+	 * @param argumentValues The list of argument values (may be modified).
+	 * @return The list of argument values to be retained or null if no argument values are required.
+	 */
+	static List<RandomVariableInterface> getArgumentValuesRequiredForDifferentiation(OperatorType operatorType, IntPredicate isArgumentDifferentiable, List<RandomVariableInterface> argumentValues) {
+		if(operatorType != null && (operatorType.equals(OperatorType.ADD) || operatorType.equals(OperatorType.SUB))) {
+			// Addition does not need to retain arguments
+			return null;
+		}
+		else if(operatorType != null && operatorType.equals(OperatorType.AVERAGE)) {
+			// Average does not need to retain arguments
+			return null;
+		}
+		else if(operatorType != null && operatorType.equals(OperatorType.MULT)) {
+			// Product only needs to retain factors on differentiables
+			if(!isArgumentDifferentiable.test(0)) {
+				argumentValues.set(1, null);
+			}
+			if(!isArgumentDifferentiable.test(1)) {
+				argumentValues.set(0, null);
+			}
+		}
+		else if(operatorType != null && operatorType.equals(OperatorType.DIV)) {
+			// Division only needs to retain numerator if denominator is differentiable
+			if(!isArgumentDifferentiable.test(1)) {
+				argumentValues.set(0, null);
+			}
+		}
+		else if(operatorType != null && operatorType.equals(OperatorType.ADDPRODUCT)) {
+			// Addition does not need to retain arguments
+			argumentValues.set(0, null);
+			// Addition of product only needs to retain factors on differentiables
+			if(!isArgumentDifferentiable.test(1)) {
+				argumentValues.set(2, null);
+			}
+			if(!isArgumentDifferentiable.test(2)) {
+				argumentValues.set(1, null);
+			}
+		}
+		else if(operatorType != null && operatorType.equals(OperatorType.ACCRUE)) {
+			// Addition of product only needs to retain factors on differentiables
+			if(!isArgumentDifferentiable.test(1) && !isArgumentDifferentiable.test(2)) {
+				argumentValues.set(0, null);
+			}
+			if(!isArgumentDifferentiable.test(0) && !isArgumentDifferentiable.test(1)) {
+				argumentValues.set(1, null);
+			}
+			if(!isArgumentDifferentiable.test(0) && !isArgumentDifferentiable.test(2)) {
+				argumentValues.set(2, null);
+			}
+		}
+		else if(operatorType != null && operatorType.equals(OperatorType.CHOOSE)) {
+			if(!isArgumentDifferentiable.test(0)) {
+				argumentValues.set(1, null);
+				argumentValues.set(2, null);
+			}
+		}
+
+		return argumentValues;
+	}
+
+	/**
+	 * Calculate the partial derivative of an operator with respect to one of its arguments.
+	 *
+	 * @param operatorType The operator.
+	 * @param X The value of the first argument (if retained).
+	 * @param Y The value of the second argument (if retained).
+	 * @param Z The value of the third argument (if retained).
+	 * @param differentialIndex The index of the argument in the functions argument list.
+	 * @param factory The factory providing the approximation of the Dirac delta.
+	 * @return The value of the partial derivative.
+	 */
+	static RandomVariableInterface getPartialDerivative(OperatorType operatorType, RandomVariableInterface X, RandomVariableInterface Y, RandomVariableInterface Z, int differentialIndex, RandomVariableDifferentiableAADFactory factory) {
+
+		RandomVariableInterface derivative = null;
+
+		switch(operatorType) {
+		/* functions with one argument  */
+		case SQUARED:
+			derivative = X.mult(2.0);
+			break;
+		case SQRT:
+			derivative = X.sqrt().invert().mult(0.5);
+			break;
+		case EXP:
+			derivative = X.exp();
+			break;
+		case LOG:
+			derivative = X.invert();
+			break;
+		case SIN:
+			derivative = X.cos();
+			break;
+		case COS:
+			derivative = X.sin().mult(-1.0);
+			break;
+		case INVERT:
+			derivative = X.invert().squared().mult(-1);
+			break;
+		case AVERAGE:
+			derivative = OperatorTreeNode.one;
+			break;
+		case CONDITIONAL_EXPECTATION:
+			derivative = OperatorTreeNode.one;
+			break;
+		case VARIANCE:
+			derivative = X.sub(X.getAverage()*(2.0*X.size()-1.0)/X.size()).mult(2.0/X.size());
+			break;
+		case STDEV:
+			derivative = X.sub(X.getAverage()*(2.0*X.size()-1.0)/X.size()).mult(2.0/X.size()).mult(0.5).div(Math.sqrt(X.getVariance()));
+			break;
+		case MIN:
+			double min = X.getMin();
+			derivative = X.apply(x -> (x == min) ? 1.0 : 0.0);
+			break;
+		case MAX:
+			double max = X.getMax();
+			derivative = X.apply(x -> (x == max) ? 1.0 : 0.0);
+			break;
+		case ABS:
+			derivative = X.choose(OperatorTreeNode.one, OperatorTreeNode.minusOne);
+			break;
+		case STDERROR:
+			derivative = X.sub(X.getAverage()*(2.0*X.size()-1.0)/X.size()).mult(2.0/X.size()).mult(0.5).div(Math.sqrt(X.getVariance() * X.size()));
+			break;
+		case SVARIANCE:
+			derivative = X.sub(X.getAverage()*(2.0*X.size()-1.0)/X.size()).mult(2.0/(X.size()-1));
+			break;
+		case ADD:
+			derivative = OperatorTreeNode.one;
+			break;
+		case SUB:
+			derivative = differentialIndex == 0 ? OperatorTreeNode.one : OperatorTreeNode.minusOne;
+			break;
+		case MULT:
+			derivative = differentialIndex == 0 ? Y : X;
+			break;
+		case DIV:
+			derivative = differentialIndex == 0 ? Y.invert() : X.div(Y.squared()).mult(-1);
+			break;
+		case CAP:
+			if(differentialIndex == 0) {
+				derivative = X.sub(Y).choose(OperatorTreeNode.zero, OperatorTreeNode.one);
+			}
+			else {
+				derivative = X.sub(Y).choose(OperatorTreeNode.one, OperatorTreeNode.zero);
+			}
+			break;
+		case FLOOR:
+			if(differentialIndex == 0) {
+				derivative = X.sub(Y).choose(OperatorTreeNode.one, OperatorTreeNode.zero);
+			}
+			else {
+				derivative = X.sub(Y).choose(OperatorTreeNode.zero, OperatorTreeNode.one);
+			}
+			break;
+		case AVERAGE2:
+			derivative = differentialIndex == 0 ? Y : X;
+			break;
+		case VARIANCE2:
+			derivative = differentialIndex == 0 ? Y.mult(2.0).mult(X.mult(Y.add(X.getAverage(Y)*(X.size()-1)).sub(X.getAverage(Y)))) :
+				X.mult(2.0).mult(Y.mult(X.add(Y.getAverage(X)*(X.size()-1)).sub(Y.getAverage(X))));
+			break;
+		case STDEV2:
+			derivative = differentialIndex == 0 ? Y.mult(2.0).mult(X.mult(Y.add(X.getAverage(Y)*(X.size()-1)).sub(X.getAverage(Y)))).div(Math.sqrt(X.getVariance(Y))) :
+				X.mult(2.0).mult(Y.mult(X.add(Y.getAverage(X)*(X.size()-1)).sub(Y.getAverage(X)))).div(Math.sqrt(Y.getVariance(X)));
+			break;
+		case STDERROR2:
+			derivative = differentialIndex == 0 ? Y.mult(2.0).mult(X.mult(Y.add(X.getAverage(Y)*(X.size()-1)).sub(X.getAverage(Y)))).div(Math.sqrt(X.getVariance(Y) * X.size())) :
+				X.mult(2.0).mult(Y.mult(X.add(Y.getAverage(X)*(X.size()-1)).sub(Y.getAverage(X)))).div(Math.sqrt(Y.getVariance(X) * Y.size()));
+			break;
+		case POW:
+			// second argument will always be deterministic and constant.
+			// @TODO: Optimize this part by making use of Y being scalar.
+			derivative = (differentialIndex == 0) ? X.pow(Y.getAverage() - 1.0).mult(Y) : OperatorTreeNode.zero;
+			break;
+		case ADDPRODUCT:
+			if(differentialIndex == 0) {
+				derivative = OperatorTreeNode.one;
+			} else if(differentialIndex == 1) {
+				derivative = Z;
+			} else {
+				derivative = Y;
+			}
+			break;
+		case ADDRATIO:
+			if(differentialIndex == 0) {
+				derivative = OperatorTreeNode.one;
+			} else if(differentialIndex == 1) {
+				derivative = Z.invert();
+			} else {
+				derivative = Y.div(Z.squared()).mult(-1.0);
+			}
+			break;
+		case SUBRATIO:
+			if(differentialIndex == 0) {
+				derivative = OperatorTreeNode.one;
+			} else if(differentialIndex == 1) {
+				derivative = Z.invert().mult(-1.0);
+			} else {
+				derivative = Y.div(Z.squared());
+			}
+			break;
+		case ACCRUE:
+			if(differentialIndex == 0) {
+				derivative = Y.mult(Z).add(1.0);
+			} else if(differentialIndex == 1) {
+				derivative = X.mult(Z);
+			} else {
+				derivative = X.mult(Y);
+			}
+			break;
+		case DISCOUNT:
+			if(differentialIndex == 0) {
+				derivative = Y.mult(Z).add(1.0).invert();
+			} else if(differentialIndex == 1) {
+				derivative = X.mult(Z).div(Y.mult(Z).add(1.0).squared()).mult(-1.0);
+			} else {
+				derivative = X.mult(Y).div(Y.mult(Z).add(1.0).squared()).mult(-1.0);
+			}
+			break;
+		case CHOOSE:
+			if(differentialIndex == 0) {
+				switch(factory.getDiracDeltaApproximationMethod()) {
+				case ONE:
+				{
+					derivative = OperatorTreeNode.one;
+					break;
 				}
-				break;
-			case DISCOUNT:
-				if(differentialIndex == 0) {
-					derivative = Y.mult(Z).add(1.0).invert();
-				} else if(differentialIndex == 1) {
-					derivative = X.mult(Z).div(Y.mult(Z).add(1.0).squared()).mult(-1.0);
-				} else {
-					derivative = X.mult(Y).div(Y.mult(Z).add(1.0).squared()).mult(-1.0);
+				case ZERO:
+				{
+					derivative = OperatorTreeNode.zero;
+					break;
 				}
-				break;
-			case CHOOSE:
-				if(differentialIndex == 0) {
-					switch(factory.getDiracDeltaApproximationMethod()) {
-					case ONE:
-					{
-						derivative = one;
-						break;
-					}
-					case ZERO:
-					{
-						derivative = zero;
-						break;
-					}
-					case DISCRETE_DELTA:
-					{
-						/*
-						 * Approximation via local finite difference
-						 * (see https://ssrn.com/abstract=2995695 for details).
-						 */
-						double epsilon = factory.getDiracDeltaApproximationWidthPerStdDev()*X.getStandardDeviation();
-						if(Double.isInfinite(epsilon)) {
-							derivative = one;
-						}
-						else if(epsilon > 0) {
-							derivative = Y.sub(Z);
-							derivative = derivative.mult(X.add(epsilon/2).choose(one, zero));
-							derivative = derivative.mult(X.sub(epsilon/2).choose(zero, one));
-							derivative = derivative.div(epsilon);
-						}
-						else {
-							derivative = zero;
-						}
-						break;
+				case DISCRETE_DELTA:
+				{
+					/*
+					 * Approximation via local finite difference
+					 * (see https://ssrn.com/abstract=2995695 for details).
+					 */
+					double epsilon = factory.getDiracDeltaApproximationWidthPerStdDev()*X.getStandardDeviation();
+					if(Double.isInfinite(epsilon)) {
+						derivative = OperatorTreeNode.one;
 					}
-					case REGRESSION_ON_DENSITY:
-					case REGRESSION_ON_DISTRIBUITON:
-					{
-						derivative = one;
-						break;
-					}
-					default:
-					{
-						throw new UnsupportedOperationException("Diract Delta Approximation Method " + factory.getDiracDeltaApproximationMethod().name() + " not supported.");
+					else if(epsilon > 0) {
+						derivative = Y.sub(Z);
+						derivative = derivative.mult(X.add(epsilon/2).choose(OperatorTreeNode.one, OperatorTreeNode.zero));
+						derivative = derivative.mult(X.sub(epsilon/2).choose(OperatorTreeNode.zero, OperatorTreeNode.one));
+						derivative = derivative.div(epsilon);
 					}
+					else {
+						derivative = OperatorTreeNode.zero;
 					}
-				} else if(differentialIndex == 1) {
-					derivative = X.choose(one, zero);
-				} else {
-					derivative = X.choose(zero, one);
+					break;
+				}
+				case REGRESSION_ON_DENSITY:
+				case REGRESSION_ON_DISTRIBUITON:
+				{
+					derivative = OperatorTreeNode.one;
+					break;
+				}
+				default:
+				{
+					throw new UnsupportedOperationException("Diract Delta Approximation Method " + factory.getDiracDeltaApproximationMethod().name() + " not supported.");
+				}
 				}
-				break;
-			default:
-				throw new IllegalArgumentException("Operation " + operatorType.name() + " not supported in differentiation.");
+			} else if(differentialIndex == 1) {
+				derivative = X.choose(OperatorTreeNode.one, OperatorTreeNode.zero);
+			} else {
+				derivative = X.choose(OperatorTreeNode.zero, OperatorTreeNode.one);
 			}
+			break;
+		default:
+			throw new IllegalArgumentException("Operation " + operatorType.name() + " not supported in differentiation.");
+		}
+
+		return derivative;
+	}
 
-			return derivative;
+	/**
+	 * Returns the update of the derivative of an argument in the backward sweep, that is
+	 * <code>argumentDerivative + partialDerivative * derivative</code>, or <code>derivative * partialDerivative</code>
+	 * if the argument has no derivative yet.
+	 *
+	 * If the factory is configured for a parallel adjoint (see {@link RandomVariableDifferentiableAADFactory#isParallelAdjoint()})
+	 * and the random variables have more than one chunk of paths, the path dimension is partitioned into chunks which
+	 * are processed in parallel (on the common fork-join pool). The result is identical to the sequential calculation.
+	 * Derivatives which are differentiable themselves (higher order derivatives) are always processed sequentially.
+	 *
+	 * @param argumentDerivative The derivative of the argument accumulated so far, or null.
+	 * @param partialDerivative The partial derivative of the operator with respect to the argument.
+	 * @param derivative The derivative of the result of the operator propagated to the argument.
+	 * @param factory The factory providing the settings for the parallel adjoint and the non-differentiable random variables.
+	 * @return The updated derivative of the argument.
+	 */
+	static RandomVariableInterface getDerivativeAccumulated(RandomVariableInterface argumentDerivative, RandomVariableInterface partialDerivative, RandomVariableInterface derivative, RandomVariableDifferentiableAADFactory factory) {
+		int numberOfPaths = Math.max(partialDerivative.size(), derivative.size());
+		if(argumentDerivative != null) {
+			numberOfPaths = Math.max(numberOfPaths, argumentDerivative.size());
+		}
+
+		final int pathChunkSize = factory != null ? factory.getParallelAdjointPathChunkSize() : 0;
+		boolean isDifferentiable = argumentDerivative instanceof RandomVariableDifferentiableInterface || partialDerivative instanceof RandomVariableDifferentiableInterface || derivative instanceof RandomVariableDifferentiableInterface;
+		if(factory == null || !factory.isParallelAdjoint() || numberOfPaths <= pathChunkSize || isDifferentiable) {
+			return argumentDerivative == null ? derivative.mult(partialDerivative) : argumentDerivative.addProduct(partialDerivative, derivative);
 		}
 
-		private RandomVariableInterface getDiracDeltaRegression(RandomVariableInterface derivative, RandomVariableInterface indicator) {
-			double diracDeltaApproximationWidthPerStdDev = factory.getDiracDeltaApproximationWidthPerStdDev();
-			double epsilon = diracDeltaApproximationWidthPerStdDev*indicator.getStandardDeviation();
-
-			RandomVariableInterface localizedOne = (indicator.add(epsilon/2).choose(one, zero)).mult(indicator.sub(epsilon/2).choose(zero, one));
-
-			boolean isDirectDeltaRegressionUseRegressionOnAdjointDerivative = false;	// currently disabled, was used in experiments
-			if(isDirectDeltaRegressionUseRegressionOnAdjointDerivative) {
-				RandomVariableInterface localizedValue = indicator.mult(localizedOne);
-				RandomVariableInterface[] regressionBasisFunctions = new RandomVariableInterface[] {
-						localizedOne,
-						localizedValue,
-						localizedValue.squared()
-				};
-				derivative = localizedOne.mult((new LinearRegression(regressionBasisFunctions)).getRegressionCoefficients(derivative)[0]).div(localizedOne.getAverage());
+		final IntToDoubleFunction argumentDerivativeValues	= argumentDerivative != null ? getValuesAsFunction(argumentDerivative) : null;
+		final IntToDoubleFunction partialDerivativeValues	= getValuesAsFunction(partialDerivative);
+		final IntToDoubleFunction derivativeValues			= getValuesAsFunction(derivative);
+
+		final int size = numberOfPaths;
+		final double[] result = new double[size];
+		IntStream.range(0, (size + pathChunkSize - 1) / pathChunkSize).parallel().forEach(chunkIndex -> {
+			int pathEnd = Math.min(size, (chunkIndex + 1) * pathChunkSize);
+			if(argumentDerivativeValues == null) {
+				for(int path = chunkIndex * pathChunkSize; path < pathEnd; path++) {
+					result[path] = derivativeValues.applyAsDouble(path) * partialDerivativeValues.applyAsDouble(path);
+				}
 			}
 			else {
-				derivative = derivative.mult(localizedOne).div(localizedOne.getAverage());
+				for(int path = chunkIndex * pathChunkSize; path < pathEnd; path++) {
+					result[path] = argumentDerivativeValues.applyAsDouble(path) + partialDerivativeValues.applyAsDouble(path) * derivativeValues.applyAsDouble(path);
+				}
 			}
+		});
+
+		double time = Math.max(partialDerivative.getFiltrationTime(), derivative.getFiltrationTime());
+		if(argumentDerivative != null) {
+			time = Math.max(time, argumentDerivative.getFiltrationTime());
+		}
+		return factory.createRandomVariableNonDifferentiable(time, result);
+	}
 
-			return derivative.mult(getDensityRegression(indicator));
+	private static IntToDoubleFunction getValuesAsFunction(RandomVariableInterface randomVariable) {
+		if(randomVariable.isDeterministic()) {
+			final double value = randomVariable.doubleValue();
+			return path -> value;
+		}
+		IntToDoubleFunction operator = randomVariable.getOperator();
+		return operator != null ? operator : randomVariable::get;
+	}
 
+	/**
+	 * Returns the derivative of the result of an operator which is propagated to an argument, i.e., which is multiplied
+	 * by the partial derivative. This is the derivative itself, except for operators like the expectation or the
+	 * conditional expectation (see https://ssrn.com/abstract=2995695 for details).
+	 *
+	 * @param operatorType The operator.
+	 * @param operator The operator object (e.g. the estimator of the conditional expectation), if any.
+	 * @param argumentIndex The index of the argument.
+	 * @param derivative The derivative of the result of the operator.
+	 * @param X The value of the first argument (if retained).
+	 * @param factory The factory providing the approximation of the Dirac delta.
+	 * @return The derivative propagated to the argument.
+	 */
+	static RandomVariableInterface getDerivativePropagatedToArgument(OperatorType operatorType, Object operator, int argumentIndex, RandomVariableInterface derivative, RandomVariableInterface X, RandomVariableDifferentiableAADFactory factory) {
+		// Implementation of AVERAGE (see https://ssrn.com/abstract=2995695 for details).
+		if(operatorType == OperatorType.AVERAGE) {
+			derivative = derivative.average();
+		}
+		// Implementation of CONDITIONAL_EXPECTATION (see https://ssrn.com/abstract=2995695 for details).
+		if(operatorType == OperatorType.CONDITIONAL_EXPECTATION) {
+			ConditionalExpectationEstimatorInterface estimator = (ConditionalExpectationEstimatorInterface)operator;
+			derivative = estimator.getConditionalExpectation(derivative);
+		}
+		if(operatorType == OperatorType.CHOOSE && argumentIndex == 0 && (factory.getDiracDeltaApproximationMethod() == DiracDeltaApproximationMethod.REGRESSION_ON_DENSITY || factory.getDiracDeltaApproximationMethod() == DiracDeltaApproximationMethod.REGRESSION_ON_DISTRIBUITON)) {
+			derivative = getDiracDeltaRegression(derivative, X, factory);
 		}
+		return derivative;
+	}
 
-		private double getDensityRegression(RandomVariableInterface indicator) {
-			double diracDeltaApproximationDensityRegressionWidthPerStdDev = factory.getDiracDeltaApproximationDensityRegressionWidthPerStdDev();
-
-			/*
-			 * Density regression
-			 */
-			double underlyingStdDev = indicator.getStandardDeviation();
-			final int numberOfSamplePointsHalf = 50;			// @TODO numberOfSamplePoints should become a parameter.
-			final double sampleIntervalWidthHalf = diracDeltaApproximationDensityRegressionWidthPerStdDev/2 * underlyingStdDev / numberOfSamplePointsHalf;
-			double[] samplePointX = new double[numberOfSamplePointsHalf*2];
-			double[] samplePointY = new double[numberOfSamplePointsHalf*2];
-			double sampleInterval = sampleIntervalWidthHalf;
-			RandomVariableInterface indicatorPositiveValues = indicator.choose(new Scalar(1.0), new Scalar(0.0));
-			RandomVariableInterface indicatorNegativeValues = indicator.choose(new Scalar(0.0), new Scalar(1.0));
-
-			switch(factory.getDiracDeltaApproximationMethod()) {
-			case REGRESSION_ON_DENSITY:
-			{
-				for(int i=0; i<numberOfSamplePointsHalf*2; i+=2) {
-					sampleInterval += sampleIntervalWidthHalf;
-
-					RandomVariableInterface indicatorOnNegValues = indicator.add(sampleInterval).choose(new Scalar(1.0), new Scalar(0.0)).mult(indicatorNegativeValues);
-					RandomVariableInterface indicatorOnPosValues = indicator.sub(sampleInterval).choose(new Scalar(0.0), new Scalar(1.0)).mult(indicatorPositiveValues);
-
-					samplePointX[i] = -sampleInterval;
-					samplePointY[i] = indicatorOnNegValues.getAverage() / sampleInterval;
-
-					samplePointX[i+1] = sampleInterval;
-					samplePointY[i+1] = indicatorOnPosValues.getAverage() / sampleInterval;
-				}
+	private static RandomVariableInterface getDiracDeltaRegression(RandomVariableInterface derivative, RandomVariableInterface indicator, RandomVariableDifferentiableAADFactory factory) {
+		double diracDeltaApproximationWidthPerStdDev = factory.getDiracDeltaApproximationWidthPerStdDev();
+		double epsilon = diracDeltaApproximationWidthPerStdDev*indicator.getStandardDeviation();
 
-				RandomVariableInterface densityX = new RandomVariable(0.0, samplePointX);
-				RandomVariableInterface densityValues = new RandomVariable(0.0, samplePointY);
+		RandomVariableInterface localizedOne = (indicator.add(epsilon/2).choose(OperatorTreeNode.one, OperatorTreeNode.zero)).mult(indicator.sub(epsilon/2).choose(OperatorTreeNode.zero, OperatorTreeNode.one));
 
-				double[] densityRegressionCoeff = new LinearRegression(new RandomVariableInterface[] { densityX.mult(0.0).add(1.0), densityX }).getRegressionCoefficients(densityValues);
-				double density = densityRegressionCoeff[0];
+		boolean isDirectDeltaRegressionUseRegressionOnAdjointDerivative = false;	// currently disabled, was used in experiments
+		if(isDirectDeltaRegressionUseRegressionOnAdjointDerivative) {
+			RandomVariableInterface localizedValue = indicator.mult(localizedOne);
+			RandomVariableInterface[] regressionBasisFunctions = new RandomVariableInterface[] {
+					localizedOne,
+					localizedValue,
+					localizedValue.squared()
+			};
+			derivative = localizedOne.mult((new LinearRegression(regressionBasisFunctions)).getRegressionCoefficients(derivative)[0]).div(localizedOne.getAverage());
+		}
+		else {
+			derivative = derivative.mult(localizedOne).div(localizedOne.getAverage());
+		}
 
-				return density;
-			}
-			case REGRESSION_ON_DISTRIBUITON:
-			{
-				for(int i=0; i<numberOfSamplePointsHalf*2; i+=2) {
-					sampleInterval += sampleIntervalWidthHalf;
+		return derivative.mult(getDensityRegression(indicator, factory));
 
-					RandomVariableInterface indicatorOnNegValues = indicator.add(sampleInterval).choose(new Scalar(1.0), new Scalar(0.0)).mult(indicatorNegativeValues);
-					RandomVariableInterface indicatorOnPosValues = indicator.sub(sampleInterval).choose(new Scalar(0.0), new Scalar(1.0)).mult(indicatorPositiveValues);
+	}
 
-					samplePointX[i] = -sampleInterval;
-					samplePointY[i] = -indicatorOnNegValues.getAverage();
+	private static double getDensityRegression(RandomVariableInterface indicator, RandomVariableDifferentiableAADFactory factory) {
+		double diracDeltaApproximationDensityRegressionWidthPerStdDev = factory.getDiracDeltaApproximationDensityRegressionWidthPerStdDev();
 
-					samplePointX[i+1] = sampleInterval;
-					samplePointY[i+1] = indicatorOnPosValues.getAverage();
-				}
+		/*
+		 * Density regression
+		 */
+		double underlyingStdDev = indicator.getStandardDeviation();
+		final int numberOfSamplePointsHalf = 50;			// @TODO numberOfSamplePoints should become a parameter.
+		final double sampleIntervalWidthHalf = diracDeltaApproximationDensityRegressionWidthPerStdDev/2 * underlyingStdDev / numberOfSamplePointsHalf;
+		double[] samplePointX = new double[numberOfSamplePointsHalf*2];
+		double[] samplePointY = new double[numberOfSamplePointsHalf*2];
+		double sampleInterval = sampleIntervalWidthHalf;
+		RandomVariableInterface indicatorPositiveValues = indicator.choose(new Scalar(1.0), new Scalar(0.0));
+		RandomVariableInterface indicatorNegativeValues = indicator.choose(new Scalar(0.0), new Scalar(1.0));
+
+		switch(factory.getDiracDeltaApproximationMethod()) {
+		case REGRESSION_ON_DENSITY:
+		{
+			for(int i=0; i<numberOfSamplePointsHalf*2; i+=2) {
+				sampleInterval += sampleIntervalWidthHalf;
+
+				RandomVariableInterface indicatorOnNegValues = indicator.add(sampleInterval).choose(new Scalar(1.0), new Scalar(0.0)).mult(indicatorNegativeValues);
+				RandomVariableInterface indicatorOnPosValues = indicator.sub(sampleInterval).choose(new Scalar(0.0), new Scalar(1.0)).mult(indicatorPositiveValues);
+
+				samplePointX[i] = -sampleInterval;
+				samplePointY[i] = indicatorOnNegValues.getAverage() / sampleInterval;
+
+				samplePointX[i+1] = sampleInterval;
+				samplePointY[i+1] = indicatorOnPosValues.getAverage() / sampleInterval;
+			}
 
-				RandomVariableInterface densityX = new RandomVariable(0.0, samplePointX);
-				RandomVariableInterface densityValues = new RandomVariable(0.0, samplePointY);
+			RandomVariableInterface densityX = new RandomVariable(0.0, samplePointX);
+			RandomVariableInterface densityValues = new RandomVariable(0.0, samplePointY);
 
-				double[] densityRegressionCoeff = new LinearRegression(new RandomVariableInterface[] { densityX, densityX.squared() }).getRegressionCoefficients(densityValues);
-				//				double[] densityRegressionCoeff = new LinearRegression(new RandomVariableInterface[] { densityX, densityX.mult(0.0).add(1.0), densityX.squared(), densityX.pow(3) }).getRegressionCoefficients(densityValues);
-				double density = densityRegressionCoeff[0];
+			double[] densityRegressionCoeff = new LinearRegression(new RandomVariableInterface[] { densityX.mult(0.0).add(1.0), densityX }).getRegressionCoefficients(densityValues);
+			double density = densityRegressionCoeff[0];
 
-				return density;
-			}
-			default:
-				throw new UnsupportedOperationException("Density regression method " + factory.getDiracDeltaApproximationMethod().name() + " not supported.");
-			}
+			return density;
 		}
+		case REGRESSION_ON_DISTRIBUITON:
+		{
+			for(int i=0; i<numberOfSamplePointsHalf*2; i+=2) {
+				sampleInterval += sampleIntervalWidthHalf;
 
-		private static List<OperatorTreeNode> extractOperatorTreeNodes(List<RandomVariableInterface> arguments) {
-			return arguments != null ? arguments.stream().map((RandomVariableInterface x) -> {
-				return (x != null && x instanceof RandomVariableDifferentiableAAD) ? ((RandomVariableDifferentiableAAD)x).getOperatorTreeNode() : null;
-			}
-					).collect(Collectors.toList()) : null;
-		}
+				RandomVariableInterface indicatorOnNegValues = indicator.add(sampleInterval).choose(new Scalar(1.0), new Scalar(0.0)).mult(indicatorNegativeValues);
+				RandomVariableInterface indicatorOnPosValues = indicator.sub(sampleInterval).choose(new Scalar(0.0), new Scalar(1.0)).mult(indicatorPositiveValues);
 
-		private static List<RandomVariableInterface> extractOperatorValues(List<RandomVariableInterface> arguments) {
-			return arguments != null ? arguments.stream().map((RandomVariableInterface x) -> {
-				return (x != null && x instanceof RandomVariableDifferentiableAAD) ? ((RandomVariableDifferentiableAAD)x).getValues() : x;
+				samplePointX[i] = -sampleInterval;
+				samplePointY[i] = -indicatorOnNegValues.getAverage();
+
+				samplePointX[i+1] = sampleInterval;
+				samplePointY[i+1] = indicatorOnPosValues.getAverage();
 			}
-					).collect(Collectors.toList()) : null;
+
+			RandomVariableInterface densityX = new RandomVariable(0.0, samplePointX);
+			RandomVariableInterface densityValues = new RandomVariable(0.0, samplePointY);
+
+			double[] densityRegressionCoeff = new LinearRegression(new RandomVariableInterface[] { densityX, densityX.squared() }).getRegressionCoefficients(densityValues);
+			//				double[] densityRegressionCoeff = new LinearRegression(new RandomVariableInterface[] { densityX, densityX.mult(0.0).add(1.0), densityX.squared(), densityX.pow(3) }).getRegressionCoefficients(densityValues);
+			double density = densityRegressionCoeff[0];
+
+			return density;
+		}
+		default:
+			throw new UnsupportedOperationException("Density regression method " + factory.getDiracDeltaApproximationMethod().name() + " not supported.");
 		}
 	}
 
@@ -44,6 +44,12 @@ public class RandomVariableDifferentiableAADFactory extends AbstractRandomVariab
 
 	private final boolean isGradientRetainsLeafNodesOnly;
 
+	/*
+	 * If true, the updates of the derivatives in the backward sweep are performed in parallel on chunks of paths.
+	 */
+	private final boolean isParallelAdjoint;
+	private final int parallelAdjointPathChunkSize;
+
 	public RandomVariableDifferentiableAADFactory(AbstractRandomVariableFactory randomVariableFactoryForNonDifferentiable, Map<String, Object> properties) {
 		super(randomVariableFactoryForNonDifferentiable);
 
@@ -56,6 +62,9 @@ public class RandomVariableDifferentiableAADFactory extends AbstractRandomVariab
 		diracDeltaApproximationDensityRegressionWidthPerStdDev = (Double)properties.getOrDefault("diracDeltaApproximationDensityRegressionWidthPerStdDev", 0.5);
 
 		isGradientRetainsLeafNodesOnly = (Boolean) properties.getOrDefault("isGradientRetainsLeafNodesOnly", true);
+
+		isParallelAdjoint = (Boolean) properties.getOrDefault("isParallelAdjoint", false);
+		parallelAdjointPathChunkSize = (Integer) properties.getOrDefault("parallelAdjointPathChunkSize", 16384);
 	}
 
 	/**
@@ -99,4 +108,24 @@ public class RandomVariableDifferentiableAADFactory extends AbstractRandomVariab
 	public boolean isGradientRetainsLeafNodesOnly() {
 		return isGradientRetainsLeafNodesOnly;
 	}
+
+	/**
+	 * Returns true, if the updates of the derivatives in the backward sweep (<code>getGradient</code>) partition the path
+	 * dimension into chunks which are processed in parallel. Configured via the property <code>isParallelAdjoint</code> (default false).
+	 *
+	 * @return True, if the backward sweep uses parallel vector operations.
+	 */
+	public boolean isParallelAdjoint() {
+		return isParallelAdjoint;
+	}
+
+	/**
+	 * Returns the number of paths per chunk used by the parallel backward sweep. Random variables with not more
+	 * paths are processed sequentially. Configured via the property <code>parallelAdjointPathChunkSize</code> (default 16384).
+	 *
+	 * @return The number of paths per chunk.
+	 */
+	public int getParallelAdjointPathChunkSize() {
+		return parallelAdjointPathChunkSize;
+	}
 }
@@ -0,0 +1,679 @@
+/*
+ * (c) Copyright Christian P. Fries, Germany. Contact: email@christian-fries.de.
+ *
+ * Created on 16.10.2026
+ */
+package net.finmath.montecarlo.automaticdifferentiation.backward;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.DoubleBinaryOperator;
+import java.util.function.DoubleUnaryOperator;
+import java.util.function.IntToDoubleFunction;
+import java.util.stream.DoubleStream;
+
+import net.finmath.functions.DoubleTernaryOperator;
+import net.finmath.montecarlo.RandomVariable;
+import net.finmath.montecarlo.automaticdifferentiation.RandomVariableDifferentiableInterface;
+import net.finmath.montecarlo.automaticdifferentiation.backward.RandomVariableDifferentiableAAD.OperatorType;
+import net.finmath.stochastic.ConditionalExpectationEstimatorInterface;
+import net.finmath.stochastic.RandomVariableInterface;
+
+/**
+ * Implementation of <code>RandomVariableDifferentiableInterface</code> using
+ * the backward algorithmic differentiation (adjoint algorithmic differentiation, AAD),
+ * where the operations are recorded on a tape.
+ *
+ * The differentiation of the operators (including the special treatment of the expectation,
+ * the conditional expectation and indicator functions) is identical to {@link RandomVariableDifferentiableAAD}.
+ * However, instead of maintaining an operator tree (where each node references its arguments),
+ * each operation is recorded on the tape of the {@link RandomVariableDifferentiableAADTapeFactory}
+ * which created the random variable. The tape stores operators and argument indices in arrays
+ * (in creation order), such that the gradient is calculated by a single reverse sweep over the tape,
+ * without sorting or hashing of the intermediate nodes.
+ *
+ * The id of a random variable is its position on the tape (plus an offset, such that ids remain unique
+ * if the tape is reset). Random variables created by different factories cannot be combined.
+ *
+ * @author Christian Fries
+ * @version 1.0
+ */
+public class RandomVariableDifferentiableAADTape implements RandomVariableDifferentiableInterface {
+
+	private static final long serialVersionUID = -4427311529434236958L;
+
+	private static final int typePriorityDefault = 3;
+
+	/*
+	 * Data model. We maintain the underlying values and the id of the entry on the tape.
+	 */
+	private RandomVariableInterface values;
+	private final long id;
+	private final RandomVariableDifferentiableAADTapeFactory factory;
+
+	/**
+	 * Create an independent random variable (a leaf node) on the tape of the given factory.
+	 *
+	 * @param values The values of the random variable.
+	 * @param factory The factory owning the tape.
+	 */
+	public RandomVariableDifferentiableAADTape(RandomVariableInterface values, RandomVariableDifferentiableAADTapeFactory factory) {
+		super();
+		this.values = values;
+		this.factory = factory;
+		this.id = factory.getTape().recordIndependent();
+	}
+
+	private RandomVariableDifferentiableAADTape(RandomVariableInterface values, List<RandomVariableInterface> arguments, OperatorType operatorType, RandomVariableDifferentiableAADTapeFactory factory) {
+		this(values, arguments, operatorType, null, factory);
+	}
+
+	private RandomVariableDifferentiableAADTape(RandomVariableInterface values, List<RandomVariableInterface> arguments, OperatorType operatorType, ConditionalExpectationEstimatorInterface estimator, RandomVariableDifferentiableAADTapeFactory factory) {
+		super();
+		this.values = values;
+		this.factory = factory;
+		this.id = factory.getTape().record(operatorType, arguments, estimator);
+	}
+
+	/**
+	 * Returns the underlying values.
+	 *
+	 * @return The underling values.
+	 */
+	@Override
+	public RandomVariableInterface getValues(){
+		return values;
+	}
+
+	public RandomVariableDifferentiableAADTapeFactory getFactory() {
+		return factory;
+	}
+
+	@Override
+	public Long getID(){
+		return id;
+	}
+
+	/**
+	 * Returns the gradient of this random variable with respect to all its leaf nodes
+	 * (or the given independents).
+	 *
+	 * Performs a backward automatic differentiation by a reverse sweep over the tape.
+	 *
+	 * @return The gradient map.
+	 */
+	@Override
+	public Map<Long, RandomVariableInterface> getGradient(Set<Long> independentIDs) {
+		return factory.getTape().getGradient(id, independentIDs, factory);
+	}
+
+	@Override
+	public Map<Long, RandomVariableInterface> getTangents(Set<Long> dependentIDs) {
+		throw new UnsupportedOperationException();
+	}
+
+	/*
+	 * The following methods are end points since they return <code>double</double> values.
+	 * You cannot differentiate these results.
+	 */
+
+	@Override
+	public boolean equals(RandomVariableInterface randomVariable) {
+		return getValues().equals(randomVariable);
+	}
+
+	@Override
+	public double getFiltrationTime() {
+		return getValues().getFiltrationTime();
+	}
+
+	@Override
+	public int getTypePriority() {
+		return typePriorityDefault;
+	}
+
+	@Override
+	public double get(int pathOrState) {
+		return getValues().get(pathOrState);
+	}
+
+	@Override
+	public int size() {
+		return getValues().size();
+	}
+
+	@Override
+	public boolean isDeterministic() {
+		return getValues().isDeterministic();
+	}
+
+	@Override
+	public double[] getRealizations() {
+		return getValues().getRealizations();
+	}
+
+	@Override
+	public Double doubleValue() {
+		return getValues().doubleValue();
+	}
+
+	@Override
+	public double getMin() {
+		return getValues().getMin();
+	}
+
+	@Override
+	public double getMax() {
+		return getValues().getMax();
+	}
+
+	@Override
+	public double getAverage() {
+		return getValues().getAverage();
+	}
+
+	@Override
+	public double getAverage(RandomVariableInterface probabilities) {
+		return getValues().getAverage(probabilities);
+	}
+
+	@Override
+	public double getVariance() {
+		return getValues().getVariance();
+	}
+
+	@Override
+	public double getVariance(RandomVariableInterface probabilities) {
+		return getValues().getVariance(probabilities);
+	}
+
+	@Override
+	public double getSampleVariance() {
+		return getValues().getSampleVariance();
+	}
+
+	@Override
+	public double getStandardDeviation() {
+		return getValues().getStandardDeviation();
+	}
+
+	@Override
+	public double getStandardDeviation(RandomVariableInterface probabilities) {
+		return getValues().getStandardDeviation(probabilities);
+	}
+
+	@Override
+	public double getStandardError() {
+		return getValues().getStandardError();
+	}
+
+	@Override
+	public double getStandardError(RandomVariableInterface probabilities) {
+		return getValues().getStandardError(probabilities);
+	}
+
+	@Override
+	public double getQuantile(double quantile) {
+		return getValues().getQuantile(quantile);
+	}
+
+	@Override
+	public double getQuantile(double quantile, RandomVariableInterface probabilities) {
+		return getValues().getQuantile(quantile, probabilities);
+	}
+
+	@Override
+	public double getQuantileExpectation(double quantileStart, double quantileEnd) {
+		return getValues().getQuantileExpectation(quantileStart, quantileEnd);
+	}
+
+	@Override
+	public double[] getHistogram(double[] intervalPoints) {
+		return getValues().getHistogram(intervalPoints);
+	}
+
+	@Override
+	public double[][] getHistogram(int numberOfPoints, double standardDeviations) {
+		return getValues().getHistogram(numberOfPoints, standardDeviations);
+	}
+
+	/*
+	 * The following methods are operations with are differentiable.
+	 */
+
+	@Override
+	public RandomVariableInterface cache() {
+		values = values.cache();
+		return this;
+	}
+
+	@Override
+	public RandomVariableInterface cap(double cap) {
+		return new RandomVariableDifferentiableAADTape(
+				getValues().cap(cap),
+				Arrays.asList(this, new RandomVariable(cap)),
+				OperatorType.CAP,
+				getFactory());
+	}
+
+	@Override
+	public RandomVariableInterface floor(double floor) {
+		return new RandomVariableDifferentiableAADTape(
+				getValues().floor(floor),
+				Arrays.asList(this, new RandomVariable(floor)),
+				OperatorType.FLOOR,
+				getFactory());
+	}
+
+	@Override
+	public RandomVariableInterface add(double value) {
+		return new RandomVariableDifferentiableAADTape(
+				getValues().add(value),
+				Arrays.asList(this, new RandomVariable(value)),
+				OperatorType.ADD,
+				getFactory());
+	}
+
+	@Override
+	public RandomVariableInterface sub(double value) {
+		return new RandomVariableDifferentiableAADTape(
+				getValues().sub(value),
+				Arrays.asList(this, new RandomVariable(value)),
+				OperatorType.SUB,
+				getFactory());
+	}
+
+	@Override
+	public RandomVariableInterface mult(double value) {
+		return new RandomVariableDifferentiableAADTape(
+				getValues().mult(value),
+				Arrays.asList(this, new RandomVariable(value)),
+				OperatorType.MULT,
+				getFactory());
+	}
+
+	@Override
+	public RandomVariableInterface div(double value) {
+		return new RandomVariableDifferentiableAADTape(
+				getValues().div(value),
+				Arrays.asList(this, new RandomVariable(value)),
+				OperatorType.DIV,
+				getFactory());
+	}
+
+	@Override
+	public RandomVariableInterface pow(double exponent) {
+		return new RandomVariableDifferentiableAADTape(
+				getValues().pow(exponent),
+				Arrays.asList(this, new RandomVariable(exponent)),
+				OperatorType.POW,
+				getFactory());
+	}
+
+	@Override
+	public RandomVariableInterface average() {
+		return new RandomVariableDifferentiableAADTape(
+				getValues().average(),
+				Arrays.asList(new RandomVariableInterface[]{ this }),
+				OperatorType.AVERAGE,
+				getFactory());
+	}
+
+	@Override
+	public RandomVariableInterface getConditionalExpectation(ConditionalExpectationEstimatorInterface estimator) {
+		return new RandomVariableDifferentiableAADTape(
+				getValues().getConditionalExpectation(estimator),
+				Arrays.asList(new RandomVariableInterface[]{ this }),
+				OperatorType.CONDITIONAL_EXPECTATION,
+				estimator,
+				getFactory());
+
+	}
+
+	@Override
+	public RandomVariableInterface squared() {
+		return new RandomVariableDifferentiableAADTape(
+				getValues().squared(),
+				Arrays.asList(new RandomVariableInterface[]{ this }),
+				OperatorType.SQUARED,
+				getFactory());
+	}
+
+	@Override
+	public RandomVariableInterface sqrt() {
+		return new RandomVariableDifferentiableAADTape(
+				getValues().sqrt(),
+				Arrays.asList(new RandomVariableInterface[]{ this }),
+				OperatorType.SQRT,
+				getFactory());
+	}
+
+	@Override
+	public RandomVariableInterface exp() {
+		return new RandomVariableDifferentiableAADTape(
+				getValues().exp(),
+				Arrays.asList(new RandomVariableInterface[]{ this }),
+				OperatorType.EXP,
+				getFactory());
+	}
+
+	@Override
+	public RandomVariableInterface log() {
+		return new RandomVariableDifferentiableAADTape(
+				getValues().log(),
+				Arrays.asList(new RandomVariableInterface[]{ this }),
+				OperatorType.LOG,
+				getFactory());
+	}
+
+	@Override
+	public RandomVariableInterface sin() {
+		return new RandomVariableDifferentiableAADTape(
+				getValues().sin(),
+				Arrays.asList(new RandomVariableInterface[]{ this }),
+				OperatorType.SIN,
+				getFactory());
+	}
+
+	@Override
+	public RandomVariableInterface cos() {
+		return new RandomVariableDifferentiableAADTape(
+				getValues().cos(),
+				Arrays.asList(new RandomVariableInterface[]{ this }),
+				OperatorType.COS,
+				getFactory());
+	}
+
+	/*
+	 * Binary operators: checking for return type priority.
+	 */
+
+	@Override
+	public RandomVariableInterface add(RandomVariableInterface randomVariable) {
+		if(randomVariable.getTypePriority() > this.getTypePriority()) {
+			// Check type priority
+			return randomVariable.add(this);
+		}
+
+		return new RandomVariableDifferentiableAADTape(
+				getValues().add(randomVariable.getValues()),
+				Arrays.asList(this, randomVariable),
+				OperatorType.ADD,
+				getFactory());
+	}
+
+	@Override
+	public RandomVariableInterface sub(RandomVariableInterface randomVariable) {
+		if(randomVariable.getTypePriority() > this.getTypePriority()) {
+			// Check type priority
+			return randomVariable.bus(this);
+		}
+
+		return new RandomVariableDifferentiableAADTape(
+				getValues().sub(randomVariable.getValues()),
+				Arrays.asList(this, randomVariable),
+				OperatorType.SUB,
+				getFactory());
+	}
+
+	@Override
+	public RandomVariableInterface bus(RandomVariableInterface randomVariable) {
+		if(randomVariable.getTypePriority() > this.getTypePriority()) {
+			// Check type priority
+			return randomVariable.sub(this);
+		}
+
+		return new RandomVariableDifferentiableAADTape(
+				getValues().bus(randomVariable.getValues()),
+				Arrays.asList(randomVariable, this),	// SUB with swapped arguments
+				OperatorType.SUB,
+				getFactory());
+	}
+
+	@Override
+	public RandomVariableInterface mult(RandomVariableInterface randomVariable) {
+		if(randomVariable.getTypePriority() > this.getTypePriority()) {
+			// Check type priority
+			return randomVariable.mult(this);
+		}
+
+		return new RandomVariableDifferentiableAADTape(
+				getValues().mult(randomVariable.getValues()),
+				Arrays.asList(this, randomVariable),
+				OperatorType.MULT,
+				getFactory());
+	}
+
+	@Override
+	public RandomVariableInterface div(RandomVariableInterface randomVariable) {
+		if(randomVariable.getTypePriority() > this.getTypePriority()) {
+			// Check type priority
+			return randomVariable.vid(this);
+		}
+
+		return new RandomVariableDifferentiableAADTape(
+				getValues().div(randomVariable.getValues()),
+				Arrays.asList(this, randomVariable),
+				OperatorType.DIV,
+				getFactory());
+	}
+
+	@Override
+	public RandomVariableInterface vid(RandomVariableInterface randomVariable) {
+		if(randomVariable.getTypePriority() > this.getTypePriority()) {
+			// Check type priority
+			return randomVariable.div(this);
+		}
+
+		return new RandomVariableDifferentiableAADTape(
+				getValues().vid(randomVariable.getValues()),
+				Arrays.asList(randomVariable, this),	// DIV with swapped arguments
+				OperatorType.DIV,
+				getFactory());
+	}
+
+	@Override
+	public RandomVariableInterface cap(RandomVariableInterface randomVariable) {
+		if(randomVariable.getTypePriority() > this.getTypePriority()) {
+			// Check type priority
+			return randomVariable.cap(this);
+		}
+
+		return new RandomVariableDifferentiableAADTape(
+				getValues().cap(randomVariable.getValues()),
+				Arrays.asList(this, randomVariable),
+				OperatorType.CAP,
+				getFactory());
+	}
+
+	@Override
+	public RandomVariableInterface floor(RandomVariableInterface floor) {
+		if(floor.getTypePriority() > this.getTypePriority()) {
+			// Check type priority
+			return floor.floor(this);
+		}
+
+		return new RandomVariableDifferentiableAADTape(
+				getValues().floor(floor.getValues()),
+				Arrays.asList(this, floor),
+				OperatorType.FLOOR,
+				getFactory());
+	}
+
+	@Override
+	public RandomVariableInterface accrue(RandomVariableInterface rate, double periodLength) {
+		if(rate.getTypePriority() > this.getTypePriority()) {
+			// Check type priority
+			return rate.mult(periodLength).add(1.0).mult(this);
+		}
+
+		return new RandomVariableDifferentiableAADTape(
+				getValues().accrue(rate.getValues(), periodLength),
+				Arrays.asList(this, rate, new RandomVariable(periodLength)),
+				OperatorType.ACCRUE,
+				getFactory());
+	}
+
+	@Override
+	public RandomVariableInterface discount(RandomVariableInterface rate, double periodLength) {
+		if(rate.getTypePriority() > this.getTypePriority()) {
+			// Check type priority
+			return rate.mult(periodLength).add(1.0).invert().mult(this);
+		}
+
+		return new RandomVariableDifferentiableAADTape(
+				getValues().discount(rate.getValues(), periodLength),
+				Arrays.asList(this, rate, new RandomVariable(periodLength)),
+				OperatorType.DISCOUNT,
+				getFactory());
+	}
+
+	@Override
+	public RandomVariableInterface choose(RandomVariableInterface valueIfTriggerNonNegative, RandomVariableInterface valueIfTriggerNegative) {
+		return new RandomVariableDifferentiableAADTape(
+				getValues().choose(valueIfTriggerNonNegative.getValues(), valueIfTriggerNegative.getValues()),
+				Arrays.asList(this, valueIfTriggerNonNegative, valueIfTriggerNegative),
+				OperatorType.CHOOSE,
+				getFactory());
+	}
+
+	@Override
+	@Deprecated
+	public RandomVariableInterface barrier(RandomVariableInterface trigger, RandomVariableInterface valueIfTriggerNonNegative, RandomVariableInterface valueIfTriggerNegative) {
+		return new RandomVariableDifferentiableAADTape(
+				trigger.getValues().choose(valueIfTriggerNonNegative.getValues(), valueIfTriggerNegative.getValues()),
+				Arrays.asList(trigger, valueIfTriggerNonNegative, valueIfTriggerNegative),
+				OperatorType.CHOOSE,
+				getFactory());
+	}
+
+	@Override
+	@Deprecated
+	public RandomVariableInterface barrier(RandomVariableInterface trigger, RandomVariableInterface valueIfTriggerNonNegative, double valueIfTriggerNegative) {
+		return new RandomVariableDifferentiableAADTape(
+				trigger.getValues().choose(valueIfTriggerNonNegative.getValues(), new RandomVariable(valueIfTriggerNegative)),
+				Arrays.asList(trigger, valueIfTriggerNonNegative, new RandomVariable(valueIfTriggerNegative)),
+				OperatorType.CHOOSE,
+				getFactory());
+	}
+
+	@Override
+	public RandomVariableInterface invert() {
+		return new RandomVariableDifferentiableAADTape(
+				getValues().invert(),
+				Arrays.asList(new RandomVariableInterface[]{ this }),
+				OperatorType.INVERT,
+				getFactory());
+	}
+
+	@Override
+	public RandomVariableInterface abs() {
+		return new RandomVariableDifferentiableAADTape(
+				getValues().abs(),
+				Arrays.asList(new RandomVariableInterface[]{ this }),
+				OperatorType.ABS,
+				getFactory());
+	}
+
+	@Override
+	public RandomVariableInterface addProduct(RandomVariableInterface factor1, double factor2) {
+		if(factor1.getTypePriority() > this.getTypePriority()) {
+			// Check type priority
+			return factor1.mult(factor2).add(this);
+		}
+
+		return new RandomVariableDifferentiableAADTape(
+				getValues().addProduct(factor1.getValues(), factor2),
+				Arrays.asList(this, factor1, new RandomVariable(factor2)),
+				OperatorType.ADDPRODUCT,
+				getFactory());
+	}
+
+	@Override
+	public RandomVariableInterface addProduct(RandomVariableInterface factor1, RandomVariableInterface factor2) {
+		if(factor1.getTypePriority() > this.getTypePriority() || factor2.getTypePriority() > this.getTypePriority()) {
+			// Check type priority
+			return factor1.mult(factor2).add(this);
+		}
+
+		return new RandomVariableDifferentiableAADTape(
+				getValues().addProduct(factor1.getValues(), factor2.getValues()),
+				Arrays.asList(this, factor1, factor2),
+				OperatorType.ADDPRODUCT,
+				getFactory());
+	}
+
+	@Override
+	public RandomVariableInterface addRatio(RandomVariableInterface numerator, RandomVariableInterface denominator) {
+		if(numerator.getTypePriority() > this.getTypePriority() || denominator.getTypePriority() > this.getTypePriority()) {
+			// Check type priority
+			return numerator.div(denominator).add(this);
+		}
+
+		return new RandomVariableDifferentiableAADTape(
+				getValues().addRatio(numerator.getValues(), denominator.getValues()),
+				Arrays.asList(this, numerator, denominator),
+				OperatorType.ADDRATIO,
+				getFactory());
+	}
+
+	@Override
+	public RandomVariableInterface subRatio(RandomVariableInterface numerator, RandomVariableInterface denominator) {
+		if(numerator.getTypePriority() > this.getTypePriority() || denominator.getTypePriority() > this.getTypePriority()) {
+			// Check type priority
+			return numerator.div(denominator).mult(-1).add(this);
+		}
+
+		return new RandomVariableDifferentiableAADTape(
+				getValues().subRatio(numerator.getValues(), denominator.getValues()),
+				Arrays.asList(this, numerator, denominator),
+				OperatorType.SUBRATIO,
+				getFactory());
+	}
+
+	/*
+	 * The following methods are end points, the result is not differentiable.
+	 */
+
+	@Override
+	public RandomVariableInterface isNaN() {
+		return getValues().isNaN();
+	}
+
+	@Override
+	public IntToDoubleFunction getOperator() {
+		return getValues().getOperator();
+	}
+
+	@Override
+	public DoubleStream getRealizationsStream() {
+		return getValues().getRealizationsStream();
+	}
+
+	@Override
+	public RandomVariableInterface apply(DoubleUnaryOperator operator) {
+		throw new UnsupportedOperationException("Applying functions is not supported.");
+	}
+
+	@Override
+	public RandomVariableInterface apply(DoubleBinaryOperator operator, RandomVariableInterface argument) {
+		throw new UnsupportedOperationException("Applying functions is not supported.");
+	}
+
+	@Override
+	public RandomVariableInterface apply(DoubleTernaryOperator operator, RandomVariableInterface argument1, RandomVariableInterface argument2) {
+		throw new UnsupportedOperationException("Applying functions is not supported.");
+	}
+
+	@Override
+	public String toString() {
+		return "RandomVariableDifferentiableAADTape [values=" + values + ",\n ID=" + getID() + "]";
+	}
+
+	@Override
+	public RandomVariableDifferentiableInterface getCloneIndependent() {
+		return new RandomVariableDifferentiableAADTape(this.getValues(), factory);
+	}
+}
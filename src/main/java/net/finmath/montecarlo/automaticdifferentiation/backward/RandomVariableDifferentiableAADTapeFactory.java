@@ -0,0 +1,81 @@
+/*
+ * (c) Copyright Christian P. Fries, Germany. Contact: email@christian-fries.de.
+ *
+ * Created on 16.10.2026
+ */
+package net.finmath.montecarlo.automaticdifferentiation.backward;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import net.finmath.montecarlo.AbstractRandomVariableFactory;
+import net.finmath.montecarlo.RandomVariableFactory;
+import net.finmath.montecarlo.automaticdifferentiation.RandomVariableDifferentiableInterface;
+
+/**
+ * Factory creating {@link RandomVariableDifferentiableAADTape} objects, i.e., random variables which record their
+ * operations on a tape owned by this factory. The gradient is calculated by a single reverse sweep over the tape.
+ *
+ * The tape grows with every operation. If the factory is used for repeated valuations, call {@link #resetTape()}
+ * before each valuation (and create the independents after the reset). This releases all recorded operations while
+ * keeping the allocated memory.
+ *
+ * The properties are the same as for {@link RandomVariableDifferentiableAADFactory}.
+ *
+ * @author Christian Fries
+ * @version 1.0
+ */
+public class RandomVariableDifferentiableAADTapeFactory extends RandomVariableDifferentiableAADFactory {
+
+	private static final long serialVersionUID = -2711496232539785614L;
+
+	private final AADTape tape = new AADTape();
+
+	/**
+	 * @param randomVariableFactoryForNonDifferentiable Random variable factory for the underlying values.
+	 * @param properties Properties controlling the differentiation, see {@link RandomVariableDifferentiableAADFactory}.
+	 */
+	public RandomVariableDifferentiableAADTapeFactory(AbstractRandomVariableFactory randomVariableFactoryForNonDifferentiable, Map<String, Object> properties) {
+		super(randomVariableFactoryForNonDifferentiable, properties);
+	}
+
+	/**
+	 * @param randomVariableFactoryForNonDifferentiable Random variable factory for the underlying values.
+	 */
+	public RandomVariableDifferentiableAADTapeFactory(AbstractRandomVariableFactory randomVariableFactoryForNonDifferentiable) {
+		this(randomVariableFactoryForNonDifferentiable, new HashMap<String, Object>());
+	}
+
+	public RandomVariableDifferentiableAADTapeFactory() {
+		this(new RandomVariableFactory());
+	}
+
+	@Override
+	public RandomVariableDifferentiableInterface createRandomVariable(double time, double value) {
+		return new RandomVariableDifferentiableAADTape(createRandomVariableNonDifferentiable(time, value), this);
+	}
+
+	@Override
+	public RandomVariableDifferentiableInterface createRandomVariable(double time, double[] values) {
+		return new RandomVariableDifferentiableAADTape(createRandomVariableNonDifferentiable(time, values), this);
+	}
+
+	/**
+	 * Removes all recorded operations from the tape. Random variables created before the reset
+	 * cannot be used in calculations (or differentiated) afterwards.
+	 */
+	public void resetTape() {
+		tape.reset();
+	}
+
+	/**
+	 * @return The number of operations (including independents) currently recorded on the tape.
+	 */
+	public int getTapeSize() {
+		return tape.size();
+	}
+
+	AADTape getTape() {
+		return tape;
+	}
+}
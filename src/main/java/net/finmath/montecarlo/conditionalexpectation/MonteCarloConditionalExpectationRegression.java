@@ -5,11 +5,20 @@
  */
 package net.finmath.montecarlo.conditionalexpectation;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
 import org.apache.commons.math3.linear.Array2DRowRealMatrix;
-import org.apache.commons.math3.linear.ArrayRealVector;
+import org.apache.commons.math3.linear.CholeskyDecomposition;
 import org.apache.commons.math3.linear.DecompositionSolver;
+import org.apache.commons.math3.linear.NonPositiveDefiniteMatrixException;
+import org.apache.commons.math3.linear.RealMatrix;
 import org.apache.commons.math3.linear.SingularValueDecomposition;
 
+import net.finmath.montecarlo.RandomVariable;
+import net.finmath.montecarlo.automaticdifferentiation.RandomVariableDifferentiableInterface;
 import net.finmath.stochastic.ConditionalExpectationEstimatorInterface;
 import net.finmath.stochastic.RandomVariableInterface;
 
@@ -26,8 +35,21 @@ import net.finmath.stochastic.RandomVariableInterface;
  * basis functions have to correspond to the same entities, however, generated in
  * different simulations (number of path, etc., may be different).
  *
+ * The scalar products of the basis functions (<i>X<sup>T</sup> X</i>) and the projections of the
+ * dependents (<i>X<sup>T</sup> y</i>) are calculated in a single sweep over blocks of paths. The blocks are
+ * processed sequentially, unless the parallel processing of the blocks is enabled in the constructor. Since the sums of
+ * the blocks are added in a fixed order, the result does not depend on this choice (or the number of threads).
+ * The parallel processing uses the common <code>ForkJoinPool</code>; it should not be enabled if the regression is
+ * used within an already parallel valuation. The normal equations are solved via a Cholesky decomposition if the
+ * matrix <i>X<sup>T</sup> X</i> is well conditioned, otherwise via a singular value decomposition.
+ *
+ * The conditional expectations of several random variables with respect to the same basis functions
+ * may be calculated by {@link #getConditionalExpectations(RandomVariableInterface[])}, which uses
+ * one decomposition, a single sweep for all projections <i>X<sup>T</sup> y</i> and a single sweep for all
+ * estimates <i>X x</i>.
+ *
  * @author Christian Fries
- * @version 1.0
+ * @version 1.1
  */
 public class MonteCarloConditionalExpectationRegression implements ConditionalExpectationEstimatorInterface {
 
@@ -59,15 +81,29 @@ public class MonteCarloConditionalExpectationRegression implements ConditionalEx
 	}
 
 
+	private static final int	pathBlockSize = 1024;
+
+	/*
+	 * Lower bound for the ratio of the smallest and the largest squared diagonal element of the Cholesky factor.
+	 * If the ratio is below, the matrix is considered ill conditioned and the singular value decomposition is used.
+	 */
+	private static final double	choleskyConditionThreshold = 1E-10;
+
 	private RegressionBasisFunctions basisFunctionsEstimator		= null;
 	private RegressionBasisFunctions basisFunctionsPredictor		= null;
 
+	private final boolean isParallel;
 
 	private transient DecompositionSolver solver;
 	private final transient Object solverLock;
 
 	public MonteCarloConditionalExpectationRegression() {
+		this(false);
+	}
+
+	private MonteCarloConditionalExpectationRegression(boolean isParallel) {
 		super();
+		this.isParallel = isParallel;
 		solverLock = new Object();	// Lock for LazyInit of solver.
 	}
 
@@ -75,25 +111,53 @@ public class MonteCarloConditionalExpectationRegression implements ConditionalEx
 	 * Creates a class for conditional expectation estimation.
 	 *
 	 * @param basisFunctions A vector of random variables to be used as basis functions.
+	 * @param isParallel If true, the blocks of paths are processed in parallel (on the common <code>ForkJoinPool</code>).
 	 */
-	public MonteCarloConditionalExpectationRegression(RandomVariableInterface[] basisFunctions) {
-		this();
+	public MonteCarloConditionalExpectationRegression(RandomVariableInterface[] basisFunctions, boolean isParallel) {
+		this(isParallel);
 		this.basisFunctionsEstimator = new RegressionBasisFunctionsGiven(getNonZeroBasisFunctions(basisFunctions));
 		this.basisFunctionsPredictor = basisFunctionsEstimator;
 	}
 
+	/**
+	 * Creates a class for conditional expectation estimation. The blocks of paths are processed sequentially.
+	 *
+	 * @param basisFunctions A vector of random variables to be used as basis functions.
+	 */
+	public MonteCarloConditionalExpectationRegression(RandomVariableInterface[] basisFunctions) {
+		this(basisFunctions, false);
+	}
+
 	/**
 	 * Creates a class for conditional expectation estimation.
 	 *
 	 * @param basisFunctionsEstimator A vector of random variables to be used as basis functions for estimation.
 	 * @param basisFunctionsPredictor A vector of random variables to be used as basis functions for prediction.
+	 * @param isParallel If true, the blocks of paths are processed in parallel (on the common <code>ForkJoinPool</code>).
 	 */
-	public MonteCarloConditionalExpectationRegression(RandomVariableInterface[] basisFunctionsEstimator, RandomVariableInterface[] basisFunctionsPredictor) {
-		this();
+	public MonteCarloConditionalExpectationRegression(RandomVariableInterface[] basisFunctionsEstimator, RandomVariableInterface[] basisFunctionsPredictor, boolean isParallel) {
+		this(isParallel);
 		this.basisFunctionsEstimator = new RegressionBasisFunctionsGiven(getNonZeroBasisFunctions(basisFunctionsEstimator));
 		this.basisFunctionsPredictor = new RegressionBasisFunctionsGiven(getNonZeroBasisFunctions(basisFunctionsPredictor));
 	}
 
+	/**
+	 * Creates a class for conditional expectation estimation. The blocks of paths are processed sequentially.
+	 *
+	 * @param basisFunctionsEstimator A vector of random variables to be used as basis functions for estimation.
+	 * @param basisFunctionsPredictor A vector of random variables to be used as basis functions for prediction.
+	 */
+	public MonteCarloConditionalExpectationRegression(RandomVariableInterface[] basisFunctionsEstimator, RandomVariableInterface[] basisFunctionsPredictor) {
+		this(basisFunctionsEstimator, basisFunctionsPredictor, false);
+	}
+
+	/**
+	 * @return True if the blocks of paths are processed in parallel.
+	 */
+	public boolean isParallel() {
+		return isParallel;
+	}
+
 	@Override
 	public RandomVariableInterface getConditionalExpectation(RandomVariableInterface randomVariable) {
 		// Get regression parameters x as the solution of XTX x = XT y
@@ -109,42 +173,321 @@ public class MonteCarloConditionalExpectationRegression implements ConditionalEx
 		return conditionalExpectation;
 	}
 
+	/**
+	 * Return the conditional expectations of given random variables, all using the basis functions of this object.
+	 *
+	 * The regression parameters of all random variables are calculated using the same decomposition of X<sup>T</sup> X
+	 * and a single sweep over the paths for the projections X<sup>T</sup> y. If the basis functions for prediction are
+	 * {@link RandomVariable}s, the estimates X x are calculated in a single sweep over the paths, otherwise via operations
+	 * on the basis functions. Random variables implementing {@link RandomVariableDifferentiableInterface} are passed to their
+	 * {@link RandomVariableInterface#getConditionalExpectation(ConditionalExpectationEstimatorInterface)} method, such that
+	 * the dependency is recorded for the differentiation.
+	 *
+	 * @param randomVariables The random variables y.
+	 * @return The conditional expectations, the element with index i corresponding to <code>randomVariables[i]</code>.
+	 */
+	public RandomVariableInterface[] getConditionalExpectations(RandomVariableInterface[] randomVariables) {
+		RandomVariableInterface[] conditionalExpectations = new RandomVariableInterface[randomVariables.length];
+
+		// Differentiable random variables record the conditional expectation operator
+		List<Integer> indicesOfDependents = new ArrayList<>();
+		for(int i=0; i<randomVariables.length; i++) {
+			if(randomVariables[i] instanceof RandomVariableDifferentiableInterface) {
+				conditionalExpectations[i] = randomVariables[i].getConditionalExpectation(this);
+			}
+			else {
+				indicesOfDependents.add(i);
+			}
+		}
+		if(indicesOfDependents.isEmpty()) {
+			return conditionalExpectations;
+		}
+
+		RandomVariableInterface[] dependents = new RandomVariableInterface[indicesOfDependents.size()];
+		for(int k=0; k<dependents.length; k++) {
+			dependents[k] = randomVariables[indicesOfDependents.get(k)];
+		}
+
+		double[][] linearRegressionParameters = getLinearRegressionParameters(dependents);
+
+		// Calculate estimates, i.e. X x
+		RandomVariableInterface[] basisFunctions = this.basisFunctionsPredictor.getBasisFunctions();
+		RandomVariableInterface[] estimates = getEstimates(basisFunctions, linearRegressionParameters);
+		if(estimates == null) {
+			estimates = new RandomVariableInterface[dependents.length];
+			for(int k=0; k<dependents.length; k++) {
+				estimates[k] = basisFunctions[0].mult(linearRegressionParameters[k][0]);
+				for(int i=1; i<basisFunctions.length; i++) {
+					estimates[k] = estimates[k].addProduct(basisFunctions[i], linearRegressionParameters[k][i]);
+				}
+			}
+		}
+
+		for(int k=0; k<dependents.length; k++) {
+			conditionalExpectations[indicesOfDependents.get(k)] = estimates[k];
+		}
+
+		return conditionalExpectations;
+	}
+
 	/**
 	 * Return the solution x of XTX x = XT y for a given y.
-	 * @TODO Performance upon repeated call can be optimized by caching XTX.
 	 *
 	 * @param dependents The sample vector of the random variable y.
 	 * @return The solution x of XTX x = XT y.
 	 */
 	public double[] getLinearRegressionParameters(RandomVariableInterface dependents) {
+		return getLinearRegressionParameters(new RandomVariableInterface[] { dependents })[0];
+	}
+
+	/**
+	 * Return the solutions x of XTX x = XT y for given y, using the same decomposition of XTX.
+	 *
+	 * @param dependents The sample vectors of the random variables y.
+	 * @return The solutions x of XTX x = XT y, the element with index i corresponding to <code>dependents[i]</code>.
+	 */
+	public double[][] getLinearRegressionParameters(RandomVariableInterface[] dependents) {
 
 		RandomVariableInterface[] basisFunctions = basisFunctionsEstimator.getBasisFunctions();
 
 		synchronized (solverLock) {
 			if(solver == null) {
 				// Build XTX - the symmetric matrix consisting of the scalar products of the basis functions.
-				double[][] XTX = new double[basisFunctions.length][basisFunctions.length];
-				for(int i=0; i<basisFunctions.length; i++) {
-					for(int j=i; j<basisFunctions.length; j++) {
-						XTX[i][j] = basisFunctions[i].mult(basisFunctions[j]).getAverage();	// Scalar product
-						XTX[j][i] = XTX[i][j];												// Symmetric matrix
+				double[][] XTX = getScalarProducts(basisFunctions);
+
+				solver = getSolver(new Array2DRowRealMatrix(XTX, false));
+			}
+		}
+
+		// Build XTy - the projection of the dependents random variables on the basis functions (as columns).
+		double[][] XTy = getProjections(basisFunctions, dependents);
+
+		// Solve X^T X x = X^T y - which gives us the regression coefficients x = linearRegressionParameters
+		double[][] linearRegressionParameters = solver.solve(new Array2DRowRealMatrix(XTy, false)).transpose().getData();
+
+		return linearRegressionParameters;
+	}
+
+	/**
+	 * Returns a solver for the normal equations: the Cholesky decomposition, if the matrix is positive definite and
+	 * well conditioned, otherwise the singular value decomposition.
+	 *
+	 * @param XTX The matrix X<sup>T</sup> X.
+	 * @return The solver.
+	 */
+	private static DecompositionSolver getSolver(RealMatrix XTX) {
+		try {
+			CholeskyDecomposition cholesky = new CholeskyDecomposition(XTX, CholeskyDecomposition.DEFAULT_RELATIVE_SYMMETRY_THRESHOLD, 0.0);
+
+			double minDiagonal = Double.MAX_VALUE;
+			double maxDiagonal = 0.0;
+			for(int i=0; i<XTX.getRowDimension(); i++) {
+				double diagonal = cholesky.getL().getEntry(i, i);
+				minDiagonal = Math.min(minDiagonal, diagonal*diagonal);
+				maxDiagonal = Math.max(maxDiagonal, diagonal*diagonal);
+			}
+			if(minDiagonal > choleskyConditionThreshold * maxDiagonal) {
+				return cholesky.getSolver();
+			}
+		}
+		catch(NonPositiveDefiniteMatrixException e) {
+			// Matrix is (numerically) singular, we use the singular value decomposition
+		}
+
+		return new SingularValueDecomposition(XTX).getSolver();
+	}
+
+	/**
+	 * Calculates the matrix of scalar products E(X<sub>i</sub> X<sub>j</sub>) in a single sweep over blocks of paths.
+	 *
+	 * @param basisFunctions The random variables X<sub>i</sub>.
+	 * @return The matrix of scalar products.
+	 */
+	private double[][] getScalarProducts(RandomVariableInterface[] basisFunctions) {
+		int numberOfBasisFunctions = basisFunctions.length;
+		int numberOfPaths = getNumberOfPaths(basisFunctions, null);
+		int numberOfPathBlocks = (numberOfPaths + pathBlockSize - 1) / pathBlockSize;
+
+		// Sums of the upper triangle, per path block
+		double[][] sumsOfPathBlocks = new double[numberOfPathBlocks][];
+		getPathBlocks(numberOfPathBlocks).forEach(pathBlock -> {
+			int pathStart = pathBlock * pathBlockSize;
+			int pathEnd = Math.min(pathStart + pathBlockSize, numberOfPaths);
+			double[][] values = getValuesOfPathBlock(basisFunctions, pathStart, pathEnd);
+
+			double[] sums = new double[numberOfBasisFunctions*(numberOfBasisFunctions+1)/2];
+			int index = 0;
+			for(int i=0; i<numberOfBasisFunctions; i++) {
+				double[] valuesOfBasisFunctionI = values[i];
+				for(int j=i; j<numberOfBasisFunctions; j++) {
+					double[] valuesOfBasisFunctionJ = values[j];
+					double sum = 0.0;
+					for(int path=0; path<valuesOfBasisFunctionI.length; path++) {
+						sum += valuesOfBasisFunctionI[path] * valuesOfBasisFunctionJ[path];
 					}
+					sums[index++] = sum;
 				}
+			}
+			sumsOfPathBlocks[pathBlock] = sums;
+		});
 
-				solver = new SingularValueDecomposition(new Array2DRowRealMatrix(XTX, false)).getSolver();
+		double[][] XTX = new double[numberOfBasisFunctions][numberOfBasisFunctions];
+		for(double[] sums : sumsOfPathBlocks) {
+			int index = 0;
+			for(int i=0; i<numberOfBasisFunctions; i++) {
+				for(int j=i; j<numberOfBasisFunctions; j++) {
+					XTX[i][j] += sums[index++];
+				}
+			}
+		}
+		for(int i=0; i<numberOfBasisFunctions; i++) {
+			for(int j=i; j<numberOfBasisFunctions; j++) {
+				XTX[i][j] /= numberOfPaths;		// Scalar product
+				XTX[j][i] = XTX[i][j];			// Symmetric matrix
 			}
 		}
+		return XTX;
+	}
+
+	/**
+	 * Calculates the matrix of scalar products E(X<sub>i</sub> Y<sub>k</sub>) in a single sweep over blocks of paths.
+	 *
+	 * @param basisFunctions The random variables X<sub>i</sub>.
+	 * @param dependents The random variables Y<sub>k</sub>.
+	 * @return The matrix of scalar products, where the element [i][k] is E(X<sub>i</sub> Y<sub>k</sub>).
+	 */
+	private double[][] getProjections(RandomVariableInterface[] basisFunctions, RandomVariableInterface[] dependents) {
+		int numberOfBasisFunctions = basisFunctions.length;
+		int numberOfDependents = dependents.length;
+		int numberOfPaths = getNumberOfPaths(basisFunctions, dependents);
+		int numberOfPathBlocks = (numberOfPaths + pathBlockSize - 1) / pathBlockSize;
+
+		double[][][] sumsOfPathBlocks = new double[numberOfPathBlocks][][];
+		getPathBlocks(numberOfPathBlocks).forEach(pathBlock -> {
+			int pathStart = pathBlock * pathBlockSize;
+			int pathEnd = Math.min(pathStart + pathBlockSize, numberOfPaths);
+			double[][] values = getValuesOfPathBlock(basisFunctions, pathStart, pathEnd);
+			double[][] valuesOfDependents = getValuesOfPathBlock(dependents, pathStart, pathEnd);
 
-		// Build XTy - the projection of the dependents random variable on the basis functions.
-		double[] XTy = new double[basisFunctions.length];
-		for(int i=0; i<basisFunctions.length; i++) {
-			XTy[i] = dependents.mult(basisFunctions[i]).getAverage();				// Scalar product
+			double[][] sums = new double[numberOfBasisFunctions][numberOfDependents];
+			for(int i=0; i<numberOfBasisFunctions; i++) {
+				double[] valuesOfBasisFunction = values[i];
+				for(int k=0; k<numberOfDependents; k++) {
+					double[] valuesOfDependent = valuesOfDependents[k];
+					double sum = 0.0;
+					for(int path=0; path<valuesOfBasisFunction.length; path++) {
+						sum += valuesOfBasisFunction[path] * valuesOfDependent[path];
+					}
+					sums[i][k] = sum;
+				}
+			}
+			sumsOfPathBlocks[pathBlock] = sums;
+		});
+
+		double[][] XTy = new double[numberOfBasisFunctions][numberOfDependents];
+		for(double[][] sums : sumsOfPathBlocks) {
+			for(int i=0; i<numberOfBasisFunctions; i++) {
+				for(int k=0; k<numberOfDependents; k++) {
+					XTy[i][k] += sums[i][k];
+				}
+			}
+		}
+		for(int i=0; i<numberOfBasisFunctions; i++) {
+			for(int k=0; k<numberOfDependents; k++) {
+				XTy[i][k] /= numberOfPaths;		// Scalar product
+			}
 		}
+		return XTy;
+	}
 
-		// Solve X^T X x = X^T y - which gives us the regression coefficients x = linearRegressionParameters
-		double[] linearRegressionParameters = solver.solve(new ArrayRealVector(XTy)).toArray();
+	/**
+	 * Calculates the estimates X x<sub>k</sub> for given regression parameters x<sub>k</sub> in a single sweep over blocks of paths.
+	 *
+	 * @param basisFunctions The random variables X<sub>i</sub>.
+	 * @param linearRegressionParameters The regression parameters, where the element [k][i] is the parameter of X<sub>i</sub> for estimate k.
+	 * @return The estimates or null if the basis functions are not (all) of type {@link RandomVariable} or all are deterministic.
+	 */
+	private RandomVariableInterface[] getEstimates(RandomVariableInterface[] basisFunctions, double[][] linearRegressionParameters) {
+		double filtrationTime = Double.NEGATIVE_INFINITY;
+		boolean isDeterministic = true;
+		for(RandomVariableInterface basisFunction : basisFunctions) {
+			if(basisFunction.getClass() != RandomVariable.class) {
+				return null;
+			}
+			filtrationTime = Math.max(filtrationTime, basisFunction.getFiltrationTime());
+			isDeterministic &= basisFunction.isDeterministic();
+		}
+		if(isDeterministic) {
+			return null;
+		}
 
-		return linearRegressionParameters;
+		int numberOfEstimates = linearRegressionParameters.length;
+		int numberOfPaths = getNumberOfPaths(basisFunctions, null);
+		int numberOfPathBlocks = (numberOfPaths + pathBlockSize - 1) / pathBlockSize;
+
+		double[][] estimates = new double[numberOfEstimates][numberOfPaths];
+		getPathBlocks(numberOfPathBlocks).forEach(pathBlock -> {
+			int pathStart = pathBlock * pathBlockSize;
+			int pathEnd = Math.min(pathStart + pathBlockSize, numberOfPaths);
+			double[][] values = getValuesOfPathBlock(basisFunctions, pathStart, pathEnd);
+
+			for(int k=0; k<numberOfEstimates; k++) {
+				double[] estimate = estimates[k];
+				for(int i=0; i<basisFunctions.length; i++) {
+					double[] valuesOfBasisFunction = values[i];
+					double parameter = linearRegressionParameters[k][i];
+					for(int path=pathStart; path<pathEnd; path++) {
+						estimate[path] += parameter * valuesOfBasisFunction[path-pathStart];
+					}
+				}
+			}
+		});
+
+		RandomVariableInterface[] estimatesAsRandomVariables = new RandomVariableInterface[numberOfEstimates];
+		for(int k=0; k<numberOfEstimates; k++) {
+			estimatesAsRandomVariables[k] = new RandomVariable(filtrationTime, estimates[k]);
+		}
+		return estimatesAsRandomVariables;
+	}
+
+	/**
+	 * Returns the stream of the indices of the path blocks, which is parallel if this regression processes the blocks in parallel.
+	 *
+	 * @param numberOfPathBlocks The number of path blocks.
+	 * @return The stream of the indices of the path blocks.
+	 */
+	private IntStream getPathBlocks(int numberOfPathBlocks) {
+		IntStream pathBlocks = IntStream.range(0, numberOfPathBlocks);
+		return isParallel ? pathBlocks.parallel() : pathBlocks;
+	}
+
+	private static double[][] getValuesOfPathBlock(RandomVariableInterface[] randomVariables, int pathStart, int pathEnd) {
+		double[][] values = new double[randomVariables.length][pathEnd-pathStart];
+		for(int i=0; i<randomVariables.length; i++) {
+			RandomVariableInterface randomVariable = randomVariables[i];
+			if(randomVariable.isDeterministic()) {
+				Arrays.fill(values[i], randomVariable.get(0));
+			}
+			else {
+				for(int path=pathStart; path<pathEnd; path++) {
+					values[i][path-pathStart] = randomVariable.get(path);
+				}
+			}
+		}
+		return values;
+	}
+
+	private static int getNumberOfPaths(RandomVariableInterface[] basisFunctions, RandomVariableInterface[] dependents) {
+		int numberOfPaths = 1;
+		for(RandomVariableInterface basisFunction : basisFunctions) {
+			numberOfPaths = Math.max(numberOfPaths, basisFunction.size());
+		}
+		if(dependents != null) {
+			for(RandomVariableInterface dependent : dependents) {
+				numberOfPaths = Math.max(numberOfPaths, dependent.size());
+			}
+		}
+		return numberOfPaths;
 	}
 
 	private RandomVariableInterface[] getNonZeroBasisFunctions(RandomVariableInterface[] basisFunctions) {
@@ -0,0 +1,123 @@
+/*
+ * (c) Copyright Christian P. Fries, Germany. Contact: email@christian-fries.de.
+ *
+ * Created on 16.10.2026
+ */
+package net.finmath.montecarlo.interestrate;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import net.finmath.montecarlo.process.AbstractProcessInterface;
+import net.finmath.stochastic.RandomVariableInterface;
+
+/**
+ * A bounded cache of forward rates (LIBORs) and swap rates of a {@link LIBORModelMonteCarloSimulation},
+ * such that products valued on the same simulation share these random variables.
+ *
+ * The cache keeps the most recently used values (up to a maximum number). The values are associated with the process
+ * of the simulation. If the process changes, the cache is cleared. It is thread safe.
+ *
+ * @author Christian Fries
+ * @version 1.0
+ */
+final class ForwardRateCache {
+
+	enum Quantity {
+		LIBOR,
+		SWAPRATE
+	}
+
+	/**
+	 * The key of a cached value: the quantity and the times (fixing time, period start and end or swap tenor).
+	 */
+	static final class Key {
+		private final Quantity	quantity;
+		private final double[]	times;
+		private final int		hashCode;
+
+		Key(Quantity quantity, double... times) {
+			this.quantity	= quantity;
+			this.times		= times;
+			this.hashCode	= 31 * quantity.hashCode() + Arrays.hashCode(times);
+		}
+
+		@Override
+		public int hashCode() {
+			return hashCode;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if(this == obj) {
+				return true;
+			}
+			if(!(obj instanceof Key)) {
+				return false;
+			}
+			Key other = (Key)obj;
+			return hashCode == other.hashCode && quantity == other.quantity && Arrays.equals(times, other.times);
+		}
+	}
+
+	private final int maximumSize;
+
+	private final Map<Key, RandomVariableInterface[]> values = new LinkedHashMap<Key, RandomVariableInterface[]>(16, 0.75f, true) {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<Key, RandomVariableInterface[]> eldest) {
+			return size() > maximumSize;
+		}
+	};
+
+	private AbstractProcessInterface process;
+
+	/**
+	 * Create a cache keeping at most the given number of values.
+	 *
+	 * @param maximumSize The maximum number of values.
+	 */
+	ForwardRateCache(int maximumSize) {
+		this.maximumSize = maximumSize;
+	}
+
+	/**
+	 * Returns the cached value for the given key, if any.
+	 *
+	 * @param process The process of the simulation (the cache is cleared if the process has changed).
+	 * @param key The key.
+	 * @return The cached value or null.
+	 */
+	synchronized RandomVariableInterface[] get(AbstractProcessInterface process, Key key) {
+		if(process != this.process) {
+			values.clear();
+			this.process = process;
+		}
+		return values.get(key);
+	}
+
+	/**
+	 * Stores a value. If another value has been stored for the key in the meantime, that value is kept and returned.
+	 *
+	 * @param process The process of the simulation used to calculate the value.
+	 * @param key The key.
+	 * @param value The value.
+	 * @return The value stored for the key.
+	 */
+	synchronized RandomVariableInterface[] put(AbstractProcessInterface process, Key key, RandomVariableInterface[] value) {
+		if(process != this.process) {
+			return value;
+		}
+		RandomVariableInterface[] previousValue = values.putIfAbsent(key, value);
+		return previousValue != null ? previousValue : value;
+	}
+
+	/**
+	 * @return The maximum number of values.
+	 */
+	int getMaximumSize() {
+		return maximumSize;
+	}
+}
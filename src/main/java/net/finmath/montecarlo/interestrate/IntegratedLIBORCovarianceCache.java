@@ -0,0 +1,146 @@
+/*
+ * (c) Copyright Christian P. Fries, Germany. Contact: email@christian-fries.de.
+ *
+ * Created on 16.10.2026
+ */
+package net.finmath.montecarlo.interestrate;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A cache for the calculation of the integrated LIBOR covariance of a {@link LIBORMarketModel}, shared by a model and its clones.
+ *
+ * The integrated covariance is the sum over the time steps of the covariance increments
+ * <i>&int;<sub>t<sub>i</sub></sub><sup>t<sub>i+1</sub></sup> &lambda;<sub>j</sub>(t) &lambda;<sub>k</sub>(t) dt</i>.
+ * The increment of a time step is a function of the factor loadings at that time step, the time step size and the index of the first
+ * component which is not fixed. The cache stores the increments keyed by these values. Since the factor loadings are a function of the
+ * parameters of the covariance model, a model with the same parameters (e.g. a clone) finds all its increments in the cache,
+ * and a model where only some parameters have changed (e.g. the bumped models of a calibration) only has to calculate the increments
+ * of the time steps where the factor loadings have changed.
+ *
+ * The cache keeps the increments of the most recently used time steps (up to a maximum number). It is thread safe.
+ *
+ * @author Christian Fries
+ * @version 1.0
+ */
+final class IntegratedLIBORCovarianceCache {
+
+	private static final int numberOfTimeStepsPerModel = 2;
+
+	/**
+	 * The key of a covariance increment: the factor loadings, the time step size and the index of the first component which is not fixed.
+	 */
+	static final class TimeStepKey {
+		private final double		timeStep;
+		private final int			firstComponentIndex;
+		private final double[][]	factorLoadings;
+		private final int			hashCode;
+
+		TimeStepKey(double timeStep, int firstComponentIndex, double[][] factorLoadings) {
+			this.timeStep				= timeStep;
+			this.firstComponentIndex	= firstComponentIndex;
+			this.factorLoadings			= factorLoadings;
+			this.hashCode				= 31 * (31 * Double.hashCode(timeStep) + firstComponentIndex) + Arrays.deepHashCode(factorLoadings);
+		}
+
+		double getTimeStep() {
+			return timeStep;
+		}
+
+		int getFirstComponentIndex() {
+			return firstComponentIndex;
+		}
+
+		double[][] getFactorLoadings() {
+			return factorLoadings;
+		}
+
+		@Override
+		public int hashCode() {
+			return hashCode;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if(this == obj) {
+				return true;
+			}
+			if(!(obj instanceof TimeStepKey)) {
+				return false;
+			}
+			TimeStepKey other = (TimeStepKey)obj;
+			return hashCode == other.hashCode
+					&& Double.compare(timeStep, other.timeStep) == 0
+					&& firstComponentIndex == other.firstComponentIndex
+					&& Arrays.deepEquals(factorLoadings, other.factorLoadings);
+		}
+	}
+
+	private final Map<TimeStepKey, double[][]> covarianceIncrements = new LinkedHashMap<TimeStepKey, double[][]>(16, 0.75f, true) {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<TimeStepKey, double[][]> eldest) {
+			return size() > maximumNumberOfCovarianceIncrements;
+		}
+	};
+
+	private int maximumNumberOfCovarianceIncrements = 0;
+
+	private double[][][]	lastCovarianceIncrements;
+	private double[][][]	lastIntegratedCovariance;
+
+	/**
+	 * Returns the covariance increment of a time step, if it is in the cache.
+	 *
+	 * @param key The key of the time step.
+	 * @return The covariance increment (upper triangle, must not be modified) or null.
+	 */
+	synchronized double[][] getCovarianceIncrement(TimeStepKey key) {
+		return covarianceIncrements.get(key);
+	}
+
+	/**
+	 * Stores the covariance increment of a time step. The cache keeps the increments of at least the given number of time steps
+	 * for two models.
+	 *
+	 * @param key The key of the time step.
+	 * @param covarianceIncrement The covariance increment (upper triangle, must not be modified after it has been stored).
+	 * @param numberOfTimeSteps The number of time steps of the model.
+	 */
+	synchronized void putCovarianceIncrement(TimeStepKey key, double[][] covarianceIncrement, int numberOfTimeSteps) {
+		maximumNumberOfCovarianceIncrements = Math.max(maximumNumberOfCovarianceIncrements, numberOfTimeStepsPerModel * numberOfTimeSteps);
+		covarianceIncrements.put(key, covarianceIncrement);
+	}
+
+	/**
+	 * Returns the integrated covariance calculated from the given covariance increments, if it is the last one calculated.
+	 *
+	 * @param covarianceIncrements The covariance increments of all time steps (as obtained from this cache).
+	 * @return The integrated covariance or null.
+	 */
+	synchronized double[][][] getIntegratedCovariance(double[][][] covarianceIncrements) {
+		if(lastCovarianceIncrements == null || lastCovarianceIncrements.length != covarianceIncrements.length) {
+			return null;
+		}
+		for(int timeIndex=0; timeIndex<covarianceIncrements.length; timeIndex++) {
+			if(lastCovarianceIncrements[timeIndex] != covarianceIncrements[timeIndex]) {
+				return null;
+			}
+		}
+		return lastIntegratedCovariance;
+	}
+
+	/**
+	 * Stores the integrated covariance calculated from the given covariance increments.
+	 *
+	 * @param covarianceIncrements The covariance increments of all time steps (as obtained from this cache).
+	 * @param integratedCovariance The integrated covariance.
+	 */
+	synchronized void putIntegratedCovariance(double[][][] covarianceIncrements, double[][][] integratedCovariance) {
+		lastCovarianceIncrements = covarianceIncrements;
+		lastIntegratedCovariance = integratedCovariance;
+	}
+}
@@ -9,10 +9,16 @@ import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.IntStream;
 
 import net.finmath.exception.CalculationException;
 import net.finmath.functions.AnalyticFormulas;
@@ -25,6 +31,7 @@ import net.finmath.marketdata.products.Swap;
 import net.finmath.marketdata.products.SwapAnnuity;
 import net.finmath.montecarlo.AbstractRandomVariableFactory;
 import net.finmath.montecarlo.RandomVariableFactory;
+import net.finmath.montecarlo.automaticdifferentiation.RandomVariableDifferentiableInterface;
 import net.finmath.montecarlo.interestrate.modelplugins.AbstractLIBORCovarianceModel;
 import net.finmath.montecarlo.interestrate.modelplugins.AbstractLIBORCovarianceModelParametric;
 import net.finmath.montecarlo.interestrate.modelplugins.LIBORCovarianceModelCalibrateable;
@@ -122,6 +129,27 @@ import net.finmath.time.TimeDiscretizationInterface;
  * 			May be used to limit the simulated valued to prevent values attaining POSITIVE_INFINITY and
  * 			numerical problems. To disable the cap, set <code>liborCap</code> to <code>Double.POSITIVE_INFINITY</code>.
  *		</li>
+ * 		<li>
+ * 			<code>driftComputation</code>: Possible values:
+ * 			<ul>
+ * 				<li>
+ * 					<code>OPERATORS</code>: The drift is calculated using the operators of the random variables (default).
+ * 				</li>
+ * 				<li>
+ * 					<code>VECTORIZED</code>: The drift is accumulated in place in a primitive buffer of all components and paths,
+ * 					traversing the paths in blocks (such that the working set of a block stays in the cache).
+ * 				</li>
+ * 				<li>
+ * 					<code>VECTORIZED_PARALLEL</code>: As <code>VECTORIZED</code>, with the path blocks processed in parallel.
+ * 				</li>
+ *			</ul>
+ *			For the double precision {@link net.finmath.montecarlo.RandomVariable} the vectorized modes give the same result as
+ *			<code>OPERATORS</code> (bit for bit). For other implementations, e.g., {@link net.finmath.montecarlo.RandomVariableLowMemory}
+ *			(which rounds the result of each operation to single precision), the intermediate results of the vectorized modes are
+ *			kept in double precision, such that the result may differ within the precision of the implementation. The vectorized modes are used only if the forward rates
+ *			and the factor loadings are not differentiable random variables (otherwise the operators are used, such that
+ *			automatic differentiation is supported).
+ *		</li>
  * </ul>
  * <br>
  * The main task of this class is to calculate the risk-neutral drift and the
@@ -132,7 +160,7 @@ import net.finmath.time.TimeDiscretizationInterface;
  * {@link net.finmath.montecarlo.interestrate.modelplugins.AbstractLIBORCovarianceModelParametric#getCloneCalibrated(LIBORMarketModelInterface, AbstractLIBORMonteCarloProduct[], double[], double[], Map)}.
  *
  * @author Christian Fries
- * @version 1.2
+ * @version 1.3
  * @see net.finmath.montecarlo.process.AbstractProcessInterface The interface for numerical schemes.
  * @see net.finmath.montecarlo.model.AbstractModelInterface The interface for models provinding parameters to numerical schemes.
  * @see net.finmath.montecarlo.interestrate.modelplugins.AbstractLIBORCovarianceModel The abstract covariance model plug ins.
@@ -145,6 +173,9 @@ public class LIBORMarketModel extends AbstractModel implements LIBORMarketModelI
 	public enum Driftapproximation	{ EULER, LINE_INTEGRAL, PREDICTOR_CORRECTOR }
 	public enum Measure				{ SPOT, TERMINAL }
 	public enum StateSpace			{ NORMAL, LOGNORMAL }
+	public enum DriftComputation	{ OPERATORS, VECTORIZED, VECTORIZED_PARALLEL }
+
+	private static final int	pathBlockSize = 1024;
 
 	private final TimeDiscretizationInterface		liborPeriodDiscretization;
 
@@ -163,15 +194,38 @@ public class LIBORMarketModel extends AbstractModel implements LIBORMarketModelI
 	private Measure				measure						= Measure.SPOT;
 	private StateSpace			stateSpace					= StateSpace.LOGNORMAL;
 	private double				liborCap					= 1E5;
+	private DriftComputation	driftComputation			= DriftComputation.OPERATORS;
 
 	// This is a cache of the integrated covariance.
 	private double[][][]		integratedLIBORCovariance;
 	private transient Object	integratedLIBORCovarianceLazyInitLock = new Object();
 
-	// Cache for the numeraires, needs to be invalidated if process changes
-	private final ConcurrentHashMap<Integer, RandomVariableInterface>	numeraires;
-	private final ConcurrentHashMap<Double, RandomVariableInterface>	numeraireAdjustments;
-	private AbstractProcessInterface									numerairesProcess = null;
+	// Cache of the covariance increments used in the calculation of the integrated covariance, shared with clones.
+	private transient IntegratedLIBORCovarianceCache	integratedLIBORCovarianceCache = new IntegratedLIBORCovarianceCache();
+
+	// Cache for the numeraires, needs to be invalidated if process changes (the cache is replaced, no locks are used)
+	private transient AtomicReference<NumeraireCache>	numeraireCache				= new AtomicReference<>();
+	private transient LongAdder							numberOfNumeraireCacheHits		= new LongAdder();
+	private transient LongAdder							numberOfNumeraireCacheMisses	= new LongAdder();
+
+	/**
+	 * The cache of the numeraires calculated from the simulation of a given process.
+	 * The values are set with <code>compareAndSet</code>, hence concurrent callers may calculate a value twice,
+	 * but all callers use the value which has been stored first.
+	 */
+	private static class NumeraireCache {
+		private final AbstractProcessInterface								process;
+		private final AtomicReferenceArray<RandomVariableInterface>		numerairesUnAdjustedAtLIBORIndex;
+		private final ConcurrentHashMap<Double, RandomVariableInterface>	numeraires;
+		private final ConcurrentHashMap<Double, RandomVariableInterface>	numeraireAdjustments;
+
+		NumeraireCache(AbstractProcessInterface process, int numberOfLIBORPeriods) {
+			this.process							= process;
+			this.numerairesUnAdjustedAtLIBORIndex	= new AtomicReferenceArray<>(numberOfLIBORPeriods);
+			this.numeraires							= new ConcurrentHashMap<>(numberOfLIBORPeriods);
+			this.numeraireAdjustments				= new ConcurrentHashMap<>(numberOfLIBORPeriods);
+		}
+	}
 
 	/**
 	 * A class for calibration items, that is a tripple (P,V,w) where P is a product, V is a target value and w is a weight.
@@ -235,6 +289,20 @@ public class LIBORMarketModel extends AbstractModel implements LIBORMarketModelI
 	 * 			numerical problems. To disable the cap, set <code>liborCap</code> to <code>Double.POSITIVE_INFINITY</code>.
 	 *		</li>
 	 * 		<li>
+	 * 			<code>driftComputation</code>: Possible values:
+	 * 			<ul>
+	 * 				<li>
+	 * 					<code>OPERATORS</code> (<code>String</code>): Calculate the drift using the operators of the random variables.
+	 * 				</li>
+	 * 				<li>
+	 * 					<code>VECTORIZED</code> (<code>String</code>): Accumulate the drift in place in a primitive buffer, block of paths by block of paths.
+	 * 				</li>
+	 * 				<li>
+	 * 					<code>VECTORIZED_PARALLEL</code> (<code>String</code>): As <code>VECTORIZED</code>, processing the blocks of paths in parallel.
+	 * 				</li>
+	 *			</ul>
+	 *		</li>
+	 * 		<li>
 	 * 			<code>calibrationParameters</code>: Possible values:
 	 * 			<ul>
 	 * 				<li>
@@ -283,6 +351,9 @@ public class LIBORMarketModel extends AbstractModel implements LIBORMarketModelI
 		if(properties != null && properties.containsKey("liborCap")) {
 			liborCap	= (Double)properties.get("liborCap");
 		}
+		if(properties != null && properties.containsKey("driftComputation")) {
+			driftComputation	= DriftComputation.valueOf(((String)properties.get("driftComputation")).toUpperCase());
+		}
 
 		Map<String,Object> calibrationParameters = null;
 		if(properties != null && properties.containsKey("calibrationParameters")) {
@@ -324,8 +395,6 @@ public class LIBORMarketModel extends AbstractModel implements LIBORMarketModelI
 			this.covarianceModel    = (AbstractLIBORCovarianceModel) covarianceModelParametric.getCloneCalibrated(this, calibrationProducts, calibrationTargetValues, calibrationWeights, calibrationParameters);
 		}
 
-		numeraires = new ConcurrentHashMap<>(liborPeriodDiscretization.getNumberOfTimes());
-		numeraireAdjustments = new ConcurrentHashMap<>(liborPeriodDiscretization.getNumberOfTimes());
 	}
 
 	/**
@@ -365,6 +434,20 @@ public class LIBORMarketModel extends AbstractModel implements LIBORMarketModelI
 	 * 			numerical problems. To disable the cap, set <code>liborCap</code> to <code>Double.POSITIVE_INFINITY</code>.
 	 *		</li>
 	 * 		<li>
+	 * 			<code>driftComputation</code>: Possible values:
+	 * 			<ul>
+	 * 				<li>
+	 * 					<code>OPERATORS</code> (<code>String</code>): Calculate the drift using the operators of the random variables.
+	 * 				</li>
+	 * 				<li>
+	 * 					<code>VECTORIZED</code> (<code>String</code>): Accumulate the drift in place in a primitive buffer, block of paths by block of paths.
+	 * 				</li>
+	 * 				<li>
+	 * 					<code>VECTORIZED_PARALLEL</code> (<code>String</code>): As <code>VECTORIZED</code>, processing the blocks of paths in parallel.
+	 * 				</li>
+	 *			</ul>
+	 *		</li>
+	 * 		<li>
 	 * 			<code>calibrationParameters</code>: Possible values:
 	 * 			<ul>
 	 * 				<li>
@@ -673,35 +756,82 @@ public class LIBORMarketModel extends AbstractModel implements LIBORMarketModelI
 	 */
 	@Override
 	public RandomVariableInterface getNumeraire(double time) throws CalculationException {
-		RandomVariableInterface numeraire = getNumerairetUnAdjusted(time);
+		NumeraireCache cache = getNumeraireCache();
+
+		RandomVariableInterface numeraire = cache.numeraires.get(time);
+		if(numeraire != null) {
+			numberOfNumeraireCacheHits.increment();
+			return numeraire;
+		}
+		numberOfNumeraireCacheMisses.increment();
+
+		numeraire = getNumerairetUnAdjusted(time);
 		/*
 		 * Adjust for discounting, i.e. funding or collateralization
 		 */
 		if (discountCurve != null) {
-			synchronized (numeraires) {
-				/*
-				 * Check if numeraire cache is valid (i.e. process did not change)
-				 */
-				if (getProcess() != numerairesProcess) {
-					numeraires.clear();
-					numeraireAdjustments.clear();
-					numerairesProcess = getProcess();
-				}
+			RandomVariableInterface deterministicNumeraireAdjustment = cache.numeraireAdjustments.get(time);
 
+			if(deterministicNumeraireAdjustment == null) {
+				// This includes a control for zero bonds
+				deterministicNumeraireAdjustment = numeraire.invert().average().div(discountCurve.getDiscountFactor(curveModel, time));
 
-				RandomVariableInterface deterministicNumeraireAdjustment = numeraireAdjustments.get(time);
+				RandomVariableInterface previousNumeraireAdjustment = cache.numeraireAdjustments.putIfAbsent(time, deterministicNumeraireAdjustment);
+				if(previousNumeraireAdjustment != null) {
+					deterministicNumeraireAdjustment = previousNumeraireAdjustment;
+				}
+			}
 
-				if(deterministicNumeraireAdjustment == null) {
-					// This includes a control for zero bonds
-					deterministicNumeraireAdjustment = numeraire.invert().average().div(discountCurve.getDiscountFactor(curveModel, time));
+			numeraire = numeraire.mult(deterministicNumeraireAdjustment);
+		}
 
-					numeraireAdjustments.put(time, deterministicNumeraireAdjustment);
-				}
+		RandomVariableInterface previousNumeraire = cache.numeraires.putIfAbsent(time, numeraire);
+		return previousNumeraire != null ? previousNumeraire : numeraire;
+	}
 
-				numeraire = numeraire.mult(deterministicNumeraireAdjustment);
+	/**
+	 * Returns the numeraire cache for the current process. If the process has changed, the cache is replaced.
+	 *
+	 * @return The numeraire cache for the current process.
+	 */
+	private NumeraireCache getNumeraireCache() {
+		AbstractProcessInterface process = getProcess();
+		NumeraireCache cache = numeraireCache.get();
+		if(cache == null || cache.process != process) {
+			NumeraireCache newCache = new NumeraireCache(process, liborPeriodDiscretization.getNumberOfTimes());
+			/*
+			 * If another thread has replaced the cache in the meantime, we use its cache if it belongs to the same process,
+			 * otherwise we use our own (unshared) cache.
+			 */
+			if(numeraireCache.compareAndSet(cache, newCache)) {
+				cache = newCache;
+			}
+			else {
+				cache = numeraireCache.get();
+				if(cache == null || cache.process != process) {
+					cache = newCache;
+				}
 			}
 		}
-		return numeraire;
+		return cache;
+	}
+
+	/**
+	 * Returns the number of calls of {@link #getNumeraire(double)} which have been served from the numeraire cache.
+	 *
+	 * @return The number of numeraire cache hits.
+	 */
+	public long getNumberOfNumeraireCacheHits() {
+		return numberOfNumeraireCacheHits.sum();
+	}
+
+	/**
+	 * Returns the number of calls of {@link #getNumeraire(double)} which required the calculation of the numeraire.
+	 *
+	 * @return The number of numeraire cache misses.
+	 */
+	public long getNumberOfNumeraireCacheMisses() {
+		return numberOfNumeraireCacheMisses.sum();
 	}
 
 	protected RandomVariableInterface getNumerairetUnAdjusted(double time) throws CalculationException {
@@ -755,66 +885,58 @@ public class LIBORMarketModel extends AbstractModel implements LIBORMarketModelI
 	}
 
 	protected RandomVariableInterface getNumerairetUnAdjustedAtLIBORIndex(int liborTimeIndex) throws CalculationException {
+		NumeraireCache cache = getNumeraireCache();
+
 		/*
-		 * synchronize lazy init cache
+		 * Check if numeraire is part of the cache
 		 */
-		synchronized(numeraires) {
-			/*
-			 * Check if numeraire cache is valid (i.e. process did not change)
-			 */
-			if (getProcess() != numerairesProcess) {
-				numeraires.clear();
-				numeraireAdjustments.clear();
-				numerairesProcess = getProcess();
-			}
+		RandomVariableInterface numeraireUnadjusted = cache.numerairesUnAdjustedAtLIBORIndex.get(liborTimeIndex);
+		if (numeraireUnadjusted == null) {
+			if (measure == Measure.TERMINAL) {
+				int timeIndex = getTimeIndex(liborPeriodDiscretization.getTime(liborTimeIndex));
+				if(timeIndex < 0) timeIndex = -timeIndex -1;
 
-			/*
-			 * Check if numeraire is part of the cache
-			 */
-			RandomVariableInterface numeraireUnadjusted = numeraires.get(liborTimeIndex);
-			if (numeraireUnadjusted == null) {
-				if (measure == Measure.TERMINAL) {
-					int timeIndex = getTimeIndex(liborPeriodDiscretization.getTime(liborTimeIndex));
-					if(timeIndex < 0) timeIndex = -timeIndex -1;
+				// Initialize to 1.0
+				numeraireUnadjusted = getRandomVariableForConstant(1.0);
 
-					// Initialize to 1.0
-					numeraireUnadjusted = getRandomVariableForConstant(1.0);
+				/*
+				 * Due to time < T_{timeIndex+1} loop is needed.
+				 */
+				for (int liborIndex = liborTimeIndex; liborIndex <= liborPeriodDiscretization.getNumberOfTimeSteps() - 1; liborIndex++) {
+					RandomVariableInterface libor = getLIBOR(timeIndex, liborIndex);
+					double periodLength = liborPeriodDiscretization.getTimeStep(liborIndex);
+					numeraireUnadjusted = numeraireUnadjusted.discount(libor, periodLength);
+				}
+			}
+			else if (measure == Measure.SPOT) {
+				/*
+				 * If numeraire is not N(0), multiply (1 + L(Ti-1)*dt) on N(Ti-1)
+				 */
+				if (liborTimeIndex != 0) {
+					int timeIndex = getTimeIndex(liborPeriodDiscretization.getTime(liborTimeIndex-1));
+					if(timeIndex < 0) timeIndex = -timeIndex -1;
 
-					/*
-					 * Due to time < T_{timeIndex+1} loop is needed.
-					 */
-					for (int liborIndex = liborTimeIndex; liborIndex <= liborPeriodDiscretization.getNumberOfTimeSteps() - 1; liborIndex++) {
-						RandomVariableInterface libor = getLIBOR(timeIndex, liborIndex);
-						double periodLength = liborPeriodDiscretization.getTimeStep(liborIndex);
-						numeraireUnadjusted = numeraireUnadjusted.discount(libor, periodLength);
-					}
+					double periodLength = liborPeriodDiscretization.getTimeStep(liborTimeIndex - 1);
+					RandomVariableInterface libor = getLIBOR(timeIndex, liborTimeIndex - 1);
+					numeraireUnadjusted = getNumerairetUnAdjustedAtLIBORIndex(liborTimeIndex - 1).accrue(libor, periodLength);
 				}
-				else if (measure == Measure.SPOT) {
-					/*
-					 * If numeraire is not N(0), multiply (1 + L(Ti-1)*dt) on N(Ti-1)
-					 */
-					if (liborTimeIndex != 0) {
-						int timeIndex = getTimeIndex(liborPeriodDiscretization.getTime(liborTimeIndex-1));
-						if(timeIndex < 0) timeIndex = -timeIndex -1;
-
-						double periodLength = liborPeriodDiscretization.getTimeStep(liborTimeIndex - 1);
-						RandomVariableInterface libor = getLIBOR(timeIndex, liborTimeIndex - 1);
-						numeraireUnadjusted = getNumerairetUnAdjustedAtLIBORIndex(liborTimeIndex - 1).accrue(libor, periodLength);
-					}
-					else {
-						numeraireUnadjusted = getRandomVariableForConstant(1.0);
-					}
-				} else {
-					throw new CalculationException("Numeraire not implemented for specified measure.");
+				else {
+					numeraireUnadjusted = getRandomVariableForConstant(1.0);
 				}
-				numeraires.put(liborTimeIndex, numeraireUnadjusted);
+			} else {
+				throw new CalculationException("Numeraire not implemented for specified measure.");
+			}
+
+			// If another thread has stored the numeraire in the meantime, use that one
+			if(!cache.numerairesUnAdjustedAtLIBORIndex.compareAndSet(liborTimeIndex, null, numeraireUnadjusted)) {
+				numeraireUnadjusted = cache.numerairesUnAdjustedAtLIBORIndex.get(liborTimeIndex);
 			}
-			return numeraireUnadjusted;
 		}
+		return numeraireUnadjusted;
 	}
 
 	public Map<Double, RandomVariableInterface> getNumeraireAdjustments() {
-		return Collections.unmodifiableMap(numeraireAdjustments);
+		return Collections.unmodifiableMap(getNumeraireCache().numeraireAdjustments);
 	}
 
 	@Override
@@ -868,6 +990,13 @@ public class LIBORMarketModel extends AbstractModel implements LIBORMarketModelI
 			firstLiborIndex = -firstLiborIndex-1 + 1;
 		}
 
+		if(driftComputation != DriftComputation.OPERATORS) {
+			RandomVariableInterface[] drift = getDriftVectorized(timeIndex, firstLiborIndex, realizationAtTimeIndex);
+			if(drift != null) {
+				return drift;
+			}
+		}
+
 		RandomVariableInterface		zero	= getRandomVariableForConstant(0.0);
 
 		// Allocate drift vector and initialize to zero (will be used to sum up drift components)
@@ -930,6 +1059,135 @@ public class LIBORMarketModel extends AbstractModel implements LIBORMarketModelI
 		return drift;
 	}
 
+	/**
+	 * Calculates the drift as in the operator based implementation of {@link #getDrift(int, RandomVariableInterface[], RandomVariableInterface[])},
+	 * but accumulates the drift in place in a primitive buffer <code>double[component][path]</code>.
+	 * The paths are traversed in blocks, such that the working set of a block (the covariance factor sums and the
+	 * one step measure transform) stays in the cache. The blocks are independent and are processed in parallel
+	 * if the drift computation is <code>VECTORIZED_PARALLEL</code>.
+	 *
+	 * The operations (and their order) on each path are those of the operator based implementation, hence the result is the same
+	 * if the random variables are double precision {@link net.finmath.montecarlo.RandomVariable}s. For implementations rounding
+	 * the result of each operation (e.g. {@link net.finmath.montecarlo.RandomVariableLowMemory}) the result differs, since
+	 * the intermediate results are kept in double precision here and only the drift is rounded (when created by the factory).
+	 *
+	 * @param timeIndex Time index <i>i</i> for which the drift should be returned.
+	 * @param firstLiborIndex The index of the first component with a non-zero drift.
+	 * @param realizationAtTimeIndex Time current forward rate vector at time index <i>i</i> which should be used in the calculation.
+	 * @return The drift vector or null, if the drift cannot be calculated on primitive buffers (e.g. since a random variable is differentiable).
+	 */
+	private RandomVariableInterface[] getDriftVectorized(int timeIndex, int firstLiborIndex, RandomVariableInterface[] realizationAtTimeIndex) {
+		int numberOfComponents	= getNumberOfComponents();
+		int numberOfFactors		= getNumberOfFactors();
+
+		// Get the random variables entering the drift (the calls to the covariance model are not parallelized)
+		RandomVariableInterface[][]	factorLoadings	= new RandomVariableInterface[numberOfComponents][];
+		RandomVariableInterface[]	variances		= new RandomVariableInterface[numberOfComponents];
+		double	filtrationTime	= Double.NEGATIVE_INFINITY;
+		int		maxSize			= 1;
+		for(int componentIndex=firstLiborIndex; componentIndex<numberOfComponents; componentIndex++) {
+			factorLoadings[componentIndex] = getFactorLoading(timeIndex, componentIndex, realizationAtTimeIndex);
+			if(stateSpace == StateSpace.LOGNORMAL) {
+				variances[componentIndex] = covarianceModel.getCovariance(getTime(timeIndex), componentIndex, componentIndex, realizationAtTimeIndex);
+			}
+
+			List<RandomVariableInterface> randomVariables = new ArrayList<>(Arrays.asList(factorLoadings[componentIndex]));
+			randomVariables.add(realizationAtTimeIndex[componentIndex]);
+			if(variances[componentIndex] != null) {
+				randomVariables.add(variances[componentIndex]);
+			}
+			for(RandomVariableInterface randomVariable : randomVariables) {
+				if(randomVariable instanceof RandomVariableDifferentiableInterface) {
+					return null;
+				}
+				filtrationTime	= Math.max(filtrationTime, randomVariable.getFiltrationTime());
+				maxSize			= Math.max(maxSize, randomVariable.size());
+			}
+		}
+
+		if(maxSize == 1) {
+			// All random variables are deterministic
+			return null;
+		}
+		int numberOfPaths = maxSize;
+
+		double[][] driftValues = new double[numberOfComponents][];
+		for(int componentIndex=firstLiborIndex; componentIndex<numberOfComponents; componentIndex++) {
+			driftValues[componentIndex] = new double[numberOfPaths];
+		}
+
+		int pathsPerBlock = Math.min(pathBlockSize, numberOfPaths);
+		int numberOfPathBlocks = (numberOfPaths + pathBlockSize - 1) / pathBlockSize;
+		IntStream pathBlocks = IntStream.range(0, numberOfPathBlocks);
+		if(driftComputation == DriftComputation.VECTORIZED_PARALLEL) {
+			pathBlocks = pathBlocks.parallel();
+		}
+		pathBlocks.forEach(pathBlock -> {
+			int pathStart = pathBlock * pathBlockSize;
+			int pathEnd = Math.min(pathStart + pathBlockSize, numberOfPaths);
+
+			double[][]	covarianceFactorSums	= new double[numberOfFactors][pathsPerBlock];
+			double[]	oneStepMeasureTransform	= new double[pathsPerBlock];
+			double[]	factorLoadingValues		= new double[pathsPerBlock];
+
+			for(int step=0; step<numberOfComponents-firstLiborIndex; step++) {
+				int componentIndex = measure == Measure.SPOT ? firstLiborIndex+step : numberOfComponents-1-step;
+
+				double					periodLength	= liborPeriodDiscretization.getTimeStep(componentIndex);
+				RandomVariableInterface	libor			= realizationAtTimeIndex[componentIndex];
+				for(int path=pathStart; path<pathEnd; path++) {
+					double liborValue = libor.get(path);
+					oneStepMeasureTransform[path-pathStart] = periodLength / (1.0 + liborValue * periodLength);
+					if(stateSpace == StateSpace.LOGNORMAL) {
+						oneStepMeasureTransform[path-pathStart] *= liborValue;
+					}
+				}
+
+				double[] driftOfComponent = driftValues[componentIndex];
+				for(int factorIndex=0; factorIndex<numberOfFactors; factorIndex++) {
+					RandomVariableInterface factorLoading = factorLoadings[componentIndex][factorIndex];
+					if(factorLoading.isDeterministic()) {
+						Arrays.fill(factorLoadingValues, factorLoading.get(0));
+					}
+					else {
+						for(int path=pathStart; path<pathEnd; path++) {
+							factorLoadingValues[path-pathStart] = factorLoading.get(path);
+						}
+					}
+
+					double[] covarianceFactorSum = covarianceFactorSums[factorIndex];
+					if(measure == Measure.SPOT) {
+						for(int i=0; i<pathEnd-pathStart; i++) {
+							covarianceFactorSum[i] += oneStepMeasureTransform[i] * factorLoadingValues[i];
+							driftOfComponent[pathStart+i] += covarianceFactorSum[i] * factorLoadingValues[i];
+						}
+					}
+					else {
+						for(int i=0; i<pathEnd-pathStart; i++) {
+							driftOfComponent[pathStart+i] += covarianceFactorSum[i] * factorLoadingValues[i];
+							covarianceFactorSum[i] -= oneStepMeasureTransform[i] * factorLoadingValues[i];
+						}
+					}
+				}
+
+				if(stateSpace == StateSpace.LOGNORMAL) {
+					// Drift adjustment for log-coordinate
+					RandomVariableInterface variance = variances[componentIndex];
+					for(int path=pathStart; path<pathEnd; path++) {
+						driftOfComponent[path] += variance.get(path) * -0.5;
+					}
+				}
+			}
+		});
+
+		RandomVariableInterface[] drift = new RandomVariableInterface[numberOfComponents];
+		for(int componentIndex=firstLiborIndex; componentIndex<numberOfComponents; componentIndex++) {
+			drift[componentIndex] = randomVariableFactory.createRandomVariable(filtrationTime, driftValues[componentIndex]);
+		}
+
+		return drift;
+	}
+
 	@Override
 	public	RandomVariableInterface[]	getFactorLoading(int timeIndex, int componentIndex, RandomVariableInterface[] realizationAtTimeIndex)
 	{
@@ -1133,43 +1391,72 @@ public class LIBORMarketModel extends AbstractModel implements LIBORMarketModelI
 	public double[][][] getIntegratedLIBORCovariance() {
 		synchronized (integratedLIBORCovarianceLazyInitLock) {
 			if(integratedLIBORCovariance == null) {
-				TimeDiscretizationInterface liborPeriodDiscretization = getLiborPeriodDiscretization();
 				TimeDiscretizationInterface simulationTimeDiscretization = getTimeDiscretization();
+				int numberOfTimeSteps	= simulationTimeDiscretization.getNumberOfTimeSteps();
+				int numberOfComponents	= getLiborPeriodDiscretization().getNumberOfTimeSteps();
 
-				integratedLIBORCovariance = new double[simulationTimeDiscretization.getNumberOfTimeSteps()][liborPeriodDiscretization.getNumberOfTimeSteps()][liborPeriodDiscretization.getNumberOfTimeSteps()];
-				for(int timeIndex = 0; timeIndex < simulationTimeDiscretization.getNumberOfTimeSteps(); timeIndex++) {
+				/*
+				 * Get the covariance increments of each time step (in parallel). The increments are cached (keyed by the factor loadings),
+				 * such that only the time steps with modified factor loadings have to be calculated.
+				 */
+				double[][][] covarianceIncrements = new double[numberOfTimeSteps][][];
+				IntStream.range(0, numberOfTimeSteps).parallel().forEach(timeIndex -> {
 					double dt = simulationTimeDiscretization.getTime(timeIndex+1) - simulationTimeDiscretization.getTime(timeIndex);
-					RandomVariableInterface[][] factorLoadings = new RandomVariableInterface[liborPeriodDiscretization.getNumberOfTimeSteps()][];
-					// Prefetch factor loadings
-					for(int componentIndex = 0; componentIndex < liborPeriodDiscretization.getNumberOfTimeSteps(); componentIndex++) {
-						factorLoadings[componentIndex] = getFactorLoading(timeIndex, componentIndex, null);
+
+					// The components which are not fixed (the covariance of the other components is zero)
+					int firstComponentIndex = 0;
+					while(firstComponentIndex < numberOfComponents && getLiborPeriod(firstComponentIndex) <= getTime(timeIndex)) {
+						firstComponentIndex++;
 					}
-					for(int componentIndex1 = 0; componentIndex1 < liborPeriodDiscretization.getNumberOfTimeSteps(); componentIndex1++) {
-						RandomVariableInterface[] factorLoadingOfComponent1 = factorLoadings[componentIndex1];
-						// Sum the libor cross terms (use symmetry)
-						for(int componentIndex2 = componentIndex1; componentIndex2 < liborPeriodDiscretization.getNumberOfTimeSteps(); componentIndex2++) {
-							double integratedLIBORCovarianceValue = 0.0;
-							if(getLiborPeriod(componentIndex1) > getTime(timeIndex)) {
-								RandomVariableInterface[] factorLoadingOfComponent2 = factorLoadings[componentIndex2];
-								for(int factorIndex = 0; factorIndex < getNumberOfFactors(); factorIndex++) {
-									integratedLIBORCovarianceValue += factorLoadingOfComponent1[factorIndex].get(0) * factorLoadingOfComponent2[factorIndex].get(0) * dt;
-								}
-							}
-							integratedLIBORCovariance[timeIndex][componentIndex1][componentIndex2] = integratedLIBORCovarianceValue;
+
+					double[][] factorLoadings = new double[numberOfComponents][getNumberOfFactors()];
+					for(int componentIndex = firstComponentIndex; componentIndex < numberOfComponents; componentIndex++) {
+						RandomVariableInterface[] factorLoading = getFactorLoading(timeIndex, componentIndex, null);
+						for(int factorIndex = 0; factorIndex < getNumberOfFactors(); factorIndex++) {
+							factorLoadings[componentIndex][factorIndex] = factorLoading[factorIndex].get(0);
 						}
 					}
-				}
 
-				// Integrate over time (i.e. sum up).
-				for(int timeIndex = 1; timeIndex < simulationTimeDiscretization.getNumberOfTimeSteps(); timeIndex++) {
-					double[][] prevIntegratedLIBORCovariance = integratedLIBORCovariance[timeIndex-1];
-					double[][] thisIntegratedLIBORCovariance = integratedLIBORCovariance[timeIndex];
-					for(int componentIndex1 = 0; componentIndex1 < liborPeriodDiscretization.getNumberOfTimeSteps(); componentIndex1++) {
-						for(int componentIndex2 = componentIndex1; componentIndex2 < liborPeriodDiscretization.getNumberOfTimeSteps(); componentIndex2++) {
-							thisIntegratedLIBORCovariance[componentIndex1][componentIndex2] = prevIntegratedLIBORCovariance[componentIndex1][componentIndex2] + thisIntegratedLIBORCovariance[componentIndex1][componentIndex2];
-							thisIntegratedLIBORCovariance[componentIndex2][componentIndex1] = thisIntegratedLIBORCovariance[componentIndex1][componentIndex2];
-						}
+					IntegratedLIBORCovarianceCache.TimeStepKey key = new IntegratedLIBORCovarianceCache.TimeStepKey(dt, firstComponentIndex, factorLoadings);
+					double[][] covarianceIncrement = integratedLIBORCovarianceCache.getCovarianceIncrement(key);
+					if(covarianceIncrement == null) {
+						covarianceIncrement = getLIBORCovarianceIncrement(key);
+						integratedLIBORCovarianceCache.putCovarianceIncrement(key, covarianceIncrement, numberOfTimeSteps);
 					}
+					covarianceIncrements[timeIndex] = covarianceIncrement;
+				});
+
+				integratedLIBORCovariance = integratedLIBORCovarianceCache.getIntegratedCovariance(covarianceIncrements);
+				if(integratedLIBORCovariance == null) {
+					// Integrate over time (i.e. sum up), in parallel for each component
+					double[][][] newIntegratedLIBORCovariance = new double[numberOfTimeSteps][numberOfComponents][numberOfComponents];
+					IntStream.range(0, numberOfComponents).parallel().forEach(componentIndex1 -> {
+						for(int timeIndex = 0; timeIndex < numberOfTimeSteps; timeIndex++) {
+							double[] thisIntegratedLIBORCovariance = newIntegratedLIBORCovariance[timeIndex][componentIndex1];
+							double[] thisCovarianceIncrement = covarianceIncrements[timeIndex][componentIndex1];
+							for(int componentIndex2 = componentIndex1; componentIndex2 < numberOfComponents; componentIndex2++) {
+								if(timeIndex == 0) {
+									thisIntegratedLIBORCovariance[componentIndex2] = thisCovarianceIncrement[componentIndex2];
+								}
+								else {
+									thisIntegratedLIBORCovariance[componentIndex2] = newIntegratedLIBORCovariance[timeIndex-1][componentIndex1][componentIndex2] + thisCovarianceIncrement[componentIndex2];
+								}
+							}
+						}
+					});
+
+					// Use symmetry
+					IntStream.range(0, numberOfTimeSteps).parallel().forEach(timeIndex -> {
+						double[][] thisIntegratedLIBORCovariance = newIntegratedLIBORCovariance[timeIndex];
+						for(int componentIndex1 = 0; componentIndex1 < numberOfComponents; componentIndex1++) {
+							for(int componentIndex2 = componentIndex1+1; componentIndex2 < numberOfComponents; componentIndex2++) {
+								thisIntegratedLIBORCovariance[componentIndex2][componentIndex1] = thisIntegratedLIBORCovariance[componentIndex1][componentIndex2];
+							}
+						}
+					});
+
+					integratedLIBORCovarianceCache.putIntegratedCovariance(covarianceIncrements, newIntegratedLIBORCovariance);
+					integratedLIBORCovariance = newIntegratedLIBORCovariance;
 				}
 			}
 		}
@@ -1177,13 +1464,44 @@ public class LIBORMarketModel extends AbstractModel implements LIBORMarketModelI
 		return integratedLIBORCovariance;
 	}
 
+	/**
+	 * Calculates the covariance increment <i>&lambda;<sub>j</sub>(t<sub>i</sub>) &lambda;<sub>k</sub>(t<sub>i</sub>) (t<sub>i+1</sub>-t<sub>i</sub>)</i>
+	 * of a time step (upper triangle, i.e., for <i>j &le; k</i>).
+	 *
+	 * @param key The factor loadings, the time step size and the index of the first component which is not fixed.
+	 * @return The covariance increment.
+	 */
+	private double[][] getLIBORCovarianceIncrement(IntegratedLIBORCovarianceCache.TimeStepKey key) {
+		double		dt				= key.getTimeStep();
+		double[][]	factorLoadings	= key.getFactorLoadings();
+		int			numberOfComponents = factorLoadings.length;
+
+		double[][] covarianceIncrement = new double[numberOfComponents][numberOfComponents];
+		for(int componentIndex1 = key.getFirstComponentIndex(); componentIndex1 < numberOfComponents; componentIndex1++) {
+			double[] factorLoadingOfComponent1 = factorLoadings[componentIndex1];
+			for(int componentIndex2 = componentIndex1; componentIndex2 < numberOfComponents; componentIndex2++) {
+				double[] factorLoadingOfComponent2 = factorLoadings[componentIndex2];
+				double integratedLIBORCovarianceValue = 0.0;
+				for(int factorIndex = 0; factorIndex < factorLoadingOfComponent1.length; factorIndex++) {
+					integratedLIBORCovarianceValue += factorLoadingOfComponent1[factorIndex] * factorLoadingOfComponent2[factorIndex] * dt;
+				}
+				covarianceIncrement[componentIndex1][componentIndex2] = integratedLIBORCovarianceValue;
+			}
+		}
+
+		return covarianceIncrement;
+	}
+
 	@Override
 	public Object clone() {
 		try {
 			Map<String, Object> properties = new HashMap<>();
 			properties.put("measure",		measure.name());
 			properties.put("stateSpace",	stateSpace.name());
-			return new LIBORMarketModel(getLiborPeriodDiscretization(), getAnalyticModel(), getForwardRateCurve(), getDiscountCurve(), randomVariableFactory, covarianceModel, new CalibrationItem[0], properties);
+			properties.put("driftComputation",	driftComputation.name());
+			LIBORMarketModel newModel = new LIBORMarketModel(getLiborPeriodDiscretization(), getAnalyticModel(), getForwardRateCurve(), getDiscountCurve(), randomVariableFactory, covarianceModel, new CalibrationItem[0], properties);
+			newModel.integratedLIBORCovarianceCache = integratedLIBORCovarianceCache;
+			return newModel;
 		} catch (CalculationException e) {
 			return null;
 		}
@@ -1243,6 +1561,7 @@ public class LIBORMarketModel extends AbstractModel implements LIBORMarketModelI
 		Map<String, Object>				properties					= new HashMap<>();
 		properties.put("measure",		measure.name());
 		properties.put("stateSpace",	stateSpace.name());
+		properties.put("driftComputation",	driftComputation.name());
 
 		if(dataModified != null && dataModified.containsKey("liborPeriodDiscretization")) {
 			liborPeriodDiscretization = (TimeDiscretizationInterface)dataModified.get("liborPeriodDiscretization");
@@ -1265,6 +1584,7 @@ public class LIBORMarketModel extends AbstractModel implements LIBORMarketModelI
 
 		LIBORMarketModel newModel = new LIBORMarketModel(liborPeriodDiscretization, forwardRateCurve, discountCurve, covarianceModel, swaptionMarketData, properties);
 		newModel.curveModel = analyticModel;
+		newModel.integratedLIBORCovarianceCache = integratedLIBORCovarianceCache;
 		return newModel;
 	}
 
@@ -1304,6 +1624,10 @@ public class LIBORMarketModel extends AbstractModel implements LIBORMarketModelI
 		 * Init transient fields
 		 */
 		integratedLIBORCovarianceLazyInitLock = new Object();
+		integratedLIBORCovarianceCache = new IntegratedLIBORCovarianceCache();
+		numeraireCache = new AtomicReference<>();
+		numberOfNumeraireCacheHits = new LongAdder();
+		numberOfNumeraireCacheMisses = new LongAdder();
 	}
 
 	@Override
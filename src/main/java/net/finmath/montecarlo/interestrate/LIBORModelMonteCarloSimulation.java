@@ -9,9 +9,15 @@ import java.util.HashMap;
 import java.util.Map;
 
 import net.finmath.exception.CalculationException;
+import net.finmath.montecarlo.BrownianMotion;
+import net.finmath.montecarlo.BrownianMotionCounterBased;
 import net.finmath.montecarlo.BrownianMotionInterface;
+import net.finmath.montecarlo.BrownianMotionPathBlock;
+import net.finmath.montecarlo.IndependentIncrementsInterface;
+import net.finmath.montecarlo.PathBlockAccumulatorInterface;
 import net.finmath.montecarlo.process.AbstractProcess;
 import net.finmath.montecarlo.process.AbstractProcessInterface;
+import net.finmath.montecarlo.process.ProcessEulerScheme;
 import net.finmath.stochastic.RandomVariableInterface;
 import net.finmath.time.TimeDiscretizationInterface;
 
@@ -21,26 +27,54 @@ import net.finmath.time.TimeDiscretizationInterface;
  * and <code>AbstractLogNormalProcess</code> process.
  *
  * @author Christian Fries
- * @version 0.7
+ * @version 0.8
  */
 public class LIBORModelMonteCarloSimulation implements LIBORModelMonteCarloSimulationInterface {
 
+	private static final int defaultForwardRateCacheSize = 0;
+
 	private final LIBORModelInterface model;
 
+	// Cache of the forward rates and swap rates requested by products (shared across products valued on this simulation)
+	private final ForwardRateCache forwardRateCache;
+
 	/**
 	 * Create a LIBOR Monte-Carlo Simulation from a given LIBORMarketModel and an AbstractProcess.
 	 *
+	 * The simulation caches the (interpolated) forward rates and swap rates requested via {@link #getLIBOR(double, double, double)}
+	 * and {@link #getSwaprate(double, double[])}, keeping at most the given number of the most recently used values.
+	 *
+	 * Note that each cached value holds its realizations on all paths: a forward rate is one random variable, a swap rate
+	 * is two random variables (the swap rate and the annuity). For <i>n</i> paths (double precision) a cache of size <i>m</i> may
+	 * hence hold up to 16 <i>m</i> <i>n</i> bytes (e.g. 400 MB for <i>m</i> = 256 and <i>n</i> = 100000), in addition to the process.
+	 * The cache pays off if the same (interpolated) rates are requested repeatedly, e.g., by several products valued on the same simulation.
+	 *
 	 * @param model The LIBORMarketModel.
 	 * @param process The process.
+	 * @param forwardRateCacheSize The maximum number of forward rates and swap rates kept in the cache (0 disables the cache).
 	 */
-	public LIBORModelMonteCarloSimulation(LIBORModelInterface model, AbstractProcessInterface process) {
+	public LIBORModelMonteCarloSimulation(LIBORModelInterface model, AbstractProcessInterface process, int forwardRateCacheSize) {
 		super();
-		this.model		= model;
+		this.model				= model;
+		this.forwardRateCache	= new ForwardRateCache(forwardRateCacheSize);
 
 		this.model.setProcess(process);
 		process.setModel(model);
 	}
 
+	/**
+	 * Create a LIBOR Monte-Carlo Simulation from a given LIBORMarketModel and an AbstractProcess.
+	 *
+	 * The simulation does not cache forward rates and swap rates,
+	 * see {@link #LIBORModelMonteCarloSimulation(LIBORModelInterface, AbstractProcessInterface, int)}.
+	 *
+	 * @param model The LIBORMarketModel.
+	 * @param process The process.
+	 */
+	public LIBORModelMonteCarloSimulation(LIBORModelInterface model, AbstractProcessInterface process) {
+		this(model, process, defaultForwardRateCacheSize);
+	}
+
 	/**
 	 * Create a LIBOR Monte-Carlo Simulation from a given LIBORModelInterface.
 	 *
@@ -48,7 +82,8 @@ public class LIBORModelMonteCarloSimulation implements LIBORModelMonteCarloSimul
 	 */
 	public LIBORModelMonteCarloSimulation(LIBORModelInterface model) {
 		super();
-		this.model		= model;
+		this.model				= model;
+		this.forwardRateCache	= new ForwardRateCache(defaultForwardRateCacheSize);
 	}
 
 	@Override
@@ -119,7 +154,82 @@ public class LIBORModelMonteCarloSimulation implements LIBORModelMonteCarloSimul
 	@Override
 	public RandomVariableInterface getLIBOR(double time, double periodStart, double periodEnd) throws CalculationException
 	{
-		return model.getLIBOR(time, periodStart, periodEnd);
+		if(forwardRateCache.getMaximumSize() == 0) {
+			return model.getLIBOR(time, periodStart, periodEnd);
+		}
+
+		AbstractProcessInterface process = getProcess();
+		ForwardRateCache.Key key = new ForwardRateCache.Key(ForwardRateCache.Quantity.LIBOR, time, periodStart, periodEnd);
+		RandomVariableInterface[] libor = forwardRateCache.get(process, key);
+		if(libor == null) {
+			libor = forwardRateCache.put(process, key, new RandomVariableInterface[] { model.getLIBOR(time, periodStart, periodEnd) });
+		}
+		return libor[0];
+	}
+
+	/**
+	 * Returns the (single curve) forward swap rate observed at a given time for a given swap tenor, that is
+	 * \( S = \frac{1 - P(T_{n};t)/P(T_{0};t)}{A} \) with the forward annuity
+	 * \( A = \sum_{i=0}^{n-1} (T_{i+1}-T_{i}) P(T_{i+1};t)/P(T_{0};t) \), where the bonds are given by the forward rates
+	 * {@link #getLIBOR(double, double, double)} of the periods of the tenor.
+	 *
+	 * The swap rate is cached (together with the annuity), such that products using the same swap rate share it.
+	 *
+	 * @param time The time <i>t</i> at which the swap rate is observed.
+	 * @param swapTenor The swap tenor <i>T<sub>0</sub>, ..., T<sub>n</sub></i>.
+	 * @return The forward swap rate.
+	 * @throws CalculationException Thrown if the valuation fails, specific cause may be available via the <code>cause()</code> method.
+	 */
+	public RandomVariableInterface getSwaprate(double time, double[] swapTenor) throws CalculationException {
+		return getSwaprateAndAnnuity(time, swapTenor)[0];
+	}
+
+	/**
+	 * Returns the (single curve) forward annuity \( A = \sum_{i=0}^{n-1} (T_{i+1}-T_{i}) P(T_{i+1};t)/P(T_{0};t) \)
+	 * observed at a given time for a given swap tenor, see {@link #getSwaprate(double, double[])}.
+	 *
+	 * @param time The time <i>t</i> at which the annuity is observed.
+	 * @param swapTenor The swap tenor <i>T<sub>0</sub>, ..., T<sub>n</sub></i>.
+	 * @return The forward annuity.
+	 * @throws CalculationException Thrown if the valuation fails, specific cause may be available via the <code>cause()</code> method.
+	 */
+	public RandomVariableInterface getSwapAnnuity(double time, double[] swapTenor) throws CalculationException {
+		return getSwaprateAndAnnuity(time, swapTenor)[1];
+	}
+
+	private RandomVariableInterface[] getSwaprateAndAnnuity(double time, double[] swapTenor) throws CalculationException {
+		AbstractProcessInterface process = getProcess();
+
+		double[] keyTimes = new double[swapTenor.length+1];
+		keyTimes[0] = time;
+		System.arraycopy(swapTenor, 0, keyTimes, 1, swapTenor.length);
+		ForwardRateCache.Key key = new ForwardRateCache.Key(ForwardRateCache.Quantity.SWAPRATE, keyTimes);
+
+		RandomVariableInterface[] swaprateAndAnnuity = forwardRateCache.getMaximumSize() > 0 ? forwardRateCache.get(process, key) : null;
+		if(swaprateAndAnnuity == null) {
+			int numberOfPeriods = swapTenor.length-1;
+
+			// Calculate inverse of the forward bond P(T_n)/P(T_0) and the annuity in units of P(T_n), backward
+			RandomVariableInterface forwardBondInverse		= getRandomVariableForConstant(1.0);
+			RandomVariableInterface forwardAnnuityInverse	= getRandomVariableForConstant(swapTenor[numberOfPeriods]-swapTenor[numberOfPeriods-1]);
+			for(int periodIndex = numberOfPeriods-1; periodIndex >= 1; periodIndex--) {
+				double periodLength = swapTenor[periodIndex+1]-swapTenor[periodIndex];
+				RandomVariableInterface forwardBondOnePeriodInverse = getLIBOR(time, swapTenor[periodIndex], swapTenor[periodIndex+1]).mult(periodLength).add(1.0);
+				forwardBondInverse		= forwardBondInverse.mult(forwardBondOnePeriodInverse);
+				forwardAnnuityInverse	= forwardAnnuityInverse.addProduct(forwardBondInverse, swapTenor[periodIndex]-swapTenor[periodIndex-1]);
+			}
+			RandomVariableInterface forwardBondOnePeriodInverse = getLIBOR(time, swapTenor[0], swapTenor[1]).mult(swapTenor[1]-swapTenor[0]).add(1.0);
+			forwardBondInverse = forwardBondInverse.mult(forwardBondOnePeriodInverse);
+
+			RandomVariableInterface swaprate	= forwardBondInverse.sub(1.0).div(forwardAnnuityInverse);
+			RandomVariableInterface annuity		= forwardAnnuityInverse.div(forwardBondInverse);
+
+			swaprateAndAnnuity = new RandomVariableInterface[] { swaprate, annuity };
+			if(forwardRateCache.getMaximumSize() > 0) {
+				swaprateAndAnnuity = forwardRateCache.put(process, key, swaprateAndAnnuity);
+			}
+		}
+		return swaprateAndAnnuity;
 	}
 
 	@Override
@@ -167,7 +277,7 @@ public class LIBORModelMonteCarloSimulation implements LIBORModelMonteCarloSimul
 	@Override
 	public Object getCloneWithModifiedSeed(int seed) {
 		AbstractProcess process = (AbstractProcess) ((AbstractProcess)getProcess()).getCloneWithModifiedSeed(seed);
-		return new LIBORModelMonteCarloSimulation(model, process);
+		return new LIBORModelMonteCarloSimulation(model, process, forwardRateCache.getMaximumSize());
 	}
 
 	@Override
@@ -180,7 +290,7 @@ public class LIBORModelMonteCarloSimulation implements LIBORModelMonteCarloSimul
 			return lmmSimClone;
 		}
 		else {
-			return new LIBORModelMonteCarloSimulation(modelClone, (AbstractProcess)getProcess().clone());
+			return new LIBORModelMonteCarloSimulation(modelClone, (AbstractProcess)getProcess().clone(), forwardRateCache.getMaximumSize());
 		}
 	}
 
@@ -203,4 +313,51 @@ public class LIBORModelMonteCarloSimulation implements LIBORModelMonteCarloSimul
 	public Map<String, RandomVariableInterface> getModelParameters() {
 		return model.getModelParameters();
 	}
+
+	/**
+	 * Performs the simulation in blocks of paths, passing each block to the given accumulators.
+	 *
+	 * For each block a simulation consisting only of the paths of the block is created (using a clone of the model
+	 * and a {@link BrownianMotionPathBlock} or {@link BrownianMotionCounterBased#getPathBlock(int, int)}), the accumulators
+	 * are called with this simulation and the simulation is released.
+	 * The peak memory requirement is hence determined by <code>pathBlockSize</code> and not by the total number of paths.
+	 * The simulated LIBORs of each block agree with the corresponding paths of this simulation. Note that quantities
+	 * depending on averages across paths (like the deterministic numeraire adjustment of the <code>LIBORMarketModel</code>)
+	 * are calculated per block.
+	 *
+	 * This simulation itself is not generated. The method requires that the process is a {@link ProcessEulerScheme}
+	 * driven by a {@link BrownianMotion} or a {@link BrownianMotionCounterBased}.
+	 *
+	 * @param pathBlockSize The number of paths per block.
+	 * @param accumulators The accumulators receiving the simulations of the blocks.
+	 * @throws CalculationException Thrown if the valuation fails, specific cause may be available via the <code>cause()</code> method.
+	 */
+	public void accumulateInPathBlocks(int pathBlockSize, PathBlockAccumulatorInterface... accumulators) throws CalculationException {
+		if(!(getProcess() instanceof ProcessEulerScheme) || !(getProcess().getStochasticDriver() instanceof BrownianMotion || getProcess().getStochasticDriver() instanceof BrownianMotionCounterBased)) {
+			throw new UnsupportedOperationException("Simulation in path blocks requires a ProcessEulerScheme driven by a BrownianMotion or a BrownianMotionCounterBased.");
+		}
+		ProcessEulerScheme				process			= (ProcessEulerScheme)getProcess();
+		IndependentIncrementsInterface	brownianMotion	= process.getStochasticDriver();
+
+		BrownianMotionPathBlock pathBlock = null;
+		for(int firstPath = 0; firstPath < getNumberOfPaths(); firstPath += pathBlockSize) {
+			int numberOfPathsOfPathBlock = Math.min(pathBlockSize, getNumberOfPaths() - firstPath);
+
+			BrownianMotionInterface brownianMotionForPathBlock;
+			if(brownianMotion instanceof BrownianMotionCounterBased) {
+				// The paths of a counter based Brownian motion can be generated directly
+				brownianMotionForPathBlock = ((BrownianMotionCounterBased)brownianMotion).getPathBlock(firstPath, numberOfPathsOfPathBlock);
+			}
+			else {
+				pathBlock = pathBlock == null ? new BrownianMotionPathBlock((BrownianMotion)brownianMotion, 0, numberOfPathsOfPathBlock) : pathBlock.getNextPathBlock(pathBlockSize);
+				brownianMotionForPathBlock = pathBlock;
+			}
+
+			LIBORModelInterface modelForPathBlock = model.getCloneWithModifiedData(new HashMap<String, Object>());
+			LIBORModelMonteCarloSimulation simulationForPathBlock = new LIBORModelMonteCarloSimulation(modelForPathBlock, process.getCloneWithModifiedStochasticDriver(brownianMotionForPathBlock));
+			for(PathBlockAccumulatorInterface accumulator : accumulators) {
+				accumulator.accumulate(simulationForPathBlock);
+			}
+		}
+	}
 }
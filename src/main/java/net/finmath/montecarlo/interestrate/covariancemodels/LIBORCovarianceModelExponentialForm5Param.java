@@ -41,6 +41,11 @@ public class LIBORCovarianceModelExponentialForm5Param extends AbstractLIBORCova
 		correlationModel	= new LIBORCorrelationModelExponentialDecay(getLiborPeriodDiscretization(), getLiborPeriodDiscretization(), getNumberOfFactors(), parameter[4].doubleValue(), false);
 	}
 
+	@Override
+	public boolean isDeterministic() {
+		return true;
+	}
+
 	@Override
 	public Object clone() {
 		LIBORCovarianceModelExponentialForm5Param model = new LIBORCovarianceModelExponentialForm5Param(this.getTimeDiscretization(), this.getLiborPeriodDiscretization(), this.getNumberOfFactors(), this.getParameter());
@@ -114,6 +114,17 @@ public class LIBORCovarianceModelFromVolatilityAndCorrelation extends AbstractLI
 		return parameter;
 	}
 
+	/**
+	 * Returns false, since the volatility model returned by {@link #getVolatilityModel()} may be modified
+	 * via {@link LIBORVolatilityModel#setParameter(RandomVariableInterface[])}. Hence the factor loadings are not tabulated.
+	 *
+	 * @see net.finmath.montecarlo.interestrate.modelplugins.AbstractLIBORCovarianceModel#isDeterministic()
+	 */
+	@Override
+	public boolean isDeterministic() {
+		return false;
+	}
+
 	@Override
 	public Object clone() {
 		return new LIBORCovarianceModelFromVolatilityAndCorrelation(
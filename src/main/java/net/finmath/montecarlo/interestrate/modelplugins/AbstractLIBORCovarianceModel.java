@@ -5,8 +5,12 @@
  */
 package net.finmath.montecarlo.interestrate.modelplugins;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
+import net.finmath.montecarlo.automaticdifferentiation.RandomVariableDifferentiableInterface;
 import net.finmath.stochastic.RandomVariableInterface;
 import net.finmath.time.TimeDiscretizationInterface;
 
@@ -14,8 +18,12 @@ import net.finmath.time.TimeDiscretizationInterface;
  * A base class and interface description for the instantaneous covariance of
  * an forward rate interest rate model.
  *
+ * If the model is deterministic (see {@link #isDeterministic()}), the factor loadings and the instantaneous variances
+ * are calculated only once for each time index and then read from a table. The table is build lazily (time slice by time slice)
+ * and is shared with clones having the same parameters.
+ *
  * @author Christian Fries
- * @version 1.0
+ * @version 1.1
  */
 public abstract class AbstractLIBORCovarianceModel implements Serializable {
 
@@ -25,6 +33,24 @@ public abstract class AbstractLIBORCovarianceModel implements Serializable {
 	private TimeDiscretizationInterface		liborPeriodDiscretization;
 	private	int								numberOfFactors;
 
+	// Table of the factor loadings of a deterministic model (lazy initialization), may be shared with clones.
+	private transient FactorLoadingTable	factorLoadingTable;
+
+	/**
+	 * The factor loadings and the instantaneous variances of a deterministic model, for each time index of the simulation time discretization.
+	 * The slices are immutable once created.
+	 */
+	private static class FactorLoadingTable {
+		private final AtomicReferenceArray<RandomVariableInterface[][]>	factorLoadings;
+		private final AtomicReferenceArray<RandomVariableInterface[]>	variances;
+		private volatile boolean										isAvailable = true;
+
+		FactorLoadingTable(int numberOfTimes) {
+			factorLoadings	= new AtomicReferenceArray<>(numberOfTimes);
+			variances		= new AtomicReferenceArray<>(numberOfTimes);
+		}
+	}
+
 	/**
 	 * Constructor consuming time discretizations, which are handled by the super class.
 	 *
@@ -37,6 +63,21 @@ public abstract class AbstractLIBORCovarianceModel implements Serializable {
 		this.timeDiscretization			= timeDiscretization;
 		this.liborPeriodDiscretization	= liborPeriodDiscretization;
 		this.numberOfFactors			= numberOfFactors;
+
+		this.factorLoadingTable			= new FactorLoadingTable(timeDiscretization.getNumberOfTimes());
+	}
+
+	/**
+	 * Returns true if the factor loadings of this model do not depend on the realization of the process (the state),
+	 * i.e., the factor loadings are deterministic functions of time and component.
+	 *
+	 * If true, the factor loadings (and the instantaneous variances) are read from a table, calculated once for each time index.
+	 * The default implementation returns false, such that <code>getFactorLoading</code> is called for each request.
+	 *
+	 * @return True if the factor loadings of this model do not depend on the realization of the process.
+	 */
+	public boolean isDeterministic() {
+		return false;
 	}
 
 	/**
@@ -88,6 +129,12 @@ public abstract class AbstractLIBORCovarianceModel implements Serializable {
 		if(timeIndex < 0) {
 			timeIndex = -timeIndex - 2;
 		}
+
+		RandomVariableInterface[][] factorLoadingsAtTimeIndex = getFactorLoadingsFromTable(timeIndex);
+		if(factorLoadingsAtTimeIndex != null && component >= 0 && component < factorLoadingsAtTimeIndex.length) {
+			return factorLoadingsAtTimeIndex[component].clone();
+		}
+
 		return getFactorLoading(timeIndex, component, realizationAtTimeIndex);
 	}
 
@@ -130,6 +177,13 @@ public abstract class AbstractLIBORCovarianceModel implements Serializable {
 			timeIndex = Math.abs(timeIndex)-2;
 		}
 
+		if(component1 == component2) {
+			RandomVariableInterface[] variancesAtTimeIndex = getVariancesFromTable(timeIndex);
+			if(variancesAtTimeIndex != null && component1 >= 0 && component1 < variancesAtTimeIndex.length) {
+				return variancesAtTimeIndex[component1];
+			}
+		}
+
 		return getCovariance(timeIndex, component1, component2, realizationAtTimeIndex);
 	}
 
@@ -158,6 +212,92 @@ public abstract class AbstractLIBORCovarianceModel implements Serializable {
 		return covariance;
 	}
 
+	/**
+	 * Returns the factor loadings of all components at a given time index from the table of a deterministic model,
+	 * creating the time slice of the table if required.
+	 *
+	 * @param timeIndex The time index of the simulation time discretization.
+	 * @return The factor loadings <code>[component][factor]</code> or null if the model is not deterministic.
+	 */
+	private RandomVariableInterface[][] getFactorLoadingsFromTable(int timeIndex) {
+		if(!isDeterministic() || !factorLoadingTable.isAvailable || timeIndex < 0 || timeIndex >= factorLoadingTable.factorLoadings.length()) {
+			return null;
+		}
+
+		RandomVariableInterface[][] factorLoadingsAtTimeIndex = factorLoadingTable.factorLoadings.get(timeIndex);
+		if(factorLoadingsAtTimeIndex == null) {
+			int numberOfComponents = liborPeriodDiscretization.getNumberOfTimeSteps();
+			factorLoadingsAtTimeIndex = new RandomVariableInterface[numberOfComponents][];
+			for(int component=0; component<numberOfComponents; component++) {
+				factorLoadingsAtTimeIndex[component] = getFactorLoading(timeIndex, component, null);
+				if(!isConstant(factorLoadingsAtTimeIndex[component])) {
+					factorLoadingTable.isAvailable = false;
+					return null;
+				}
+			}
+
+			// A concurrently created slice has the same values, we keep the first one
+			factorLoadingTable.factorLoadings.compareAndSet(timeIndex, null, factorLoadingsAtTimeIndex);
+			factorLoadingsAtTimeIndex = factorLoadingTable.factorLoadings.get(timeIndex);
+		}
+
+		return factorLoadingsAtTimeIndex;
+	}
+
+	/**
+	 * Returns the instantaneous variances of all components at a given time index from the table of a deterministic model,
+	 * creating the time slice of the table if required.
+	 *
+	 * @param timeIndex The time index of the simulation time discretization.
+	 * @return The instantaneous variances <code>[component]</code> or null if the model is not deterministic.
+	 */
+	private RandomVariableInterface[] getVariancesFromTable(int timeIndex) {
+		if(getFactorLoadingsFromTable(timeIndex) == null) {
+			return null;
+		}
+
+		RandomVariableInterface[] variancesAtTimeIndex = factorLoadingTable.variances.get(timeIndex);
+		if(variancesAtTimeIndex == null) {
+			int numberOfComponents = liborPeriodDiscretization.getNumberOfTimeSteps();
+			variancesAtTimeIndex = new RandomVariableInterface[numberOfComponents];
+			for(int component=0; component<numberOfComponents; component++) {
+				variancesAtTimeIndex[component] = getCovariance(timeIndex, component, component, null);
+				if(!isConstant(variancesAtTimeIndex[component])) {
+					factorLoadingTable.isAvailable = false;
+					return null;
+				}
+			}
+
+			factorLoadingTable.variances.compareAndSet(timeIndex, null, variancesAtTimeIndex);
+			variancesAtTimeIndex = factorLoadingTable.variances.get(timeIndex);
+		}
+
+		return variancesAtTimeIndex;
+	}
+
+	private static boolean isConstant(RandomVariableInterface... randomVariables) {
+		for(RandomVariableInterface randomVariable : randomVariables) {
+			// Differentiable random variables have to be recreated to allow differentiation with respect to the model parameters
+			if(randomVariable == null || !randomVariable.isDeterministic() || randomVariable instanceof RandomVariableDifferentiableInterface) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Lets this model use the table of factor loadings of another model. This may be used by clones which are known to
+	 * have the same factor loadings as the given model (i.e., have the same parameters), such that the table is calculated only once.
+	 *
+	 * @param model A model with the same time discretization, LIBOR period discretization and factor loadings as this model.
+	 */
+	protected void shareFactorLoadingTable(AbstractLIBORCovarianceModel model) {
+		if(model.isDeterministic() && isDeterministic()
+				&& timeDiscretization.equals(model.timeDiscretization) && liborPeriodDiscretization.equals(model.liborPeriodDiscretization)) {
+			factorLoadingTable = model.factorLoadingTable;
+		}
+	}
+
 
 	/**
 	 * The simulation time discretization associated with this model.
@@ -183,4 +323,13 @@ public abstract class AbstractLIBORCovarianceModel implements Serializable {
 	public int getNumberOfFactors() {
 		return numberOfFactors;
 	}
+
+	private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+		in.defaultReadObject();
+
+		/*
+		 * Init transient fields
+		 */
+		factorLoadingTable = new FactorLoadingTable(timeDiscretization.getNumberOfTimes());
+	}
 }
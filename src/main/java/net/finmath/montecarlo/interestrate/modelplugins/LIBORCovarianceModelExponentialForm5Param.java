@@ -39,6 +39,11 @@ public class LIBORCovarianceModelExponentialForm5Param extends AbstractLIBORCova
 		this(timeDiscretization, liborPeriodDiscretization, numberOfFactors, new double[] { 0.20, 0.05, 0.10, 0.20, 0.10});
 	}
 
+	@Override
+	public boolean isDeterministic() {
+		return true;
+	}
+
 	@Override
 	public Object clone() {
 		LIBORCovarianceModelExponentialForm5Param model = new LIBORCovarianceModelExponentialForm5Param(this.getTimeDiscretization(), this.getLiborPeriodDiscretization(), this.getNumberOfFactors(), this.getParameter());
@@ -38,6 +38,11 @@ public class LIBORCovarianceModelExponentialForm7Param extends AbstractLIBORCova
 		correlationModel	= new LIBORCorrelationModelThreeParameterExponentialDecay(getLiborPeriodDiscretization(), getLiborPeriodDiscretization(), getNumberOfFactors(), parameter[4], parameter[5], parameter[6], false);
 	}
 
+	@Override
+	public boolean isDeterministic() {
+		return true;
+	}
+
 	@Override
 	public Object clone() {
 		LIBORCovarianceModelExponentialForm7Param model = new LIBORCovarianceModelExponentialForm7Param(this.getTimeDiscretization(), this.getLiborPeriodDiscretization(), this.getNumberOfFactors());
@@ -111,12 +111,22 @@ public class LIBORCovarianceModelFromVolatilityAndCorrelation extends AbstractLI
 		return parameter;
 	}
 
+	@Override
+	public boolean isDeterministic() {
+		return true;
+	}
+
 	@Override
 	public Object clone() {
-		return new LIBORCovarianceModelFromVolatilityAndCorrelation(
+		LIBORCovarianceModelFromVolatilityAndCorrelation model = new LIBORCovarianceModelFromVolatilityAndCorrelation(
 				this.getTimeDiscretization(),
 				this.getLiborPeriodDiscretization(),
 				(LIBORVolatilityModel)volatilityModel.clone(), (LIBORCorrelationModel)correlationModel.clone());
+
+		// The clone has the same factor loadings
+		model.shareFactorLoadingTable(this);
+
+		return model;
 	}
 
 	@Override
@@ -146,7 +156,14 @@ public class LIBORCovarianceModelFromVolatilityAndCorrelation extends AbstractLI
 				correlationModel.getCloneWithModifiedParameter(newCorrelationParameter);
 			}
 		}
-		return new LIBORCovarianceModelFromVolatilityAndCorrelation(this.getTimeDiscretization(), this.getLiborPeriodDiscretization(), volatilityModel, correlationModel);
+		LIBORCovarianceModelFromVolatilityAndCorrelation model = new LIBORCovarianceModelFromVolatilityAndCorrelation(this.getTimeDiscretization(), this.getLiborPeriodDiscretization(), volatilityModel, correlationModel);
+
+		// If the parameters are unchanged, the factor loadings are unchanged
+		if(volatilityModel == this.volatilityModel && correlationModel == this.correlationModel) {
+			model.shareFactorLoadingTable(this);
+		}
+
+		return model;
 	}
 
 	public LIBORVolatilityModel getVolatilityModel() {
@@ -7,6 +7,7 @@ package net.finmath.montecarlo.interestrate.products;
 
 import net.finmath.exception.CalculationException;
 import net.finmath.functions.AnalyticFormulas;
+import net.finmath.montecarlo.RandomVariableExpression;
 import net.finmath.montecarlo.interestrate.LIBORModelMonteCarloSimulationInterface;
 import net.finmath.stochastic.RandomVariableInterface;
 
@@ -126,18 +127,21 @@ public class Caplet extends AbstractLIBORMonteCarloProduct {
 		 *    max(L-K,0) * periodLength         for caplet or
 		 *   -min(L-K,0) * periodLength         for floorlet.
 		 */
-		RandomVariableInterface values = libor;
+		RandomVariableInterface	numeraireAtValuationTime				= model.getNumeraire(evaluationTime);
+		RandomVariableInterface	monteCarloProbabilitiesAtValuationTime	= model.getMonteCarloWeights(evaluationTime);
+
+		// The operator chain is evaluated in a single pass over the paths
+		RandomVariableExpression payoff = RandomVariableExpression.of(libor);
 		if(!isFloorlet) {
-			values = values.sub(strike).floor(0.0).mult(daycountFraction);
+			payoff = payoff.sub(strike).floor(0.0).mult(daycountFraction);
 		} else {
-			values = values.sub(strike).cap(0.0).mult(-1.0 * daycountFraction);
+			payoff = payoff.sub(strike).cap(0.0).mult(-1.0 * daycountFraction);
 		}
 
-		values = values.div(numeraire).mult(monteCarloProbabilities);
-
-		RandomVariableInterface	numeraireAtValuationTime				= model.getNumeraire(evaluationTime);
-		RandomVariableInterface	monteCarloProbabilitiesAtValuationTime	= model.getMonteCarloWeights(evaluationTime);
-		values = values.mult(numeraireAtValuationTime).div(monteCarloProbabilitiesAtValuationTime);
+		RandomVariableInterface values = payoff
+				.div(numeraire).mult(monteCarloProbabilities)
+				.mult(numeraireAtValuationTime).div(monteCarloProbabilitiesAtValuationTime)
+				.get();
 
 		if(valueUnit == ValueUnit.VALUE) {
 			return values;
@@ -0,0 +1,277 @@
+/*
+ * (c) Copyright Christian P. Fries, Germany. Contact: email@christian-fries.de.
+ *
+ * Created on 16.10.2026
+ */
+package net.finmath.montecarlo.interestrate.products;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import net.finmath.exception.CalculationException;
+import net.finmath.montecarlo.RandomVariable;
+import net.finmath.montecarlo.interestrate.LIBORModelMonteCarloSimulationInterface;
+import net.finmath.montecarlo.interestrate.products.components.AbstractProductComponent;
+import net.finmath.montecarlo.interestrate.products.components.ProductCollection;
+import net.finmath.stochastic.RandomVariableInterface;
+
+/**
+ * Values a (large) portfolio of <code>AbstractLIBORMonteCarloProduct</code>s on a shared work-stealing <code>ForkJoinPool</code>.
+ *
+ * The products are grouped by a grouping key, which should identify products requiring the same model quantities
+ * (LIBORs, numeraires, regressions). The default key is the class of the product together with its underlyings
+ * (if the product is an {@link AbstractProductComponent}). Within each group the first product is valued first,
+ * such that the model quantities it requires are calculated (and cached by the model) once,
+ * then the remaining products of the group are valued in parallel. The groups are processed in parallel,
+ * largest groups first.
+ *
+ * For each product a {@link ValuationResult} is created, containing the value, the calculation time
+ * or the exception thrown by the valuation (a <code>CalculationException</code> or a <code>RuntimeException</code>),
+ * such that a failing product does not affect the valuation of the other products.
+ * The results may be received incrementally (as they complete) by a <code>Consumer</code>.
+ *
+ * Product collections valued by the engine (like the {@link net.finmath.montecarlo.interestrate.products.components.ProductCollection})
+ * use the same pool for their sub-tasks, see {@link ProductCollection#getValueForkingIntoCurrentPool(AbstractLIBORMonteCarloProduct, double, LIBORModelMonteCarloSimulationInterface)}.
+ *
+ * @author Christian Fries
+ * @version 1.0
+ */
+public class PortfolioValuationEngine {
+
+	/**
+	 * The result of the valuation of a single product of the portfolio.
+	 *
+	 * @author Christian Fries
+	 */
+	public static class ValuationResult {
+		private final int								productIndex;
+		private final AbstractLIBORMonteCarloProduct	product;
+		private final RandomVariableInterface			value;
+		private final Exception							exception;
+		private final long								calculationTimeNanos;
+
+		private ValuationResult(int productIndex, AbstractLIBORMonteCarloProduct product, RandomVariableInterface value, Exception exception, long calculationTimeNanos) {
+			super();
+			this.productIndex			= productIndex;
+			this.product				= product;
+			this.value					= value;
+			this.exception				= exception;
+			this.calculationTimeNanos	= calculationTimeNanos;
+		}
+
+		/**
+		 * @return The index of the product in the portfolio.
+		 */
+		public int getProductIndex() {
+			return productIndex;
+		}
+
+		/**
+		 * @return The product.
+		 */
+		public AbstractLIBORMonteCarloProduct getProduct() {
+			return product;
+		}
+
+		/**
+		 * @return The value of the product (not multiplied by its weight) or null if the valuation failed.
+		 */
+		public RandomVariableInterface getValue() {
+			return value;
+		}
+
+		/**
+		 * @return The exception thrown by the valuation (a <code>CalculationException</code> or a <code>RuntimeException</code>) or null if the valuation succeeded.
+		 */
+		public Exception getException() {
+			return exception;
+		}
+
+		/**
+		 * @return The calculation time of the valuation of this product in nanoseconds.
+		 */
+		public long getCalculationTimeNanos() {
+			return calculationTimeNanos;
+		}
+
+		@Override
+		public String toString() {
+			return "ValuationResult [productIndex=" + productIndex + ", product=" + product
+					+ ", value=" + (value != null ? value.getAverage() : null) + ", exception=" + exception
+					+ ", calculationTimeNanos=" + calculationTimeNanos + "]";
+		}
+	}
+
+	private final ForkJoinPool										pool;
+	private final Function<AbstractLIBORMonteCarloProduct, Object>	groupingKey;
+
+	/**
+	 * Creates a portfolio valuation engine using a given pool and a given grouping of the products.
+	 *
+	 * @param pool The pool used for the valuation.
+	 * @param groupingKey A function mapping a product to a key, such that products with the same key require the same model quantities.
+	 */
+	public PortfolioValuationEngine(ForkJoinPool pool, Function<AbstractLIBORMonteCarloProduct, Object> groupingKey) {
+		super();
+		this.pool			= pool;
+		this.groupingKey	= groupingKey;
+	}
+
+	/**
+	 * Creates a portfolio valuation engine using a given pool, grouping the products by their class and their underlyings.
+	 *
+	 * @param pool The pool used for the valuation.
+	 */
+	public PortfolioValuationEngine(ForkJoinPool pool) {
+		this(pool, PortfolioValuationEngine::getDefaultGroupingKey);
+	}
+
+	/**
+	 * Creates a portfolio valuation engine using the common pool, grouping the products by their class and their underlyings.
+	 */
+	public PortfolioValuationEngine() {
+		this(ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Values the products and returns the valuation results (in the order of the products).
+	 *
+	 * @param evaluationTime The time on which the values should be observed.
+	 * @param model The model used to value the products.
+	 * @param products The products.
+	 * @param resultConsumer A consumer receiving each result as soon as it is available (may be null). It is called concurrently from the threads of the pool.
+	 * @return The valuation results, where the result with index i is the one of product i.
+	 */
+	public List<ValuationResult> getValuationResults(double evaluationTime, LIBORModelMonteCarloSimulationInterface model, AbstractLIBORMonteCarloProduct[] products, Consumer<ValuationResult> resultConsumer) {
+		ValuationResult[] results = new ValuationResult[products.length];
+
+		// Group the products, keeping the order of the products within each group
+		Map<Object, List<Integer>> groups = new LinkedHashMap<>();
+		for(int productIndex=0; productIndex<products.length; productIndex++) {
+			groups.computeIfAbsent(groupingKey.apply(products[productIndex]), key -> new ArrayList<>()).add(productIndex);
+		}
+		List<List<Integer>> groupsBySize = new ArrayList<>(groups.values());
+		groupsBySize.sort(Comparator.comparingInt((List<Integer> group) -> group.size()).reversed());
+
+		List<ForkJoinTask<?>> groupTasks = new ArrayList<>(groupsBySize.size());
+		for(List<Integer> group : groupsBySize) {
+			groupTasks.add(ForkJoinTask.adapt(() -> {
+				// The first product calculates the model quantities required by the group
+				valueProduct(evaluationTime, model, products, group.get(0), results, resultConsumer);
+
+				List<ForkJoinTask<?>> productTasks = new ArrayList<>(group.size()-1);
+				for(int productIndex : group.subList(1, group.size())) {
+					productTasks.add(ForkJoinTask.adapt(() -> valueProduct(evaluationTime, model, products, productIndex, results, resultConsumer)));
+				}
+				ForkJoinTask.invokeAll(productTasks);
+			}));
+		}
+
+		pool.invoke(ForkJoinTask.adapt(() -> ForkJoinTask.invokeAll(groupTasks)));
+
+		return Collections.unmodifiableList(Arrays.asList(results));
+	}
+
+	/**
+	 * Values the products and returns the valuation results (in the order of the products).
+	 *
+	 * @param evaluationTime The time on which the values should be observed.
+	 * @param model The model used to value the products.
+	 * @param products The products.
+	 * @return The valuation results, where the result with index i is the one of product i.
+	 */
+	public List<ValuationResult> getValuationResults(double evaluationTime, LIBORModelMonteCarloSimulationInterface model, AbstractLIBORMonteCarloProduct[] products) {
+		return getValuationResults(evaluationTime, model, products, null);
+	}
+
+	/**
+	 * Returns the value of the weighted sum of the products, i.e., \( \sum_{i=0}^{n} weights\[i\] \cdot products\[i\] \).
+	 *
+	 * @param evaluationTime The time on which the value should be observed.
+	 * @param model The model used to value the products.
+	 * @param products The products.
+	 * @param weights The weights (having the same lengths as the array of products).
+	 * @param resultConsumer A consumer receiving each result as soon as it is available (may be null). It is called concurrently from the threads of the pool.
+	 * @return The value of the portfolio.
+	 * @throws net.finmath.exception.CalculationException Thrown if the valuation of a product fails (the first exception in the order of the products is thrown, a <code>RuntimeException</code> is rethrown as is).
+	 */
+	public RandomVariableInterface getValue(double evaluationTime, LIBORModelMonteCarloSimulationInterface model, AbstractLIBORMonteCarloProduct[] products, double[] weights, Consumer<ValuationResult> resultConsumer) throws CalculationException {
+		if(products.length != weights.length) {
+			throw new IllegalArgumentException("Number of products (" + products.length + ") does not match number of weights (" + weights.length + ").");
+		}
+
+		List<ValuationResult> results = getValuationResults(evaluationTime, model, products, resultConsumer);
+
+		// Sum up in the order of the products (as in Portfolio)
+		RandomVariableInterface values = new RandomVariable(0.0);
+		for(ValuationResult result : results) {
+			if(result.getException() instanceof RuntimeException) {
+				throw (RuntimeException)result.getException();
+			}
+			else if(result.getException() != null) {
+				throw (CalculationException)result.getException();
+			}
+			values = values.addProduct(result.getValue(), weights[result.getProductIndex()]);
+		}
+		return values;
+	}
+
+	/**
+	 * Returns the value of the portfolio.
+	 *
+	 * @param evaluationTime The time on which the value should be observed.
+	 * @param model The model used to value the portfolio.
+	 * @param portfolio The portfolio.
+	 * @return The value of the portfolio.
+	 * @throws net.finmath.exception.CalculationException Thrown if the valuation of a product fails (the first exception in the order of the products is thrown, a <code>RuntimeException</code> is rethrown as is).
+	 */
+	public RandomVariableInterface getValue(double evaluationTime, LIBORModelMonteCarloSimulationInterface model, Portfolio portfolio) throws CalculationException {
+		return getValue(evaluationTime, model, portfolio.getProducts(), portfolio.getWeights(), null);
+	}
+
+	private static void valueProduct(double evaluationTime, LIBORModelMonteCarloSimulationInterface model, AbstractLIBORMonteCarloProduct[] products, int productIndex, ValuationResult[] results, Consumer<ValuationResult> resultConsumer) {
+		AbstractLIBORMonteCarloProduct product = products[productIndex];
+
+		RandomVariableInterface value = null;
+		Exception exception = null;
+		long calculationStart = System.nanoTime();
+		try {
+			// Product collections fork their components into the pool of the engine
+			value = ProductCollection.getValueForkingIntoCurrentPool(product, evaluationTime, model);
+		}
+		catch(CalculationException | RuntimeException e) {
+			// The exception is reported by the result, such that the valuation of the other products is not affected
+			exception = e;
+		}
+		long calculationEnd = System.nanoTime();
+
+		ValuationResult result = new ValuationResult(productIndex, product, value, exception, calculationEnd-calculationStart);
+		results[productIndex] = result;
+		if(resultConsumer != null) {
+			resultConsumer.accept(result);
+		}
+	}
+
+	private static Object getDefaultGroupingKey(AbstractLIBORMonteCarloProduct product) {
+		Set<String> underlyings = null;
+		if(product instanceof AbstractProductComponent) {
+			try {
+				underlyings = ((AbstractProductComponent)product).queryUnderlyings();
+			}
+			catch(IllegalArgumentException e) {
+				// Underlyings cannot be queried, group by class only
+			}
+		}
+		return underlyings != null ? Arrays.asList(product.getClass(), underlyings) : product.getClass();
+	}
+}
@@ -10,6 +10,8 @@ import java.util.Collections;
 import java.util.Set;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 import java.util.concurrent.Future;
 import java.util.concurrent.RejectedExecutionException;
 
@@ -17,13 +19,14 @@ import net.finmath.concurrency.FutureWrapper;
 import net.finmath.exception.CalculationException;
 import net.finmath.montecarlo.AbstractMonteCarloProduct;
 import net.finmath.montecarlo.interestrate.LIBORModelMonteCarloSimulationInterface;
+import net.finmath.montecarlo.interestrate.products.AbstractLIBORMonteCarloProduct;
 import net.finmath.stochastic.RandomVariableInterface;
 
 /**
  * A collection of product components (like periods, options, etc.) paying the sum of their payouts.
  *
  * @author Christian Fries
- * @version 1.1
+ * @version 1.2
  */
 public class ProductCollection extends AbstractProductComponent {
 
@@ -31,6 +34,13 @@ public class ProductCollection extends AbstractProductComponent {
 	 *
 	 */
 	private static final long serialVersionUID = -3058874897795789705L;
+
+	/*
+	 * The ForkJoinPool into which the components are forked, if the valuation has been requested via
+	 * getValueForkingIntoCurrentPool (e.g. by the PortfolioValuationEngine); otherwise null.
+	 */
+	private static final ThreadLocal<ForkJoinPool> poolForComponents = new ThreadLocal<>();
+
 	private Collection<AbstractProductComponent> products;
 
 	/**
@@ -97,6 +107,12 @@ public class ProductCollection extends AbstractProductComponent {
 	@Override
 	public RandomVariableInterface getValue(final double evaluationTime, final LIBORModelMonteCarloSimulationInterface model) throws CalculationException {
 
+		// If requested (e.g. by the PortfolioValuationEngine), the components are valued as sub-tasks of the pool we are valued in
+		ForkJoinPool pool = poolForComponents.get();
+		if(pool != null && pool == ForkJoinTask.getPool()) {
+			return getValueInForkJoinPool(evaluationTime, model);
+		}
+
 		// Ignite asynchronous calculation if possible
 		ArrayList< Future<RandomVariableInterface> > results = new ArrayList< >();
 		for(final AbstractMonteCarloProduct product : products) {
@@ -142,6 +158,62 @@ public class ProductCollection extends AbstractProductComponent {
 		return values;
 	}
 
+	/**
+	 * Returns the value of a product, where the components of product collections valued by the product (in the current thread or in
+	 * their sub-tasks) are valued as sub-tasks of the <code>ForkJoinPool</code> of the current thread, instead of using the executor of the components.
+	 * If the current thread does not belong to a <code>ForkJoinPool</code>, this is the same as calling the <code>getValue</code> method of the product.
+	 *
+	 * This method is intended for valuations running as tasks of a <code>ForkJoinPool</code> (like the
+	 * {@link net.finmath.montecarlo.interestrate.products.PortfolioValuationEngine}), where joining the sub-tasks allows the thread to work on other tasks.
+	 *
+	 * @param product The product to value.
+	 * @param evaluationTime The time on which this products value should be observed.
+	 * @param model The model used to price the product.
+	 * @return The random variable representing the value of the product discounted to evaluation time
+	 * @throws net.finmath.exception.CalculationException Thrown if the valuation fails, specific cause may be available via the <code>cause()</code> method.
+	 */
+	public static RandomVariableInterface getValueForkingIntoCurrentPool(AbstractLIBORMonteCarloProduct product, double evaluationTime, LIBORModelMonteCarloSimulationInterface model) throws CalculationException {
+		ForkJoinPool previousPool = poolForComponents.get();
+		poolForComponents.set(ForkJoinTask.getPool());
+		try {
+			return product.getValue(evaluationTime, model);
+		}
+		finally {
+			if(previousPool != null) {
+				poolForComponents.set(previousPool);
+			}
+			else {
+				poolForComponents.remove();
+			}
+		}
+	}
+
+	private RandomVariableInterface getValueInForkJoinPool(final double evaluationTime, final LIBORModelMonteCarloSimulationInterface model) throws CalculationException {
+		ArrayList< ForkJoinTask<RandomVariableInterface> > results = new ArrayList< >();
+		for(final AbstractProductComponent product : products) {
+			results.add(ForkJoinTask.adapt(() -> getValueForkingIntoCurrentPool(product, evaluationTime, model)).fork());
+		}
+
+		// Collect results (joining allows the current thread to work on other tasks)
+		RandomVariableInterface values = model.getRandomVariableForConstant(0.0);
+		try {
+			for(ForkJoinTask<RandomVariableInterface> valueTask : results) {
+				values = values.add(valueTask.join());
+			}
+		} catch (RuntimeException e) {
+			// ForkJoinTask wraps checked exceptions into (possibly nested) RuntimeExceptions
+			for(Throwable cause = e.getCause(); cause != null; cause = cause.getCause()) {
+				if(CalculationException.class.isInstance(cause)) {
+					throw (CalculationException)cause;
+				}
+			}
+			throw e;
+		}
+
+		// Return values
+		return values;
+	}
+
 	@Override
 	public String toString() {
 		return "ProductCollection [products=" + products + "]";
@@ -10,6 +10,7 @@ import java.util.HashSet;
 import java.util.Set;
 
 import net.finmath.exception.CalculationException;
+import net.finmath.montecarlo.interestrate.LIBORModelMonteCarloSimulation;
 import net.finmath.montecarlo.interestrate.LIBORModelMonteCarloSimulationInterface;
 import net.finmath.stochastic.RandomVariableInterface;
 
@@ -17,7 +18,7 @@ import net.finmath.stochastic.RandomVariableInterface;
  * An idealized (single curve) CMS index with given maturity and given period length.
  *
  * @author Christian Fries
- * @version 1.0
+ * @version 1.1
  */
 public class ConstantMaturitySwaprate extends AbstractIndex {
 
@@ -106,6 +107,16 @@ public class ConstantMaturitySwaprate extends AbstractIndex {
 	@Override
 	public RandomVariableInterface getValue(double evaluationTime, LIBORModelMonteCarloSimulationInterface model) throws CalculationException {
 
+		// Use the swap rate cached by the simulation (shared with other products using the same swap rate)
+		if(model instanceof LIBORModelMonteCarloSimulation) {
+			double[] swapTenor = new double[periodLengths.length+1];
+			swapTenor[0] = evaluationTime+fixingOffset;
+			for(int periodIndex = 0; periodIndex < periodLengths.length; periodIndex++) {
+				swapTenor[periodIndex+1] = swapTenor[periodIndex] + periodLengths[periodIndex];
+			}
+			return ((LIBORModelMonteCarloSimulation)model).getSwaprate(evaluationTime+fixingOffset, swapTenor);
+		}
+
 		// Fetch curve
 		RandomVariableInterface forwardRates[] = new RandomVariableInterface[periodLengths.length];
 		double periodStart = evaluationTime+fixingOffset;
@@ -120,7 +131,7 @@ public class ConstantMaturitySwaprate extends AbstractIndex {
 		for(int periodIndex = periodLengths.length-1; periodIndex>= 1; periodIndex--) {
 			RandomVariableInterface forwardBondOnePeriodInverse  = (forwardRates[periodIndex]).mult(periodLengths[periodIndex]).add(1.0);
 			forwardBondInverse		= forwardBondInverse.mult(forwardBondOnePeriodInverse);
-			forwardAnnuityInverse	= forwardAnnuityInverse.addProduct(forwardBondInverse, periodLengths[periodIndex]);
+			forwardAnnuityInverse	= forwardAnnuityInverse.addProduct(forwardBondInverse, periodLengths[periodIndex-1]);
 		}
 		RandomVariableInterface forwardBondOnePeriodInverse  = (forwardRates[0]).mult(periodLengths[0]).add(1.0);
 		forwardBondInverse = forwardBondInverse.mult(forwardBondOnePeriodInverse);
@@ -134,6 +134,22 @@ public interface AbstractModelInterface {
 	 */
 	RandomVariableInterface[] getFactorLoading(int timeIndex, int componentIndex, RandomVariableInterface[] realizationAtTimeIndex);
 
+	/**
+	 * Returns true if the drift and the factor loadings may be evaluated on a subset of the paths, i.e.,
+	 * if {@link #getDrift(int, RandomVariableInterface[], RandomVariableInterface[])} and
+	 * {@link #getFactorLoading(int, int, RandomVariableInterface[])} depend only on the given realizations
+	 * and on deterministic quantities. This is not the case if they depend on other random variables defined on all paths,
+	 * e.g., on the increments of the stochastic driver or on another (stochastic volatility) process.
+	 *
+	 * If true, the process may be evolved in path chunks, see {@link net.finmath.montecarlo.process.ProcessEulerScheme.EvolutionMode#PATH_CHUNKS}.
+	 * The default is false.
+	 *
+	 * @return True if the drift and the factor loadings may be evaluated on a subset of the paths.
+	 */
+	default boolean isPathChunkingSupported() {
+		return false;
+	}
+
 	/**
 	 * Return a random variable initialized with a constant using the models random variable factory.
 	 *
@@ -68,6 +68,11 @@ public abstract class AbstractProcess implements AbstractProcessInterface, Clone
 		return model.getFactorLoading(timeIndex, component, realizationAtTimeIndex);
 	}
 
+	public boolean isPathChunkingSupported() {
+		// Delegate to model
+		return model.isPathChunkingSupported();
+	}
+
 	public RandomVariableInterface applyStateSpaceTransform(int componentIndex, RandomVariableInterface randomVariable) {
 		// Delegate to model
 		return model.applyStateSpaceTransform(componentIndex, randomVariable);
@@ -5,18 +5,23 @@
  */
 package net.finmath.montecarlo.process;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Vector;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.Future;
 
 import net.finmath.concurrency.FutureWrapper;
 import net.finmath.montecarlo.BrownianMotionInterface;
 import net.finmath.montecarlo.IndependentIncrementsInterface;
+import net.finmath.montecarlo.RandomVariable;
+import net.finmath.montecarlo.automaticdifferentiation.RandomVariableDifferentiableInterface;
 import net.finmath.stochastic.RandomVariableInterface;
 
 /**
@@ -37,28 +42,69 @@ import net.finmath.stochastic.RandomVariableInterface;
  *
  * The dimension is called <code>numberOfComponents</code> here. The default for <code>numberOfFactors</code> is 1.
  *
+ * The evolution may be parallelized across components (the default, see {@link EvolutionMode#COMPONENTS})
+ * or across paths (see {@link EvolutionMode#PATH_CHUNKS}). In the latter case the path dimension is split
+ * into chunks and each chunk is evolved over all time steps independently, i.e., without a synchronization
+ * barrier at each time step. Both modes run on a shared executor (a <code>ForkJoinPool</code>) unless an
+ * executor is provided by the caller. The size of the shared pool may be configured via the system property
+ * <code>net.finmath.montecarlo.process.ProcessEulerScheme.numberOfThreads</code>.
+ *
+ * For a model using differentiable random variables (AAD), the scheme may be run with <i>checkpoints</i>,
+ * see {@link #ProcessEulerScheme(IndependentIncrementsInterface, Scheme, int)}. In that case the process value
+ * of each time step is stored as an independent (a leaf node without operator tree), such that the operator
+ * tree of the Euler steps (drift, factor loadings, etc.) does not stay alive. The gradient of a value
+ * then has to be calculated by {@link #getGradient(RandomVariableDifferentiableInterface)}, which recomputes
+ * the Euler steps segment by segment (from one checkpoint to the next) in reverse order and propagates the
+ * derivatives through each segment. The memory required by the operator tree is hence bounded by the size
+ * of a single segment.
+ *
+ * <b>Important:</b> If checkpoints are used, calling <code>getGradient()</code> directly on a value depending on
+ * the process does <i>not</i> give the derivatives with respect to the model parameters: these derivatives are
+ * then only given with respect to the process values at the checkpoints (which are independents). The gradient
+ * with respect to the model parameters is only given by {@link #getGradient(RandomVariableDifferentiableInterface)}.
+ *
  * @author Christian Fries
  * @see AbstractProcessInterface The interface definition contains more details.
- * @version 1.4
+ * @version 1.5
  */
 public class ProcessEulerScheme extends AbstractProcess {
 
 	private static boolean isUseMultiThreadding;
+	private static final ExecutorService sharedExecutor;
 	static {
 		// Default value is true
 		isUseMultiThreadding = Boolean.parseBoolean(System.getProperty("net.finmath.montecarlo.process.ProcessEulerScheme.isUseMultiThreadding","true"));
+
+		// Default value is 0, in which case we use the common pool
+		int numberOfThreads = Integer.parseInt(System.getProperty("net.finmath.montecarlo.process.ProcessEulerScheme.numberOfThreads","0"));
+		sharedExecutor = numberOfThreads > 0 ? new ForkJoinPool(numberOfThreads) : ForkJoinPool.commonPool();
 	}
 
 	public enum Scheme {
 		EULER, PREDICTOR_CORRECTOR, EULER_FUNCTIONAL
 	}
 
+	/**
+	 * The way the evolution of the process is distributed over multiple threads.
+	 */
+	public enum EvolutionMode {
+		/** Each component is evolved in its own task, with a synchronization at each time step. */
+		COMPONENTS,
+		/** The paths are split into chunks, each chunk is evolved over all time steps in its own task. Requires a model supporting path chunking. */
+		PATH_CHUNKS
+	}
+
 	private IndependentIncrementsInterface stochasticDriver;
 
-	private Scheme		scheme = Scheme.EULER;
+	private Scheme			scheme = Scheme.EULER;
+	private EvolutionMode	evolutionMode = EvolutionMode.COMPONENTS;
 
-	// Used locally for multi-threadded calculation.
-	private ExecutorService executor;
+	// Used for multi-threadded calculation (null means the shared executor is used).
+	private ExecutorService	executor;
+	private int				pathChunkSize;
+
+	// Number of time steps between two checkpoints (0 means no checkpoints).
+	private int				checkpointInterval;
 
 	/*
 	 * The storage of the simulated stochastic process.
@@ -66,6 +112,11 @@ public class ProcessEulerScheme extends AbstractProcess {
 	private transient RandomVariableInterface[][]	discreteProcess = null;
 	private transient RandomVariableInterface[]		discreteProcessWeights;
 
+	/*
+	 * The process value at time index 0 including its dependency on the model parameters (only used with checkpoints).
+	 */
+	private transient RandomVariableInterface[]		discreteProcessInitialValue;
+
 
 	/**
 	 * Create an Euler discretization scheme.
@@ -79,6 +130,80 @@ public class ProcessEulerScheme extends AbstractProcess {
 		this.scheme = scheme;
 	}
 
+	/**
+	 * Create an Euler discretization scheme.
+	 *
+	 * The mode {@link EvolutionMode#PATH_CHUNKS} requires that the model supports the evaluation of its drift and factor loadings
+	 * on a subset of the paths (see {@link net.finmath.montecarlo.model.AbstractModelInterface#isPathChunkingSupported()})
+	 * and that the stochastic driver and the model use the (non-differentiable) double precision {@link RandomVariable}.
+	 * If this is not the case, the scheme falls back to {@link EvolutionMode#COMPONENTS}.
+	 *
+	 * @param stochasticDriver The stochastic driver of the process (e.g. a Brownian motion).
+	 * @param scheme The scheme to use. See {@link Scheme}.
+	 * @param evolutionMode The way the evolution is distributed over threads. See {@link EvolutionMode}.
+	 * @param executor The executor used to evolve the process. If null, a shared <code>ForkJoinPool</code> is used.
+	 * @param pathChunkSize The number of paths per chunk for {@link EvolutionMode#PATH_CHUNKS}. If not positive, a default is derived from the number of paths and threads.
+	 */
+	public ProcessEulerScheme(IndependentIncrementsInterface stochasticDriver, Scheme scheme, EvolutionMode evolutionMode, ExecutorService executor, int pathChunkSize) {
+		this(stochasticDriver, scheme, evolutionMode, executor, pathChunkSize, 0);
+	}
+
+	/**
+	 * Create an Euler discretization scheme.
+	 *
+	 * If <code>checkpointInterval</code> is positive, the process is generated with checkpoints (every
+	 * <code>checkpointInterval</code> time steps) and gradients <b>have to be calculated by</b>
+	 * {@link #getGradient(RandomVariableDifferentiableInterface)}: the method <code>getGradient()</code> of a value
+	 * depending on the process misses the derivatives with respect to the model parameters in that case.
+	 * The generation with checkpoints is sequential, i.e., the evolution mode is ignored in that case.
+	 *
+	 * @param stochasticDriver The stochastic driver of the process (e.g. a Brownian motion).
+	 * @param scheme The scheme to use. See {@link Scheme}.
+	 * @param evolutionMode The way the evolution is distributed over threads. See {@link EvolutionMode}.
+	 * @param executor The executor used to evolve the process. If null, a shared <code>ForkJoinPool</code> is used.
+	 * @param pathChunkSize The number of paths per chunk for {@link EvolutionMode#PATH_CHUNKS}. If not positive, a default is derived from the number of paths and threads.
+	 * @param checkpointInterval The number of time steps between two checkpoints. If not positive, no checkpoints are used.
+	 */
+	public ProcessEulerScheme(IndependentIncrementsInterface stochasticDriver, Scheme scheme, EvolutionMode evolutionMode, ExecutorService executor, int pathChunkSize, int checkpointInterval) {
+		super(stochasticDriver.getTimeDiscretization());
+		this.stochasticDriver = stochasticDriver;
+		this.scheme = scheme;
+		this.evolutionMode = evolutionMode;
+		this.executor = executor;
+		this.pathChunkSize = pathChunkSize;
+		this.checkpointInterval = checkpointInterval;
+	}
+
+	/**
+	 * Create an Euler discretization scheme using checkpoints for the calculation of gradients (AAD).
+	 *
+	 * A larger <code>checkpointInterval</code> reduces the number of (partial) backward sweeps performed by
+	 * {@link #getGradient(RandomVariableDifferentiableInterface)}, a smaller one reduces the size of the operator tree
+	 * which has to be held in memory during a sweep.
+	 *
+	 * <b>Important:</b> Gradients of values depending on this process have to be calculated by
+	 * {@link #getGradient(RandomVariableDifferentiableInterface)}. The method <code>getGradient()</code> of the value
+	 * misses the derivatives with respect to the model parameters.
+	 *
+	 * @param stochasticDriver The stochastic driver of the process (e.g. a Brownian motion).
+	 * @param scheme The scheme to use. See {@link Scheme}.
+	 * @param checkpointInterval The number of time steps between two checkpoints. If not positive, no checkpoints are used.
+	 */
+	public ProcessEulerScheme(IndependentIncrementsInterface stochasticDriver, Scheme scheme, int checkpointInterval) {
+		this(stochasticDriver, scheme, EvolutionMode.COMPONENTS, null, 0, checkpointInterval);
+	}
+
+	/**
+	 * Create an Euler discretization scheme using the shared executor.
+	 *
+	 * @param stochasticDriver The stochastic driver of the process (e.g. a Brownian motion).
+	 * @param scheme The scheme to use. See {@link Scheme}.
+	 * @param evolutionMode The way the evolution is distributed over threads. See {@link EvolutionMode}.
+	 */
+	public ProcessEulerScheme(IndependentIncrementsInterface stochasticDriver, Scheme scheme, EvolutionMode evolutionMode) {
+		this(stochasticDriver, scheme, evolutionMode, null, 0);
+	}
+
 	/**
 	 * Create an Euler discretization scheme.
 	 *
@@ -139,8 +264,17 @@ public class ProcessEulerScheme extends AbstractProcess {
 			return;
 		}
 
+		if(checkpointInterval > 0) {
+			doPrecalculateProcessWithCheckpoints();
+			return;
+		}
+
+		if(evolutionMode == EvolutionMode.PATH_CHUNKS && isPathChunkingPossible()) {
+			doPrecalculateProcessInPathChunks();
+			return;
+		}
+
 		final int numberOfPaths			= this.getNumberOfPaths();
-		final int numberOfFactors		= this.getNumberOfFactors();
 		final int numberOfComponents	= this.getNumberOfComponents();
 
 		// Allocate Memory
@@ -164,9 +298,7 @@ public class ProcessEulerScheme extends AbstractProcess {
 		 * Each component of the vector runs in its own thread.
 		 */
 
-		// We do not allocate more threads the twice the number of processors.
-		int numberOfThreads = Math.min(Math.max(2 * Runtime.getRuntime().availableProcessors(),1),numberOfComponents);
-		executor = Executors.newFixedThreadPool(numberOfThreads);
+		final ExecutorService executor = getExecutor();
 
 		// Evolve process
 		for (int timeIndex2 = 1; timeIndex2 < getTimeDiscretization().getNumberOfTimeSteps()+1; timeIndex2++) {
@@ -286,13 +418,402 @@ public class ProcessEulerScheme extends AbstractProcess {
 			// Set Monte-Carlo weights
 			discreteProcessWeights[timeIndex] = discreteProcessWeights[timeIndex - 1];
 		} // End for(timeIndex)
+	}
 
+	/**
+	 * Calculates the whole (discrete) process by splitting the paths into chunks.
+	 * Each chunk is evolved over all time steps in its own task, the chunks are then assembled to the full process.
+	 */
+	private void doPrecalculateProcessInPathChunks() {
+		final int numberOfPaths			= this.getNumberOfPaths();
+		final int numberOfComponents	= this.getNumberOfComponents();
+		final int numberOfTimes			= getTimeDiscretization().getNumberOfTimeSteps() + 1;
+
+		final ExecutorService executor = getExecutor();
+
+		int chunkSize = pathChunkSize;
+		if(chunkSize <= 0) {
+			int parallelism = executor instanceof ForkJoinPool ? ((ForkJoinPool)executor).getParallelism() : Runtime.getRuntime().availableProcessors();
+			chunkSize = Math.max(1024, (numberOfPaths + 4 * parallelism - 1) / (4 * parallelism));
+		}
+		final int numberOfChunks = (numberOfPaths + chunkSize - 1) / chunkSize;
+
+		List<Callable<RandomVariableInterface[][]>> workers = new ArrayList<>(numberOfChunks);
+		for(int chunkIndex = 0; chunkIndex < numberOfChunks; chunkIndex++) {
+			final int pathStart	= chunkIndex * chunkSize;
+			final int pathEnd	= Math.min(pathStart + chunkSize, numberOfPaths);
+			workers.add(() -> evolvePathChunk(pathStart, pathEnd));
+		}
+
+		RandomVariableInterface[][][] chunkProcesses = new RandomVariableInterface[numberOfChunks][][];
 		try {
-			executor.shutdown();
+			if(isUseMultiThreadding && numberOfChunks > 1) {
+				List<Future<RandomVariableInterface[][]>> results = executor.invokeAll(workers);
+				for(int chunkIndex = 0; chunkIndex < numberOfChunks; chunkIndex++) {
+					chunkProcesses[chunkIndex] = results.get(chunkIndex).get();
+				}
+			}
+			else {
+				for(int chunkIndex = 0; chunkIndex < numberOfChunks; chunkIndex++) {
+					chunkProcesses[chunkIndex] = workers.get(chunkIndex).call();
+				}
+			}
+		} catch (Exception e) {
+			throw new RuntimeException("Euler scheme failed while evolving path chunks. See cause of this exception for details.", e);
+		}
+
+		// Allocate Memory
+		discreteProcess			= new RandomVariableInterface[numberOfTimes][numberOfComponents];
+		discreteProcessWeights	= new RandomVariableInterface[numberOfTimes];
+
+		// Set initial value and Monte-Carlo weights
+		RandomVariableInterface[] initialState = getInitialState();
+		for (int componentIndex = 0; componentIndex < numberOfComponents; componentIndex++) {
+			discreteProcess[0][componentIndex] = applyStateSpaceTransform(componentIndex, initialState[componentIndex]);
+		}
+		discreteProcessWeights[0] = stochasticDriver.getRandomVariableForConstant(1.0 / numberOfPaths);
+
+		// Assemble the chunks, releasing them as we go
+		RandomVariableInterface[] chunksOfComponent = new RandomVariableInterface[numberOfChunks];
+		for (int timeIndex = 1; timeIndex < numberOfTimes; timeIndex++) {
+			for (int componentIndex = 0; componentIndex < numberOfComponents; componentIndex++) {
+				for(int chunkIndex = 0; chunkIndex < numberOfChunks; chunkIndex++) {
+					chunksOfComponent[chunkIndex] = chunkProcesses[chunkIndex][timeIndex][componentIndex];
+				}
+				discreteProcess[timeIndex][componentIndex] = concatenatePathChunks(chunksOfComponent, chunkSize, numberOfPaths);
+			}
+			for(int chunkIndex = 0; chunkIndex < numberOfChunks; chunkIndex++) {
+				chunkProcesses[chunkIndex][timeIndex] = null;
+			}
+			discreteProcessWeights[timeIndex] = discreteProcessWeights[timeIndex - 1];
+		}
+	}
+
+	/**
+	 * Evolve the paths <code>pathStart</code> (inclusive) to <code>pathEnd</code> (exclusive) over all time steps.
+	 *
+	 * @param pathStart The index of the first path of the chunk.
+	 * @param pathEnd The index of the first path after the chunk.
+	 * @return The process restricted to the chunk, given as <code>RandomVariableInterface[timeIndex][componentIndex]</code> (the time index 0 is not populated).
+	 */
+	private RandomVariableInterface[][] evolvePathChunk(int pathStart, int pathEnd) {
+		final int numberOfComponents	= this.getNumberOfComponents();
+		final int numberOfFactors		= this.getNumberOfFactors();
+		final int numberOfTimes			= getTimeDiscretization().getNumberOfTimeSteps() + 1;
+
+		RandomVariableInterface[][] chunkProcess = new RandomVariableInterface[numberOfTimes][numberOfComponents];
+
+		// Set initial value
+		RandomVariableInterface[] initialState = getInitialState();
+		RandomVariableInterface[] currentState = new RandomVariableInterface[numberOfComponents];
+		RandomVariableInterface[] processAtPreviousTime = new RandomVariableInterface[numberOfComponents];
+		for (int componentIndex = 0; componentIndex < numberOfComponents; componentIndex++) {
+			currentState[componentIndex] = getPathChunk(initialState[componentIndex], pathStart, pathEnd);
+			processAtPreviousTime[componentIndex] = applyStateSpaceTransform(componentIndex, currentState[componentIndex]);
+		}
+
+		RandomVariableInterface[] brownianIncrement = new RandomVariableInterface[numberOfFactors];
+		for (int timeIndex = 1; timeIndex < numberOfTimes; timeIndex++) {
+			for(int factorIndex = 0; factorIndex < numberOfFactors; factorIndex++) {
+				brownianIncrement[factorIndex] = getPathChunk(stochasticDriver.getIncrement(timeIndex - 1, factorIndex), pathStart, pathEnd);
+			}
+
+			chunkProcess[timeIndex] = evolveTimeStep(timeIndex, processAtPreviousTime, currentState, brownianIncrement);
+			processAtPreviousTime = chunkProcess[timeIndex];
+
+			// A model depending on random variables defined on all paths would give values of a different size (or wrong values)
+			for(RandomVariableInterface value : chunkProcess[timeIndex]) {
+				if(value != null && !value.isDeterministic() && value.size() != pathEnd - pathStart) {
+					throw new IllegalStateException("The model declares to support path chunking, but its drift or factor loadings depend on random variables defined on all paths.");
+				}
+			}
+		}
+
+		return chunkProcess;
+	}
+
+	/**
+	 * Performs a single Euler step (including the corrector step, if applicable) from <code>timeIndex-1</code> to <code>timeIndex</code>,
+	 * sequentially for all components.
+	 *
+	 * @param timeIndex The time index of the new process value.
+	 * @param processAtPreviousTime The process value at <code>timeIndex-1</code>.
+	 * @param currentState The state (i.e. prior to the state space transform) at <code>timeIndex-1</code>. Will be updated to the state at <code>timeIndex</code>.
+	 * @param brownianIncrement The increments of the stochastic driver from <code>timeIndex-1</code> to <code>timeIndex</code>.
+	 * @return The process value at <code>timeIndex</code> (with null for components which have stopped to evolve).
+	 */
+	private RandomVariableInterface[] evolveTimeStep(int timeIndex, RandomVariableInterface[] processAtPreviousTime, RandomVariableInterface[] currentState, RandomVariableInterface[] brownianIncrement) {
+		final int numberOfComponents	= this.getNumberOfComponents();
+		final double deltaT				= getTime(timeIndex) - getTime(timeIndex - 1);
+
+		RandomVariableInterface[] process = new RandomVariableInterface[numberOfComponents];
+
+		// Fetch drift vector
+		RandomVariableInterface[] drift = null;
+		try {
+			drift = getDrift(timeIndex - 1, processAtPreviousTime, null);
+		}
+		catch(Exception e) {
+			throw new RuntimeException("Drift calculaton failed at time index " + timeIndex + " (time=" + getTime(timeIndex - 1) + ") . See cause of this exception for details.", e);
+		}
+
+		for (int componentIndex = 0; componentIndex < numberOfComponents; componentIndex++) {
+			RandomVariableInterface driftOfComponent = drift[componentIndex];
+
+			// Check if the component process has stopped to evolve
+			if (driftOfComponent == null) {
+				continue;
+			}
+
+			if(scheme == Scheme.EULER_FUNCTIONAL) {
+				currentState[componentIndex] = applyStateSpaceTransformInverse(componentIndex, processAtPreviousTime[componentIndex]);
+			}
+
+			RandomVariableInterface[] factorLoadings = getFactorLoading(timeIndex - 1, componentIndex, processAtPreviousTime);
+
+			// Check if the component process has stopped to evolve
+			if (factorLoadings == null) {
+				continue;
+			}
+
+			// Apply drift and diffusion
+			currentState[componentIndex] = currentState[componentIndex].addProduct(driftOfComponent, deltaT);
+			currentState[componentIndex] = currentState[componentIndex].addSumProduct(Arrays.asList(factorLoadings), Arrays.asList(brownianIncrement));
+
+			process[componentIndex] = applyStateSpaceTransform(componentIndex, currentState[componentIndex]);
+		}
+
+		if (scheme == Scheme.PREDICTOR_CORRECTOR) {
+			// Apply corrector step to realizations at next time step
+			RandomVariableInterface[] driftWithPredictor = getDrift(timeIndex - 1, process, null);
+
+			for (int componentIndex = 0; componentIndex < numberOfComponents; componentIndex++) {
+				RandomVariableInterface driftWithPredictorOfComponent		= driftWithPredictor[componentIndex];
+				RandomVariableInterface driftWithoutPredictorOfComponent	= drift[componentIndex];
+
+				if (driftWithPredictorOfComponent == null || driftWithoutPredictorOfComponent == null) {
+					continue;
+				}
+
+				// Calculated the predictor corrector drift adjustment
+				RandomVariableInterface driftAdjustment = driftWithPredictorOfComponent.sub(driftWithoutPredictorOfComponent).div(2.0).mult(deltaT);
+
+				// Add drift adjustment and re-apply state space transform
+				currentState[componentIndex] = currentState[componentIndex].add(driftAdjustment);
+				process[componentIndex] = applyStateSpaceTransform(componentIndex, currentState[componentIndex]);
+			}
+		}
+
+		return process;
+	}
+
+	/**
+	 * Calculates the whole (discrete) process storing the process value of each time step as an independent
+	 * (a leaf node of the operator tree). Each Euler step starts from the independents of the previous time step,
+	 * such that the operator tree of the step can be released once the step is completed.
+	 */
+	private void doPrecalculateProcessWithCheckpoints() {
+		final int numberOfPaths			= this.getNumberOfPaths();
+		final int numberOfComponents	= this.getNumberOfComponents();
+		final int numberOfTimes			= getTimeDiscretization().getNumberOfTimeSteps() + 1;
+
+		// Allocate Memory
+		discreteProcess				= new RandomVariableInterface[numberOfTimes][numberOfComponents];
+		discreteProcessWeights		= new RandomVariableInterface[numberOfTimes];
+		discreteProcessInitialValue	= new RandomVariableInterface[numberOfComponents];
+
+		// Set initial value and Monte-Carlo weights
+		RandomVariableInterface[] initialState = getInitialState();
+		for (int componentIndex = 0; componentIndex < numberOfComponents; componentIndex++) {
+			discreteProcessInitialValue[componentIndex] = applyStateSpaceTransform(componentIndex, initialState[componentIndex]);
+			discreteProcess[0][componentIndex] = getCloneIndependent(discreteProcessInitialValue[componentIndex]);
+		}
+		discreteProcessWeights[0] = stochasticDriver.getRandomVariableForConstant(1.0 / numberOfPaths);
+
+		for (int timeIndex = 1; timeIndex < numberOfTimes; timeIndex++) {
+			RandomVariableInterface[] process = evolveTimeStepFromCheckpoint(timeIndex, discreteProcess[timeIndex - 1]);
+			for (int componentIndex = 0; componentIndex < numberOfComponents; componentIndex++) {
+				discreteProcess[timeIndex][componentIndex] = getCloneIndependent(process[componentIndex]);
+			}
+			discreteProcessWeights[timeIndex] = discreteProcessWeights[timeIndex - 1];
+		}
+	}
+
+	/**
+	 * Performs a single Euler step from <code>timeIndex-1</code> to <code>timeIndex</code> where the state is
+	 * given by the inverse state space transform of the given process value.
+	 *
+	 * @param timeIndex The time index of the new process value.
+	 * @param processAtPreviousTime The process value at <code>timeIndex-1</code>.
+	 * @return The process value at <code>timeIndex</code>.
+	 */
+	private RandomVariableInterface[] evolveTimeStepFromCheckpoint(int timeIndex, RandomVariableInterface[] processAtPreviousTime) {
+		RandomVariableInterface[] currentState = new RandomVariableInterface[processAtPreviousTime.length];
+		for (int componentIndex = 0; componentIndex < processAtPreviousTime.length; componentIndex++) {
+			if(processAtPreviousTime[componentIndex] != null) {
+				currentState[componentIndex] = applyStateSpaceTransformInverse(componentIndex, processAtPreviousTime[componentIndex]);
+			}
 		}
-		catch(SecurityException e) {
-			// @TODO Improve exception handling here
+		return evolveTimeStep(timeIndex, processAtPreviousTime, currentState, stochasticDriver.getIncrement(timeIndex - 1));
+	}
+
+	/**
+	 * Calculates the gradient of a value depending on this process.
+	 *
+	 * If the process has been generated with checkpoints, the gradient of the value with respect to the process values
+	 * (which are independents in that case) is propagated back to the model parameters: the Euler steps are recomputed
+	 * segment by segment, from the last checkpoint to the first, and the derivatives with respect to the process values of
+	 * the segment are propagated to the process value at the start of the segment (and to the model parameters) by a
+	 * backward sweep over the operator tree of the segment only.
+	 *
+	 * If the process has been generated without checkpoints, this method is identical to <code>value.getGradient()</code>.
+	 *
+	 * @param value The value to differentiate (e.g. the value of a product calculated from this process).
+	 * @return The gradient map, providing the derivatives with respect to all independents (except the process values created by the checkpoints).
+	 */
+	public Map<Long, RandomVariableInterface> getGradient(RandomVariableDifferentiableInterface value) {
+		Map<Long, RandomVariableInterface> gradient = new HashMap<>(value.getGradient());
+
+		RandomVariableInterface[][] discreteProcess = this.discreteProcess;
+		RandomVariableInterface[] discreteProcessInitialValue = this.discreteProcessInitialValue;
+		if(discreteProcess == null || discreteProcessInitialValue == null) {
+			return gradient;
 		}
+
+		int segmentStart;
+		for(int segmentEnd = discreteProcess.length - 1; segmentEnd > 0; segmentEnd = segmentStart) {
+			segmentStart = ((segmentEnd - 1) / checkpointInterval) * checkpointInterval;
+
+			// Recompute the segment, starting from the checkpoint
+			RandomVariableInterface adjointWeightedProcess = null;
+			RandomVariableInterface[] processAtPreviousTime = discreteProcess[segmentStart];
+			for(int timeIndex = segmentStart + 1; timeIndex <= segmentEnd; timeIndex++) {
+				RandomVariableInterface[] process = evolveTimeStepFromCheckpoint(timeIndex, processAtPreviousTime);
+				adjointWeightedProcess = addAdjointWeightedProcess(adjointWeightedProcess, process, discreteProcess[timeIndex], gradient);
+				processAtPreviousTime = process;
+			}
+
+			addGradient(gradient, adjointWeightedProcess);
+		}
+
+		addGradient(gradient, addAdjointWeightedProcess(null, discreteProcessInitialValue, discreteProcess[0], gradient));
+
+		return gradient;
+	}
+
+	/**
+	 * Adds the sum of <code>process[i] * d(value)/d(independents[i])</code> to the given sum, removing the
+	 * derivatives with respect to the independents from the gradient. The derivatives enter as constants, i.e.,
+	 * a derivative which is itself differentiable (e.g. from a conditional expectation) is not differentiated further.
+	 */
+	private static RandomVariableInterface addAdjointWeightedProcess(RandomVariableInterface sum, RandomVariableInterface[] process, RandomVariableInterface[] independents, Map<Long, RandomVariableInterface> gradient) {
+		for (int componentIndex = 0; componentIndex < process.length; componentIndex++) {
+			if(!(independents[componentIndex] instanceof RandomVariableDifferentiableInterface) || process[componentIndex] == null) {
+				continue;
+			}
+
+			RandomVariableInterface adjoint = gradient.remove(((RandomVariableDifferentiableInterface)independents[componentIndex]).getID());
+			if(adjoint != null) {
+				// Use the underlying (non-differentiable) values, keeping their implementation (e.g., single precision)
+				while(adjoint instanceof RandomVariableDifferentiableInterface && adjoint.getValues() != adjoint) {
+					adjoint = adjoint.getValues();
+				}
+				if(adjoint instanceof RandomVariableDifferentiableInterface) {
+					adjoint = new RandomVariable(adjoint);
+				}
+				sum = sum == null ? process[componentIndex].mult(adjoint) : sum.addProduct(process[componentIndex], adjoint);
+			}
+		}
+		return sum;
+	}
+
+	private static void addGradient(Map<Long, RandomVariableInterface> gradient, RandomVariableInterface adjointWeightedProcess) {
+		if(adjointWeightedProcess instanceof RandomVariableDifferentiableInterface) {
+			for(Map.Entry<Long, RandomVariableInterface> entry : ((RandomVariableDifferentiableInterface)adjointWeightedProcess).getGradient().entrySet()) {
+				gradient.merge(entry.getKey(), entry.getValue(), RandomVariableInterface::add);
+			}
+		}
+	}
+
+	private static RandomVariableInterface getCloneIndependent(RandomVariableInterface value) {
+		return value instanceof RandomVariableDifferentiableInterface ? ((RandomVariableDifferentiableInterface)value).getCloneIndependent() : value;
+	}
+
+	/**
+	 * Check if the evolution in path chunks is possible, i.e., if the model allows to evaluate its drift and factor loadings
+	 * on a subset of the paths (see {@link net.finmath.montecarlo.model.AbstractModelInterface#isPathChunkingSupported()})
+	 * and if the initial state and the increments are given by (non-differentiable) double precision random variables
+	 * which may be split and re-assembled.
+	 *
+	 * @return True, if {@link EvolutionMode#PATH_CHUNKS} may be used.
+	 */
+	private boolean isPathChunkingPossible() {
+		if(!isPathChunkingSupported()) {
+			return false;
+		}
+		for(RandomVariableInterface value : getInitialState()) {
+			if(!isSplittable(value)) {
+				return false;
+			}
+		}
+		for(RandomVariableInterface increment : stochasticDriver.getIncrement(0)) {
+			if(!isSplittable(increment)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static boolean isSplittable(RandomVariableInterface value) {
+		return value.getClass() == RandomVariable.class;
+	}
+
+	private static RandomVariableInterface getPathChunk(RandomVariableInterface value, int pathStart, int pathEnd) {
+		if(value == null || value.isDeterministic()) {
+			return value;
+		}
+
+		double[] realizations = new double[pathEnd - pathStart];
+		for(int path = pathStart; path < pathEnd; path++) {
+			realizations[path - pathStart] = value.get(path);
+		}
+		return new RandomVariable(value.getFiltrationTime(), realizations);
+	}
+
+	private static RandomVariableInterface concatenatePathChunks(RandomVariableInterface[] chunks, int chunkSize, int numberOfPaths) {
+		if(chunks[0] == null) {
+			return null;
+		}
+
+		boolean isDeterministic = true;
+		double time = Double.NEGATIVE_INFINITY;
+		for(RandomVariableInterface chunk : chunks) {
+			isDeterministic &= chunk.isDeterministic() && chunk.get(0) == chunks[0].get(0);
+			time = Math.max(time, chunk.getFiltrationTime());
+		}
+		if(isDeterministic) {
+			return chunks[0];
+		}
+
+		double[] realizations = new double[numberOfPaths];
+		for(int chunkIndex = 0; chunkIndex < chunks.length; chunkIndex++) {
+			RandomVariableInterface chunk = chunks[chunkIndex];
+			int pathStart	= chunkIndex * chunkSize;
+			int pathEnd		= Math.min(pathStart + chunkSize, numberOfPaths);
+			if(chunk.isDeterministic()) {
+				Arrays.fill(realizations, pathStart, pathEnd, chunk.get(0));
+			}
+			else {
+				for(int path = pathStart; path < pathEnd; path++) {
+					realizations[path] = chunk.get(path - pathStart);
+				}
+			}
+		}
+		return new RandomVariable(time, realizations);
+	}
+
+	private ExecutorService getExecutor() {
+		return executor != null ? executor : sharedExecutor;
 	}
 
 	/**
@@ -301,6 +822,7 @@ public class ProcessEulerScheme extends AbstractProcess {
 	private synchronized void reset() {
 		this.discreteProcess = null;
 		this.discreteProcessWeights = null;
+		this.discreteProcessInitialValue = null;
 	}
 
 	/**
@@ -342,9 +864,23 @@ public class ProcessEulerScheme extends AbstractProcess {
 		return scheme;
 	}
 
+	/**
+	 * @return Returns the evolution mode.
+	 */
+	public EvolutionMode getEvolutionMode() {
+		return evolutionMode;
+	}
+
+	/**
+	 * @return Returns the number of time steps between two checkpoints (0 if no checkpoints are used).
+	 */
+	public int getCheckpointInterval() {
+		return checkpointInterval;
+	}
+
 	@Override
 	public ProcessEulerScheme clone() {
-		return new ProcessEulerScheme(getStochasticDriver(), scheme);
+		return new ProcessEulerScheme(getStochasticDriver(), scheme, evolutionMode, executor, pathChunkSize, checkpointInterval);
 	}
 
 	@Override
@@ -353,6 +889,16 @@ public class ProcessEulerScheme extends AbstractProcess {
 		throw new UnsupportedOperationException("Method not implemented");
 	}
 
+	/**
+	 * Create a clone of this scheme using a different stochastic driver, keeping all other properties.
+	 *
+	 * @param stochasticDriver The stochastic driver of the new process.
+	 * @return A new process with the given stochastic driver.
+	 */
+	public ProcessEulerScheme getCloneWithModifiedStochasticDriver(IndependentIncrementsInterface stochasticDriver) {
+		return new ProcessEulerScheme(stochasticDriver, scheme, evolutionMode, executor, pathChunkSize, checkpointInterval);
+	}
+
 	@Override
 	public Object getCloneWithModifiedSeed(int seed) {
 		return new ProcessEulerScheme(getBrownianMotion().getCloneWithModifiedSeed(seed));
@@ -360,8 +906,8 @@ public class ProcessEulerScheme extends AbstractProcess {
 
 	@Override
 	public String toString() {
-		return "ProcessEulerScheme [stochasticDriver=" + stochasticDriver + ", scheme=" + scheme + ", executor="
-				+ executor + "]";
+		return "ProcessEulerScheme [stochasticDriver=" + stochasticDriver + ", scheme=" + scheme + ", evolutionMode="
+				+ evolutionMode + ", executor=" + getExecutor() + ", pathChunkSize=" + pathChunkSize + ", checkpointInterval=" + checkpointInterval + "]";
 	}
 
 }
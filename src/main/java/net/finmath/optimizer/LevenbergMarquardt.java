@@ -113,10 +113,17 @@ import net.finmath.functions.LinearAlgebra;
  * use as many threads as the number of parameters.
  * </p>
  *
+ * <p>
+ * The linear system for the parameter increment is formed from a sparse representation of the Jacobian
+ * and may be solved by a dense decomposition, a Cholesky decomposition restricted to the envelope of the
+ * matrix or a conjugate gradient method, see {@link LinearSolverMethod}. The time spent in the valuation
+ * and in the linear algebra is available via {@link #getTimeValues()}, {@link #getTimeDerivatives()} and {@link #getTimeLinearAlgebra()}.
+ * </p>
+ *
  * Note: Iteration steps will be logged (java.util.logging) with LogLevel.FINE
  *
  * @author Christian Fries
- * @version 1.6
+ * @version 1.7
  */
 public abstract class LevenbergMarquardt implements Serializable, Cloneable, OptimizerInterface {
 
@@ -142,7 +149,38 @@ public abstract class LevenbergMarquardt implements Serializable, Cloneable, Opt
 		LEVENBERG_MARQUARDT
 	}
 
+	/**
+	 * The method used to solve the linear system \( H_{\lambda} \Delta x = J^T W (y - f) \)
+	 * for the parameter increment \( \Delta x \).
+	 *
+	 * All methods use a sparse representation of the Jacobian, i.e., zero derivatives
+	 * do not contribute to the cost of forming \( J^T W J \).
+	 *
+	 * @author Christian Fries
+	 */
+	public enum LinearSolverMethod {
+		/**
+		 * Solve using a dense decomposition of \( H_{\lambda} \), see {@link LinearAlgebra#solveLinearEquationSymmetric(double[][], double[])}.
+		 */
+		DEFAULT,
+
+		/**
+		 * Solve using a Cholesky decomposition of \( H_{\lambda} \) restricted to its envelope (skyline),
+		 * i.e., for each row only the elements from the first non-zero element to the diagonal are processed.
+		 * This is efficient if the Hessian is banded, e.g., if each calibration product depends
+		 * on a few neighboring curve points only.
+		 */
+		SPARSE_CHOLESKY,
+
+		/**
+		 * Solve using a Jacobi preconditioned conjugate gradient method. The matrix \( H_{\lambda} \)
+		 * is not formed, products with \( H_{\lambda} \) are calculated from the sparse Jacobian.
+		 */
+		CONJUGATE_GRADIENT
+	}
+
 	private final RegularizationMethod regularizationMethod;
+	private LinearSolverMethod linearSolverMethod = LinearSolverMethod.DEFAULT;
 
 	private double[] initialParameters = null;
 	private double[] parameterSteps = null;
@@ -176,6 +214,21 @@ public abstract class LevenbergMarquardt implements Serializable, Cloneable, Opt
 	private double[][]	hessianMatrix = null;
 	private double[]	beta = null;
 
+	/*
+	 * Sparse representation of derivativeCurrent: for each value, the indices of the parameters having a non-zero
+	 * derivative and the corresponding derivatives. The (unregularized) J^T W J, respectively its diagonal, is
+	 * kept, such that a rejected point (change of lambda) does not require to form it again.
+	 */
+	private int[][]		derivativeNonZeroParameterIndices = null;
+	private double[][]	derivativeNonZeroValues = null;
+	private double[][]	hessianMatrixUnregularized = null;
+	private double[]	hessianDiagonalUnregularized = null;
+
+	// Time (in nanoseconds) spent in the calculation of values, derivatives and in the linear algebra, respectively.
+	private long	timeValues			= 0;
+	private long	timeDerivatives		= 0;
+	private long	timeLinearAlgebra	= 0;
+
 	/*
 	 * Used for multi-threadded calculation of the derivative.
 	 * The use may provide its own executor. If not and numberOfThreads > 1
@@ -431,6 +484,55 @@ public abstract class LevenbergMarquardt implements Serializable, Cloneable, Opt
 		return this;
 	}
 
+	/**
+	 * Set the method used to solve the linear system for the parameter increment.
+	 * See {@link LinearSolverMethod}.
+	 *
+	 * @param linearSolverMethod The linear solver method.
+	 * @return A self reference.
+	 */
+	public LevenbergMarquardt setLinearSolverMethod(LinearSolverMethod linearSolverMethod) {
+		if(done()) {
+			throw new UnsupportedOperationException("Solver cannot be modified after it has run.");
+		}
+		this.linearSolverMethod = linearSolverMethod;
+		return this;
+	}
+
+	/**
+	 * @return The method used to solve the linear system for the parameter increment.
+	 */
+	public LinearSolverMethod getLinearSolverMethod() {
+		return linearSolverMethod;
+	}
+
+	/**
+	 * Returns the time spent in {@link #setValues(double[], double[])} during the last run, in seconds.
+	 *
+	 * @return The time spent in the calculation of the values.
+	 */
+	public double getTimeValues() {
+		return timeValues / 1E9;
+	}
+
+	/**
+	 * Returns the time spent in {@link #setDerivatives(double[], double[][])} during the last run, in seconds.
+	 *
+	 * @return The time spent in the calculation of the derivatives.
+	 */
+	public double getTimeDerivatives() {
+		return timeDerivatives / 1E9;
+	}
+
+	/**
+	 * Returns the time spent in forming and solving the linear system for the parameter increments during the last run, in seconds.
+	 *
+	 * @return The time spent in the linear algebra.
+	 */
+	public double getTimeLinearAlgebra() {
+		return timeLinearAlgebra / 1E9;
+	}
+
 	/**
 	 * Get the parameter &lambda; used in the Tikhonov-like regularization of the Hessian matrix,
 	 * that is the \( \lambda \) in \( H + \lambda \diag H \).
@@ -661,17 +763,35 @@ public abstract class LevenbergMarquardt implements Serializable, Cloneable, Opt
 			valueCurrent		= new double[numberOfValues];
 			derivativeCurrent	= new double[parameterCurrent.length][valueCurrent.length];
 
-			hessianMatrix = new double[parameterCurrent.length][parameterCurrent.length];
+			if(linearSolverMethod != LinearSolverMethod.CONJUGATE_GRADIENT) {
+				hessianMatrix = new double[parameterCurrent.length][parameterCurrent.length];
+				hessianMatrixUnregularized = new double[parameterCurrent.length][parameterCurrent.length];
+			}
+			else {
+				hessianMatrix = null;
+				hessianMatrixUnregularized = null;
+			}
+			hessianDiagonalUnregularized = new double[parameterCurrent.length];
 			beta = new double[parameterCurrent.length];
 
 			iteration = 0;
 
+			timeValues			= 0;
+			timeDerivatives		= 0;
+			timeLinearAlgebra	= 0;
+
 			while(true) {
 				// Count iterations
 				iteration++;
 
+				long timeIterationStart = System.nanoTime();
+				long timeDerivativesIterationStart = timeDerivatives;
+				long timeLinearAlgebraIterationStart = timeLinearAlgebra;
+
 				// Calculate values for test parameters
+				long timeValuesStart = System.nanoTime();
 				setValues(parameterTest, valueTest);
+				timeValues += System.nanoTime() - timeValuesStart;
 
 				// Calculate error
 				double errorMeanSquaredTest = getMeanSquaredError(valueTest);
@@ -712,7 +832,10 @@ public abstract class LevenbergMarquardt implements Serializable, Cloneable, Opt
 				{
 					String logString = "Iteration: " + iteration + "\tLambda="
 							+ lambda + "\tError Current:" + errorMeanSquaredCurrent
-							+ "\tError Change:" + errorRootMeanSquaredChange + "\t";
+							+ "\tError Change:" + errorRootMeanSquaredChange
+							+ "\tTime:" + (System.nanoTime() - timeIterationStart) / 1E9
+							+ "\tTime Derivatives:" + (timeDerivatives - timeDerivativesIterationStart) / 1E9
+							+ "\tTime Linear Algebra:" + (timeLinearAlgebra - timeLinearAlgebraIterationStart) / 1E9 + "\t";
 					for (int i = 0; i < parameterCurrent.length; i++) {
 						logString += "[" + i + "] = " + parameterCurrent[i] + "\t";
 					}
@@ -747,68 +870,309 @@ public abstract class LevenbergMarquardt implements Serializable, Cloneable, Opt
 	 */
 	private void updateParameterTest() throws SolverException {
 		if (!isParameterCurrentDerivativeValid) {
+			long timeDerivativesStart = System.nanoTime();
 			this.setDerivatives(parameterCurrent, derivativeCurrent);
+			timeDerivatives += System.nanoTime() - timeDerivativesStart;
+
+			long timeLinearAlgebraStart = System.nanoTime();
+			setDerivativeCurrentSparse();
+			timeLinearAlgebra += System.nanoTime() - timeLinearAlgebraStart;
+
 			isParameterCurrentDerivativeValid = true;
 		}
 
+		long timeLinearAlgebraStart = System.nanoTime();
+
+		// Build beta (Newton step)
+		Arrays.fill(beta, 0.0);
+		for (int k = 0; k < valueCurrent.length; k++) {
+			int[]		parameterIndices	= derivativeNonZeroParameterIndices[k];
+			double[]	derivatives			= derivativeNonZeroValues[k];
+			for (int l = 0; l < parameterIndices.length; l++) {
+				beta[parameterIndices[l]] += weights[k] * (targetValues[k] - valueCurrent[k]) * derivatives[l];
+			}
+		}
+
 		boolean hessianInvalid = true;
 
 		while (hessianInvalid) {
 			hessianInvalid = false;
-			// Build matrix H (hessian approximation)
-			for (int i = 0; i < parameterCurrent.length; i++) {
-				for (int j = i; j < parameterCurrent.length; j++) {
-					double alphaElement = 0.0;
-					for (int valueIndex = 0; valueIndex < valueCurrent.length; valueIndex++) {
-						alphaElement += weights[valueIndex] * derivativeCurrent[i][valueIndex] * derivativeCurrent[j][valueIndex];
-					}
-					if (i == j) {
-						if(regularizationMethod == RegularizationMethod.LEVENBERG) {
-							// RegularizationMethod.LEVENBERG - Regularization with a constant lambda
-							alphaElement += lambda;
-						}
-						else {
-							// RegularizationMethod.LEVENBERG_MARQUARDT - Regularization with a lambda time the diagonal of JTJ
-							if (alphaElement == 0.0) {
-								alphaElement = lambda;
-							}
-							else {
-								alphaElement *= 1 + lambda;
-							}
-						}
-					}
-
-					hessianMatrix[i][j] = alphaElement;
-					hessianMatrix[j][i] = alphaElement;
-				}
-			}
-
-			// Build beta (Newton step)
-			for (int i = 0; i < parameterCurrent.length; i++) {
-				double betaElement = 0.0;
-				double[] derivativeCurrentSingleParam = derivativeCurrent[i];
-				for (int k = 0; k < valueCurrent.length; k++) {
-					betaElement += weights[k] * (targetValues[k] - valueCurrent[k]) * derivativeCurrentSingleParam[k];
-				}
-				beta[i] = betaElement;
-			}
 
 			try {
 				// Calculate new increment
-				//				parameterIncrement = LinearAlgebra.solveLinearEquationLeastSquare(hessianMatrix, beta);
-				parameterIncrement = LinearAlgebra.solveLinearEquationSymmetric(hessianMatrix, beta);
+				switch(linearSolverMethod) {
+				case CONJUGATE_GRADIENT:
+					parameterIncrement = solveLinearEquationConjugateGradient(beta);
+					break;
+				case SPARSE_CHOLESKY:
+					setHessianMatrixRegularized();
+					parameterIncrement = solveLinearEquationEnvelopeCholesky(hessianMatrix, beta);
+					break;
+				case DEFAULT:
+				default:
+					setHessianMatrixRegularized();
+					parameterIncrement = LinearAlgebra.solveLinearEquationSymmetric(hessianMatrix, beta);
+					break;
+				}
 			} catch (Exception e) {
 				hessianInvalid	= true;
 				lambda			*= 16;
 			}
 		}
 
+		timeLinearAlgebra += System.nanoTime() - timeLinearAlgebraStart;
+
 		// Calculate new parameter
 		for (int i = 0; i < parameterCurrent.length; i++) {
 			parameterTest[i] = parameterCurrent[i] + parameterIncrement[i];
 		}
 	}
 
+	/**
+	 * Build the sparse representation of derivativeCurrent and the unregularized J^T W J (or its diagonal) from it.
+	 */
+	private void setDerivativeCurrentSparse() {
+		int numberOfParameters	= parameterCurrent.length;
+		int numberOfValues		= valueCurrent.length;
+
+		derivativeNonZeroParameterIndices	= new int[numberOfValues][];
+		derivativeNonZeroValues				= new double[numberOfValues][];
+
+		int[]		parameterIndices	= new int[numberOfParameters];
+		double[]	derivatives			= new double[numberOfParameters];
+		for (int k = 0; k < numberOfValues; k++) {
+			int numberOfNonZeros = 0;
+			for (int i = 0; i < numberOfParameters; i++) {
+				double derivative = derivativeCurrent[i][k];
+				if(derivative != 0.0) {
+					parameterIndices[numberOfNonZeros]	= i;
+					derivatives[numberOfNonZeros]		= derivative;
+					numberOfNonZeros++;
+				}
+			}
+			derivativeNonZeroParameterIndices[k]	= Arrays.copyOf(parameterIndices, numberOfNonZeros);
+			derivativeNonZeroValues[k]				= Arrays.copyOf(derivatives, numberOfNonZeros);
+		}
+
+		/*
+		 * Build J^T W J (hessian approximation) as sum over the outer products of the sparse rows of J.
+		 * The summation order (over the values) is the same as for a dense J.
+		 */
+		Arrays.fill(hessianDiagonalUnregularized, 0.0);
+		if(hessianMatrixUnregularized != null) {
+			for (double[] row : hessianMatrixUnregularized) {
+				Arrays.fill(row, 0.0);
+			}
+		}
+
+		for (int k = 0; k < numberOfValues; k++) {
+			int[]		nonZeroParameterIndices	= derivativeNonZeroParameterIndices[k];
+			double[]	nonZeroDerivatives		= derivativeNonZeroValues[k];
+			for (int l = 0; l < nonZeroParameterIndices.length; l++) {
+				int i = nonZeroParameterIndices[l];
+				double weightedDerivative = weights[k] * nonZeroDerivatives[l];
+				hessianDiagonalUnregularized[i] += weightedDerivative * nonZeroDerivatives[l];
+				if(hessianMatrixUnregularized != null) {
+					double[] hessianRow = hessianMatrixUnregularized[i];
+					for (int m = l; m < nonZeroParameterIndices.length; m++) {
+						hessianRow[nonZeroParameterIndices[m]] += weightedDerivative * nonZeroDerivatives[m];
+					}
+				}
+			}
+		}
+
+		if(hessianMatrixUnregularized != null) {
+			for (int i = 0; i < numberOfParameters; i++) {
+				for (int j = i+1; j < numberOfParameters; j++) {
+					hessianMatrixUnregularized[j][i] = hessianMatrixUnregularized[i][j];
+				}
+			}
+		}
+	}
+
+	/**
+	 * Set hessianMatrix to the regularized J^T W J for the current lambda.
+	 */
+	private void setHessianMatrixRegularized() {
+		for (int i = 0; i < parameterCurrent.length; i++) {
+			System.arraycopy(hessianMatrixUnregularized[i], 0, hessianMatrix[i], 0, parameterCurrent.length);
+			hessianMatrix[i][i] = getHessianDiagonalRegularized(hessianDiagonalUnregularized[i]);
+		}
+	}
+
+	private double getHessianDiagonalRegularized(double alphaElement) {
+		if(regularizationMethod == RegularizationMethod.LEVENBERG) {
+			// RegularizationMethod.LEVENBERG - Regularization with a constant lambda
+			return alphaElement + lambda;
+		}
+		else {
+			// RegularizationMethod.LEVENBERG_MARQUARDT - Regularization with a lambda time the diagonal of JTJ
+			if (alphaElement == 0.0) {
+				return lambda;
+			}
+			else {
+				return alphaElement * (1 + lambda);
+			}
+		}
+	}
+
+	/**
+	 * Solve H x = b, where H is the regularized J^T W J, using a Jacobi preconditioned conjugate gradient method.
+	 * The matrix H is not formed, the product H p is calculated as J^T (W (J p)) + D p using the sparse J.
+	 *
+	 * @param vector The vector b.
+	 * @return The solution x.
+	 */
+	private double[] solveLinearEquationConjugateGradient(double[] vector) {
+		int numberOfParameters = vector.length;
+
+		double[] diagonal = new double[numberOfParameters];
+		double[] regularization = new double[numberOfParameters];
+		for (int i = 0; i < numberOfParameters; i++) {
+			diagonal[i] = getHessianDiagonalRegularized(hessianDiagonalUnregularized[i]);
+			regularization[i] = diagonal[i] - hessianDiagonalUnregularized[i];
+			if(!(diagonal[i] > 0)) {
+				throw new ArithmeticException("Matrix is not positive definite.");
+			}
+		}
+
+		double[] solution	= new double[numberOfParameters];
+		double[] residual	= vector.clone();
+		double[] direction	= new double[numberOfParameters];
+		double[] product	= new double[numberOfParameters];
+		double[] jacobianTimesDirection = new double[valueCurrent.length];
+
+		double residualNormSquaredInitial = 0.0;
+		double residualTimesPreconditioned = 0.0;
+		for (int i = 0; i < numberOfParameters; i++) {
+			direction[i] = residual[i] / diagonal[i];
+			residualNormSquaredInitial += residual[i] * residual[i];
+			residualTimesPreconditioned += residual[i] * direction[i];
+		}
+
+		double tolerance = 1E-28 * residualNormSquaredInitial;
+		int maxIterations = 2 * numberOfParameters + 10;
+		double residualNormSquared = residualNormSquaredInitial;
+		for(int iteration = 0; iteration < maxIterations && residualNormSquared > tolerance; iteration++) {
+			// product = H direction
+			for (int k = 0; k < valueCurrent.length; k++) {
+				int[]		parameterIndices	= derivativeNonZeroParameterIndices[k];
+				double[]	derivatives			= derivativeNonZeroValues[k];
+				double value = 0.0;
+				for (int l = 0; l < parameterIndices.length; l++) {
+					value += derivatives[l] * direction[parameterIndices[l]];
+				}
+				jacobianTimesDirection[k] = weights[k] * value;
+			}
+			for (int i = 0; i < numberOfParameters; i++) {
+				product[i] = regularization[i] * direction[i];
+			}
+			for (int k = 0; k < valueCurrent.length; k++) {
+				int[]		parameterIndices	= derivativeNonZeroParameterIndices[k];
+				double[]	derivatives			= derivativeNonZeroValues[k];
+				for (int l = 0; l < parameterIndices.length; l++) {
+					product[parameterIndices[l]] += derivatives[l] * jacobianTimesDirection[k];
+				}
+			}
+
+			double curvature = 0.0;
+			for (int i = 0; i < numberOfParameters; i++) {
+				curvature += direction[i] * product[i];
+			}
+			if(!(curvature > 0)) {
+				throw new ArithmeticException("Matrix is not positive definite.");
+			}
+
+			double alpha = residualTimesPreconditioned / curvature;
+			residualNormSquared = 0.0;
+			double residualTimesPreconditionedNew = 0.0;
+			for (int i = 0; i < numberOfParameters; i++) {
+				solution[i] += alpha * direction[i];
+				residual[i] -= alpha * product[i];
+				residualNormSquared += residual[i] * residual[i];
+				residualTimesPreconditionedNew += residual[i] * residual[i] / diagonal[i];
+			}
+
+			double betaCG = residualTimesPreconditionedNew / residualTimesPreconditioned;
+			residualTimesPreconditioned = residualTimesPreconditionedNew;
+			for (int i = 0; i < numberOfParameters; i++) {
+				direction[i] = residual[i] / diagonal[i] + betaCG * direction[i];
+			}
+		}
+
+		for (int i = 0; i < numberOfParameters; i++) {
+			if(Double.isNaN(solution[i])) {
+				throw new ArithmeticException("Conjugate gradient method failed.");
+			}
+		}
+
+		return solution;
+	}
+
+	/**
+	 * Solve H x = b for a symmetric positive definite matrix H using a Cholesky decomposition
+	 * restricted to the envelope of H, i.e., for each row i only the elements H[i][j] with
+	 * firstNonZero(i) &le; j &le; i are processed (the decomposition does not create fill-in outside the envelope).
+	 * The lower triangle of the matrix is overwritten by the Cholesky factor.
+	 *
+	 * @param matrix The matrix H. The lower triangle is overwritten.
+	 * @param vector The vector b.
+	 * @return The solution x.
+	 */
+	private static double[] solveLinearEquationEnvelopeCholesky(double[][] matrix, double[] vector) {
+		int n = vector.length;
+
+		int[] firstNonZero = new int[n];
+		for (int i = 0; i < n; i++) {
+			int j = 0;
+			while(j < i && matrix[i][j] == 0.0) {
+				j++;
+			}
+			firstNonZero[i] = j;
+		}
+
+		// Decomposition H = L L^T, L stored in the lower triangle
+		for (int i = 0; i < n; i++) {
+			double[] rowI = matrix[i];
+			for (int j = firstNonZero[i]; j <= i; j++) {
+				double[] rowJ = matrix[j];
+				double sum = rowI[j];
+				for (int k = Math.max(firstNonZero[i], firstNonZero[j]); k < j; k++) {
+					sum -= rowI[k] * rowJ[k];
+				}
+				if(i == j) {
+					if(!(sum > 0)) {
+						throw new ArithmeticException("Matrix is not positive definite.");
+					}
+					rowI[i] = Math.sqrt(sum);
+				}
+				else {
+					rowI[j] = sum / rowJ[j];
+				}
+			}
+		}
+
+		// Forward substitution L y = b
+		double[] solution = vector.clone();
+		for (int i = 0; i < n; i++) {
+			double sum = solution[i];
+			for (int k = firstNonZero[i]; k < i; k++) {
+				sum -= matrix[i][k] * solution[k];
+			}
+			solution[i] = sum / matrix[i][i];
+		}
+
+		// Backward substitution L^T x = y
+		for (int i = n-1; i >= 0; i--) {
+			solution[i] /= matrix[i][i];
+			for (int k = firstNonZero[i]; k < i; k++) {
+				solution[k] -= matrix[i][k] * solution[i];
+			}
+		}
+
+		return solution;
+	}
+
 	/**
 	 * Create a clone of this LevenbergMarquardt optimizer.
 	 *
@@ -0,0 +1,101 @@
+/*
+ * (c) Copyright Christian P. Fries, Germany. Contact: email@christian-fries.de.
+ *
+ * Created on 16.10.2026
+ */
+package net.finmath.randomnumbers;
+
+import java.io.Serializable;
+
+/**
+ * Implements the counter-based random number generator Philox-4x32-10 of Salmon, Moraes, Dror and Shaw
+ * (Parallel random numbers: as easy as 1, 2, 3).
+ *
+ * The generator is a bijection (10 rounds of multiplications and XORs) mapping a 128 bit counter to
+ * 128 random bits, parametrized by a 64 bit key (the seed). It does not have a state, i.e., the random
+ * numbers for a given counter can be calculated directly, in any order and by any number of threads,
+ * which allows reproducible parallel generation and skip-ahead at no cost.
+ *
+ * The class is immutable and thread safe.
+ *
+ * @author Christian Fries
+ * @version 1.0
+ */
+public class Philox implements Serializable {
+
+	private static final long serialVersionUID = 4563817210643390224L;
+
+	private static final long	multiplier0	= 0xD2511F53L;
+	private static final long	multiplier1	= 0xCD9E8D57L;
+	private static final int	weyl0		= 0x9E3779B9;
+	private static final int	weyl1		= 0xBB67AE85;
+
+	private static final int	numberOfRounds = 10;
+
+	private static final double	normalization = 1.0 / (1L << 53);
+
+	private final int key0;
+	private final int key1;
+
+	/**
+	 * Create the generator with a given seed.
+	 *
+	 * @param seed The seed, defining the key of the generator.
+	 */
+	public Philox(long seed) {
+		this.key0 = (int)seed;
+		this.key1 = (int)(seed >>> 32);
+	}
+
+	/**
+	 * Calculates the 128 random bits associated with a given counter.
+	 *
+	 * @param counter0 Word 0 of the counter.
+	 * @param counter1 Word 1 of the counter.
+	 * @param counter2 Word 2 of the counter.
+	 * @param counter3 Word 3 of the counter.
+	 * @param randomBits Array of length (at least) 4 receiving the random bits.
+	 */
+	public void getRandomBits(int counter0, int counter1, int counter2, int counter3, int[] randomBits) {
+		int c0 = counter0, c1 = counter1, c2 = counter2, c3 = counter3;
+		int k0 = key0, k1 = key1;
+		for(int round=0; round<numberOfRounds; round++) {
+			long product0 = multiplier0 * (c0 & 0xFFFFFFFFL);
+			long product1 = multiplier1 * (c2 & 0xFFFFFFFFL);
+
+			c0 = (int)(product1 >>> 32) ^ c1 ^ k0;
+			c2 = (int)(product0 >>> 32) ^ c3 ^ k1;
+			c1 = (int)product1;
+			c3 = (int)product0;
+
+			k0 += weyl0;
+			k1 += weyl1;
+		}
+		randomBits[0] = c0;
+		randomBits[1] = c1;
+		randomBits[2] = c2;
+		randomBits[3] = c3;
+	}
+
+	/**
+	 * Calculates two uniform random numbers associated with a given counter. Each number is generated from
+	 * 53 random bits and lies in the open interval (0,1).
+	 *
+	 * @param counter0 Word 0 of the counter.
+	 * @param counter1 Word 1 of the counter.
+	 * @param counter2 Word 2 of the counter.
+	 * @param counter3 Word 3 of the counter.
+	 * @param uniform Array of length (at least) 2 receiving the random numbers.
+	 */
+	public void getUniform(int counter0, int counter1, int counter2, int counter3, double[] uniform) {
+		int[] randomBits = new int[4];
+		getRandomBits(counter0, counter1, counter2, counter3, randomBits);
+		uniform[0] = getUniform(randomBits[0], randomBits[1]);
+		uniform[1] = getUniform(randomBits[2], randomBits[3]);
+	}
+
+	private static double getUniform(int high, int low) {
+		long bits = ((long)high << 32) | (low & 0xFFFFFFFFL);
+		return ((bits >>> 11) + 0.5) * normalization;
+	}
+}
@@ -0,0 +1,444 @@
+/*
+ * (c) Copyright Christian P. Fries, Germany. Contact: email@christian-fries.de.
+ *
+ * Created on 16.10.2026
+ */
+package net.finmath.randomnumbers;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Implements a multi-dimensional Sobol sequence (quasi random numbers).
+ *
+ * The points are generated in Gray code order (Antonov-Saleev), i.e., each call of {@link #getNext()}
+ * requires a single XOR per dimension. The point with index 0 (the origin) is skipped, such that the first
+ * point is (0.5, ..., 0.5). The sequence is generated with 32 bit precision and supports up to
+ * 2<sup>32</sup>-1 points.
+ *
+ * By default the direction numbers of Joe and Kuo (search criterion D(6)) are used, see
+ * S. Joe and F. Y. Kuo, <i>Constructing Sobol sequences with better two-dimensional projections</i>,
+ * SIAM J. Sci. Comput. 30, 2635-2654 (2008). The first {@value #maximumDimensionOfBundledDirectionNumbers}
+ * dimensions are bundled with this library (the resource <code>new-joe-kuo-6.1000</code>). Higher dimensions
+ * require the direction numbers to be provided via {@link #getSobolSequenceFromDirectionNumbers(Reader, int)}
+ * (e.g. from the file <code>new-joe-kuo-6.21201</code> published by Joe and Kuo).
+ *
+ * Alternatively, and only if explicitly requested via {@link DirectionNumbers#RANDOM_INITIALIZATION},
+ * the direction numbers are generated by this class: dimension <i>j</i> &gt; 1 uses the
+ * <i>j</i>-1-th primitive polynomial over GF(2) (ordered by degree, then by value) and initial direction
+ * numbers drawn by a Mersenne twister with a fixed seed (odd and less than 2<sup>k</sup>); the first
+ * dimension is the van der Corput sequence in base 2. This provides an arbitrary number of dimensions
+ * (1111 dimensions use polynomials up to degree 13), but the two-dimensional projections are not optimized
+ * and may show a poor uniformity.
+ *
+ * If a seed is given, the sequence is randomized by a random digital shift, i.e., each coordinate is
+ * XOR-ed with a random 32 bit integer (and centered in its cell of size 2<sup>-32</sup>, such that 0 does not occur).
+ * Different seeds give independent randomizations of the sequence, which allows to estimate the
+ * Monte-Carlo error of a quasi Monte-Carlo simulation.
+ *
+ * The class is not thread safe (the sequence has a state). The method {@link #getSobolNumber(long)}
+ * is thread safe.
+ *
+ * @author Christian Fries
+ * @version 1.1
+ */
+public class SobolSequence implements RandomNumberGenerator {
+
+	/**
+	 * The initialization of the direction numbers.
+	 *
+	 * @author Christian Fries
+	 */
+	public enum DirectionNumbers {
+		/** The direction numbers of Joe and Kuo (new-joe-kuo-6), bundled for the first 1000 dimensions. */
+		JOE_KUO,
+		/** Direction numbers with randomly drawn initial direction numbers (fixed seed), available for an arbitrary number of dimensions. */
+		RANDOM_INITIALIZATION
+	}
+
+	/**
+	 * The number of dimensions for which the direction numbers of Joe and Kuo are bundled with this library.
+	 */
+	public static final int maximumDimensionOfBundledDirectionNumbers = 1000;
+
+	private static final int	numberOfBits = 32;
+	private static final double	normalization = 1.0 / (1L << numberOfBits);
+	private static final long	maximumIndex = (1L << numberOfBits) - 1;
+
+	private static final long	seedForDirectionNumbers = 3141;
+
+	/*
+	 * directionNumbers[dimension][k] is the direction number v_{k+1} (shifted to the left by 32-(k+1) bits)
+	 * used if bit k of the Gray code of the index is set.
+	 */
+	private final int[][]	directionNumbers;
+	private final int[]		digitalShift;
+
+	private long	currentIndex = 0;
+	private int[]	currentPoint;
+
+	/**
+	 * Constructs a Sobol sequence of the given dimension with the direction numbers of Joe and Kuo.
+	 *
+	 * @param dimension The dimension of the sequence (at most {@value #maximumDimensionOfBundledDirectionNumbers}).
+	 */
+	public SobolSequence(int dimension) {
+		this(dimension, DirectionNumbers.JOE_KUO);
+	}
+
+	/**
+	 * Constructs a Sobol sequence of the given dimension with the direction numbers of Joe and Kuo,
+	 * randomized by a random digital shift.
+	 *
+	 * @param dimension The dimension of the sequence (at most {@value #maximumDimensionOfBundledDirectionNumbers}).
+	 * @param seed The seed of the random digital shift.
+	 */
+	public SobolSequence(int dimension, long seed) {
+		this(dimension, seed, DirectionNumbers.JOE_KUO);
+	}
+
+	/**
+	 * Constructs a Sobol sequence of the given dimension with the given initialization of the direction numbers.
+	 *
+	 * @param dimension The dimension of the sequence.
+	 * @param directionNumbers The initialization of the direction numbers. See {@link DirectionNumbers}.
+	 */
+	public SobolSequence(int dimension, DirectionNumbers directionNumbers) {
+		this(getDirectionNumbers(dimension, directionNumbers), null);
+	}
+
+	/**
+	 * Constructs a Sobol sequence of the given dimension with the given initialization of the direction numbers,
+	 * randomized by a random digital shift.
+	 *
+	 * @param dimension The dimension of the sequence.
+	 * @param seed The seed of the random digital shift.
+	 * @param directionNumbers The initialization of the direction numbers. See {@link DirectionNumbers}.
+	 */
+	public SobolSequence(int dimension, long seed, DirectionNumbers directionNumbers) {
+		this(getDirectionNumbers(dimension, directionNumbers), getDigitalShift(dimension, seed));
+	}
+
+	private SobolSequence(int[][] directionNumbers, int[] digitalShift) {
+		if(directionNumbers.length < 1) {
+			throw new IllegalArgumentException("dimension needs to be larger than 0");
+		}
+
+		this.directionNumbers = directionNumbers;
+		this.digitalShift = digitalShift;
+		this.currentPoint = new int[directionNumbers.length];
+	}
+
+	/**
+	 * Constructs a Sobol sequence from direction numbers in the format published by Joe and Kuo, that is,
+	 * a header line followed by one line per dimension (starting with dimension 2) with the columns
+	 * <code>d s a m_1 ... m_s</code>, where <i>s</i> is the degree of the primitive polynomial, <i>a</i>
+	 * the binary representation of its inner coefficients and <i>m<sub>k</sub></i> the initial direction numbers.
+	 *
+	 * @param reader A reader providing the direction numbers.
+	 * @param dimension The dimension of the sequence (the reader has to provide at least dimension-1 lines after the header).
+	 * @return The Sobol sequence.
+	 * @throws IOException Thrown if the reader fails or does not provide enough dimensions.
+	 */
+	public static SobolSequence getSobolSequenceFromDirectionNumbers(Reader reader, int dimension) throws IOException {
+		return new SobolSequence(getDirectionNumbers(reader, dimension), null);
+	}
+
+	private static int[][] getDirectionNumbers(Reader reader, int dimension) throws IOException {
+		int[][] directionNumbers = new int[dimension][];
+		directionNumbers[0] = getDirectionNumbers(0, 0, new int[0]);
+
+		BufferedReader bufferedReader = new BufferedReader(reader);
+		bufferedReader.readLine();			// Skip header
+		for(int dimensionIndex=1; dimensionIndex<dimension; dimensionIndex++) {
+			String line = bufferedReader.readLine();
+			if(line == null) {
+				throw new IOException("Direction numbers provided for " + dimensionIndex + " dimensions only, but " + dimension + " dimensions requested.");
+			}
+			String[] columns = line.trim().split("\\s+");
+			int degree = Integer.parseInt(columns[1]);
+			int coefficients = Integer.parseInt(columns[2]);
+			int[] initialDirectionNumbers = new int[degree];
+			for(int k=0; k<degree; k++) {
+				initialDirectionNumbers[k] = Integer.parseInt(columns[3+k]);
+			}
+			directionNumbers[dimensionIndex] = getDirectionNumbers(degree, coefficients, initialDirectionNumbers);
+		}
+
+		return directionNumbers;
+	}
+
+	@Override
+	public double[] getNext() {
+		if(currentIndex >= maximumIndex) {
+			throw new IllegalStateException("Maximum number of points (" + maximumIndex + ") of the Sobol sequence exceeded.");
+		}
+
+		// Gray code update: the bit flipping from index to index+1 is the number of trailing zeros of index+1
+		currentIndex++;
+		int bit = Long.numberOfTrailingZeros(currentIndex);
+
+		double[] x = new double[currentPoint.length];
+		for(int dimension=0; dimension<currentPoint.length; dimension++) {
+			currentPoint[dimension] ^= directionNumbers[dimension][bit];
+			x[dimension] = getValue(currentPoint[dimension], dimension);
+		}
+		return x;
+	}
+
+	@Override
+	public int getDimension() {
+		return directionNumbers.length;
+	}
+
+	/**
+	 * Return the Sobol point with the given index, where index 0 corresponds to the first point returned by
+	 * {@link #getNext()}.
+	 *
+	 * @param index The index of the point (0 &le; index &lt; 2<sup>32</sup>-1).
+	 * @return The Sobol point.
+	 */
+	public double[] getSobolNumber(long index) {
+		double[] x = new double[directionNumbers.length];
+		for(int dimension = 0; dimension<directionNumbers.length; dimension++) {
+			x[dimension] = getSobolNumber(index, dimension);
+		}
+		return x;
+	}
+
+	/**
+	 * Return the given coordinate of the Sobol point with the given index, where index 0 corresponds to
+	 * the first point returned by {@link #getNext()}.
+	 *
+	 * @param index The index of the point (0 &le; index &lt; 2<sup>32</sup>-1).
+	 * @param dimension The coordinate.
+	 * @return The coordinate of the Sobol point.
+	 */
+	public double getSobolNumber(long index, int dimension) {
+		if(index < 0 || index >= maximumIndex) {
+			throw new IllegalArgumentException("Index " + index + " is not within the range of the Sobol sequence.");
+		}
+
+		long grayCode = (index+1) ^ ((index+1) >> 1);
+
+		int point = 0;
+		for(int bit=0; grayCode != 0; bit++, grayCode >>= 1) {
+			if((grayCode & 1) != 0) {
+				point ^= directionNumbers[dimension][bit];
+			}
+		}
+		return getValue(point, dimension);
+	}
+
+	private double getValue(int point, int dimension) {
+		if(digitalShift != null) {
+			return ((point ^ digitalShift[dimension]) & 0xFFFFFFFFL) * normalization + 0.5 * normalization;
+		}
+		else {
+			return (point & 0xFFFFFFFFL) * normalization;
+		}
+	}
+
+	/**
+	 * Returns the direction numbers for the first <code>dimension</code> dimensions.
+	 *
+	 * @param dimension The dimension.
+	 * @param directionNumbers The initialization of the direction numbers.
+	 * @return The direction numbers as an array [dimension][32].
+	 */
+	private static int[][] getDirectionNumbers(int dimension, DirectionNumbers directionNumbers) {
+		switch(directionNumbers) {
+		case JOE_KUO:
+			if(dimension > maximumDimensionOfBundledDirectionNumbers) {
+				throw new IllegalArgumentException("The direction numbers of Joe and Kuo are bundled for " + maximumDimensionOfBundledDirectionNumbers + " dimensions only, but "
+						+ dimension + " dimensions requested. Provide the direction numbers via getSobolSequenceFromDirectionNumbers or use DirectionNumbers.RANDOM_INITIALIZATION.");
+			}
+			return Arrays.copyOf(BundledDirectionNumbers.directionNumbers, dimension);
+		case RANDOM_INITIALIZATION:
+			return getDirectionNumbersWithRandomInitialization(dimension);
+		default:
+			throw new IllegalArgumentException("Unknown direction numbers " + directionNumbers + ".");
+		}
+	}
+
+	/**
+	 * Lazy initialization holder of the bundled direction numbers of Joe and Kuo (read once).
+	 */
+	private static class BundledDirectionNumbers {
+		private static final int[][] directionNumbers;
+		static {
+			try(InputStream inputStream = SobolSequence.class.getResourceAsStream("new-joe-kuo-6.1000")) {
+				if(inputStream == null) {
+					throw new IllegalStateException("Resource new-joe-kuo-6.1000 (direction numbers of the Sobol sequence) not found.");
+				}
+				directionNumbers = getDirectionNumbers(new InputStreamReader(inputStream, StandardCharsets.US_ASCII), maximumDimensionOfBundledDirectionNumbers);
+			}
+			catch(IOException e) {
+				throw new IllegalStateException("Failed to read the direction numbers of the Sobol sequence.", e);
+			}
+		}
+	}
+
+	/**
+	 * Returns the direction numbers for the first <code>dimension</code> dimensions, where the initial direction
+	 * numbers are drawn by a Mersenne twister with a fixed seed.
+	 *
+	 * @param dimension The dimension.
+	 * @return The direction numbers as an array [dimension][32].
+	 */
+	private static int[][] getDirectionNumbersWithRandomInitialization(int dimension) {
+		MersenneTwister mersenneTwister = new MersenneTwister(seedForDirectionNumbers);
+
+		int[][] directionNumbers = new int[dimension][];
+		if(dimension > 0) {
+			directionNumbers[0] = getDirectionNumbers(0, 0, new int[0]);
+		}
+
+		int dimensionIndex = 1;
+		for(int degree = 1; dimensionIndex < dimension; degree++) {
+			for(int polynomial : getPrimitivePolynomials(degree)) {
+				if(dimensionIndex >= dimension) {
+					break;
+				}
+
+				int[] initialDirectionNumbers = new int[degree];
+				for(int k=0; k<degree; k++) {
+					// Odd integer less than 2^(k+1)
+					initialDirectionNumbers[k] = 2 * (int)(mersenneTwister.nextDouble() * (1 << k)) + 1;
+				}
+
+				// The inner coefficients (without the leading and the constant term)
+				int coefficients = (polynomial >> 1) & ((1 << (degree-1)) - 1);
+
+				directionNumbers[dimensionIndex++] = getDirectionNumbers(degree, coefficients, initialDirectionNumbers);
+			}
+		}
+
+		return directionNumbers;
+	}
+
+	/**
+	 * Calculates the direction numbers via the recursion
+	 * m<sub>k</sub> = 2 a<sub>1</sub> m<sub>k-1</sub> &oplus; 2<sup>2</sup> a<sub>2</sub> m<sub>k-2</sub> &oplus; ... &oplus; 2<sup>s</sup> m<sub>k-s</sub> &oplus; m<sub>k-s</sub>.
+	 * For degree 0 all m<sub>k</sub> are 1 (van der Corput sequence).
+	 *
+	 * @param degree The degree s of the primitive polynomial.
+	 * @param coefficients The inner coefficients a<sub>1</sub>, ..., a<sub>s-1</sub>, a<sub>1</sub> being the most significant bit.
+	 * @param initialDirectionNumbers The initial direction numbers m<sub>1</sub>, ..., m<sub>s</sub>.
+	 * @return The direction numbers v<sub>k</sub> = m<sub>k</sub> 2<sup>32-k</sup>.
+	 */
+	private static int[] getDirectionNumbers(int degree, int coefficients, int[] initialDirectionNumbers) {
+		long[] m = new long[numberOfBits];
+		for(int k=0; k<numberOfBits; k++) {
+			if(degree == 0) {
+				m[k] = 1;
+			}
+			else if(k < degree) {
+				m[k] = initialDirectionNumbers[k];
+			}
+			else {
+				m[k] = m[k-degree] ^ (m[k-degree] << degree);
+				for(int i=1; i<degree; i++) {
+					if(((coefficients >> (degree-1-i)) & 1) != 0) {
+						m[k] ^= m[k-i] << i;
+					}
+				}
+			}
+		}
+
+		int[] directionNumbers = new int[numberOfBits];
+		for(int k=0; k<numberOfBits; k++) {
+			directionNumbers[k] = (int)(m[k] << (numberOfBits-1-k));
+		}
+		return directionNumbers;
+	}
+
+	/**
+	 * Returns the primitive polynomials over GF(2) of a given degree, ordered by value,
+	 * where bit i of the integer representation is the coefficient of x<sup>i</sup>.
+	 *
+	 * A polynomial p of degree s is primitive if the order of x in GF(2)[x]/p is 2<sup>s</sup>-1.
+	 *
+	 * @param degree The degree (less than 31).
+	 * @return The list of primitive polynomials.
+	 */
+	private static List<Integer> getPrimitivePolynomials(int degree) {
+		long order = (1L << degree) - 1;
+		List<Long> primeFactorsOfOrder = getPrimeFactors(order);
+
+		List<Integer> primitivePolynomials = new ArrayList<>();
+		for(int polynomial = (1 << degree) + 1; polynomial < (1 << (degree+1)); polynomial += 2) {
+			boolean isPrimitive = getPowerOfXModulo(order, polynomial, degree) == 1;
+			for(int i=0; i<primeFactorsOfOrder.size() && isPrimitive; i++) {
+				isPrimitive = getPowerOfXModulo(order / primeFactorsOfOrder.get(i), polynomial, degree) != 1;
+			}
+			if(isPrimitive) {
+				primitivePolynomials.add(polynomial);
+			}
+		}
+		return primitivePolynomials;
+	}
+
+	/**
+	 * Calculates x<sup>exponent</sup> modulo the given polynomial by repeated squaring.
+	 */
+	private static int getPowerOfXModulo(long exponent, int polynomial, int degree) {
+		int result = 1;
+		int power = degree > 1 ? 2 : 2 ^ polynomial;		// x mod p
+		while(exponent > 0) {
+			if((exponent & 1) != 0) {
+				result = getProductModulo(result, power, polynomial, degree);
+			}
+			power = getProductModulo(power, power, polynomial, degree);
+			exponent >>= 1;
+		}
+		return result;
+	}
+
+	private static int getProductModulo(int a, int b, int polynomial, int degree) {
+		int result = 0;
+		while(b != 0) {
+			if((b & 1) != 0) {
+				result ^= a;
+			}
+			b >>= 1;
+			a <<= 1;
+			if((a & (1 << degree)) != 0) {
+				a ^= polynomial;
+			}
+		}
+		return result;
+	}
+
+	private static List<Long> getPrimeFactors(long number) {
+		List<Long> primeFactors = new ArrayList<>();
+		for(long factor = 2; factor*factor <= number; factor++) {
+			if(number % factor == 0) {
+				primeFactors.add(factor);
+				while(number % factor == 0) {
+					number /= factor;
+				}
+			}
+		}
+		if(number > 1) {
+			primeFactors.add(number);
+		}
+		return primeFactors;
+	}
+
+	private static int[] getDigitalShift(int dimension, long seed) {
+		MersenneTwister mersenneTwister = new MersenneTwister(seed);
+		int[] digitalShift = new int[dimension];
+		for(int i=0; i<dimension; i++) {
+			digitalShift[i] = (int)(long)(mersenneTwister.nextDouble() * (1L << numberOfBits));
+		}
+		return digitalShift;
+	}
+}
@@ -2,7 +2,7 @@
  * Random number generators for samples of uniform distributed random variables and generators and transformation for other distriburtions.
  *
  * Classes in this package provide wrappers for random number generators from thirs party libraries (e.g. Mersenne-Twister from commons-math),
- * native implementation of quasi random number gerantors (e.g. Halton sequence) and algorithm to sample other distributions
+ * native implementation of quasi random number gerantors (e.g. Halton sequence, Sobol sequence) and algorithm to sample other distributions
  * (like the Acceptance-Rejection method).
  *
  * @author Christian Fries
@@ -42,4 +42,27 @@ public class BiLinearInterpolationTest {
 		}
 	}
 
+	@Test
+	public void testGetValues() {
+
+		double[] xArray = { 5.0, 7.0, 8.0 };
+		double[] yArray = { 2.5, 5.0, 7.5 };
+		double[][] zArray = { { 3.0, 4.0, 2.0 }, { 2.0, 1.0, 0.0 }, { 1.0, 5.0, 1.0 } };
+
+		BiLinearInterpolation interpolation = new BiLinearInterpolation(xArray, yArray, zArray);
+
+		// Sorted grid including interpolation points and extrapolation, followed by some unsorted arguments
+		double[] xGrid = { 4.0, 5.0, 5.5, 7.0, 7.25, 8.0, 9.0, 6.0, 4.5, Double.NaN };
+		double[] yGrid = { 2.0, 2.5, 3.0, 5.0, 6.1, 7.5, 10.0, 3.3, 2.5 };
+
+		double[][] zGrid = interpolation.getValues(xGrid, yGrid);
+		for(int i=0; i<xGrid.length; i++) {
+			double[] zRow = interpolation.getValues(xGrid[i], yGrid);
+			for(int j=0; j<yGrid.length; j++ ) {
+				double z = interpolation.getValue(xGrid[i], yGrid[j]);
+				Assert.assertEquals("Grid value", z, zGrid[i][j], 0.0);
+				Assert.assertEquals("Row value", z, zRow[j], 0.0);
+			}
+		}
+	}
 }
@@ -0,0 +1,52 @@
+/*
+ * (c) Copyright Christian P. Fries, Germany. Contact: email@christian-fries.de.
+ *
+ * Created on 16.10.2026
+ */
+package net.finmath.interpolation;
+
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import net.finmath.interpolation.RationalFunctionInterpolation.ExtrapolationMethod;
+import net.finmath.interpolation.RationalFunctionInterpolation.InterpolationMethod;
+import net.finmath.montecarlo.RandomVariable;
+import net.finmath.stochastic.RandomVariableInterface;
+
+/**
+ * @author Christian Fries
+ */
+public class RationalFunctionInterpolationTest {
+
+	@Test
+	public void testGetValueOfRandomVariable() {
+
+		double[] points = { 0.0, 1.0, 2.0, 5.0, 10.0 };
+		double[] values = { 1.0, 0.97, 0.93, 0.85, 0.70 };
+
+		for(InterpolationMethod interpolationMethod : new InterpolationMethod[] { InterpolationMethod.LINEAR, InterpolationMethod.CUBIC_SPLINE, InterpolationMethod.AKIMA }) {
+			RationalFunctionInterpolation interpolation = new RationalFunctionInterpolation(points, values, interpolationMethod, ExtrapolationMethod.LINEAR);
+
+			Random random = new Random(3141);
+			double[] realizations = new double[1000];
+			for(int i=0; i<realizations.length; i++) {
+				realizations[i] = -1.0 + 12.0 * random.nextDouble();
+			}
+			realizations[17] = points[2];
+
+			RandomVariableInterface argument = new RandomVariable(0.5, realizations);
+			RandomVariableInterface value = interpolation.getValue(argument);
+
+			Assert.assertEquals("Filtration time", argument.getFiltrationTime(), value.getFiltrationTime(), 0.0);
+			for(int i=0; i<realizations.length; i++) {
+				Assert.assertEquals("Interpolated value", interpolation.getValue(realizations[i]), value.get(i), 0.0);
+			}
+
+			RandomVariableInterface valueOfDeterministic = interpolation.getValue(new RandomVariable(0.5, 3.0));
+			Assert.assertTrue("Deterministic result", valueOfDeterministic.isDeterministic());
+			Assert.assertEquals("Interpolated value", interpolation.getValue(3.0), valueOfDeterministic.get(0), 0.0);
+		}
+	}
+}
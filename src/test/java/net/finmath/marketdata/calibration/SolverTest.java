@@ -0,0 +1,365 @@
+/*
+ * (c) Copyright Christian P. Fries, Germany. Contact: email@christian-fries.de.
+ *
+ * Created on 16.10.2026
+ */
+package net.finmath.marketdata.calibration;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.Vector;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import net.finmath.functions.DualNumber;
+import net.finmath.marketdata.model.AnalyticModel;
+import net.finmath.marketdata.model.AnalyticModelInterface;
+import net.finmath.marketdata.model.curves.Curve.ExtrapolationMethod;
+import net.finmath.marketdata.model.curves.Curve.InterpolationEntity;
+import net.finmath.marketdata.model.curves.Curve.InterpolationMethod;
+import net.finmath.marketdata.model.curves.Curve;
+import net.finmath.marketdata.model.curves.CurveInterface;
+import net.finmath.marketdata.model.curves.DiscountCurve;
+import net.finmath.marketdata.model.curves.DiscountCurveFromForwardCurve;
+import net.finmath.marketdata.model.curves.DiscountCurveNelsonSiegelSvensson;
+import net.finmath.marketdata.model.curves.ForwardCurve;
+import net.finmath.marketdata.model.curves.ForwardCurve.InterpolationEntityForward;
+import net.finmath.marketdata.model.curves.ForwardCurveFromDiscountCurve;
+import net.finmath.marketdata.products.AbstractAnalyticProduct;
+import net.finmath.marketdata.products.AnalyticProductInterface;
+import net.finmath.marketdata.products.Deposit;
+import net.finmath.marketdata.products.ForwardRateAgreement;
+import net.finmath.marketdata.products.Swap;
+import net.finmath.optimizer.SolverException;
+import net.finmath.time.RegularSchedule;
+import net.finmath.time.TimeDiscretization;
+
+/**
+ * Tests the calculation of the Jacobian of the {@link Solver} (block-sparse, concurrent, Broyden updates, analytic)
+ * in a joint calibration of a discount curve and a forward curve.
+ *
+ * @author Christian Fries
+ */
+public class SolverTest {
+
+	/**
+	 * A calibration product counting its valuations (optionally providing the derivatives of the underlying product).
+	 */
+	private static class CountingProduct extends AbstractAnalyticProduct {
+		private final AnalyticProductInterface	product;
+		private final AtomicLong				numberOfValuations;
+		private final boolean					isProvidingDerivatives;
+
+		CountingProduct(AnalyticProductInterface product, AtomicLong numberOfValuations, boolean isProvidingDerivatives) {
+			this.product = product;
+			this.numberOfValuations = numberOfValuations;
+			this.isProvidingDerivatives = isProvidingDerivatives;
+		}
+
+		@Override
+		public double getValue(double evaluationTime, AnalyticModelInterface model) {
+			numberOfValuations.incrementAndGet();
+			return product.getValue(evaluationTime, model);
+		}
+
+		@Override
+		public DualNumber getValue(double evaluationTime, AnalyticModelInterface model, ParameterIndex parameterIndex) {
+			if(!isProvidingDerivatives) {
+				throw new UnsupportedOperationException();
+			}
+			numberOfValuations.incrementAndGet();
+			return product.getValue(evaluationTime, model, parameterIndex);
+		}
+	}
+
+	private final DiscountCurve	discountCurve	= DiscountCurve.createDiscountCurveFromDiscountFactors(
+			"discountCurve", new double[] {0.0,  1.0,  2.0,  4.0,  5.0}, new double[] {1.0, 0.95, 0.90, 0.85, 0.80});
+	private final ForwardCurve	forwardCurve	= ForwardCurve.createForwardCurveFromForwards(
+			"forwardCurve", new double[] {2.0/365.0, 1.0, 2.0, 3.0, 4.0}, new double[] {0.05, 0.05, 0.05, 0.05, 0.05}, null, "discountCurve", 0.5);
+
+	private final AnalyticModel model = new AnalyticModel(new CurveInterface[] {
+			discountCurve, new ForwardCurveFromDiscountCurve("forwardCurveFromDiscountCurve", "discountCurve", null, null), forwardCurve });
+
+	@Test
+	public void testSparseJacobian() throws SolverException {
+		AtomicLong numberOfValuationsDense = new AtomicLong();
+		Solver solverDense = new Solver(model, getCalibrationProducts(numberOfValuationsDense), 0.0, 0.0).setUseSparseJacobian(false);
+		AnalyticModelInterface calibratedModelDense = solverDense.getCalibratedModel(getCurvesToCalibrate());
+
+		AtomicLong numberOfValuationsSparse = new AtomicLong();
+		Solver solverSparse = new Solver(model, getCalibrationProducts(numberOfValuationsSparse), 0.0, 0.0);
+		AnalyticModelInterface calibratedModelSparse = solverSparse.getCalibratedModel(getCurvesToCalibrate());
+
+		// The sparse Jacobian agrees with the dense one, hence the calibration agrees
+		Assert.assertEquals("Number of iterations", solverDense.getIterations(), solverSparse.getIterations());
+		assertCurvesEqual(calibratedModelDense, calibratedModelSparse, 0.0);
+		Assert.assertTrue("Accuracy", solverSparse.getAccuracy() < 1E-14);
+
+		// The swaps on the discount curve do not depend on the forward curve
+		Assert.assertTrue("Number of valuations", numberOfValuationsSparse.get() < numberOfValuationsDense.get());
+	}
+
+	@Test
+	public void testJacobianUpdates() throws SolverException {
+		AtomicLong numberOfValuations = new AtomicLong();
+		Solver solver = new Solver(model, getCalibrationProducts(numberOfValuations), 0.0, 0.0);
+		AnalyticModelInterface calibratedModel = solver.getCalibratedModel(getCurvesToCalibrate());
+
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			AtomicLong numberOfValuationsWithUpdates = new AtomicLong();
+			Solver solverWithUpdates = new Solver(model, getCalibrationProducts(numberOfValuationsWithUpdates), 0.0, 0.0)
+					.setExecutor(executor)
+					.setMaxNumberOfJacobianUpdates(5);
+			AnalyticModelInterface calibratedModelWithUpdates = solverWithUpdates.getCalibratedModel(getCurvesToCalibrate());
+
+			Assert.assertTrue("Accuracy", solverWithUpdates.getAccuracy() < 1E-14);
+			assertCurvesEqual(calibratedModel, calibratedModelWithUpdates, 1E-12);
+			Assert.assertFalse("Executor shut down", executor.isShutdown());
+
+			// Broyden updates have been performed (and only if enabled)
+			Assert.assertEquals("Number of Jacobian updates", 0, solver.getNumberOfJacobianUpdates());
+			Assert.assertTrue("Number of Jacobian updates", solverWithUpdates.getNumberOfJacobianUpdates() > 0);
+			Assert.assertTrue("Number of Jacobian calculations", solverWithUpdates.getNumberOfJacobianCalculations() > 0);
+		}
+		finally {
+			executor.shutdown();
+		}
+	}
+
+	@Test
+	public void testProductDerivatives() throws CloneNotSupportedException {
+		assertDerivativesEqualFiniteDifferences(model, Arrays.<CurveInterface>asList(discountCurve, forwardCurve), getCalibrationProducts(new AtomicLong(), true), 1E-8);
+	}
+
+	@Test
+	public void testProductDerivativesOfDepositAndForwardRateAgreement() throws CloneNotSupportedException {
+		assertDerivativesEqualFiniteDifferences(model, Arrays.<CurveInterface>asList(discountCurve, forwardCurve), getMoneyMarketProducts(), 1E-8);
+	}
+
+	@Test
+	public void testProductDerivativesForInterpolationMethods() throws CloneNotSupportedException {
+		InterpolationMethod[] interpolationMethods = new InterpolationMethod[] {
+				InterpolationMethod.PIECEWISE_CONSTANT, InterpolationMethod.LINEAR, InterpolationMethod.CUBIC_SPLINE, InterpolationMethod.AKIMA, InterpolationMethod.HARMONIC_SPLINE };
+
+		List<AnalyticProductInterface> products = getCalibrationProducts(new AtomicLong(), true);
+		products.addAll(getMoneyMarketProducts());
+
+		for(InterpolationMethod interpolationMethod : interpolationMethods) {
+			for(InterpolationEntity interpolationEntity : InterpolationEntity.values()) {
+				DiscountCurve discountCurve = DiscountCurve.createDiscountCurveFromDiscountFactors(
+						"discountCurve", new double[] {0.0,  1.0,  2.0,  4.0,  5.0}, new double[] {1.0, 0.95, 0.90, 0.85, 0.80},
+						interpolationMethod, ExtrapolationMethod.CONSTANT, interpolationEntity);
+				AnalyticModelInterface model = new AnalyticModel(new CurveInterface[] {
+						discountCurve, new ForwardCurveFromDiscountCurve("forwardCurveFromDiscountCurve", "discountCurve", null, null), forwardCurve });
+
+				// The derivatives of the interpolations which are not linear in the values are approximated by finite differences
+				assertDerivativesEqualFiniteDifferences(model, Arrays.<CurveInterface>asList(discountCurve, forwardCurve), products, 1E-7);
+			}
+		}
+	}
+
+	@Test
+	public void testProductDerivativesForForwardInterpolationEntities() throws CloneNotSupportedException {
+		double[] times = new double[] { 0.5, 1.0, 2.0, 3.0, 4.0, 5.0 };
+		double[] forwards = new double[] { 0.04, 0.045, 0.05, 0.05, 0.055, 0.06 };
+
+		for(InterpolationEntityForward interpolationEntityForward : InterpolationEntityForward.values()) {
+			ForwardCurve forwardCurveWithoutPoints = new ForwardCurve("forwardCurve", 0.5, interpolationEntityForward, "discountCurve");
+			Curve.CurveBuilder curveBuilder = new Curve.CurveBuilder(forwardCurveWithoutPoints);
+			curveBuilder.setInterpolationMethod(InterpolationMethod.LINEAR);
+			curveBuilder.setInterpolationEntity(InterpolationEntity.VALUE);
+			if(interpolationEntityForward == InterpolationEntityForward.DISCOUNTFACTOR) {
+				curveBuilder.addPoint(0.0, 1.0, false);
+			}
+			double discountFactor = 1.0;
+			for(int i=0; i<times.length; i++) {
+				// Points representing the given forwards approximately (the exact representation is not relevant for the test)
+				discountFactor /= 1.0 + forwards[i] * 0.5;
+				switch(interpolationEntityForward) {
+				case FORWARD:
+				default:
+					curveBuilder.addPoint(times[i], forwards[i], true);
+					break;
+				case FORWARD_TIMES_DISCOUNTFACTOR:
+					curveBuilder.addPoint(times[i], forwards[i] * discountFactor, true);
+					break;
+				case ZERO:
+					curveBuilder.addPoint(times[i], forwards[i], true);
+					break;
+				case DISCOUNTFACTOR:
+					curveBuilder.addPoint(times[i], Math.exp(-forwards[i] * times[i]), true);
+					break;
+				}
+			}
+			CurveInterface forwardCurve = curveBuilder.build();
+
+			AnalyticModelInterface model = new AnalyticModel(new CurveInterface[] {
+					discountCurve, new ForwardCurveFromDiscountCurve("forwardCurveFromDiscountCurve", "discountCurve", null, null), forwardCurve });
+
+			List<AnalyticProductInterface> products = getCalibrationProducts(new AtomicLong(), true);
+			products.addAll(getMoneyMarketProducts());
+
+			assertDerivativesEqualFiniteDifferences(model, Arrays.<CurveInterface>asList(discountCurve, forwardCurve), products, 1E-8);
+		}
+	}
+
+	@Test
+	public void testProductDerivativesOfDiscountCurveFromForwardCurve() throws CloneNotSupportedException {
+		DiscountCurveFromForwardCurve discountCurveFromForwardCurve = new DiscountCurveFromForwardCurve("forwardCurve");
+		AnalyticModelInterface model = new AnalyticModel(new CurveInterface[] { forwardCurve, discountCurveFromForwardCurve });
+
+		List<AnalyticProductInterface> products = new Vector<>();
+		for(int numberOfPeriods : new int[] { 1, 3, 5, 10 }) {
+			RegularSchedule schedule = new RegularSchedule(new TimeDiscretization(0.0, numberOfPeriods, 0.5));
+			products.add(new Swap(schedule, null, 0.05, discountCurveFromForwardCurve.getName(), schedule, "forwardCurve", 0.0, discountCurveFromForwardCurve.getName()));
+		}
+		products.add(new Deposit(new RegularSchedule(new TimeDiscretization(0.5, 1, 1.25)), 0.05, discountCurveFromForwardCurve.getName()));
+
+		assertDerivativesEqualFiniteDifferences(model, Arrays.<CurveInterface>asList(forwardCurve), products, 1E-8);
+	}
+
+	@Test
+	public void testCurveNotBeingCalibratedIsConstant() throws CloneNotSupportedException, SolverException {
+		// A discount curve using the default implementation of the derivatives
+		DiscountCurveNelsonSiegelSvensson discountCurve = new DiscountCurveNelsonSiegelSvensson("discountCurve", null, new double[] { 0.04, -0.01, 0.01, 0.0, 2.0, 5.0 }, 1.0);
+		AnalyticModelInterface model = new AnalyticModel(new CurveInterface[] { discountCurve, forwardCurve });
+
+		List<AnalyticProductInterface> products = getCalibrationProducts(new AtomicLong(), true).subList(4, 9);
+		assertDerivativesEqualFiniteDifferences(model, Arrays.<CurveInterface>asList(forwardCurve), products, 1E-8);
+
+		// The analytic Jacobian is used when calibrating the forward curve only
+		Set<ParameterObjectInterface> curvesToCalibrate = Collections.<ParameterObjectInterface>singleton(forwardCurve);
+
+		AtomicLong numberOfValuations = new AtomicLong();
+		Solver solver = new Solver(model, new Vector<>(getCalibrationProducts(numberOfValuations, true).subList(4, 9)), 0.0, 0.0);
+		AnalyticModelInterface calibratedModel = solver.getCalibratedModel(curvesToCalibrate);
+
+		AtomicLong numberOfValuationsAnalytic = new AtomicLong();
+		Solver solverAnalytic = new Solver(model, new Vector<>(getCalibrationProducts(numberOfValuationsAnalytic, true).subList(4, 9)), 0.0, 0.0).setUseAnalyticJacobian(true);
+		AnalyticModelInterface calibratedModelAnalytic = solverAnalytic.getCalibratedModel(curvesToCalibrate);
+
+		Assert.assertArrayEquals("Parameter", calibratedModel.getCurve("forwardCurve").getParameter(), calibratedModelAnalytic.getCurve("forwardCurve").getParameter(), 1E-12);
+		Assert.assertTrue("Number of valuations", numberOfValuationsAnalytic.get() < numberOfValuations.get());
+	}
+
+	@Test
+	public void testAnalyticJacobian() throws SolverException {
+		AtomicLong numberOfValuations = new AtomicLong();
+		Solver solver = new Solver(model, getCalibrationProducts(numberOfValuations, true), 0.0, 0.0);
+		AnalyticModelInterface calibratedModel = solver.getCalibratedModel(getCurvesToCalibrate());
+
+		AtomicLong numberOfValuationsAnalytic = new AtomicLong();
+		Solver solverAnalytic = new Solver(model, getCalibrationProducts(numberOfValuationsAnalytic, true), 0.0, 0.0).setUseAnalyticJacobian(true);
+		AnalyticModelInterface calibratedModelAnalytic = solverAnalytic.getCalibratedModel(getCurvesToCalibrate());
+
+		Assert.assertTrue("Accuracy", solverAnalytic.getAccuracy() < 1E-14);
+		assertCurvesEqual(calibratedModel, calibratedModelAnalytic, 1E-12);
+		Assert.assertTrue("Number of valuations", numberOfValuationsAnalytic.get() < numberOfValuations.get());
+
+		// Products not providing derivatives: fall back to finite differences
+		AtomicLong numberOfValuationsFallback = new AtomicLong();
+		Solver solverFallback = new Solver(model, getCalibrationProducts(numberOfValuationsFallback, false), 0.0, 0.0).setUseAnalyticJacobian(true);
+		AnalyticModelInterface calibratedModelFallback = solverFallback.getCalibratedModel(getCurvesToCalibrate());
+
+		assertCurvesEqual(calibratedModel, calibratedModelFallback, 0.0);
+	}
+
+	private Vector<AnalyticProductInterface> getCalibrationProducts(AtomicLong numberOfValuations) {
+		return getCalibrationProducts(numberOfValuations, false);
+	}
+
+	private Vector<AnalyticProductInterface> getCalibrationProducts(AtomicLong numberOfValuations, boolean isProvidingDerivatives) {
+		Vector<AnalyticProductInterface> calibrationProducts = new Vector<>();
+
+		// Swaps on the discount curve (single curve)
+		double[] discountSwapRates = new double[] { 0.05, 0.04, 0.03, 0.04 };
+		int[] discountSwapPeriods = new int[] { 2, 4, 8, 10 };
+		for(int i=0; i<discountSwapRates.length; i++) {
+			RegularSchedule schedule = new RegularSchedule(new TimeDiscretization(0.0, discountSwapPeriods[i], 0.5));
+			calibrationProducts.add(new CountingProduct(new Swap(schedule, null, discountSwapRates[i], "discountCurve", schedule, "forwardCurveFromDiscountCurve", 0.0, "discountCurve"), numberOfValuations, isProvidingDerivatives));
+		}
+
+		// Swaps on the forward curve
+		double[] forwardSwapRates = new double[] { 0.06, 0.05, 0.04, 0.04, 0.04 };
+		int[] forwardSwapPeriods = new int[] { 2, 4, 6, 8, 10 };
+		for(int i=0; i<forwardSwapRates.length; i++) {
+			RegularSchedule schedule = new RegularSchedule(new TimeDiscretization(0.0, forwardSwapPeriods[i], 0.5));
+			calibrationProducts.add(new CountingProduct(new Swap(schedule, null, forwardSwapRates[i], "discountCurve", schedule, "forwardCurve", 0.0, "discountCurve"), numberOfValuations, isProvidingDerivatives));
+		}
+
+		return calibrationProducts;
+	}
+
+	private List<AnalyticProductInterface> getMoneyMarketProducts() {
+		List<AnalyticProductInterface> products = new Vector<>();
+
+		// Deposits (spot starting and forward starting) and FRAs (on the forward curve and on the forward curve from the discount curve)
+		products.add(new Deposit(new RegularSchedule(new TimeDiscretization(0.0, 1, 0.5)), 0.05, "discountCurve"));
+		products.add(new Deposit(new RegularSchedule(new TimeDiscretization(0.5, 1, 1.25)), 0.05, "discountCurve"));
+		products.add(new ForwardRateAgreement(new RegularSchedule(new TimeDiscretization(1.5, 1, 0.5)), 0.05, "forwardCurve", "discountCurve"));
+		products.add(new ForwardRateAgreement(new RegularSchedule(new TimeDiscretization(3.0, 1, 0.5)), 0.04, "forwardCurveFromDiscountCurve", "discountCurve", false));
+
+		return products;
+	}
+
+	/**
+	 * Compare the derivatives of the products with respect to the parameters of the given curves with central finite differences.
+	 */
+	private void assertDerivativesEqualFiniteDifferences(AnalyticModelInterface model, List<CurveInterface> curves, List<AnalyticProductInterface> products, double tolerance) throws CloneNotSupportedException {
+		Map<String, Integer> offsets = new HashMap<>();
+		int numberOfParameters = 0;
+		for(CurveInterface curve : curves) {
+			offsets.put(curve.getName(), numberOfParameters);
+			numberOfParameters += curve.getParameter().length;
+		}
+		ParameterIndex parameterIndex = new ParameterIndex(offsets, numberOfParameters);
+
+		for(AnalyticProductInterface product : products) {
+			DualNumber value = product.getValue(0.0, model, parameterIndex);
+			Assert.assertEquals("Value", product.getValue(0.0, model), value.getValue(), 1E-15);
+
+			for(CurveInterface curve : curves) {
+				int offset = offsets.get(curve.getName());
+				for(int index=0; index<curve.getParameter().length; index++) {
+					double shift = 1E-6;
+
+					double[] parameterUp = curve.getParameter();
+					parameterUp[index] += shift;
+					double valueUp = product.getValue(0.0, model.getCloneForParameter(Collections.singletonMap(curve, parameterUp)));
+
+					double[] parameterDown = curve.getParameter();
+					parameterDown[index] -= shift;
+					double valueDown = product.getValue(0.0, model.getCloneForParameter(Collections.singletonMap(curve, parameterDown)));
+
+					double derivativeFiniteDifference = (valueUp - valueDown) / (2 * shift);
+					Assert.assertEquals("Derivative of " + product + " with respect to parameter " + index + " of " + curve.getName(), derivativeFiniteDifference, value.getDerivative(offset + index), tolerance);
+				}
+			}
+		}
+	}
+
+	private Set<ParameterObjectInterface> getCurvesToCalibrate() {
+		Set<ParameterObjectInterface> curvesToCalibrate = new LinkedHashSet<>();
+		curvesToCalibrate.add(discountCurve);
+		curvesToCalibrate.add(forwardCurve);
+		return curvesToCalibrate;
+	}
+
+	private void assertCurvesEqual(AnalyticModelInterface expectedModel, AnalyticModelInterface actualModel, double tolerance) {
+		for(String curveName : new String[] { "discountCurve", "forwardCurve" }) {
+			double[] expectedParameter = expectedModel.getCurve(curveName).getParameter();
+			double[] actualParameter = actualModel.getCurve(curveName).getParameter();
+			Assert.assertArrayEquals("Parameter of " + curveName, expectedParameter, actualParameter, tolerance);
+		}
+	}
+}
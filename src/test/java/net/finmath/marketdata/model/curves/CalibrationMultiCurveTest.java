@@ -6,8 +6,13 @@
 package net.finmath.marketdata.model.curves;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 
@@ -15,6 +20,7 @@ import org.junit.Assert;
 import org.junit.Test;
 
 import net.finmath.marketdata.calibration.CalibratedCurves;
+import net.finmath.marketdata.calibration.CalibratedCurves.CalibrationMode;
 import net.finmath.marketdata.calibration.CalibratedCurves.CalibrationSpec;
 import net.finmath.marketdata.model.AnalyticModel;
 import net.finmath.marketdata.model.AnalyticModelInterface;
@@ -37,6 +43,118 @@ public class CalibrationMultiCurveTest {
 
 	@Test
 	public void testMultiCurveCalibration() throws SolverException, CloneNotSupportedException {
+		CalibratedCurves calibratedCurves = getCalibratedCurves(CalibrationMode.GLOBAL);
+
+		Assert.assertEquals("Number of calibration groups", 1, calibratedCurves.getLastCalibrationGroups().size());
+	}
+
+	@Test
+	public void testMultiCurveCalibrationBootstrap() throws SolverException, CloneNotSupportedException {
+		CalibratedCurves calibratedCurves = getCalibratedCurves(CalibrationMode.BOOTSTRAP);
+
+		/*
+		 * The OIS curve does not depend on the forward curves, the 3M curve depends on the OIS curve,
+		 * the 6M curve (calibrated to tenor basis swaps) depends on the 3M curve.
+		 */
+		List<List<String>> calibrationGroups = calibratedCurves.getLastCalibrationGroups();
+		Assert.assertEquals("Number of calibration groups", 3, calibrationGroups.size());
+		Assert.assertEquals("First calibration group", Arrays.asList("discount-EUR-OIS"), calibrationGroups.get(0));
+		Assert.assertEquals("Second calibration group", Arrays.asList("forward-EUR-3M"), calibrationGroups.get(1));
+		Assert.assertEquals("Third calibration group", Arrays.asList("forward-EUR-6M"), calibrationGroups.get(2));
+	}
+
+	@Test
+	public void testMultiCurveCalibrationShiftedClones() throws SolverException, CloneNotSupportedException {
+		testShiftedClones(CalibrationMode.GLOBAL);
+	}
+
+	@Test
+	public void testMultiCurveCalibrationBootstrapShiftedClones() throws SolverException, CloneNotSupportedException {
+		testShiftedClones(CalibrationMode.BOOTSTRAP);
+	}
+
+	@Test
+	public void testMultiCurveCalibrationShiftedClonesWithGivenExecutors() throws SolverException, CloneNotSupportedException {
+		CalibratedCurves calibratedCurves = getCalibratedCurves(CalibrationMode.BOOTSTRAP);
+
+		List<String> symbols = Arrays.asList("EUR-OIS-3Y", "EUR-3M2Y", "EUR-6M-3M10Y");
+		double shift = 1E-4;
+
+		ExecutorService executorForClones	= Executors.newFixedThreadPool(2);
+		ExecutorService executorForJacobian	= Executors.newFixedThreadPool(2);
+		try {
+			Map<String, CalibratedCurves> calibratedCurvesShiftedForSymbol = calibratedCurves.getClonesShiftedForSymbols(symbols, shift, executorForClones, executorForJacobian);
+			Map<String, CalibratedCurves> calibratedCurvesShiftedForSymbolOnOwnPools = calibratedCurves.getClonesShiftedForSymbols(symbols, shift);
+
+			// The given executors are not shut down (and may be reused)
+			Assert.assertFalse("Executor for clones shut down", executorForClones.isShutdown());
+			Assert.assertFalse("Executor for Jacobian shut down", executorForJacobian.isShutdown());
+
+			for(String symbol : symbols) {
+				AnalyticModelInterface modelShifted = calibratedCurvesShiftedForSymbol.get(symbol).getModel();
+				AnalyticModelInterface modelShiftedOnOwnPools = calibratedCurvesShiftedForSymbolOnOwnPools.get(symbol).getModel();
+				for(double time = 0.5; time <= 30.0; time += 0.5) {
+					Assert.assertEquals("Discount factor", modelShiftedOnOwnPools.getDiscountCurve("discount-EUR-OIS").getDiscountFactor(time), modelShifted.getDiscountCurve("discount-EUR-OIS").getDiscountFactor(time), 1E-12);
+					Assert.assertEquals("Forward", modelShiftedOnOwnPools.getForwardCurve("forward-EUR-6M").getForward(modelShiftedOnOwnPools, time), modelShifted.getForwardCurve("forward-EUR-6M").getForward(modelShifted, time), 1E-12);
+				}
+			}
+		}
+		finally {
+			executorForClones.shutdown();
+			executorForJacobian.shutdown();
+		}
+	}
+
+	private void testShiftedClones(CalibrationMode calibrationMode) throws SolverException, CloneNotSupportedException {
+		CalibratedCurves calibratedCurves = getCalibratedCurves(calibrationMode);
+
+		List<String> symbols = Arrays.asList("EUR-OIS-3Y", "EUR-3M2Y", "EUR-6M-3M10Y");
+		double shift = 1E-4;
+
+		long timeStart = System.currentTimeMillis();
+		Map<String, CalibratedCurves> calibratedCurvesShiftedForSymbol = calibratedCurves.getClonesShiftedForSymbols(symbols, shift);
+		long timeEnd = System.currentTimeMillis();
+
+		System.out.println("\nCalibration of " + symbols.size() + " shifted clones required " + (timeEnd-timeStart)/1000.0 + " s.");
+
+		int numberOfJacobianCalculationsWithWarmStart		= 0;
+		int numberOfJacobianCalculationsWithoutWarmStart	= 0;
+		for(String symbol : symbols) {
+			CalibratedCurves calibratedCurvesShifted = calibratedCurvesShiftedForSymbol.get(symbol);
+
+			// The shifted product is calibrated
+			AnalyticProductInterface productShifted = calibratedCurvesShifted.getCalibrationProductForSymbol(symbol);
+			Assert.assertEquals("Calibration error of shifted product " + symbol, 0.0, productShifted.getValue(0.0, calibratedCurvesShifted.getModel()), 1E-10);
+			Assert.assertTrue("Shifted product " + symbol + " differs from unshifted", Math.abs(productShifted.getValue(0.0, calibratedCurves.getModel())) > 1E-8);
+
+			// The result agrees with the (sequential) calibration of a single shifted clone
+			AnalyticModelInterface modelShifted = calibratedCurves.getCloneShifted(symbol, shift).getModel();
+			for(double time = 0.5; time <= 30.0; time += 0.5) {
+				Assert.assertEquals("Discount factor", modelShifted.getDiscountCurve("discount-EUR-OIS").getDiscountFactor(time), calibratedCurvesShifted.getModel().getDiscountCurve("discount-EUR-OIS").getDiscountFactor(time), 1E-12);
+				Assert.assertEquals("Forward", modelShifted.getForwardCurve("forward-EUR-6M").getForward(modelShifted, time), calibratedCurvesShifted.getModel().getForwardCurve("forward-EUR-6M").getForward(calibratedCurvesShifted.getModel(), time), 1E-12);
+			}
+
+			// The same calibration without warm start (starting from the same curves, but calculating the first Jacobian)
+			List<CalibrationSpec> calibrationSpecsShifted = new ArrayList<>();
+			for(CalibrationSpec calibrationSpec : getCalibrationSpecs()) {
+				calibrationSpecsShifted.add(calibrationSpec.getSymbol().equals(symbol) ? calibrationSpec.getCloneShifted(shift) : calibrationSpec);
+			}
+			CalibratedCurves calibratedCurvesShiftedWithoutWarmStart = new CalibratedCurves(calibrationSpecsShifted, calibratedCurves.getModel(), 0.0, 1E-15, calibrationMode);
+			System.out.println("Calibration of " + symbol + " shifted required " + calibratedCurvesShifted.getLastNumberOfJacobianCalculations() + " calculations of the Jacobian with warm start and "
+					+ calibratedCurvesShiftedWithoutWarmStart.getLastNumberOfJacobianCalculations() + " without warm start.");
+
+			numberOfJacobianCalculationsWithWarmStart		+= calibratedCurvesShifted.getLastNumberOfJacobianCalculations();
+			numberOfJacobianCalculationsWithoutWarmStart	+= calibratedCurvesShiftedWithoutWarmStart.getLastNumberOfJacobianCalculations();
+		}
+
+		/*
+		 * The warm start saves the first calculation of the Jacobian of each calibration group.
+		 * For a single clone the saving may be offset by an additional iteration, hence we check the total.
+		 */
+		Assert.assertTrue("Number of calculations of the Jacobian with warm start", numberOfJacobianCalculationsWithWarmStart < numberOfJacobianCalculationsWithoutWarmStart);
+	}
+
+	private static List<CalibrationSpec> getCalibrationSpecs() {
 
 		/*
 		 * Calibration of a single curve - OIS curve - self disocunted curve, from a set of calibration products.
@@ -113,20 +231,6 @@ public class CalibrationMultiCurveTest {
 			};
 		};
 
-		/*
-		 * Generate empty curve template (for cloning during calibration)
-		 */
-		double[] times = { 0.0 };
-		double[] discountFactors = { 1.0 };
-		boolean[] isParameter = { false };
-
-		DiscountCurve discountCurveOIS = DiscountCurve.createDiscountCurveFromDiscountFactors("discount-EUR-OIS", referenceDate, times, discountFactors, isParameter, InterpolationMethod.LINEAR, ExtrapolationMethod.CONSTANT, InterpolationEntity.LOG_OF_VALUE);
-		ForwardCurveInterface forwardCurveOIS = new ForwardCurveFromDiscountCurve("forward-EUR-OIS", "discount-EUR-OIS", referenceDate, "3M");
-		ForwardCurveInterface forwardCurve3M = new ForwardCurve("forward-EUR-3M", referenceDate, "3M", new BusinessdayCalendarExcludingTARGETHolidays(), DateRollConvention.FOLLOWING, Curve.InterpolationMethod.LINEAR, Curve.ExtrapolationMethod.CONSTANT, Curve.InterpolationEntity.VALUE,ForwardCurve.InterpolationEntityForward.FORWARD, "discount-EUR-OIS");
-		ForwardCurveInterface forwardCurve6M = new ForwardCurve("forward-EUR-6M", referenceDate, "6M", new BusinessdayCalendarExcludingTARGETHolidays(), DateRollConvention.FOLLOWING, Curve.InterpolationMethod.LINEAR, Curve.ExtrapolationMethod.CONSTANT, Curve.InterpolationEntity.VALUE,ForwardCurve.InterpolationEntityForward.FORWARD, "discount-EUR-OIS");
-
-		AnalyticModel forwardCurveModel = new AnalyticModel(new CurveInterface[] { discountCurveOIS, forwardCurveOIS, forwardCurve3M, forwardCurve6M });
-
 		List<CalibrationSpec> calibrationSpecs = new LinkedList<>();
 
 		/*
@@ -238,10 +342,32 @@ public class CalibrationMultiCurveTest {
 		calibrationSpecs.add(swapBasis.apply("6M","3M").apply("40Y", 0.095 / 100.0));
 		calibrationSpecs.add(swapBasis.apply("6M","3M").apply("50Y", 0.088 / 100.0));
 
+		return calibrationSpecs;
+	}
+
+	private CalibratedCurves getCalibratedCurves(CalibrationMode calibrationMode) throws SolverException, CloneNotSupportedException {
+		LocalDate referenceDate = LocalDate.of(2012, 1,10);
+
+		/*
+		 * Generate empty curve template (for cloning during calibration)
+		 */
+		double[] times = { 0.0 };
+		double[] discountFactors = { 1.0 };
+		boolean[] isParameter = { false };
+
+		DiscountCurve discountCurveOIS = DiscountCurve.createDiscountCurveFromDiscountFactors("discount-EUR-OIS", referenceDate, times, discountFactors, isParameter, InterpolationMethod.LINEAR, ExtrapolationMethod.CONSTANT, InterpolationEntity.LOG_OF_VALUE);
+		ForwardCurveInterface forwardCurveOIS = new ForwardCurveFromDiscountCurve("forward-EUR-OIS", "discount-EUR-OIS", referenceDate, "3M");
+		ForwardCurveInterface forwardCurve3M = new ForwardCurve("forward-EUR-3M", referenceDate, "3M", new BusinessdayCalendarExcludingTARGETHolidays(), DateRollConvention.FOLLOWING, Curve.InterpolationMethod.LINEAR, Curve.ExtrapolationMethod.CONSTANT, Curve.InterpolationEntity.VALUE,ForwardCurve.InterpolationEntityForward.FORWARD, "discount-EUR-OIS");
+		ForwardCurveInterface forwardCurve6M = new ForwardCurve("forward-EUR-6M", referenceDate, "6M", new BusinessdayCalendarExcludingTARGETHolidays(), DateRollConvention.FOLLOWING, Curve.InterpolationMethod.LINEAR, Curve.ExtrapolationMethod.CONSTANT, Curve.InterpolationEntity.VALUE,ForwardCurve.InterpolationEntityForward.FORWARD, "discount-EUR-OIS");
+
+		AnalyticModel forwardCurveModel = new AnalyticModel(new CurveInterface[] { discountCurveOIS, forwardCurveOIS, forwardCurve3M, forwardCurve6M });
+
+		List<CalibrationSpec> calibrationSpecs = getCalibrationSpecs();
+
 		/*
 		 * Calibrate
 		 */
-		CalibratedCurves calibratedCurves = new CalibratedCurves(calibrationSpecs.toArray(new CalibrationSpec[calibrationSpecs.size()]), forwardCurveModel, 1E-15);
+		CalibratedCurves calibratedCurves = new CalibratedCurves(calibrationSpecs, forwardCurveModel, 0.0, 1E-15, calibrationMode);
 
 		/*
 		 * Get the calibrated model
@@ -277,5 +403,7 @@ public class CalibrationMultiCurveTest {
 		System.out.println(forwardCurve6MCalibrated);
 
 		Assert.assertEquals("Calibration error", 0.0, Math.sqrt(sumOfSquaredErrors)/calibrationSpecs.size(), 1E-10);
+
+		return calibratedCurves;
 	}
 }
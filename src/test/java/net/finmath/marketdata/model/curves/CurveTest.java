@@ -127,4 +127,31 @@ public class CurveTest {
 		 */
 		Assert.assertEquals("Deviation", errorSum, -2.5, 1E-5);
 	}
+
+	/**
+	 * Tests that the batch evaluation of a curve (single pass over the interpolation) agrees with the evaluation point by point,
+	 * for sorted and unsorted times, including extrapolation and the sample points.
+	 */
+	@Test
+	public void testGetValues() {
+		double[] times				= { 0.0, 0.5, 1.0, 2.0, 5.0, 10.0 };
+		double[] discountFactors	= { 1.0, 0.99, 0.975, 0.95, 0.87, 0.75 };
+
+		double[] sortedTimes	= { 0.0, 0.1, 0.5, 0.75, 1.0, 1.0, 3.0, 9.99, 10.0, 12.0, 30.0 };
+		double[] unsortedTimes	= { 3.0, 0.1, 12.0, 0.0, 10.0, 0.75, 1.0, 30.0, 0.5, 9.99 };
+
+		for(Curve.InterpolationMethod interpolationMethod : Curve.InterpolationMethod.values()) {
+			for(Curve.ExtrapolationMethod extrapolationMethod : Curve.ExtrapolationMethod.values()) {
+				DiscountCurve discountCurve = DiscountCurve.createDiscountCurveFromDiscountFactors("discountCurve", times, discountFactors, null,
+						interpolationMethod, extrapolationMethod, Curve.InterpolationEntity.LOG_OF_VALUE);
+
+				for(double[] queryTimes : new double[][] { sortedTimes, unsortedTimes }) {
+					double[] values = discountCurve.getDiscountFactors(queryTimes);
+					for(int i=0; i<queryTimes.length; i++) {
+						Assert.assertEquals(interpolationMethod + "/" + extrapolationMethod + " at " + queryTimes[i], discountCurve.getDiscountFactor(queryTimes[i]), values[i], 1E-15);
+					}
+				}
+			}
+		}
+	}
 }
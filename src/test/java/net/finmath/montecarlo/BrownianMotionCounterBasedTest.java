@@ -0,0 +1,159 @@
+/*
+ * (c) Copyright Christian P. Fries, Germany. Contact: email@christian-fries.de.
+ *
+ * Created on 16.10.2026
+ */
+package net.finmath.montecarlo;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import net.finmath.exception.CalculationException;
+import net.finmath.montecarlo.assetderivativevaluation.MonteCarloBlackScholesModel;
+import net.finmath.montecarlo.process.ProcessEulerScheme;
+import net.finmath.stochastic.RandomVariableInterface;
+import net.finmath.time.TimeDiscretization;
+import net.finmath.time.TimeDiscretizationInterface;
+
+/**
+ * Tests of the Brownian motion generated by a counter-based random number generator.
+ *
+ * @author Christian Fries
+ */
+public class BrownianMotionCounterBasedTest {
+
+	@Test
+	public void testMomentsOfIncrements() {
+		int numberOfPaths = 100000;
+		int numberOfFactors = 3;
+		TimeDiscretizationInterface timeDiscretization = new TimeDiscretization(0.0, 20, 0.5);
+		BrownianMotionInterface brownianMotion = new BrownianMotionCounterBased(timeDiscretization, numberOfFactors, numberOfPaths, 3141);
+
+		for(int timeIndex=0; timeIndex<timeDiscretization.getNumberOfTimeSteps(); timeIndex++) {
+			double timeStep = timeDiscretization.getTimeStep(timeIndex);
+			for(int factor=0; factor<numberOfFactors; factor++) {
+				RandomVariableInterface increment = brownianMotion.getBrownianIncrement(timeIndex, factor);
+				Assert.assertEquals("Mean of increment", 0.0, increment.getAverage(), 4.0 * Math.sqrt(timeStep / numberOfPaths));
+				Assert.assertEquals("Variance of increment", timeStep, increment.getVariance(), 4.0 * Math.sqrt(2.0 / numberOfPaths) * timeStep);
+
+				if(factor > 0) {
+					double covariance = increment.mult(brownianMotion.getBrownianIncrement(timeIndex, factor-1)).getAverage();
+					Assert.assertEquals("Covariance of factors", 0.0, covariance, 4.0 * timeStep / Math.sqrt(numberOfPaths));
+				}
+			}
+		}
+	}
+
+	@Test
+	public void testPathBlocksAgreeWithBrownianMotion() {
+		BrownianMotionCounterBased brownianMotion = new BrownianMotionCounterBased(new TimeDiscretization(0.0, 10, 0.5), 3, 1000, 3141);
+
+		// Blocks in reverse order, each generated independently
+		for(int firstPath = 900; firstPath >= 0; firstPath -= 300) {
+			BrownianMotionCounterBased pathBlock = brownianMotion.getPathBlock(firstPath, Math.min(300, brownianMotion.getNumberOfPaths() - firstPath));
+			for(int timeIndex=0; timeIndex<brownianMotion.getTimeDiscretization().getNumberOfTimeSteps(); timeIndex++) {
+				for(int factor=0; factor<brownianMotion.getNumberOfFactors(); factor++) {
+					for(int path=0; path<pathBlock.getNumberOfPaths(); path++) {
+						Assert.assertEquals("Brownian increment",
+								brownianMotion.getBrownianIncrement(timeIndex, factor).get(firstPath+path),
+								pathBlock.getBrownianIncrement(timeIndex, factor).get(path), 0.0);
+					}
+				}
+			}
+		}
+
+		// Block of a block
+		BrownianMotionCounterBased pathBlockOfPathBlock = brownianMotion.getPathBlock(100, 500).getPathBlock(50, 10);
+		Assert.assertEquals("First path", 150, pathBlockOfPathBlock.getFirstPath());
+		Assert.assertEquals("Brownian increment", brownianMotion.getBrownianIncrement(4, 2).get(155), pathBlockOfPathBlock.getBrownianIncrement(4, 2).get(5), 0.0);
+	}
+
+	@Test
+	public void testReleaseOfIncrements() throws CalculationException {
+		TimeDiscretizationInterface timeDiscretization = new TimeDiscretization(0.0, 20, 0.25);
+		BrownianMotionCounterBased brownianMotion = new BrownianMotionCounterBased(timeDiscretization, 2, 5000, 3141);
+		BrownianMotionCounterBased brownianMotionReleasingIncrements = new BrownianMotionCounterBased(timeDiscretization, 2, 5000, 3141, new RandomVariableFactory(), true);
+
+		// Increasing and decreasing order of time (the latter requires regeneration of released increments)
+		for(int i=0; i<2*timeDiscretization.getNumberOfTimeSteps(); i++) {
+			int timeIndex = i < timeDiscretization.getNumberOfTimeSteps() ? i : 2*timeDiscretization.getNumberOfTimeSteps()-1-i;
+			for(int factor=0; factor<brownianMotion.getNumberOfFactors(); factor++) {
+				RandomVariableInterface increment = brownianMotion.getBrownianIncrement(timeIndex, factor);
+				RandomVariableInterface incrementReleasingIncrements = brownianMotionReleasingIncrements.getBrownianIncrement(timeIndex, factor);
+				Assert.assertEquals("Brownian increment", 0.0, increment.sub(incrementReleasingIncrements).abs().getMax(), 0.0);
+			}
+		}
+
+		// Euler scheme driven by the Brownian motion releasing its increments
+		MonteCarloBlackScholesModel model = new MonteCarloBlackScholesModel(100.0, 0.05, 0.3, new ProcessEulerScheme(brownianMotion));
+		MonteCarloBlackScholesModel modelReleasingIncrements = new MonteCarloBlackScholesModel(100.0, 0.05, 0.3, new ProcessEulerScheme(brownianMotionReleasingIncrements));
+		for(int timeIndex=0; timeIndex<=timeDiscretization.getNumberOfTimeSteps(); timeIndex++) {
+			Assert.assertEquals("Asset", 0.0, model.getAssetValue(timeIndex, 0).sub(modelReleasingIncrements.getAssetValue(timeIndex, 0)).abs().getMax(), 0.0);
+		}
+	}
+
+	@Test
+	public void testSerialization() throws IOException, ClassNotFoundException {
+		TimeDiscretizationInterface timeDiscretization = new TimeDiscretization(0.0, 10, 0.5);
+		BrownianMotionCounterBased brownianMotion = new BrownianMotionCounterBased(timeDiscretization, 2, 1000, 3141, new RandomVariableFactory(), true);
+		brownianMotion.getBrownianIncrement(3, 1);
+
+		ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
+		try(ObjectOutputStream objectOutputStream = new ObjectOutputStream(byteArrayOutputStream)) {
+			objectOutputStream.writeObject(brownianMotion);
+		}
+		BrownianMotionCounterBased brownianMotionDeserialized;
+		try(ObjectInputStream objectInputStream = new ObjectInputStream(new ByteArrayInputStream(byteArrayOutputStream.toByteArray()))) {
+			brownianMotionDeserialized = (BrownianMotionCounterBased)objectInputStream.readObject();
+		}
+
+		// The increments are not serialized, but regenerated
+		Assert.assertEquals("Brownian motion", brownianMotion, brownianMotionDeserialized);
+		for(int timeIndex=0; timeIndex<timeDiscretization.getNumberOfTimeSteps(); timeIndex++) {
+			for(int factor=0; factor<brownianMotion.getNumberOfFactors(); factor++) {
+				RandomVariableInterface increment = brownianMotion.getBrownianIncrement(timeIndex, factor);
+				RandomVariableInterface incrementDeserialized = brownianMotionDeserialized.getBrownianIncrement(timeIndex, factor);
+				Assert.assertEquals("Brownian increment", 0.0, increment.sub(incrementDeserialized).abs().getMax(), 0.0);
+			}
+		}
+	}
+
+	@Test
+	public void testIndependenceOfNumberOfThreads() throws InterruptedException, ExecutionException {
+		TimeDiscretizationInterface timeDiscretization = new TimeDiscretization(0.0, 10, 0.5);
+
+		RandomVariableInterface[] incrementsWithOneThread = getIncrementsGeneratedInPool(new ForkJoinPool(1), timeDiscretization);
+		RandomVariableInterface[] incrementsWithFourThreads = getIncrementsGeneratedInPool(new ForkJoinPool(4), timeDiscretization);
+
+		for(int i=0; i<incrementsWithOneThread.length; i++) {
+			for(int path=0; path<incrementsWithOneThread[i].size(); path++) {
+				Assert.assertEquals("Brownian increment", incrementsWithOneThread[i].get(path), incrementsWithFourThreads[i].get(path), 0.0);
+			}
+		}
+	}
+
+	private static RandomVariableInterface[] getIncrementsGeneratedInPool(ForkJoinPool pool, TimeDiscretizationInterface timeDiscretization) throws InterruptedException, ExecutionException {
+		BrownianMotionInterface brownianMotion = new BrownianMotionCounterBased(timeDiscretization, 2, 10000, 3141);
+		try {
+			return pool.submit(() -> {
+				RandomVariableInterface[] increments = new RandomVariableInterface[timeDiscretization.getNumberOfTimeSteps() * 2];
+				for(int timeIndex=0; timeIndex<timeDiscretization.getNumberOfTimeSteps(); timeIndex++) {
+					increments[2*timeIndex] = brownianMotion.getBrownianIncrement(timeIndex, 0);
+					increments[2*timeIndex+1] = brownianMotion.getBrownianIncrement(timeIndex, 1);
+				}
+				return increments;
+			}).get();
+		}
+		finally {
+			pool.shutdown();
+		}
+	}
+}
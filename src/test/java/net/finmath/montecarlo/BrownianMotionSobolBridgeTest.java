@@ -0,0 +1,103 @@
+/*
+ * (c) Copyright Christian P. Fries, Germany. Contact: email@christian-fries.de.
+ *
+ * Created on 16.10.2026
+ */
+package net.finmath.montecarlo;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import net.finmath.functions.AnalyticFormulas;
+import net.finmath.stochastic.RandomVariableInterface;
+import net.finmath.time.TimeDiscretization;
+import net.finmath.time.TimeDiscretizationInterface;
+
+/**
+ * Tests of the Brownian motion generated from a Sobol sequence with Brownian bridge construction.
+ *
+ * @author Christian Fries
+ */
+public class BrownianMotionSobolBridgeTest {
+
+	@Test
+	public void testCovarianceOfIncrements() {
+		int numberOfPaths = 1 << 14;
+		int numberOfFactors = 3;
+
+		// A non-uniform time discretization
+		TimeDiscretizationInterface timeDiscretization = new TimeDiscretization(new double[] { 0.0, 0.1, 0.25, 0.5, 1.0, 1.5, 2.0, 3.0, 5.0, 7.0, 10.0 });
+		BrownianMotionInterface brownianMotion = new BrownianMotionSobolBridge(timeDiscretization, numberOfFactors, numberOfPaths, 3141);
+
+		for(int timeIndex=0; timeIndex<timeDiscretization.getNumberOfTimeSteps(); timeIndex++) {
+			double timeStep = timeDiscretization.getTimeStep(timeIndex);
+			for(int factor=0; factor<numberOfFactors; factor++) {
+				RandomVariableInterface increment = brownianMotion.getBrownianIncrement(timeIndex, factor);
+				Assert.assertEquals("Filtration time", timeDiscretization.getTime(timeIndex+1), increment.getFiltrationTime(), 0.0);
+				Assert.assertEquals("Mean of increment", 0.0, increment.getAverage(), 1E-2 * Math.sqrt(timeStep));
+				Assert.assertEquals("Variance of increment", timeStep, increment.getVariance(), 1E-2 * timeStep);
+
+				// Independence of the increments (across time and factors)
+				for(int timeIndex2=0; timeIndex2<=timeIndex; timeIndex2++) {
+					for(int factor2=0; factor2<numberOfFactors; factor2++) {
+						if(timeIndex2 == timeIndex && factor2 >= factor) {
+							continue;
+						}
+						RandomVariableInterface increment2 = brownianMotion.getBrownianIncrement(timeIndex2, factor2);
+						double covariance = increment.mult(increment2).getAverage();
+						Assert.assertEquals("Covariance of increments", 0.0, covariance, 2E-2 * Math.sqrt(timeStep * timeDiscretization.getTimeStep(timeIndex2)));
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Compares the Monte-Carlo value of a call option on a Black-Scholes stock with the analytic value. The root mean square
+	 * error over different seeds (i.e., different randomizations of the Sobol sequence) is compared with the one of pseudo
+	 * random numbers using the same number of paths.
+	 */
+	@Test
+	public void testEuropeanOptionAccuracy() {
+		double initialValue = 100.0;
+		double volatility = 0.3;
+		double strike = 110.0;
+
+		int numberOfPaths = 1 << 12;
+		int numberOfSeeds = 10;
+		TimeDiscretizationInterface timeDiscretization = new TimeDiscretization(0.0, 64, 5.0/64);
+		double maturity = timeDiscretization.getTime(timeDiscretization.getNumberOfTimeSteps());
+
+		double valueAnalytic = AnalyticFormulas.blackScholesOptionValue(initialValue, 0.0, volatility, maturity, strike);
+
+		double squaredErrorSobol = 0.0;
+		double squaredErrorPseudoRandom = 0.0;
+		for(int seed=0; seed<numberOfSeeds; seed++) {
+			BrownianMotionInterface brownianMotionSobol = new BrownianMotionSobolBridge(timeDiscretization, 1, numberOfPaths, 3141 + seed);
+			BrownianMotionInterface brownianMotionPseudoRandom = new BrownianMotion(timeDiscretization, 1, numberOfPaths, 3141 + seed);
+
+			squaredErrorSobol += Math.pow(getCallValue(brownianMotionSobol, initialValue, volatility, strike) - valueAnalytic, 2);
+			squaredErrorPseudoRandom += Math.pow(getCallValue(brownianMotionPseudoRandom, initialValue, volatility, strike) - valueAnalytic, 2);
+		}
+		double errorSobol = Math.sqrt(squaredErrorSobol / numberOfSeeds);
+		double errorPseudoRandom = Math.sqrt(squaredErrorPseudoRandom / numberOfSeeds);
+
+		System.out.println("RMS error of Sobol/Brownian bridge: " + errorSobol);
+		System.out.println("RMS error of pseudo random numbers: " + errorPseudoRandom);
+
+		Assert.assertTrue("Error of Sobol/Brownian bridge", errorSobol < 0.25 * errorPseudoRandom);
+	}
+
+	private static double getCallValue(BrownianMotionInterface brownianMotion, double initialValue, double volatility, double strike) {
+		TimeDiscretizationInterface timeDiscretization = brownianMotion.getTimeDiscretization();
+
+		// Log-Euler scheme of the stock
+		RandomVariableInterface logStock = brownianMotion.getRandomVariableForConstant(Math.log(initialValue));
+		for(int timeIndex=0; timeIndex<timeDiscretization.getNumberOfTimeSteps(); timeIndex++) {
+			double timeStep = timeDiscretization.getTimeStep(timeIndex);
+			logStock = logStock.add(-0.5 * volatility * volatility * timeStep).add(brownianMotion.getBrownianIncrement(timeIndex, 0).mult(volatility));
+		}
+
+		return logStock.exp().sub(strike).floor(0.0).getAverage();
+	}
+}
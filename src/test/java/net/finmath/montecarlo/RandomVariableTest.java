@@ -226,4 +226,49 @@ public class RandomVariableTest {
 		// The random variable has variance value 0
 		Assert.assertEquals(valueFloored.getVariance(), Math.pow(1.0/5.0,2)*4.0/5.0 + Math.pow(1.0-1.0/5-0,2)*1.0/5.0, 1E-15);
 	}
+
+	@Test
+	public void testExpression() {
+		MersenneTwister mersenneTwister = new MersenneTwister(3141);
+		double[] realizations1 = new double[5000];
+		double[] realizations2 = new double[5000];
+		for(int i=0; i<realizations1.length; i++) {
+			realizations1[i] = mersenneTwister.nextDouble() - 0.5;
+			realizations2[i] = mersenneTwister.nextDouble();
+		}
+
+		RandomVariableInterface randomVariable1 = randomVariableFactory.createRandomVariable(1.0, realizations1);
+		RandomVariableInterface randomVariable2 = randomVariableFactory.createRandomVariable(2.0, realizations2);
+		RandomVariableInterface constant = randomVariableFactory.createRandomVariable(0.5);
+
+		RandomVariableInterface valueByOperators = randomVariable1.sub(0.1).floor(0.0).mult(2.0).discount(randomVariable2, 0.5)
+				.addProduct(randomVariable2, constant).div(randomVariable2).cap(1.0).add(randomVariable1).accrue(constant, 0.25);
+		RandomVariableInterface valueByExpression = RandomVariableExpression.of(randomVariable1).sub(0.1).floor(0.0).mult(2.0).discount(randomVariable2, 0.5)
+				.addProduct(randomVariable2, constant).div(randomVariable2).cap(1.0).add(randomVariable1).accrue(constant, 0.25).get();
+
+		Assert.assertEquals("Filtration time", valueByOperators.getFiltrationTime(), valueByExpression.getFiltrationTime(), 0.0);
+		Assert.assertEquals("Type priority", valueByOperators.getTypePriority(), valueByExpression.getTypePriority());
+		for(int i=0; i<realizations1.length; i++) {
+			Assert.assertEquals("Realization", valueByOperators.get(i), valueByExpression.get(i), 0.0);
+		}
+
+		RandomVariableInterface deterministicByExpression = RandomVariableExpression.of(constant).mult(4.0).add(constant).get();
+		Assert.assertTrue("Deterministic", deterministicByExpression.isDeterministic());
+		Assert.assertEquals("Value", 2.5, deterministicByExpression.get(0), 0.0);
+	}
+
+	@Test
+	public void testAddSumProduct() {
+		RandomVariableInterface randomVariable = randomVariableFactory.createRandomVariable(0.0, new double[] {-4.0, -2.0, 0.0, 2.0, 4.0} );
+		RandomVariableInterface factor1 = randomVariableFactory.createRandomVariable(1.0, new double[] {1.0, 2.0, 3.0, 4.0, 5.0} );
+		RandomVariableInterface factor2 = randomVariableFactory.createRandomVariable(3.0);
+
+		RandomVariableInterface valueSumProduct = randomVariable.addSumProduct(Arrays.asList(factor1, factor2), Arrays.asList(factor2, factor1));
+		RandomVariableInterface valueProducts = randomVariable.addProduct(factor1, factor2).addProduct(factor2, factor1);
+
+		Assert.assertEquals("Filtration time", valueProducts.getFiltrationTime(), valueSumProduct.getFiltrationTime(), 0.0);
+		for(int i=0; i<5; i++) {
+			Assert.assertEquals("Realization", valueProducts.get(i), valueSumProduct.get(i), 0.0);
+		}
+	}
 }
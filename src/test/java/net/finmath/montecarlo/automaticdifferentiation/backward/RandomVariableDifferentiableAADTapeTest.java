@@ -0,0 +1,150 @@
+/*
+ * (c) Copyright Christian P. Fries, Germany. Contact: email@christian-fries.de.
+ *
+ * Created on 16.10.2026
+ */
+package net.finmath.montecarlo.automaticdifferentiation.backward;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import net.finmath.montecarlo.automaticdifferentiation.RandomVariableDifferentiableInterface;
+import net.finmath.stochastic.RandomVariableInterface;
+
+/**
+ * Tests for RandomVariableDifferentiableAADTape, comparing the gradient with the one of RandomVariableDifferentiableAAD.
+ *
+ * @author Christian Fries
+ */
+public class RandomVariableDifferentiableAADTapeTest {
+
+	private static final int numberOfPaths = 1000;
+
+	@Test
+	public void testGradientAgreesWithOperatorTree() {
+		RandomVariableDifferentiableAADFactory factoryOperatorTree = new RandomVariableDifferentiableAADFactory();
+		RandomVariableDifferentiableAADTapeFactory factoryTape = new RandomVariableDifferentiableAADTapeFactory();
+
+		double[] valuesX = getRandomValues(3141);
+		double[] valuesY = getRandomValues(2718);
+
+		RandomVariableDifferentiableInterface x1 = factoryOperatorTree.createRandomVariable(0.0, valuesX);
+		RandomVariableDifferentiableInterface y1 = factoryOperatorTree.createRandomVariable(0.0, valuesY);
+		RandomVariableDifferentiableInterface x2 = factoryTape.createRandomVariable(0.0, valuesX);
+		RandomVariableDifferentiableInterface y2 = factoryTape.createRandomVariable(0.0, valuesY);
+
+		RandomVariableInterface value1 = getFunctionValue(x1, y1);
+		RandomVariableInterface value2 = getFunctionValue(x2, y2);
+
+		Map<Long, RandomVariableInterface> gradient1 = ((RandomVariableDifferentiableInterface)value1).getGradient();
+		Map<Long, RandomVariableInterface> gradient2 = ((RandomVariableDifferentiableInterface)value2).getGradient();
+
+		Assert.assertEquals("Number of leaf nodes", 2, gradient2.size());
+		for(int path=0; path<numberOfPaths; path++) {
+			Assert.assertEquals("Value", value1.get(path), value2.get(path), 0.0);
+			Assert.assertEquals("Derivative dx", gradient1.get(x1.getID()).get(path), gradient2.get(x2.getID()).get(path), 1E-12);
+			Assert.assertEquals("Derivative dy", gradient1.get(y1.getID()).get(path), gradient2.get(y2.getID()).get(path), 1E-12);
+		}
+	}
+
+	@Test
+	public void testGradientWithRespectToGivenIndependents() {
+		RandomVariableDifferentiableAADTapeFactory factory = new RandomVariableDifferentiableAADTapeFactory();
+
+		RandomVariableDifferentiableInterface x = factory.createRandomVariable(0.0, getRandomValues(3141));
+		RandomVariableDifferentiableInterface y = factory.createRandomVariable(0.0, getRandomValues(2718));
+
+		RandomVariableDifferentiableInterface value = (RandomVariableDifferentiableInterface)getFunctionValue(x, y);
+
+		Map<Long, RandomVariableInterface> gradient = value.getGradient();
+		Map<Long, RandomVariableInterface> gradientWithRespectToY = value.getGradient(Collections.singleton(y.getID()));
+
+		Assert.assertEquals("Number of derivatives", 1, gradientWithRespectToY.size());
+		Assert.assertEquals("Derivative dy", 0.0, gradient.get(y.getID()).sub(gradientWithRespectToY.get(y.getID())).abs().getMax(), 0.0);
+	}
+
+	@Test
+	public void testTapeReset() {
+		RandomVariableDifferentiableAADTapeFactory factory = new RandomVariableDifferentiableAADTapeFactory();
+
+		RandomVariableDifferentiableInterface x = factory.createRandomVariable(2.0);
+		RandomVariableInterface value = x.squared().mult(3.0);
+		double derivative = ((RandomVariableDifferentiableInterface)value).getGradient().get(x.getID()).doubleValue();
+		Assert.assertEquals("Derivative", 12.0, derivative, 1E-15);
+		Assert.assertEquals("Tape size", 3, factory.getTapeSize());
+
+		factory.resetTape();
+		Assert.assertEquals("Tape size", 0, factory.getTapeSize());
+
+		// Reuse of the tape
+		RandomVariableDifferentiableInterface x2 = factory.createRandomVariable(3.0);
+		RandomVariableInterface value2 = x2.squared().mult(3.0);
+		double derivative2 = ((RandomVariableDifferentiableInterface)value2).getGradient().get(x2.getID()).doubleValue();
+		Assert.assertEquals("Derivative", 18.0, derivative2, 1E-15);
+		Assert.assertTrue("Unique ids", !x.getID().equals(x2.getID()));
+
+		// A random variable recorded before the reset cannot be used
+		try {
+			x.add(x2);
+			Assert.fail("Expected exception for random variable recorded before reset.");
+		}
+		catch(IllegalStateException e) {
+			// Expected
+		}
+	}
+
+	@Test
+	public void testCombinationWithOperatorTreeIsRejected() {
+		RandomVariableDifferentiableAADFactory factoryOperatorTree = new RandomVariableDifferentiableAADFactory();
+		RandomVariableDifferentiableAADTapeFactory factoryTape = new RandomVariableDifferentiableAADTapeFactory();
+
+		RandomVariableDifferentiableInterface x1 = factoryOperatorTree.createRandomVariable(2.0);
+		RandomVariableDifferentiableInterface x2 = factoryTape.createRandomVariable(3.0);
+
+		// The derivative with respect to the other random variable would be lost silently
+		try {
+			x2.mult(x1);
+			Assert.fail("Expected exception when combining a tape random variable with an operator tree random variable.");
+		}
+		catch(IllegalArgumentException e) {
+			// Expected
+		}
+
+		try {
+			x1.mult(x2);
+			Assert.fail("Expected exception when combining an operator tree random variable with a tape random variable.");
+		}
+		catch(IllegalArgumentException e) {
+			// Expected
+		}
+	}
+
+	private static RandomVariableInterface getFunctionValue(RandomVariableInterface x, RandomVariableInterface y) {
+		RandomVariableInterface value = x.mult(y).exp()
+				.add(x.squared().add(1.0).sqrt())
+				.div(y.add(3.0))
+				.accrue(y, 0.5)
+				.discount(x.abs(), 0.25)
+				.floor(x.sub(1.0))
+				.cap(5.0)
+				.addProduct(x, y)
+				.addRatio(y, x.exp())
+				.sub(x.log().abs().mult(y))
+				.add(x.sub(y).choose(x, y))
+				.mult(y.average());
+		return value;
+	}
+
+	private static double[] getRandomValues(int seed) {
+		Random random = new Random(seed);
+		double[] values = new double[numberOfPaths];
+		for(int i=0; i<numberOfPaths; i++) {
+			values[i] = 1.0 + 0.2 * random.nextGaussian();
+		}
+		return values;
+	}
+}
@@ -2,6 +2,7 @@ package net.finmath.montecarlo.automaticdifferentiation.backward;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Random;
 
 import org.junit.Assert;
 import org.junit.Test;
@@ -60,4 +61,44 @@ public class RandomVariableDifferentiableAADTest {
 
 		Assert.assertEquals(derivativeExpected, derivativeAAD, 1E-15);
 	}
+
+	@Test
+	public void testParallelAdjoint() {
+		Map<String, Object> properties = new HashMap<String, Object>();
+		properties.put("isParallelAdjoint", true);
+		properties.put("parallelAdjointPathChunkSize", 1000);
+
+		RandomVariableDifferentiableAADFactory[][] factories = {
+				{ new RandomVariableDifferentiableAADFactory(), new RandomVariableDifferentiableAADFactory(new RandomVariableFactory(), properties) },
+				{ new RandomVariableDifferentiableAADTapeFactory(), new RandomVariableDifferentiableAADTapeFactory(new RandomVariableFactory(), properties) }
+		};
+
+		int numberOfPaths = 100000;
+		Random random = new Random(3141);
+		double[] valuesX = new double[numberOfPaths];
+		double[] valuesY = new double[numberOfPaths];
+		for(int i=0; i<numberOfPaths; i++) {
+			valuesX[i] = 1.0 + 0.2 * random.nextGaussian();
+			valuesY[i] = 1.0 + 0.2 * random.nextGaussian();
+		}
+
+		for(RandomVariableDifferentiableAADFactory[] factoriesSequentialAndParallel : factories) {
+			Map<Long, RandomVariableInterface>[] gradients = new Map[2];
+			Long[] idsX = new Long[2];
+			Long[] idsY = new Long[2];
+			for(int i=0; i<2; i++) {
+				RandomVariableDifferentiableInterface x = factoriesSequentialAndParallel[i].createRandomVariable(0.0, valuesX);
+				RandomVariableDifferentiableInterface y = factoriesSequentialAndParallel[i].createRandomVariable(0.0, valuesY);
+
+				RandomVariableDifferentiableInterface result = (RandomVariableDifferentiableInterface)x.mult(y).exp().add(x.squared().div(y)).sub(x.log().mult(y.average())).addProduct(x, y);
+
+				gradients[i] = result.getGradient();
+				idsX[i] = x.getID();
+				idsY[i] = y.getID();
+			}
+
+			Assert.assertEquals("Derivative dx", 0.0, gradients[0].get(idsX[0]).sub(gradients[1].get(idsX[1])).abs().getMax(), 0.0);
+			Assert.assertEquals("Derivative dy", 0.0, gradients[0].get(idsY[0]).sub(gradients[1].get(idsY[1])).abs().getMax(), 0.0);
+		}
+	}
 }
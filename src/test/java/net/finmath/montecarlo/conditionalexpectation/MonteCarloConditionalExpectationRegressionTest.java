@@ -0,0 +1,142 @@
+/*
+ * (c) Copyright Christian P. Fries, Germany. Contact: email@christian-fries.de.
+ *
+ * Created on 16.10.2026
+ */
+package net.finmath.montecarlo.conditionalexpectation;
+
+import java.util.Random;
+
+import org.apache.commons.math3.linear.Array2DRowRealMatrix;
+import org.apache.commons.math3.linear.ArrayRealVector;
+import org.apache.commons.math3.linear.SingularValueDecomposition;
+import org.junit.Assert;
+import org.junit.Test;
+
+import net.finmath.montecarlo.RandomVariable;
+import net.finmath.montecarlo.automaticdifferentiation.RandomVariableDifferentiableInterface;
+import net.finmath.montecarlo.automaticdifferentiation.backward.RandomVariableDifferentiableAADFactory;
+import net.finmath.stochastic.RandomVariableInterface;
+
+/**
+ * Tests of the regression in MonteCarloConditionalExpectationRegression.
+ *
+ * @author Christian Fries
+ */
+public class MonteCarloConditionalExpectationRegressionTest {
+
+	private static final int numberOfPaths = 100000;
+
+	@Test
+	public void testRegressionParametersOfPolynomial() {
+		RandomVariableInterface x = getNormal(3141);
+		RandomVariableInterface noise = getNormal(2718).mult(0.1);
+
+		// y = 1 + 2 x - 0.5 x^2 + noise
+		RandomVariableInterface y = x.mult(2.0).add(1.0).sub(x.squared().mult(0.5)).add(noise);
+
+		RandomVariableInterface[] basisFunctions = { new RandomVariable(1.0), x, x.squared() };
+		double[] parameters = new MonteCarloConditionalExpectationRegression(basisFunctions).getLinearRegressionParameters(y);
+
+		Assert.assertEquals("Parameter 0", 1.0, parameters[0], 1E-2);
+		Assert.assertEquals("Parameter 1", 2.0, parameters[1], 1E-2);
+		Assert.assertEquals("Parameter 2", -0.5, parameters[2], 1E-2);
+
+		assertAgreesWithReference(basisFunctions, y, parameters);
+	}
+
+	/**
+	 * Tests an ill conditioned basis (a linear dependent basis function), where the singular value decomposition is used.
+	 */
+	@Test
+	public void testRegressionParametersOfIllConditionedBasis() {
+		RandomVariableInterface x = getNormal(3141).mult(0.01).add(0.05);
+		RandomVariableInterface y = x.exp();
+
+		RandomVariableInterface[] basisFunctions = { new RandomVariable(1.0), x, x.squared(), x.mult(2.0).add(1.0) };
+		MonteCarloConditionalExpectationRegression regression = new MonteCarloConditionalExpectationRegression(basisFunctions);
+		double[] parameters = regression.getLinearRegressionParameters(y);
+
+		assertAgreesWithReference(basisFunctions, y, parameters);
+		Assert.assertEquals("Conditional expectation", 0.0, regression.getConditionalExpectation(y).sub(y).abs().getMax(), 1E-4);
+	}
+
+	@Test
+	public void testConditionalExpectationsOfMultipleDependents() {
+		RandomVariableInterface x = getNormal(3141);
+		RandomVariableInterface z = getNormal(2718);
+
+		RandomVariableInterface[] basisFunctions = { new RandomVariable(1.0), x, x.squared(), x.squared().mult(x) };
+		RandomVariableInterface[] dependents = {
+				x.exp(),
+				x.sub(0.5).floor(0.0).add(z),
+				x.mult(z).add(x.squared()),
+				new RandomVariable(1.0),
+				new RandomVariableDifferentiableAADFactory().createRandomVariable(0.0, x.add(z).getRealizations())
+		};
+
+		MonteCarloConditionalExpectationRegression regression = new MonteCarloConditionalExpectationRegression(basisFunctions);
+		RandomVariableInterface[] conditionalExpectations = regression.getConditionalExpectations(dependents);
+
+		for(int k=0; k<dependents.length; k++) {
+			RandomVariableInterface conditionalExpectation = dependents[k].getConditionalExpectation(new MonteCarloConditionalExpectationRegression(basisFunctions));
+			Assert.assertEquals("Conditional expectation", 0.0, conditionalExpectations[k].sub(conditionalExpectation).abs().getMax(), 1E-12);
+			Assert.assertEquals("Filtration time", conditionalExpectation.getFiltrationTime(), conditionalExpectations[k].getFiltrationTime(), 0.0);
+		}
+		Assert.assertTrue("Differentiable dependent", conditionalExpectations[4] instanceof RandomVariableDifferentiableInterface);
+	}
+
+	/**
+	 * Tests that the parallel processing of the path blocks gives the same result as the sequential processing (the default).
+	 */
+	@Test
+	public void testParallelAgreesWithSequential() {
+		RandomVariableInterface x = getNormal(3141);
+		RandomVariableInterface z = getNormal(2718);
+
+		RandomVariableInterface[] basisFunctions = { new RandomVariable(1.0), x, x.squared(), x.squared().mult(x) };
+		RandomVariableInterface[] dependents = { x.exp(), x.mult(z).add(x.squared()) };
+
+		MonteCarloConditionalExpectationRegression regressionSequential = new MonteCarloConditionalExpectationRegression(basisFunctions);
+		MonteCarloConditionalExpectationRegression regressionParallel = new MonteCarloConditionalExpectationRegression(basisFunctions, true);
+		Assert.assertFalse("Default is sequential", regressionSequential.isParallel());
+		Assert.assertTrue("Parallel", regressionParallel.isParallel());
+
+		RandomVariableInterface[] conditionalExpectationsSequential = regressionSequential.getConditionalExpectations(dependents);
+		RandomVariableInterface[] conditionalExpectationsParallel = regressionParallel.getConditionalExpectations(dependents);
+		for(int k=0; k<dependents.length; k++) {
+			Assert.assertArrayEquals("Regression parameters", regressionSequential.getLinearRegressionParameters(dependents[k]), regressionParallel.getLinearRegressionParameters(dependents[k]), 0.0);
+			Assert.assertArrayEquals("Conditional expectation", conditionalExpectationsSequential[k].getRealizations(), conditionalExpectationsParallel[k].getRealizations(), 0.0);
+		}
+	}
+
+	private static void assertAgreesWithReference(RandomVariableInterface[] basisFunctions, RandomVariableInterface y, double[] parameters) {
+		// Reference: scalar products via the operators on random variables, solved by singular value decomposition
+		double[][] XTX = new double[basisFunctions.length][basisFunctions.length];
+		double[] XTy = new double[basisFunctions.length];
+		for(int i=0; i<basisFunctions.length; i++) {
+			for(int j=0; j<basisFunctions.length; j++) {
+				XTX[i][j] = basisFunctions[i].mult(basisFunctions[j]).getAverage();
+			}
+			XTy[i] = y.mult(basisFunctions[i]).getAverage();
+		}
+		double[] parametersReference = new SingularValueDecomposition(new Array2DRowRealMatrix(XTX, false)).getSolver().solve(new ArrayRealVector(XTy)).toArray();
+
+		RandomVariableInterface fit = new RandomVariable(0.0);
+		RandomVariableInterface fitReference = new RandomVariable(0.0);
+		for(int i=0; i<basisFunctions.length; i++) {
+			fit = fit.addProduct(basisFunctions[i], parameters[i]);
+			fitReference = fitReference.addProduct(basisFunctions[i], parametersReference[i]);
+		}
+		Assert.assertEquals("Regression", 0.0, fit.sub(fitReference).abs().getMax(), 1E-8);
+	}
+
+	private static RandomVariableInterface getNormal(int seed) {
+		Random random = new Random(seed);
+		double[] values = new double[numberOfPaths];
+		for(int i=0; i<numberOfPaths; i++) {
+			values[i] = random.nextGaussian();
+		}
+		return new RandomVariable(0.0, values);
+	}
+}
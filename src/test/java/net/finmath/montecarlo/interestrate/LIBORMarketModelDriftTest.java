@@ -0,0 +1,117 @@
+/*
+ * (c) Copyright Christian P. Fries, Germany. Contact: email@christian-fries.de.
+ *
+ * Created on 16.10.2026
+ */
+package net.finmath.montecarlo.interestrate;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import net.finmath.exception.CalculationException;
+import net.finmath.montecarlo.AbstractRandomVariableFactory;
+import net.finmath.montecarlo.RandomVariableFactory;
+import net.finmath.montecarlo.automaticdifferentiation.RandomVariableDifferentiableInterface;
+import net.finmath.montecarlo.automaticdifferentiation.backward.RandomVariableDifferentiableAADFactory;
+import net.finmath.montecarlo.interestrate.LIBORMarketModel.DriftComputation;
+import net.finmath.montecarlo.interestrate.LIBORMarketModel.Measure;
+import net.finmath.montecarlo.interestrate.LIBORMarketModel.StateSpace;
+import net.finmath.montecarlo.process.ProcessEulerScheme;
+import net.finmath.stochastic.RandomVariableInterface;
+
+/**
+ * Tests the vectorized calculation of the drift of the {@link LIBORMarketModel} against the operator based calculation.
+ *
+ * @author Christian Fries
+ */
+public class LIBORMarketModelDriftTest {
+
+	private static final int timeIndex = 10;
+
+	@Test
+	public void testVectorizedDriftAgreesWithOperators() throws CalculationException {
+		// 3000 paths give a partial last block of paths
+		LIBORModelMonteCarloSimulationInterface simulation = LIBORMarketModelValuationTest.createLIBORMarketModel(new RandomVariableFactory(), 3000, 5, 0.1);
+		RandomVariableInterface[] libors = getLIBORs(simulation);
+
+		for(Measure measure : Measure.values()) {
+			for(StateSpace stateSpace : StateSpace.values()) {
+				RandomVariableInterface[] driftOperators = createModel(simulation, measure, stateSpace, DriftComputation.OPERATORS).getDrift(timeIndex, libors, null);
+
+				for(DriftComputation driftComputation : new DriftComputation[] { DriftComputation.VECTORIZED, DriftComputation.VECTORIZED_PARALLEL }) {
+					RandomVariableInterface[] drift = createModel(simulation, measure, stateSpace, driftComputation).getDrift(timeIndex, libors, null);
+
+					for(int componentIndex=0; componentIndex<driftOperators.length; componentIndex++) {
+						if(driftOperators[componentIndex] == null) {
+							Assert.assertNull("Drift of fixed component", drift[componentIndex]);
+							continue;
+						}
+						for(int path=0; path<simulation.getNumberOfPaths(); path++) {
+							Assert.assertEquals(measure + " " + stateSpace + " " + driftComputation + " drift",
+									driftOperators[componentIndex].get(path), drift[componentIndex].get(path), 0.0);
+						}
+					}
+				}
+			}
+		}
+	}
+
+	@Test
+	public void testSimulationWithVectorizedDrift() throws CalculationException {
+		LIBORModelMonteCarloSimulationInterface simulation = LIBORMarketModelValuationTest.createLIBORMarketModel(new RandomVariableFactory(), 2000, 3, 0.1);
+		LIBORModelMonteCarloSimulationInterface simulationVectorized = new LIBORModelMonteCarloSimulation(
+				createModel(simulation, Measure.SPOT, StateSpace.LOGNORMAL, DriftComputation.VECTORIZED_PARALLEL),
+				new ProcessEulerScheme(simulation.getBrownianMotion(), ProcessEulerScheme.Scheme.PREDICTOR_CORRECTOR));
+
+		for(int liborIndex=0; liborIndex<simulation.getNumberOfLibors(); liborIndex++) {
+			double fixingTime = simulation.getLiborPeriod(liborIndex);
+			Assert.assertEquals("LIBOR",
+					simulation.getLIBOR(fixingTime, fixingTime, simulation.getLiborPeriod(liborIndex+1)).getAverage(),
+					simulationVectorized.getLIBOR(fixingTime, fixingTime, simulation.getLiborPeriod(liborIndex+1)).getAverage(), 0.0);
+		}
+	}
+
+	@Test
+	public void testDifferentiableLIBORsUseOperators() throws CalculationException {
+		AbstractRandomVariableFactory randomVariableFactory = new RandomVariableDifferentiableAADFactory();
+		LIBORModelMonteCarloSimulationInterface simulation = LIBORMarketModelValuationTest.createLIBORMarketModel(randomVariableFactory, 1000, 2, 0.1);
+		RandomVariableInterface[] libors = getLIBORs(simulation);
+
+		RandomVariableInterface[] driftOperators = createModel(simulation, Measure.SPOT, StateSpace.LOGNORMAL, DriftComputation.OPERATORS).getDrift(timeIndex, libors, null);
+		RandomVariableInterface[] drift = createModel(simulation, Measure.SPOT, StateSpace.LOGNORMAL, DriftComputation.VECTORIZED).getDrift(timeIndex, libors, null);
+
+		RandomVariableInterface lastDrift = drift[drift.length-1];
+		Assert.assertTrue("Drift is differentiable", lastDrift instanceof RandomVariableDifferentiableInterface);
+		Assert.assertEquals("Drift", driftOperators[drift.length-1].getAverage(), lastDrift.getAverage(), 0.0);
+	}
+
+	private static RandomVariableInterface[] getLIBORs(LIBORModelMonteCarloSimulationInterface simulation) throws CalculationException {
+		// The LIBORs which are not fixed at the time index
+		RandomVariableInterface[] libors = new RandomVariableInterface[simulation.getNumberOfLibors()];
+		int firstLiborIndex = simulation.getLiborPeriodIndex(simulation.getTime(timeIndex))+1;
+		for(int liborIndex=firstLiborIndex; liborIndex<simulation.getNumberOfLibors(); liborIndex++) {
+			libors[liborIndex] = simulation.getLIBOR(timeIndex, liborIndex);
+		}
+		return libors;
+	}
+
+	private static LIBORMarketModel createModel(LIBORModelMonteCarloSimulationInterface simulation, Measure measure, StateSpace stateSpace, DriftComputation driftComputation) throws CalculationException {
+		LIBORMarketModel model = (LIBORMarketModel)simulation.getModel();
+
+		Map<String, String> properties = new HashMap<>();
+		properties.put("measure", measure.name());
+		properties.put("stateSpace", stateSpace.name());
+		properties.put("driftComputation", driftComputation.name());
+
+		LIBORMarketModel newModel = new LIBORMarketModel(model.getLiborPeriodDiscretization(), model.getAnalyticModel(), model.getForwardRateCurve(), model.getDiscountCurve(),
+				new RandomVariableFactory(), model.getCovarianceModel(), new LIBORMarketModel.CalibrationItem[0], properties);
+
+		// The model requires a process (providing the time discretization)
+		new LIBORModelMonteCarloSimulation(newModel, new ProcessEulerScheme(simulation.getBrownianMotion(), ProcessEulerScheme.Scheme.PREDICTOR_CORRECTOR));
+
+		return newModel;
+	}
+}
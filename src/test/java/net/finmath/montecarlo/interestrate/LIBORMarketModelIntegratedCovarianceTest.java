@@ -0,0 +1,111 @@
+/*
+ * (c) Copyright Christian P. Fries, Germany. Contact: email@christian-fries.de.
+ *
+ * Created on 16.10.2026
+ */
+package net.finmath.montecarlo.interestrate;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import net.finmath.exception.CalculationException;
+import net.finmath.marketdata.model.curves.DiscountCurveFromForwardCurve;
+import net.finmath.marketdata.model.curves.ForwardCurve;
+import net.finmath.montecarlo.BrownianMotion;
+import net.finmath.montecarlo.BrownianMotionInterface;
+import net.finmath.montecarlo.interestrate.modelplugins.AbstractLIBORCovarianceModel;
+import net.finmath.montecarlo.interestrate.modelplugins.LIBORCorrelationModelExponentialDecay;
+import net.finmath.montecarlo.interestrate.modelplugins.LIBORCovarianceModelFromVolatilityAndCorrelation;
+import net.finmath.montecarlo.interestrate.modelplugins.LIBORVolatilityModelFromGivenMatrix;
+import net.finmath.montecarlo.process.ProcessEulerScheme;
+import net.finmath.stochastic.RandomVariableInterface;
+import net.finmath.time.TimeDiscretization;
+
+/**
+ * Tests the calculation of the integrated LIBOR covariance of the {@link LIBORMarketModel}.
+ *
+ * @author Christian Fries
+ */
+public class LIBORMarketModelIntegratedCovarianceTest {
+
+	private final TimeDiscretization timeDiscretization			= new TimeDiscretization(0.0, 40, 0.25);
+	private final TimeDiscretization liborPeriodDiscretization	= new TimeDiscretization(0.0, 20, 0.5);
+	private final BrownianMotionInterface brownianMotion		= new BrownianMotion(timeDiscretization, 3, 100, 3141);
+
+	@Test
+	public void testIntegratedCovarianceAgreesWithSumOfFactorLoadings() throws CalculationException {
+		LIBORMarketModel model = createModel(createCovarianceModel(1.0));
+		double[][][] integratedCovariance = model.getIntegratedLIBORCovariance();
+
+		int numberOfComponents = liborPeriodDiscretization.getNumberOfTimeSteps();
+		double[][] expected = new double[numberOfComponents][numberOfComponents];
+		for(int timeIndex=0; timeIndex<timeDiscretization.getNumberOfTimeSteps(); timeIndex++) {
+			double dt = timeDiscretization.getTimeStep(timeIndex);
+			for(int componentIndex1=0; componentIndex1<numberOfComponents; componentIndex1++) {
+				for(int componentIndex2=0; componentIndex2<numberOfComponents; componentIndex2++) {
+					if(liborPeriodDiscretization.getTime(Math.min(componentIndex1, componentIndex2)) > timeDiscretization.getTime(timeIndex)) {
+						RandomVariableInterface[] factorLoading1 = model.getFactorLoading(timeIndex, componentIndex1, null);
+						RandomVariableInterface[] factorLoading2 = model.getFactorLoading(timeIndex, componentIndex2, null);
+						for(int factorIndex=0; factorIndex<model.getNumberOfFactors(); factorIndex++) {
+							expected[componentIndex1][componentIndex2] += factorLoading1[factorIndex].get(0) * factorLoading2[factorIndex].get(0) * dt;
+						}
+					}
+					Assert.assertEquals("Integrated covariance", expected[componentIndex1][componentIndex2], integratedCovariance[timeIndex][componentIndex1][componentIndex2], 1E-14);
+				}
+			}
+		}
+	}
+
+	@Test
+	public void testIntegratedCovarianceOfClones() throws CalculationException {
+		LIBORMarketModel model = createModel(createCovarianceModel(1.0));
+		double[][][] integratedCovariance = model.getIntegratedLIBORCovariance();
+
+		// A clone with the same covariance model uses the cached integrated covariance
+		LIBORMarketModel clone = (LIBORMarketModel)model.clone();
+		new LIBORModelMonteCarloSimulation(clone, new ProcessEulerScheme(brownianMotion));
+		Assert.assertSame("Integrated covariance of clone", integratedCovariance, clone.getIntegratedLIBORCovariance());
+
+		// A clone where the volatility of the later time steps has changed reuses the earlier time steps and agrees with a new model
+		AbstractLIBORCovarianceModel modifiedCovarianceModel = createCovarianceModel(1.2);
+		LIBORMarketModel modifiedModel = model.getCloneWithModifiedCovarianceModel(modifiedCovarianceModel);
+		new LIBORModelMonteCarloSimulation(modifiedModel, new ProcessEulerScheme(brownianMotion));
+		double[][][] modifiedIntegratedCovariance = modifiedModel.getIntegratedLIBORCovariance();
+		double[][][] expectedIntegratedCovariance = createModel(modifiedCovarianceModel).getIntegratedLIBORCovariance();
+
+		for(int timeIndex=0; timeIndex<timeDiscretization.getNumberOfTimeSteps(); timeIndex++) {
+			for(int componentIndex1=0; componentIndex1<liborPeriodDiscretization.getNumberOfTimeSteps(); componentIndex1++) {
+				for(int componentIndex2=0; componentIndex2<liborPeriodDiscretization.getNumberOfTimeSteps(); componentIndex2++) {
+					Assert.assertEquals("Integrated covariance",
+							expectedIntegratedCovariance[timeIndex][componentIndex1][componentIndex2],
+							modifiedIntegratedCovariance[timeIndex][componentIndex1][componentIndex2], 0.0);
+				}
+			}
+		}
+	}
+
+	private LIBORMarketModel createModel(AbstractLIBORCovarianceModel covarianceModel) throws CalculationException {
+		ForwardCurve forwardCurve = ForwardCurve.createForwardCurveFromForwards("forwardCurve", new double[] {0.5 , 10.0}, new double[] {0.03, 0.04}, 0.5);
+
+		LIBORMarketModel model = new LIBORMarketModel(liborPeriodDiscretization, forwardCurve, new DiscountCurveFromForwardCurve(forwardCurve), covarianceModel);
+		new LIBORModelMonteCarloSimulation(model, new ProcessEulerScheme(brownianMotion));
+
+		return model;
+	}
+
+	/**
+	 * Create a covariance model where the volatility of the time steps after 5.0 is scaled.
+	 */
+	private AbstractLIBORCovarianceModel createCovarianceModel(double volatilityScalingAfterTime5) {
+		double[][] volatility = new double[timeDiscretization.getNumberOfTimeSteps()][liborPeriodDiscretization.getNumberOfTimeSteps()];
+		for(int timeIndex=0; timeIndex<volatility.length; timeIndex++) {
+			for(int component=0; component<volatility[timeIndex].length; component++) {
+				volatility[timeIndex][component] = (0.15 + 0.005 * component) * (timeDiscretization.getTime(timeIndex) >= 5.0 ? volatilityScalingAfterTime5 : 1.0);
+			}
+		}
+
+		return new LIBORCovarianceModelFromVolatilityAndCorrelation(timeDiscretization, liborPeriodDiscretization,
+				new LIBORVolatilityModelFromGivenMatrix(timeDiscretization, liborPeriodDiscretization, volatility),
+				new LIBORCorrelationModelExponentialDecay(timeDiscretization, liborPeriodDiscretization, 3, 0.1));
+	}
+}
@@ -0,0 +1,77 @@
+/*
+ * (c) Copyright Christian P. Fries, Germany. Contact: email@christian-fries.de.
+ *
+ * Created on 16.10.2026
+ */
+package net.finmath.montecarlo.interestrate;
+
+import java.util.stream.IntStream;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import net.finmath.exception.CalculationException;
+import net.finmath.montecarlo.RandomVariableFactory;
+import net.finmath.montecarlo.process.ProcessEulerScheme;
+import net.finmath.stochastic.RandomVariableInterface;
+
+/**
+ * Tests the numeraire cache of the {@link LIBORMarketModel}.
+ *
+ * @author Christian Fries
+ */
+public class LIBORMarketModelNumeraireCacheTest {
+
+	@Test
+	public void testConcurrentNumeraireRequests() throws CalculationException {
+		LIBORModelMonteCarloSimulationInterface simulation = LIBORMarketModelValuationTest.createLIBORMarketModel(new RandomVariableFactory(), 1000, 3, 0.1);
+		LIBORMarketModel model = (LIBORMarketModel)simulation.getModel();
+
+		// Numeraires on the LIBOR period discretization and in between, calculated by a second (sequential) model
+		double[] times = IntStream.range(0, 2*simulation.getNumberOfLibors()).mapToDouble(i -> simulation.getLiborPeriod(i/2) + (i%2) * 0.25).toArray();
+		LIBORModelMonteCarloSimulationInterface simulationSequential = new LIBORModelMonteCarloSimulation((LIBORMarketModel)model.clone(), new ProcessEulerScheme(simulation.getBrownianMotion(), ProcessEulerScheme.Scheme.PREDICTOR_CORRECTOR));
+		RandomVariableInterface[] numerairesSequential = new RandomVariableInterface[times.length];
+		for(int i=0; i<times.length; i++) {
+			numerairesSequential[i] = simulationSequential.getNumeraire(times[i]);
+		}
+
+		// Many concurrent requests (as from a portfolio valued in parallel)
+		RandomVariableInterface[][] numeraires = new RandomVariableInterface[100][times.length];
+		IntStream.range(0, numeraires.length).parallel().forEach(request -> {
+			for(int i=0; i<times.length; i++) {
+				try {
+					numeraires[request][i] = simulation.getNumeraire(times[(i+request) % times.length]);
+				} catch (CalculationException e) {
+					throw new RuntimeException(e);
+				}
+			}
+		});
+
+		for(int request=0; request<numeraires.length; request++) {
+			for(int i=0; i<times.length; i++) {
+				int timeIndex = (i+request) % times.length;
+				Assert.assertSame("Numeraire from cache", numeraires[0][timeIndex], numeraires[request][i]);
+				Assert.assertEquals("Numeraire", numerairesSequential[timeIndex].getAverage(), numeraires[request][i].getAverage(), 0.0);
+			}
+		}
+
+		long numberOfNumeraireCacheHits = model.getNumberOfNumeraireCacheHits();
+		Assert.assertEquals("Number of numeraire requests", numeraires.length * times.length, numberOfNumeraireCacheHits + model.getNumberOfNumeraireCacheMisses());
+
+		simulation.getNumeraire(times[1]);
+		Assert.assertEquals("Number of numeraire cache hits", numberOfNumeraireCacheHits + 1, model.getNumberOfNumeraireCacheHits());
+	}
+
+	@Test
+	public void testNumeraireCacheIsInvalidatedByNewProcess() throws CalculationException {
+		LIBORModelMonteCarloSimulationInterface simulation = LIBORMarketModelValuationTest.createLIBORMarketModel(new RandomVariableFactory(), 1000, 3, 0.1);
+		LIBORMarketModel model = (LIBORMarketModel)simulation.getModel();
+
+		RandomVariableInterface numeraire = model.getNumeraire(5.0);
+		Assert.assertSame("Numeraire from cache", numeraire, model.getNumeraire(5.0));
+
+		// Use the model with a different process
+		new LIBORModelMonteCarloSimulation(model, new ProcessEulerScheme(simulation.getBrownianMotion().getCloneWithModifiedSeed(4711), ProcessEulerScheme.Scheme.PREDICTOR_CORRECTOR));
+		Assert.assertNotEquals("Numeraire of new process", numeraire.getAverage(), model.getNumeraire(5.0).getAverage(), 0.0);
+	}
+}
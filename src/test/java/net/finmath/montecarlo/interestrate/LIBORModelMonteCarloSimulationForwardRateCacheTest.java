@@ -0,0 +1,94 @@
+/*
+ * (c) Copyright Christian P. Fries, Germany. Contact: email@christian-fries.de.
+ *
+ * Created on 16.10.2026
+ */
+package net.finmath.montecarlo.interestrate;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import net.finmath.exception.CalculationException;
+import net.finmath.montecarlo.RandomVariableFactory;
+import net.finmath.montecarlo.process.ProcessEulerScheme;
+import net.finmath.stochastic.RandomVariableInterface;
+
+/**
+ * Tests the cache of forward rates and swap rates of the {@link LIBORModelMonteCarloSimulation}.
+ *
+ * @author Christian Fries
+ */
+public class LIBORModelMonteCarloSimulationForwardRateCacheTest {
+
+	@Test
+	public void testLIBORIsCached() throws CalculationException {
+		LIBORModelMonteCarloSimulation simulation = getSimulationWithCache(256);
+
+		RandomVariableInterface libor = simulation.getLIBOR(2.25, 2.25, 3.0);
+		Assert.assertSame("LIBOR from cache", libor, simulation.getLIBOR(2.25, 2.25, 3.0));
+		Assert.assertEquals("LIBOR", simulation.getModel().getLIBOR(2.25, 2.25, 3.0).getAverage(), libor.getAverage(), 0.0);
+
+		// A new process invalidates the cache
+		LIBORModelMonteCarloSimulation simulationWithNewProcess = new LIBORModelMonteCarloSimulation(simulation.getModel(),
+				new ProcessEulerScheme(simulation.getBrownianMotion().getCloneWithModifiedSeed(4711), ProcessEulerScheme.Scheme.PREDICTOR_CORRECTOR));
+		Assert.assertNotEquals("LIBOR of new process", libor.getAverage(), simulation.getLIBOR(2.25, 2.25, 3.0).getAverage(), 0.0);
+		Assert.assertEquals("LIBOR of new process", simulationWithNewProcess.getLIBOR(2.25, 2.25, 3.0).getAverage(), simulation.getLIBOR(2.25, 2.25, 3.0).getAverage(), 0.0);
+	}
+
+	@Test
+	public void testNoCacheByDefault() throws CalculationException {
+		LIBORModelMonteCarloSimulation simulation = (LIBORModelMonteCarloSimulation)LIBORMarketModelValuationTest.createLIBORMarketModel(new RandomVariableFactory(), 1000, 3, 0.1);
+
+		Assert.assertNotSame("LIBOR not cached", simulation.getLIBOR(2.25, 2.25, 3.0), simulation.getLIBOR(2.25, 2.25, 3.0));
+	}
+
+	@Test
+	public void testCacheSize() throws CalculationException {
+		LIBORModelMonteCarloSimulation simulation = (LIBORModelMonteCarloSimulation)LIBORMarketModelValuationTest.createLIBORMarketModel(new RandomVariableFactory(), 1000, 3, 0.1);
+
+		// Cache keeping the two most recently used values
+		LIBORModelMonteCarloSimulation simulationWithSmallCache = new LIBORModelMonteCarloSimulation(simulation.getModel(), new ProcessEulerScheme(simulation.getBrownianMotion()), 2);
+		RandomVariableInterface libor1 = simulationWithSmallCache.getLIBOR(2.25, 2.25, 3.0);
+		RandomVariableInterface libor2 = simulationWithSmallCache.getLIBOR(2.25, 2.75, 3.5);
+		Assert.assertSame("LIBOR from cache", libor1, simulationWithSmallCache.getLIBOR(2.25, 2.25, 3.0));
+		simulationWithSmallCache.getLIBOR(2.25, 3.25, 4.0);
+		Assert.assertSame("LIBOR from cache", libor1, simulationWithSmallCache.getLIBOR(2.25, 2.25, 3.0));
+		Assert.assertNotSame("LIBOR removed from cache", libor2, simulationWithSmallCache.getLIBOR(2.25, 2.75, 3.5));
+
+		// No cache
+		LIBORModelMonteCarloSimulation simulationWithoutCache = new LIBORModelMonteCarloSimulation(simulation.getModel(), new ProcessEulerScheme(simulation.getBrownianMotion()), 0);
+		Assert.assertNotSame("LIBOR not cached", simulationWithoutCache.getLIBOR(2.25, 2.25, 3.0), simulationWithoutCache.getLIBOR(2.25, 2.25, 3.0));
+	}
+
+	@Test
+	public void testSwaprateAndAnnuity() throws CalculationException {
+		LIBORModelMonteCarloSimulation simulation = getSimulationWithCache(256);
+
+		double time = 2.0;
+		double[] swapTenor = new double[] { 2.0, 2.5, 3.0, 4.0, 5.0 };
+
+		// Swap rate and annuity from the bonds P(T_i)/P(T_0)
+		RandomVariableInterface bond = simulation.getRandomVariableForConstant(1.0);
+		RandomVariableInterface annuity = simulation.getRandomVariableForConstant(0.0);
+		for(int periodIndex=0; periodIndex<swapTenor.length-1; periodIndex++) {
+			double periodLength = swapTenor[periodIndex+1]-swapTenor[periodIndex];
+			bond = bond.discount(simulation.getLIBOR(time, swapTenor[periodIndex], swapTenor[periodIndex+1]), periodLength);
+			annuity = annuity.addProduct(bond, periodLength);
+		}
+		RandomVariableInterface swaprate = bond.mult(-1.0).add(1.0).div(annuity);
+
+		RandomVariableInterface swaprateCached = simulation.getSwaprate(time, swapTenor);
+		RandomVariableInterface annuityCached = simulation.getSwapAnnuity(time, swapTenor);
+		for(int path=0; path<simulation.getNumberOfPaths(); path++) {
+			Assert.assertEquals("Swap rate", swaprate.get(path), swaprateCached.get(path), 1E-14);
+			Assert.assertEquals("Annuity", annuity.get(path), annuityCached.get(path), 1E-14);
+		}
+
+		Assert.assertSame("Swap rate from cache", swaprateCached, simulation.getSwaprate(time, swapTenor.clone()));
+	}
+
+	private static LIBORModelMonteCarloSimulation getSimulationWithCache(int forwardRateCacheSize) throws CalculationException {
+		LIBORModelMonteCarloSimulation simulation = (LIBORModelMonteCarloSimulation)LIBORMarketModelValuationTest.createLIBORMarketModel(new RandomVariableFactory(), 1000, 3, 0.1);
+		return new LIBORModelMonteCarloSimulation(simulation.getModel(), new ProcessEulerScheme(simulation.getBrownianMotion()), forwardRateCacheSize);
+	}
+}
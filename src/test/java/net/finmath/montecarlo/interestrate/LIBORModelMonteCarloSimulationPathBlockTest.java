@@ -0,0 +1,79 @@
+/*
+ * (c) Copyright Christian P. Fries, Germany. Contact: email@christian-fries.de.
+ *
+ * Created on 16.10.2026
+ */
+package net.finmath.montecarlo.interestrate;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import net.finmath.exception.CalculationException;
+import net.finmath.montecarlo.AbstractMonteCarloProduct;
+import net.finmath.montecarlo.BrownianMotion;
+import net.finmath.montecarlo.BrownianMotionPathBlock;
+import net.finmath.montecarlo.ProductValueAccumulator;
+import net.finmath.montecarlo.RandomVariableFactory;
+import net.finmath.montecarlo.interestrate.products.Bond;
+import net.finmath.montecarlo.interestrate.products.Caplet;
+import net.finmath.time.TimeDiscretization;
+
+/**
+ * Tests the simulation of a LIBOR market model in blocks of paths.
+ *
+ * @author Christian Fries
+ */
+public class LIBORModelMonteCarloSimulationPathBlockTest {
+
+	@Test
+	public void testBrownianMotionPathBlocksAgreeWithBrownianMotion() {
+		BrownianMotion brownianMotion = new BrownianMotion(new TimeDiscretization(0.0, 10, 0.5), 2, 1000, 3141);
+
+		BrownianMotionPathBlock pathBlock = new BrownianMotionPathBlock(brownianMotion, 0, 300);
+		while(true) {
+			for(int timeIndex=0; timeIndex<brownianMotion.getTimeDiscretization().getNumberOfTimeSteps(); timeIndex++) {
+				for(int factor=0; factor<brownianMotion.getNumberOfFactors(); factor++) {
+					for(int path=0; path<pathBlock.getNumberOfPaths(); path++) {
+						Assert.assertEquals("Brownian increment",
+								brownianMotion.getBrownianIncrement(timeIndex, factor).get(pathBlock.getFirstPath()+path),
+								pathBlock.getBrownianIncrement(timeIndex, factor).get(path), 0.0);
+					}
+				}
+			}
+			if(pathBlock.getFirstPath() + pathBlock.getNumberOfPaths() >= brownianMotion.getNumberOfPaths()) {
+				break;
+			}
+			pathBlock = pathBlock.getNextPathBlock(300);
+		}
+
+		// A block created directly has to agree with a block obtained by iteration
+		BrownianMotionPathBlock lastPathBlock = new BrownianMotionPathBlock(brownianMotion, pathBlock.getFirstPath(), pathBlock.getNumberOfPaths());
+		Assert.assertEquals("Brownian increment", pathBlock.getBrownianIncrement(3, 1).getAverage(), lastPathBlock.getBrownianIncrement(3, 1).getAverage(), 0.0);
+	}
+
+	@Test
+	public void testValuationInPathBlocks() throws CalculationException {
+		LIBORModelMonteCarloSimulation simulation = (LIBORModelMonteCarloSimulation)LIBORMarketModelValuationTest.createLIBORMarketModel(new RandomVariableFactory(), 5000, 3, 0.1);
+
+		AbstractMonteCarloProduct[] products = new AbstractMonteCarloProduct[] {
+				new Bond(10.0),
+				new Caplet(5.0, 0.5, 0.05),
+				new Caplet(15.0, 0.5, 0.04)
+		};
+
+		ProductValueAccumulator[] accumulators = new ProductValueAccumulator[products.length];
+		for(int productIndex=0; productIndex<products.length; productIndex++) {
+			accumulators[productIndex] = new ProductValueAccumulator(products[productIndex]);
+		}
+		simulation.accumulateInPathBlocks(1200, accumulators);
+
+		for(int productIndex=0; productIndex<products.length; productIndex++) {
+			double valueFullSimulation = products[productIndex].getValue(simulation);
+			double valuePathBlocks = accumulators[productIndex].getValue();
+
+			// The numeraire adjustment is calculated per block, hence values agree up to Monte-Carlo error
+			Assert.assertEquals("Number of paths", simulation.getNumberOfPaths(), accumulators[productIndex].getNumberOfPaths());
+			Assert.assertEquals("Value", valueFullSimulation, valuePathBlocks, accumulators[productIndex].getStandardError());
+		}
+	}
+}
@@ -0,0 +1,76 @@
+/*
+ * (c) Copyright Christian P. Fries, Germany. Contact: email@christian-fries.de.
+ *
+ * Created on 17.10.2026
+ */
+package net.finmath.montecarlo.interestrate.covariancemodels;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import net.finmath.montecarlo.RandomVariable;
+import net.finmath.montecarlo.interestrate.modelplugins.LIBORCorrelationModel;
+import net.finmath.montecarlo.interestrate.modelplugins.LIBORCorrelationModelExponentialDecay;
+import net.finmath.stochastic.RandomVariableInterface;
+import net.finmath.time.TimeDiscretization;
+
+/**
+ * Tests that the factor loadings of a <code>LIBORCovarianceModelFromVolatilityAndCorrelation</code>
+ * reflect modifications of its (mutable) volatility model.
+ *
+ * @author Christian Fries
+ */
+public class LIBORCovarianceModelFromVolatilityAndCorrelationTest {
+
+	private final TimeDiscretization timeDiscretization			= new TimeDiscretization(0.0, 20, 0.5);
+	private final TimeDiscretization liborPeriodDiscretization	= new TimeDiscretization(0.0, 20, 0.5);
+
+	private final double time = 1.0;
+	private final int component = 5;
+
+	@Test
+	public void testFactorLoadingsAfterSetParameter() {
+		LIBORCovarianceModelFromVolatilityAndCorrelation covarianceModel = createCovarianceModel(0.2);
+		assertFactorLoadingsForVolatility(covarianceModel, 0.2);
+
+		covarianceModel.getVolatilityModel().setParameter(getParameter(0.3));
+		assertFactorLoadingsForVolatility(covarianceModel, 0.3);
+	}
+
+	@Test
+	public void testFactorLoadingsOfCloneAfterSetParameter() {
+		LIBORCovarianceModelFromVolatilityAndCorrelation covarianceModel = createCovarianceModel(0.2);
+		assertFactorLoadingsForVolatility(covarianceModel, 0.2);
+
+		LIBORCovarianceModelFromVolatilityAndCorrelation clone = (LIBORCovarianceModelFromVolatilityAndCorrelation)covarianceModel.clone();
+		assertFactorLoadingsForVolatility(clone, 0.2);
+
+		clone.getVolatilityModel().setParameter(getParameter(0.3));
+		assertFactorLoadingsForVolatility(clone, 0.3);
+		assertFactorLoadingsForVolatility(covarianceModel, 0.2);
+	}
+
+	private void assertFactorLoadingsForVolatility(LIBORCovarianceModelFromVolatilityAndCorrelation covarianceModel, double volatility) {
+		int timeIndex = timeDiscretization.getTimeIndex(time);
+		LIBORCorrelationModel correlationModel = covarianceModel.getCorrelationModel();
+
+		RandomVariableInterface[] factorLoading = covarianceModel.getFactorLoading(time, component, null);
+		for(int factor=0; factor<covarianceModel.getNumberOfFactors(); factor++) {
+			Assert.assertEquals("Factor loading", volatility * correlationModel.getFactorLoading(timeIndex, factor, component), factorLoading[factor].get(0), 1E-15);
+		}
+
+		Assert.assertEquals("Variance", volatility * volatility * correlationModel.getCorrelation(timeIndex, component, component), covarianceModel.getCovariance(time, component, component, null).get(0), 1E-15);
+	}
+
+	private RandomVariableInterface[] getParameter(double volatility) {
+		return new RandomVariableInterface[] { new RandomVariable(volatility), new RandomVariable(0.0), new RandomVariable(0.0), new RandomVariable(0.0) };
+	}
+
+	private LIBORCovarianceModelFromVolatilityAndCorrelation createCovarianceModel(double volatility) {
+		RandomVariableInterface[] parameter = getParameter(volatility);
+		LIBORVolatilityModel volatilityModel = new LIBORVolatilityModelFourParameterExponentialForm(timeDiscretization, liborPeriodDiscretization, parameter[0], parameter[1], parameter[2], parameter[3], true);
+		LIBORCorrelationModel correlationModel = new LIBORCorrelationModelExponentialDecay(timeDiscretization, liborPeriodDiscretization, 3, 0.1);
+
+		return new LIBORCovarianceModelFromVolatilityAndCorrelation(timeDiscretization, liborPeriodDiscretization, volatilityModel, correlationModel);
+	}
+}
@@ -0,0 +1,96 @@
+/*
+ * (c) Copyright Christian P. Fries, Germany. Contact: email@christian-fries.de.
+ *
+ * Created on 16.10.2026
+ */
+package net.finmath.montecarlo.interestrate.modelplugins;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import net.finmath.montecarlo.AbstractRandomVariableFactory;
+import net.finmath.montecarlo.RandomVariableFactory;
+import net.finmath.montecarlo.automaticdifferentiation.RandomVariableDifferentiableInterface;
+import net.finmath.montecarlo.automaticdifferentiation.backward.RandomVariableDifferentiableAADFactory;
+import net.finmath.stochastic.RandomVariableInterface;
+import net.finmath.time.TimeDiscretization;
+
+/**
+ * Tests the table of factor loadings of the deterministic <code>LIBORCovarianceModelFromVolatilityAndCorrelation</code>.
+ *
+ * @author Christian Fries
+ */
+public class LIBORCovarianceModelFromVolatilityAndCorrelationTest {
+
+	private final TimeDiscretization timeDiscretization			= new TimeDiscretization(0.0, 20, 0.5);
+	private final TimeDiscretization liborPeriodDiscretization	= new TimeDiscretization(0.0, 20, 0.5);
+
+	@Test
+	public void testFactorLoadingTableAgreesWithFactorLoadings() {
+		LIBORCovarianceModelFromVolatilityAndCorrelation covarianceModel = createCovarianceModel(new RandomVariableFactory());
+		Assert.assertTrue("Model is deterministic", covarianceModel.isDeterministic());
+
+		for(int timeIndex=0; timeIndex<timeDiscretization.getNumberOfTimeSteps(); timeIndex++) {
+			double time = timeDiscretization.getTime(timeIndex);
+			for(int component=0; component<liborPeriodDiscretization.getNumberOfTimeSteps(); component++) {
+				RandomVariableInterface[] factorLoading = covarianceModel.getFactorLoading(timeIndex, component, null);
+				RandomVariableInterface[] factorLoadingFromTable = covarianceModel.getFactorLoading(time, component, null);
+				for(int factor=0; factor<covarianceModel.getNumberOfFactors(); factor++) {
+					Assert.assertEquals("Factor loading", factorLoading[factor].get(0), factorLoadingFromTable[factor].get(0), 0.0);
+				}
+
+				Assert.assertEquals("Variance",
+						covarianceModel.getCovariance(timeIndex, component, component, null).get(0),
+						covarianceModel.getCovariance(time, component, component, null).get(0), 0.0);
+			}
+		}
+
+		// The factor loadings are read from the table
+		Assert.assertSame("Factor loading from table", covarianceModel.getFactorLoading(1.0, 5, null)[0], covarianceModel.getFactorLoading(1.0, 5, null)[0]);
+		Assert.assertSame("Variance from table", covarianceModel.getCovariance(1.0, 5, 5, null), covarianceModel.getCovariance(1.0, 5, 5, null));
+	}
+
+	@Test
+	public void testFactorLoadingTableIsSharedWithClones() {
+		LIBORCovarianceModelFromVolatilityAndCorrelation covarianceModel = createCovarianceModel(new RandomVariableFactory());
+		RandomVariableInterface factorLoading = covarianceModel.getFactorLoading(1.0, 5, null)[0];
+
+		AbstractLIBORCovarianceModelParametric clone = (AbstractLIBORCovarianceModelParametric)covarianceModel.clone();
+		Assert.assertSame("Factor loading of clone", factorLoading, clone.getFactorLoading(1.0, 5, null)[0]);
+
+		AbstractLIBORCovarianceModelParametric cloneWithSameParameters = covarianceModel.getCloneWithModifiedParameters(covarianceModel.getParameter());
+		Assert.assertSame("Factor loading of clone with same parameters", factorLoading, cloneWithSameParameters.getFactorLoading(1.0, 5, null)[0]);
+
+		// Scale the volatility parameters
+		double[] parameters = covarianceModel.getParameter();
+		for(int parameterIndex=0; parameterIndex<covarianceModel.getVolatilityModel().getParameter().length; parameterIndex++) {
+			parameters[parameterIndex] *= 1.1;
+		}
+		AbstractLIBORCovarianceModelParametric cloneWithModifiedParameters = covarianceModel.getCloneWithModifiedParameters(parameters);
+		Assert.assertEquals("Factor loading of clone with modified parameters",
+				factorLoading.get(0) * 1.1, cloneWithModifiedParameters.getFactorLoading(1.0, 5, null)[0].get(0), 1E-12);
+	}
+
+	@Test
+	public void testDifferentiableFactorLoadingsAreNotTabulated() {
+		LIBORCovarianceModelFromVolatilityAndCorrelation covarianceModel = createCovarianceModel(new RandomVariableDifferentiableAADFactory());
+
+		RandomVariableInterface factorLoading = covarianceModel.getFactorLoading(1.0, 5, null)[0];
+		Assert.assertTrue("Factor loading is differentiable", factorLoading instanceof RandomVariableDifferentiableInterface);
+		Assert.assertNotSame("Factor loading is recalculated", factorLoading, covarianceModel.getFactorLoading(1.0, 5, null)[0]);
+	}
+
+	private LIBORCovarianceModelFromVolatilityAndCorrelation createCovarianceModel(AbstractRandomVariableFactory randomVariableFactory) {
+		double[][] volatility = new double[timeDiscretization.getNumberOfTimeSteps()][liborPeriodDiscretization.getNumberOfTimeSteps()];
+		for(int timeIndex=0; timeIndex<volatility.length; timeIndex++) {
+			for(int component=0; component<volatility[timeIndex].length; component++) {
+				volatility[timeIndex][component] = 0.2 + 0.01 * component - 0.005 * timeIndex;
+			}
+		}
+
+		LIBORVolatilityModel volatilityModel = new LIBORVolatilityModelFromGivenMatrix(randomVariableFactory, timeDiscretization, liborPeriodDiscretization, volatility);
+		LIBORCorrelationModel correlationModel = new LIBORCorrelationModelExponentialDecay(timeDiscretization, liborPeriodDiscretization, 3, 0.1);
+
+		return new LIBORCovarianceModelFromVolatilityAndCorrelation(timeDiscretization, liborPeriodDiscretization, volatilityModel, correlationModel);
+	}
+}
@@ -0,0 +1,218 @@
+/*
+ * (c) Copyright Christian P. Fries, Germany. Contact: email@christian-fries.de.
+ *
+ * Created on 16.10.2026
+ */
+package net.finmath.montecarlo.interestrate.products;
+
+import java.time.LocalDate;
+import java.time.Month;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import net.finmath.exception.CalculationException;
+import net.finmath.montecarlo.RandomVariable;
+import net.finmath.montecarlo.RandomVariableFactory;
+import net.finmath.montecarlo.interestrate.LIBORMarketModelValuationTest;
+import net.finmath.montecarlo.interestrate.LIBORModelMonteCarloSimulationInterface;
+import net.finmath.montecarlo.interestrate.products.PortfolioValuationEngine.ValuationResult;
+import net.finmath.montecarlo.interestrate.products.components.AbstractProductComponent;
+import net.finmath.montecarlo.interestrate.products.components.Notional;
+import net.finmath.montecarlo.interestrate.products.components.ProductCollection;
+import net.finmath.montecarlo.interestrate.products.indices.LIBORIndex;
+import net.finmath.stochastic.RandomVariableInterface;
+import net.finmath.time.ScheduleGenerator;
+import net.finmath.time.ScheduleInterface;
+import net.finmath.time.businessdaycalendar.BusinessdayCalendarExcludingTARGETHolidays;
+
+/**
+ * Tests the {@link PortfolioValuationEngine} against the sequential valuation of the products.
+ *
+ * @author Christian Fries
+ */
+public class PortfolioValuationEngineTest {
+
+	@Test
+	public void testPortfolioValue() throws CalculationException {
+		LIBORModelMonteCarloSimulationInterface model = LIBORMarketModelValuationTest.createLIBORMarketModel(new RandomVariableFactory(), 2000, 3, 0.1);
+
+		List<AbstractLIBORMonteCarloProduct> productList = new ArrayList<>();
+		for(int i=0; i<20; i++) {
+			double maturity = 1.0 + 0.5 * i;
+			productList.add(new Caplet(maturity, 0.5, 0.04));
+			productList.add(new Bond(maturity));
+			productList.add(new SimpleSwap(new double[] { maturity, maturity+0.5 }, new double[] { maturity+0.5, maturity+1.0 }, new double[] { 0.04, 0.04 }));
+		}
+		for(String maturity : new String[] { "2Y", "5Y", "10Y" }) {
+			// A swap leg is valued by a ProductCollection of its periods
+			ScheduleInterface schedule = ScheduleGenerator.createScheduleFromConventions(LocalDate.of(2014, Month.AUGUST, 12), 2, "0D", maturity, "semiannual", "30/360", "first", "following", new BusinessdayCalendarExcludingTARGETHolidays(), -2, 0);
+			productList.add(new SwapLeg(schedule, new Notional(1.0), new LIBORIndex(0.0, 0.5), 0.0, false));
+		}
+		AbstractLIBORMonteCarloProduct[] products = productList.toArray(new AbstractLIBORMonteCarloProduct[productList.size()]);
+		double[] weights = new double[products.length];
+		for(int i=0; i<weights.length; i++) {
+			weights[i] = 1.0 + (i % 7) - 3.0;
+		}
+
+		// Sequential valuation
+		RandomVariableInterface valueSequential = new RandomVariable(0.0);
+		for(int i=0; i<products.length; i++) {
+			valueSequential = valueSequential.addProduct(products[i].getValue(0.0, model), weights[i]);
+		}
+
+		Queue<ValuationResult> resultsReceived = new ConcurrentLinkedQueue<>();
+		ForkJoinPool pool = new ForkJoinPool(4);
+		RandomVariableInterface value;
+		try {
+			PortfolioValuationEngine engine = new PortfolioValuationEngine(pool);
+			value = engine.getValue(0.0, model, products, weights, resultsReceived::add);
+		}
+		finally {
+			pool.shutdown();
+		}
+
+		Assert.assertEquals("Portfolio value", valueSequential.getAverage(), value.getAverage(), 1E-12);
+
+		// Each result has been received once
+		Assert.assertEquals("Number of results", products.length, resultsReceived.size());
+		boolean[] isReceived = new boolean[products.length];
+		for(ValuationResult result : resultsReceived) {
+			Assert.assertFalse("Result received twice", isReceived[result.getProductIndex()]);
+			isReceived[result.getProductIndex()] = true;
+
+			Assert.assertSame("Product", products[result.getProductIndex()], result.getProduct());
+			Assert.assertNull("Exception", result.getException());
+			Assert.assertTrue("Calculation time", result.getCalculationTimeNanos() >= 0);
+			Assert.assertEquals("Product value", products[result.getProductIndex()].getValue(0.0, model).getAverage(), result.getValue().getAverage(), 1E-12);
+		}
+	}
+
+	@Test
+	public void testFailingProduct() throws CalculationException {
+		LIBORModelMonteCarloSimulationInterface model = LIBORMarketModelValuationTest.createLIBORMarketModel(new RandomVariableFactory(), 1000, 3, 0.1);
+
+		AbstractLIBORMonteCarloProduct failingProduct = new AbstractLIBORMonteCarloProduct() {
+			@Override
+			public RandomVariableInterface getValue(double evaluationTime, LIBORModelMonteCarloSimulationInterface model) throws CalculationException {
+				throw new CalculationException("Valuation failed.");
+			}
+		};
+		AbstractLIBORMonteCarloProduct[] products = new AbstractLIBORMonteCarloProduct[] { new Bond(2.0), failingProduct, new Bond(3.0) };
+
+		List<ValuationResult> results = new PortfolioValuationEngine().getValuationResults(0.0, model, products);
+		Assert.assertNotNull("Value of product 0", results.get(0).getValue());
+		Assert.assertEquals("Exception of product 1", "Valuation failed.", results.get(1).getException().getMessage());
+		Assert.assertNotNull("Value of product 2", results.get(2).getValue());
+
+		try {
+			new PortfolioValuationEngine().getValue(0.0, model, products, new double[] { 1.0, 1.0, 1.0 }, null);
+			Assert.fail("Expected CalculationException");
+		}
+		catch(CalculationException e) {
+			Assert.assertEquals("Exception", "Valuation failed.", e.getMessage());
+		}
+	}
+
+	/**
+	 * Tests that a product throwing an unchecked exception does not affect the valuation of the other products.
+	 */
+	@Test
+	public void testFailingProductWithUncheckedException() throws CalculationException {
+		LIBORModelMonteCarloSimulationInterface model = LIBORMarketModelValuationTest.createLIBORMarketModel(new RandomVariableFactory(), 1000, 3, 0.1);
+
+		AbstractLIBORMonteCarloProduct failingProduct = new AbstractLIBORMonteCarloProduct() {
+			@Override
+			public RandomVariableInterface getValue(double evaluationTime, LIBORModelMonteCarloSimulationInterface model) {
+				throw new IllegalArgumentException("Invalid product.");
+			}
+		};
+		List<AbstractLIBORMonteCarloProduct> productList = new ArrayList<>();
+		for(int i=0; i<20; i++) {
+			productList.add(new Bond(1.0 + 0.5 * i));
+		}
+		productList.add(5, failingProduct);
+		AbstractLIBORMonteCarloProduct[] products = productList.toArray(new AbstractLIBORMonteCarloProduct[productList.size()]);
+
+		Queue<ValuationResult> resultsReceived = new ConcurrentLinkedQueue<>();
+		List<ValuationResult> results = new PortfolioValuationEngine().getValuationResults(0.0, model, products, resultsReceived::add);
+
+		Assert.assertEquals("Number of results received", products.length, resultsReceived.size());
+		for(int i=0; i<products.length; i++) {
+			if(products[i] == failingProduct) {
+				Assert.assertTrue("Exception of failing product", results.get(i).getException() instanceof IllegalArgumentException);
+				Assert.assertNull("Value of failing product", results.get(i).getValue());
+			}
+			else {
+				Assert.assertNull("Exception of product " + i, results.get(i).getException());
+				Assert.assertEquals("Value of product " + i, products[i].getValue(0.0, model).getAverage(), results.get(i).getValue().getAverage(), 1E-12);
+			}
+		}
+
+		double[] weights = new double[products.length];
+		Arrays.fill(weights, 1.0);
+		try {
+			new PortfolioValuationEngine().getValue(0.0, model, products, weights, null);
+			Assert.fail("Expected IllegalArgumentException");
+		}
+		catch(IllegalArgumentException e) {
+			Assert.assertEquals("Exception", "Invalid product.", e.getMessage());
+		}
+	}
+
+	/**
+	 * Tests that a product collection forks its components into the pool of the engine,
+	 * but not into a pool it is valued in otherwise (e.g. by a parallel stream).
+	 */
+	@Test
+	public void testProductCollectionForksOnlyWithinEngine() throws CalculationException, InterruptedException, ExecutionException {
+		LIBORModelMonteCarloSimulationInterface model = LIBORMarketModelValuationTest.createLIBORMarketModel(new RandomVariableFactory(), 1000, 3, 0.1);
+
+		Queue<Thread> threadsOfComponents = new ConcurrentLinkedQueue<>();
+		AbstractProductComponent component = new AbstractProductComponent() {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			public Set<String> queryUnderlyings() {
+				return null;
+			}
+
+			@Override
+			public RandomVariableInterface getValue(double evaluationTime, LIBORModelMonteCarloSimulationInterface model) {
+				threadsOfComponents.add(Thread.currentThread());
+				return model.getRandomVariableForConstant(1.0);
+			}
+		};
+		ProductCollection productCollection = new ProductCollection(component, component, component);
+
+		ForkJoinPool pool = new ForkJoinPool(2);
+		try {
+			// Valued by a task of the pool: the components are valued by the executor of the components
+			double value = pool.submit(() -> productCollection.getValue(0.0, model).getAverage()).get();
+			Assert.assertEquals("Value", 3.0, value, 0.0);
+			for(Thread thread : threadsOfComponents) {
+				Assert.assertFalse("Component valued in pool", thread instanceof ForkJoinWorkerThread && ((ForkJoinWorkerThread)thread).getPool() == pool);
+			}
+
+			// Valued by the engine: the components are valued as sub-tasks of the pool
+			threadsOfComponents.clear();
+			List<ValuationResult> results = new PortfolioValuationEngine(pool).getValuationResults(0.0, model, new AbstractLIBORMonteCarloProduct[] { productCollection });
+			Assert.assertEquals("Value", 3.0, results.get(0).getValue().getAverage(), 0.0);
+			for(Thread thread : threadsOfComponents) {
+				Assert.assertTrue("Component valued in pool", thread instanceof ForkJoinWorkerThread && ((ForkJoinWorkerThread)thread).getPool() == pool);
+			}
+		}
+		finally {
+			pool.shutdown();
+		}
+	}
+}
@@ -0,0 +1,257 @@
+/*
+ * (c) Copyright Christian P. Fries, Germany. Contact: email@christian-fries.de.
+ *
+ * Created on 16.10.2026
+ */
+package net.finmath.montecarlo.process;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import net.finmath.exception.CalculationException;
+import net.finmath.marketdata.model.curves.ForwardCurve;
+import net.finmath.montecarlo.BrownianMotion;
+import net.finmath.montecarlo.BrownianMotionInterface;
+import net.finmath.montecarlo.RandomVariableFactory;
+import net.finmath.montecarlo.assetderivativevaluation.BlackScholesModel;
+import net.finmath.montecarlo.assetderivativevaluation.InhomogeneousDisplacedLognomalModel;
+import net.finmath.montecarlo.assetderivativevaluation.MonteCarloAssetModel;
+import net.finmath.montecarlo.assetderivativevaluation.products.AsianOption;
+import net.finmath.montecarlo.automaticdifferentiation.RandomVariableDifferentiableInterface;
+import net.finmath.montecarlo.automaticdifferentiation.backward.RandomVariableDifferentiableAADFactory;
+import net.finmath.montecarlo.interestrate.LIBORMarketModel;
+import net.finmath.montecarlo.interestrate.LIBORModelMonteCarloSimulation;
+import net.finmath.montecarlo.interestrate.covariancemodels.LIBORCovarianceModelFromVolatilityAndCorrelation;
+import net.finmath.montecarlo.interestrate.covariancemodels.LIBORVolatilityModelFromGivenMatrix;
+import net.finmath.montecarlo.interestrate.modelplugins.LIBORCorrelationModelExponentialDecay;
+import net.finmath.montecarlo.interestrate.products.BermudanSwaption;
+import net.finmath.montecarlo.process.ProcessEulerScheme.EvolutionMode;
+import net.finmath.montecarlo.process.ProcessEulerScheme.Scheme;
+import net.finmath.stochastic.RandomVariableInterface;
+import net.finmath.time.TimeDiscretization;
+
+/**
+ * Tests that the different evolution modes of the {@link ProcessEulerScheme} give identical paths
+ * and that the gradients calculated with checkpoints agree with the plain AAD gradients.
+ *
+ * @author Christian Fries
+ */
+public class ProcessEulerSchemeTest {
+
+	private final int numberOfPaths = 10000;
+	private final BrownianMotionInterface brownianMotion = new BrownianMotion(new TimeDiscretization(0.0, 20, 0.25), 1, numberOfPaths, 3141);
+
+	@Test
+	public void testPathChunksEqualsComponents() throws CalculationException {
+		for(Scheme scheme : Scheme.values()) {
+			MonteCarloAssetModel modelComponents = getModel(new ProcessEulerScheme(brownianMotion, scheme, EvolutionMode.COMPONENTS));
+			MonteCarloAssetModel modelChunks = getModel(new ProcessEulerScheme(brownianMotion, scheme, EvolutionMode.PATH_CHUNKS, null, 777));
+
+			assertEqualPaths(modelComponents, modelChunks);
+		}
+	}
+
+	@Test
+	public void testPathChunksWithCallerSuppliedExecutor() throws CalculationException {
+		ExecutorService executor = Executors.newFixedThreadPool(3);
+		try {
+			MonteCarloAssetModel modelComponents = getModel(new ProcessEulerScheme(brownianMotion));
+			MonteCarloAssetModel modelChunks = getModel(new ProcessEulerScheme(brownianMotion, Scheme.EULER, EvolutionMode.PATH_CHUNKS, executor, 0));
+
+			assertEqualPaths(modelComponents, modelChunks);
+		}
+		finally {
+			executor.shutdown();
+		}
+	}
+
+	@Test
+	public void testCheckpointedGradientEqualsGradient() throws CalculationException {
+		for(Scheme scheme : new Scheme[] { Scheme.EULER, Scheme.PREDICTOR_CORRECTOR }) {
+			RandomVariableDifferentiableAADFactory randomVariableFactory = new RandomVariableDifferentiableAADFactory();
+			RandomVariableDifferentiableInterface initialValue	= randomVariableFactory.createRandomVariable(100.0);
+			RandomVariableDifferentiableInterface riskFreeRate	= randomVariableFactory.createRandomVariable(0.05);
+			RandomVariableDifferentiableInterface volatility	= randomVariableFactory.createRandomVariable(0.30);
+			BlackScholesModel model = new BlackScholesModel(initialValue, riskFreeRate, volatility, randomVariableFactory);
+
+			// An Asian option depends on the process at all times
+			AsianOption option = new AsianOption(5.0, 100.0, brownianMotion.getTimeDiscretization());
+
+			RandomVariableDifferentiableInterface value = (RandomVariableDifferentiableInterface)option.getValue(0.0, new MonteCarloAssetModel(model, new ProcessEulerScheme(brownianMotion, scheme)));
+			Map<Long, RandomVariableInterface> gradient = value.getGradient();
+
+			for(int checkpointInterval : new int[] { 1, 3, 20, 100 }) {
+				ProcessEulerScheme process = new ProcessEulerScheme(brownianMotion, scheme, checkpointInterval);
+				RandomVariableDifferentiableInterface valueWithCheckpoints = (RandomVariableDifferentiableInterface)option.getValue(0.0, new MonteCarloAssetModel(model, process));
+				Map<Long, RandomVariableInterface> gradientWithCheckpoints = process.getGradient(valueWithCheckpoints);
+
+				Assert.assertEquals("Value", value.getAverage(), valueWithCheckpoints.getAverage(), 1E-10);
+				Assert.assertEquals("Number of derivatives", gradient.size(), gradientWithCheckpoints.size());
+				assertEqualDerivatives(gradient, gradientWithCheckpoints, new RandomVariableInterface[] { initialValue, riskFreeRate, volatility });
+			}
+		}
+	}
+
+	@Test
+	public void testCheckpointedGradientOfBermudanSwaptionInLIBORMarketModel() throws CalculationException {
+		RandomVariableDifferentiableAADFactory randomVariableFactory = new RandomVariableDifferentiableAADFactory();
+
+		TimeDiscretization liborPeriodDiscretization = new TimeDiscretization(0.0, 20, 0.5);
+		double[] forwards = new double[liborPeriodDiscretization.getNumberOfTimes()];
+		Arrays.fill(forwards, 0.05);
+		ForwardCurve forwardCurve = ForwardCurve.createForwardCurveFromForwards("forwardCurve", liborPeriodDiscretization.getAsDoubleArray(), forwards, 0.5);
+
+		TimeDiscretization volatilityDiscretization = new TimeDiscretization(0.0, 4, 2.5);
+		RandomVariableInterface[][] volatilities = new RandomVariableInterface[4][4];
+		for(RandomVariableInterface[] volatilitiesOfTime : volatilities) {
+			for(int componentIndex = 0; componentIndex < volatilitiesOfTime.length; componentIndex++) {
+				volatilitiesOfTime[componentIndex] = randomVariableFactory.createRandomVariable(0.0075);
+			}
+		}
+		LIBORCovarianceModelFromVolatilityAndCorrelation covarianceModel = new LIBORCovarianceModelFromVolatilityAndCorrelation(volatilityDiscretization, volatilityDiscretization,
+				new LIBORVolatilityModelFromGivenMatrix(volatilityDiscretization, volatilityDiscretization, volatilities),
+				new LIBORCorrelationModelExponentialDecay(volatilityDiscretization, volatilityDiscretization, 2, 0.1));
+
+		Map<String, Object> properties = new HashMap<>();
+		properties.put("stateSpace", LIBORMarketModel.StateSpace.NORMAL.name());
+		properties.put("liborCap", Double.POSITIVE_INFINITY);
+
+		BrownianMotionInterface brownianMotion = new BrownianMotion(new TimeDiscretization(0.0, 48, 0.125), 2, 2000, 3141);
+
+		// The exercise of the Bermudan is determined by regression, hence the derivatives with respect to the process are differentiable
+		double[] fixingDates	= { 2.0, 2.5, 3.0, 3.5, 4.0, 4.5, 5.0, 5.5 };
+		double[] paymentDates	= { 2.5, 3.0, 3.5, 4.0, 4.5, 5.0, 5.5, 6.0 };
+		double[] periodLengths	= new double[fixingDates.length];
+		double[] notionals		= new double[fixingDates.length];
+		double[] swaprates		= new double[fixingDates.length];
+		boolean[] isExerciseDate	= new boolean[fixingDates.length];
+		Arrays.fill(periodLengths, 0.5);
+		Arrays.fill(notionals, 1.0);
+		Arrays.fill(swaprates, 0.05);
+		Arrays.fill(isExerciseDate, true);
+		BermudanSwaption swaption = new BermudanSwaption(isExerciseDate, fixingDates, periodLengths, paymentDates, notionals, swaprates);
+
+		Map<Long, RandomVariableInterface> gradient = null;
+		for(int checkpointInterval : new int[] { 0, 1, 8, 100 }) {
+			LIBORMarketModel model = new LIBORMarketModel(liborPeriodDiscretization, null, forwardCurve, null, randomVariableFactory, covarianceModel, new LIBORMarketModel.CalibrationItem[0], properties);
+			ProcessEulerScheme process = new ProcessEulerScheme(brownianMotion, Scheme.EULER, checkpointInterval);
+			RandomVariableDifferentiableInterface value = (RandomVariableDifferentiableInterface)swaption.getValue(0.0, new LIBORModelMonteCarloSimulation(model, process));
+
+			if(checkpointInterval == 0) {
+				gradient = value.getGradient();
+			}
+			else {
+				Map<Long, RandomVariableInterface> gradientWithCheckpoints = process.getGradient(value);
+				for(RandomVariableInterface[] volatilitiesOfTime : volatilities) {
+					assertEqualDerivatives(gradient, gradientWithCheckpoints, volatilitiesOfTime);
+				}
+			}
+		}
+	}
+
+	/**
+	 * With a single precision random variable factory, the checkpointed gradient agrees with the plain AAD gradient.
+	 *
+	 * @throws CalculationException Thrown if the valuation fails.
+	 */
+	@Test
+	public void testCheckpointedGradientWithSinglePrecisionFactory() throws CalculationException {
+		RandomVariableDifferentiableAADFactory randomVariableFactory = new RandomVariableDifferentiableAADFactory(new RandomVariableFactory(false));
+		BrownianMotionInterface brownianMotionSinglePrecision = new BrownianMotion(brownianMotion.getTimeDiscretization(), 1, numberOfPaths, 3141, new RandomVariableFactory(false));
+
+		RandomVariableDifferentiableInterface initialValue	= randomVariableFactory.createRandomVariable(100.0);
+		RandomVariableDifferentiableInterface riskFreeRate	= randomVariableFactory.createRandomVariable(0.05);
+		RandomVariableDifferentiableInterface volatility	= randomVariableFactory.createRandomVariable(0.30);
+		BlackScholesModel model = new BlackScholesModel(initialValue, riskFreeRate, volatility, randomVariableFactory);
+		AsianOption option = new AsianOption(5.0, 100.0, brownianMotion.getTimeDiscretization());
+
+		RandomVariableDifferentiableInterface value = (RandomVariableDifferentiableInterface)option.getValue(0.0, new MonteCarloAssetModel(model, new ProcessEulerScheme(brownianMotionSinglePrecision)));
+		Map<Long, RandomVariableInterface> gradient = value.getGradient();
+
+		ProcessEulerScheme process = new ProcessEulerScheme(brownianMotionSinglePrecision, Scheme.EULER, 4);
+		RandomVariableDifferentiableInterface valueWithCheckpoints = (RandomVariableDifferentiableInterface)option.getValue(0.0, new MonteCarloAssetModel(model, process));
+		Map<Long, RandomVariableInterface> gradientWithCheckpoints = process.getGradient(valueWithCheckpoints);
+
+		for(RandomVariableInterface parameter : new RandomVariableInterface[] { initialValue, riskFreeRate, volatility }) {
+			Long id = ((RandomVariableDifferentiableInterface)parameter).getID();
+			Assert.assertEquals("Derivative", gradient.get(id).getAverage(), gradientWithCheckpoints.get(id).getAverage(), 1E-3 * Math.abs(gradient.get(id).getAverage()));
+		}
+	}
+
+	private static void assertEqualDerivatives(Map<Long, RandomVariableInterface> expected, Map<Long, RandomVariableInterface> actual, RandomVariableInterface[] parameters) {
+		for(RandomVariableInterface parameter : parameters) {
+			Long id = ((RandomVariableDifferentiableInterface)parameter).getID();
+			RandomVariableInterface derivativeExpected	= expected.get(id);
+			RandomVariableInterface derivativeActual	= actual.get(id);
+			if(derivativeExpected == null) {
+				Assert.assertNull("Derivative", derivativeActual);
+				continue;
+			}
+			Assert.assertEquals("Derivative", 0.0, derivativeExpected.sub(derivativeActual).abs().getMax(), 1E-8 * (1.0 + derivativeExpected.abs().getMax()));
+		}
+	}
+
+	/**
+	 * The drift of the model with Milstein correction depends on the increments of the stochastic driver (on all paths),
+	 * hence the model does not support path chunking and the process is evolved in components.
+	 *
+	 * @throws CalculationException Thrown if the valuation fails.
+	 */
+	@Test
+	public void testPathChunksFallbackForModelDependingOnDriver() throws CalculationException {
+		MonteCarloAssetModel modelComponents = new MonteCarloAssetModel(new InhomogeneousDisplacedLognomalModel(100.0, 0.05, 50.0, 0.30, true), new ProcessEulerScheme(brownianMotion));
+		MonteCarloAssetModel modelChunks = new MonteCarloAssetModel(new InhomogeneousDisplacedLognomalModel(100.0, 0.05, 50.0, 0.30, true), new ProcessEulerScheme(brownianMotion, Scheme.EULER, EvolutionMode.PATH_CHUNKS, null, 777));
+
+		assertEqualPaths(modelComponents, modelChunks);
+	}
+
+	/**
+	 * A model wrongly declaring support of path chunking is detected (instead of giving wrong values).
+	 *
+	 * @throws CalculationException Thrown if the valuation fails.
+	 */
+	@Test
+	public void testPathChunksWithModelWronglyDeclaringSupport() throws CalculationException {
+		InhomogeneousDisplacedLognomalModel model = new InhomogeneousDisplacedLognomalModel(100.0, 0.05, 50.0, 0.30, true) {
+			@Override
+			public boolean isPathChunkingSupported() {
+				return true;
+			}
+		};
+		MonteCarloAssetModel modelChunks = new MonteCarloAssetModel(model, new ProcessEulerScheme(brownianMotion, Scheme.EULER, EvolutionMode.PATH_CHUNKS, null, 777));
+
+		try {
+			modelChunks.getAssetValue(1, 0);
+			Assert.fail("Expected an exception for a model depending on the stochastic driver.");
+		}
+		catch(RuntimeException e) {
+			Throwable cause = e;
+			while(cause != null && !(cause instanceof IllegalStateException) && !(cause instanceof ArrayIndexOutOfBoundsException)) {
+				cause = cause.getCause();
+			}
+			Assert.assertNotNull("Cause of the exception", cause);
+		}
+	}
+
+	private static MonteCarloAssetModel getModel(ProcessEulerScheme process) {
+		return new MonteCarloAssetModel(new BlackScholesModel(100.0, 0.05, 0.30), process);
+	}
+
+	private void assertEqualPaths(MonteCarloAssetModel expected, MonteCarloAssetModel actual) throws CalculationException {
+		for(int timeIndex = 0; timeIndex < brownianMotion.getTimeDiscretization().getNumberOfTimes(); timeIndex++) {
+			RandomVariableInterface valueExpected	= expected.getAssetValue(timeIndex, 0);
+			RandomVariableInterface valueActual		= actual.getAssetValue(timeIndex, 0);
+
+			Assert.assertEquals("Filtration time", valueExpected.getFiltrationTime(), valueActual.getFiltrationTime(), 0.0);
+			for(int path = 0; path < numberOfPaths; path++) {
+				Assert.assertEquals("Realization", valueExpected.get(path), valueActual.get(path), 1E-12);
+			}
+		}
+	}
+}
@@ -292,4 +292,57 @@ public class LevenbergMarquardtTest {
 
 		Assert.assertEquals(0.0, optimizer.getRootMeanSquaredError(), 2E-4);
 	}
+
+	/**
+	 * Solves a non-linear system with a tridiagonal Jacobian,
+	 * \( \frac{1}{10} x_{i}^{3} + x_{i} - \frac{1}{4} \left( x_{i-1} + x_{i+1} \right) = i / n \),
+	 * using the different methods for the linear system of the Levenberg-Marquardt step and
+	 * checks that all methods find the same solution.
+	 *
+	 * @throws SolverException Thrown if the solver fails to find a solution.
+	 */
+	@Test
+	public void testLinearSolverMethods() throws SolverException {
+		final int numberOfParameters = 200;
+
+		double[] initialParameters = new double[numberOfParameters];
+		double[] targetValues = new double[numberOfParameters];
+		for (int i = 0; i < numberOfParameters; i++) {
+			targetValues[i] = (double)i / numberOfParameters;
+		}
+
+		double[] bestParametersDefault = null;
+		for(LevenbergMarquardt.LinearSolverMethod linearSolverMethod : LevenbergMarquardt.LinearSolverMethod.values()) {
+			LevenbergMarquardt optimizer = new LevenbergMarquardt(initialParameters, targetValues, 100, null) {
+				private static final long serialVersionUID = -1294728307396713614L;
+
+				@Override
+				public void setValues(double[] parameters, double[] values) {
+					for (int i = 0; i < parameters.length; i++) {
+						double neighbors = (i > 0 ? parameters[i-1] : 0.0) + (i < parameters.length-1 ? parameters[i+1] : 0.0);
+						values[i] = 0.1 * parameters[i] * parameters[i] * parameters[i] + parameters[i] - 0.25 * neighbors;
+					}
+				}
+			};
+			optimizer.setLinearSolverMethod(linearSolverMethod);
+			optimizer.run();
+
+			double[] bestParameters = optimizer.getBestFitParameters();
+			System.out.println("The solver with " + linearSolverMethod + " required " + optimizer.getIterations() + " iterations. Accuracy is " + optimizer.getRootMeanSquaredError() + ".");
+			System.out.println("\tTime spent in valuation (values/derivatives): " + optimizer.getTimeValues() + "/" + optimizer.getTimeDerivatives() + " s. Time spent in linear algebra: " + optimizer.getTimeLinearAlgebra() + " s.");
+
+			Assert.assertEquals(0.0, optimizer.getRootMeanSquaredError(), 1E-10);
+			Assert.assertTrue(optimizer.getTimeValues() > 0 && optimizer.getTimeDerivatives() > 0 && optimizer.getTimeLinearAlgebra() > 0);
+
+			if(bestParametersDefault == null) {
+				bestParametersDefault = bestParameters;
+			}
+			else {
+				Assert.assertArrayEquals(bestParametersDefault, bestParameters, 1E-8);
+			}
+		}
+
+		System.out.println("________________________________________________________________________________");
+		System.out.println();
+	}
 }
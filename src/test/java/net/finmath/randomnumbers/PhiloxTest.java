@@ -0,0 +1,57 @@
+/*
+ * (c) Copyright Christian P. Fries, Germany. Contact: email@christian-fries.de.
+ *
+ * Created on 16.10.2026
+ */
+package net.finmath.randomnumbers;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests of the counter-based random number generator Philox-4x32-10.
+ *
+ * @author Christian Fries
+ */
+public class PhiloxTest {
+
+	/**
+	 * Compares with the known answer test vectors of the reference implementation (Random123).
+	 */
+	@Test
+	public void testKnownAnswers() {
+		int[] randomBits = new int[4];
+
+		new Philox(0L).getRandomBits(0, 0, 0, 0, randomBits);
+		Assert.assertArrayEquals(new int[] { 0x6627e8d5, 0xe169c58d, 0xbc57ac4c, 0x9b00dbd8 }, randomBits);
+
+		new Philox(0xffffffffffffffffL).getRandomBits(0xffffffff, 0xffffffff, 0xffffffff, 0xffffffff, randomBits);
+		Assert.assertArrayEquals(new int[] { 0x408f276d, 0x41c83b0e, 0xa20bc7c6, 0x6d5451fd }, randomBits);
+
+		new Philox(0x299f31d0a4093822L).getRandomBits(0x243f6a88, 0x85a308d3, 0x13198a2e, 0x03707344, randomBits);
+		Assert.assertArrayEquals(new int[] { 0xd16cfe09, 0x94fdcceb, 0x5001e420, 0x24126ea1 }, randomBits);
+	}
+
+	@Test
+	public void testUniform() {
+		Philox philox = new Philox(3141);
+
+		int numberOfSamples = 1000000;
+		double[] uniform = new double[2];
+		double sum = 0.0;
+		double sumOfSquares = 0.0;
+		for(int i=0; i<numberOfSamples/2; i++) {
+			philox.getUniform(i, 0, 0, 0, uniform);
+			for(double x : uniform) {
+				Assert.assertTrue("Uniform in (0,1)", x > 0.0 && x < 1.0);
+				sum += x;
+				sumOfSquares += x*x;
+			}
+		}
+		double mean = sum / numberOfSamples;
+		double variance = sumOfSquares / numberOfSamples - mean*mean;
+
+		Assert.assertEquals("Mean", 0.5, mean, 3.0 * Math.sqrt(1.0/12.0 / numberOfSamples));
+		Assert.assertEquals("Variance", 1.0/12.0, variance, 1E-3);
+	}
+}
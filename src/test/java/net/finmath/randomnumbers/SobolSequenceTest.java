@@ -0,0 +1,168 @@
+/*
+ * (c) Copyright Christian P. Fries, Germany. Contact: email@christian-fries.de.
+ *
+ * Created on 16.10.2026
+ */
+package net.finmath.randomnumbers;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests of the Sobol sequence.
+ *
+ * @author Christian Fries
+ */
+public class SobolSequenceTest {
+
+	@Test
+	public void testFirstPoints() {
+		SobolSequence sobolSequence = new SobolSequence(2);
+
+		double[][] expected = { { 0.5, 0.5 }, { 0.75, 0.25 }, { 0.25, 0.75 }, { 0.375, 0.375 }, { 0.875, 0.875 } };
+		for(int i=0; i<expected.length; i++) {
+			double[] point = sobolSequence.getNext();
+			Assert.assertArrayEquals("Sobol point " + i, expected[i], point, 0.0);
+			Assert.assertArrayEquals("Sobol point " + i, point, sobolSequence.getSobolNumber(i), 0.0);
+		}
+	}
+
+	/**
+	 * Tests that the default direction numbers are those of Joe and Kuo (new-joe-kuo-6), where dimension 3 uses
+	 * the polynomial x^2+x+1 with initial direction numbers 1, 3.
+	 */
+	@Test
+	public void testDefaultDirectionNumbersAreJoeKuo() {
+		SobolSequence sobolSequence = new SobolSequence(3);
+
+		double[][] expected = { { 0.5, 0.5, 0.5 }, { 0.75, 0.25, 0.25 }, { 0.25, 0.75, 0.75 }, { 0.375, 0.375, 0.625 }, { 0.875, 0.875, 0.125 } };
+		for(int i=0; i<expected.length; i++) {
+			Assert.assertArrayEquals("Sobol point " + i, expected[i], sobolSequence.getNext(), 0.0);
+		}
+
+		try {
+			new SobolSequence(SobolSequence.maximumDimensionOfBundledDirectionNumbers + 1);
+			Assert.fail("Expected exception for dimension exceeding the bundled direction numbers.");
+		}
+		catch(IllegalArgumentException e) {
+			// Expected
+		}
+	}
+
+	@Test
+	public void testStratificationOfEachDimension() {
+		assertStratificationOfEachDimension(new SobolSequence(SobolSequence.maximumDimensionOfBundledDirectionNumbers));
+	}
+
+	@Test
+	public void testStratificationOfEachDimensionWithRandomInitialization() {
+		assertStratificationOfEachDimension(new SobolSequence(1111, SobolSequence.DirectionNumbers.RANDOM_INITIALIZATION));
+	}
+
+	/**
+	 * Asserts that in each dimension the origin and the first 2^k-1 points have exactly one point in each interval [j 2^-k, (j+1) 2^-k).
+	 */
+	private static void assertStratificationOfEachDimension(SobolSequence sobolSequence) {
+		int dimension = sobolSequence.getDimension();
+		int log2NumberOfPoints = 12;
+		int numberOfPoints = (1 << log2NumberOfPoints) - 1;
+
+		int[][] numberOfPointsInInterval = new int[dimension][1 << log2NumberOfPoints];
+		for(int i=0; i<numberOfPoints; i++) {
+			double[] point = sobolSequence.getNext();
+			for(int d=0; d<dimension; d++) {
+				numberOfPointsInInterval[d][(int)(point[d] * (1 << log2NumberOfPoints))]++;
+			}
+		}
+
+		for(int d=0; d<dimension; d++) {
+			Assert.assertEquals("Origin interval of dimension " + d, 0, numberOfPointsInInterval[d][0]);
+			for(int j=1; j<numberOfPointsInInterval[d].length; j++) {
+				Assert.assertEquals("Interval " + j + " of dimension " + d, 1, numberOfPointsInInterval[d][j]);
+			}
+		}
+	}
+
+	/**
+	 * Tests that the origin and the first 2^m-1 points of the first two dimensions form a (0,m,2)-net,
+	 * i.e., each elementary interval of volume 2^-m contains exactly one point.
+	 */
+	@Test
+	public void testNetPropertyOfFirstTwoDimensions() {
+		int m = 10;
+		int numberOfPoints = (1 << m) - 1;
+
+		SobolSequence sobolSequence = new SobolSequence(2);
+		double[][] points = new double[numberOfPoints+1][];
+		points[0] = new double[] { 0.0, 0.0 };
+		for(int i=1; i<=numberOfPoints; i++) {
+			points[i] = sobolSequence.getNext();
+		}
+
+		for(int i=0; i<=m; i++) {
+			int[][] numberOfPointsInBox = new int[1 << i][1 << (m-i)];
+			for(double[] point : points) {
+				numberOfPointsInBox[(int)(point[0] * (1 << i))][(int)(point[1] * (1 << (m-i)))]++;
+			}
+			for(int[] row : numberOfPointsInBox) {
+				for(int count : row) {
+					Assert.assertEquals("Points in elementary interval", 1, count);
+				}
+			}
+		}
+	}
+
+	@Test
+	public void testDirectionNumbersFromReader() throws IOException {
+		String directionNumbers =
+				"d       s       a       m_i\n"
+						+ "2       1       0       1\n"
+						+ "3       2       1       1 3\n";
+
+		SobolSequence sobolSequence = SobolSequence.getSobolSequenceFromDirectionNumbers(new StringReader(directionNumbers), 3);
+
+		Assert.assertEquals("Dimension", 3, sobolSequence.getDimension());
+		double[][] expected = { { 0.5, 0.5, 0.5 }, { 0.75, 0.25, 0.25 }, { 0.25, 0.75, 0.75 }, { 0.375, 0.375, 0.625 }, { 0.875, 0.875, 0.125 } };
+		for(int i=0; i<expected.length; i++) {
+			Assert.assertArrayEquals("Sobol point " + i, expected[i], sobolSequence.getNext(), 0.0);
+		}
+
+		try {
+			SobolSequence.getSobolSequenceFromDirectionNumbers(new StringReader(directionNumbers), 4);
+			Assert.fail("Expected exception for missing direction numbers.");
+		}
+		catch(IOException e) {
+			// Expected
+		}
+	}
+
+	@Test
+	public void testDigitalShift() {
+		int dimension = 16;
+		int numberOfPoints = 1 << 12;
+
+		SobolSequence sobolSequence = new SobolSequence(dimension, 3141);
+		SobolSequence sobolSequenceWithOtherSeed = new SobolSequence(dimension, 2718);
+
+		double[] sum = new double[dimension];
+		boolean isDifferent = false;
+		for(int i=0; i<numberOfPoints; i++) {
+			double[] point = sobolSequence.getNext();
+			double[] pointWithOtherSeed = sobolSequenceWithOtherSeed.getNext();
+			Assert.assertArrayEquals("Sobol point", point, sobolSequence.getSobolNumber(i), 0.0);
+			for(int d=0; d<dimension; d++) {
+				Assert.assertTrue("Point in (0,1)", point[d] > 0.0 && point[d] < 1.0);
+				sum[d] += point[d];
+				isDifferent |= point[d] != pointWithOtherSeed[d];
+			}
+		}
+
+		Assert.assertTrue("Seed defines digital shift", isDifferent);
+		for(int d=0; d<dimension; d++) {
+			Assert.assertEquals("Mean of dimension " + d, 0.5, sum[d] / numberOfPoints, 2.0 / numberOfPoints);
+		}
+	}
+}